@@ -0,0 +1,152 @@
+package uni.myosotis.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardSummary;
+import uni.myosotis.objects.Keyword;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the repositories of the H2 database with Hibernate and of the MVStore backend.
+ * <p>
+ * Every backend runs in its own JVM, because the backend is chosen once with the system properties,
+ * and works on a new database file in a temporary directory, that is filled with Indexcards, Keywords
+ * and Category's before the measurement. Run with {@code mvn -Pjmh test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    /**
+     * The number of Indexcards in one Category.
+     */
+    private static final int INDEXCARDS_PER_CATEGORY = 100;
+
+    /**
+     * The number of Keywords, every Indexcard has two of them.
+     */
+    private static final int KEYWORDS = 50;
+
+    @Param({"hibernate", "mvstore"})
+    public String backend;
+
+    @Param({"5000"})
+    public int indexcards;
+
+    private Path directory;
+    private IndexcardRepository indexcardRepository;
+    private CategoryRepository categoryRepository;
+    private long[] indexcardIds;
+    private long[] categoryIds;
+    private long createdIndexcards;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("myosotis-benchmark");
+        System.setProperty("myosotis.db.backend", backend);
+        System.setProperty("myosotis.db.path", directory.resolve("myosotis").toString());
+        indexcardRepository = Repositories.indexcardRepository();
+        categoryRepository = Repositories.categoryRepository();
+        final KeywordRepository keywordRepository = Repositories.keywordRepository();
+
+        final List<Keyword> keywords = new ArrayList<>();
+        for (int i = 0; i < KEYWORDS; i++) {
+            final Keyword keyword = new Keyword("keyword" + i);
+            keywordRepository.saveKeyword(keyword);
+            keywords.add(keyword);
+        }
+        indexcardIds = new long[indexcards];
+        final List<Indexcard> category = new ArrayList<>();
+        final List<Long> categories = new ArrayList<>();
+        for (int i = 0; i < indexcards; i++) {
+            final Indexcard indexcard = new Indexcard("indexcard" + i, "What is " + i + "?", "The answer is " + i + ".",
+                    new ArrayList<>(List.of(keywords.get(i % KEYWORDS), keywords.get((i * 7 + 1) % KEYWORDS))),
+                    new ArrayList<>());
+            indexcardRepository.saveIndexcard(indexcard);
+            indexcardIds[i] = indexcard.getId();
+            category.add(indexcard);
+            if (category.size() == INDEXCARDS_PER_CATEGORY) {
+                final Category saved = new Category("category" + categories.size(), new ArrayList<>(), new ArrayList<>(category));
+                categoryRepository.saveCategory(saved);
+                categories.add(saved.getId());
+                category.clear();
+            }
+        }
+        categoryIds = categories.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private long randomIndexcardId() {
+        return indexcardIds[ThreadLocalRandom.current().nextInt(indexcardIds.length)];
+    }
+
+    @Benchmark
+    public Optional<Indexcard> getIndexcardById() {
+        return indexcardRepository.getIndexcardById(randomIndexcardId());
+    }
+
+    @Benchmark
+    public Optional<Indexcard> getIndexcardByName() {
+        return indexcardRepository.getIndexcardByName("indexcard" + ThreadLocalRandom.current().nextInt(indexcards));
+    }
+
+    @Benchmark
+    public List<IndexcardSummary> getIndexcardSummaryPage() {
+        return indexcardRepository.getIndexcardSummaryPage(randomIndexcardId(), 0, 200);
+    }
+
+    @Benchmark
+    public Optional<Category> getCategoryById() {
+        return categoryRepository.getCategoryById(categoryIds[ThreadLocalRandom.current().nextInt(categoryIds.length)]);
+    }
+
+    @Benchmark
+    public int updateIndexcard() {
+        final Indexcard indexcard = indexcardRepository.getIndexcardById(randomIndexcardId()).orElseThrow();
+        indexcard.setAnswer("The answer was changed at " + System.nanoTime() + ".");
+        return indexcardRepository.updateIndexcard(indexcard);
+    }
+
+    @Benchmark
+    public int saveAndDeleteIndexcard() {
+        final Indexcard indexcard = new Indexcard("created" + createdIndexcards++, "Question", "Answer",
+                new ArrayList<>(), new ArrayList<>());
+        indexcardRepository.saveIndexcard(indexcard);
+        return indexcardRepository.deleteIndexcard(indexcard.getId());
+    }
+}
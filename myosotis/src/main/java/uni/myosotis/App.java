@@ -11,12 +11,14 @@ public class App {
 
         /* Start the application */
         final KeywordLogic keywordLogic = new KeywordLogic();
-        final IndexcardLogic indexcardLogic = new IndexcardLogic();
+        final IndexcardSearchIndex searchIndex = new IndexcardSearchIndex();
+        final IndexcardLogic indexcardLogic = new IndexcardLogic(searchIndex);
         final CategoryLogic categoryLogic = new CategoryLogic();
         final IndexcardBoxLogic indexcardBoxLogic = new IndexcardBoxLogic();
         final LeitnerLearnSystemLogic leitnerLearnSystemLogic = new LeitnerLearnSystemLogic();
         final LinkLogic linkLogic = new LinkLogic();
-        final Controller controller = new Controller(indexcardLogic, keywordLogic, linkLogic, categoryLogic, indexcardBoxLogic, leitnerLearnSystemLogic);
+        final IndexcardImportLogic indexcardImportLogic = new IndexcardImportLogic(searchIndex);
+        final Controller controller = new Controller(indexcardLogic, keywordLogic, linkLogic, categoryLogic, indexcardBoxLogic, leitnerLearnSystemLogic, indexcardImportLogic);
         controller.startApplication();
     }
 }
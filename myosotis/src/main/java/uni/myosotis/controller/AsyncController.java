@@ -0,0 +1,232 @@
+package uni.myosotis.controller;
+
+import uni.myosotis.logic.IndexcardImportLogic;
+import uni.myosotis.logic.IndexcardImportResult;
+import uni.myosotis.logic.ReviewStatistics;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardBox;
+import uni.myosotis.objects.LeitnerLearnSystem;
+
+import javax.swing.*;
+import java.io.File;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The asynchronous variant of the Controller for the GUI.
+ * <p>
+ * Every method runs the matching method of the Controller on a background executor and returns a
+ * CompletableFuture, so the Event-Dispatch-Thread never waits for the database. Queries run in
+ * parallel, on virtual threads if the Java runtime supports them. Changes run one after another
+ * on a single writer thread, so they are saved in the order in which they were requested.
+ * With {@link #onEdt(CompletableFuture, Consumer)} the result is handed back to the
+ * Event-Dispatch-Thread via SwingUtilities.invokeLater.
+ * <p>
+ * Methods of the Controller, that show dialogs, are not part of this class, because dialogs
+ * must be created on the Event-Dispatch-Thread.
+ */
+public class AsyncController {
+
+    private static final Logger logger = Logger.getLogger(AsyncController.class.getName());
+
+    /**
+     * Runs tasks on the Event-Dispatch-Thread.
+     */
+    public static final Executor EDT = SwingUtilities::invokeLater;
+
+    /**
+     * The time, pending changes get to finish, when the application is closed.
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final Controller controller;
+
+    /**
+     * The executor for the queries.
+     */
+    private final ExecutorService queryExecutor;
+
+    /**
+     * The executor for the changes, keeps their order.
+     */
+    private final ExecutorService updateExecutor;
+
+    /**
+     * Creates a new AsyncController for the given Controller.
+     * Pending changes are finished, before the application ends.
+     *
+     * @param controller The Controller that does the work.
+     */
+    public AsyncController(final Controller controller) {
+        this.controller = controller;
+        this.queryExecutor = createQueryExecutor();
+        this.updateExecutor = Executors.newSingleThreadExecutor(daemonThreadFactory("myosotis-update"));
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "myosotis-async-shutdown"));
+    }
+
+    /**
+     * Runs a query of the Controller in the background.
+     *
+     * @param query The query.
+     * @param <T>   The type of the result.
+     * @return The future result of the query.
+     */
+    public <T> CompletableFuture<T> query(final Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+
+    /**
+     * Runs a change of the Controller in the background, after all changes that were requested before.
+     *
+     * @param update The change.
+     * @return A future, that is completed when the change is done.
+     */
+    public CompletableFuture<Void> update(final Runnable update) {
+        return CompletableFuture.runAsync(update, updateExecutor);
+    }
+
+    /**
+     * Runs a change of the Controller with a result in the background, after all changes that were requested before.
+     *
+     * @param update The change, that returns its result.
+     * @param <T>    The type of the result.
+     * @return The future result of the change.
+     */
+    public <T> CompletableFuture<T> updateAndGet(final Supplier<T> update) {
+        return CompletableFuture.supplyAsync(update, updateExecutor);
+    }
+
+    /**
+     * Hands the result of a future to the Event-Dispatch-Thread. Errors are logged.
+     *
+     * @param future   The future.
+     * @param consumer Gets the result on the Event-Dispatch-Thread.
+     * @param <T>      The type of the result.
+     * @return A future, that is completed when the consumer is done.
+     */
+    public static <T> CompletableFuture<Void> onEdt(final CompletableFuture<T> future, final Consumer<T> consumer) {
+        return future.thenAcceptAsync(consumer, EDT).exceptionally(e -> {
+            logger.log(Level.SEVERE, "Error in a background task of the GUI", e);
+            return null;
+        });
+    }
+
+    /**
+     * Disables the components, until the future is completed. Must be called on the Event-Dispatch-Thread,
+     * the components are enabled again on the Event-Dispatch-Thread. Errors are logged.
+     *
+     * @param future     The future.
+     * @param components The components, e.g. the buttons of a dialog.
+     * @param <T>        The type of the result.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the components are enabled again.
+     */
+    public static <T> CompletableFuture<T> disableUntilDone(final CompletableFuture<T> future, final JComponent... components) {
+        for (JComponent component : components) {
+            component.setEnabled(false);
+        }
+        return future.whenCompleteAsync((result, e) -> {
+            if (e != null) {
+                logger.log(Level.SEVERE, "Error in a background task of the GUI", e);
+            }
+            for (JComponent component : components) {
+                component.setEnabled(true);
+            }
+        }, EDT);
+    }
+
+    /**
+     * Returns the Indexcard with the given name in the background.
+     *
+     * @param name The name of the Indexcard.
+     * @return The future Indexcard, if it exists.
+     */
+    public CompletableFuture<Optional<Indexcard>> getIndexcardByName(final String name) {
+        return query(() -> controller.getIndexcardByName(name));
+    }
+
+    /**
+     * Returns the Category with the given name in the background.
+     *
+     * @param name The name of the Category.
+     * @return The future Category, if it exists.
+     */
+    public CompletableFuture<Optional<Category>> getCategoryByName(final String name) {
+        return query(() -> controller.getCategoryByName(name));
+    }
+
+    /**
+     * Returns the IndexcardBox with the given name in the background.
+     *
+     * @param name The name of the IndexcardBox.
+     * @return The future IndexcardBox, if it exists.
+     */
+    public CompletableFuture<Optional<IndexcardBox>> getIndexcardBoxByName(final String name) {
+        return query(() -> controller.getIndexcardBoxByName(name));
+    }
+
+    /**
+     * Computes the statistics of all answers in a Learnsystem in the background.
+     *
+     * @param learnsystem The Learnsystem.
+     * @return The future statistics.
+     */
+    public CompletableFuture<ReviewStatistics> getReviewStatistics(final LeitnerLearnSystem learnsystem) {
+        return query(() -> controller.getReviewStatistics(learnsystem));
+    }
+
+    /**
+     * Imports all Indexcards of a CSV or JSON file in the background, after all changes that were requested before.
+     *
+     * @param file             The file with the Indexcards.
+     * @param progressListener Gets informed about the progress on the background thread, could be null.
+     * @return The future result of the import.
+     */
+    public CompletableFuture<IndexcardImportResult> importIndexcards(final File file,
+                                                                     final IndexcardImportLogic.ProgressListener progressListener) {
+        return updateAndGet(() -> controller.importIndexcards(file, progressListener));
+    }
+
+    /**
+     * Stops the executors and waits for the pending changes.
+     */
+    void shutdown() {
+        queryExecutor.shutdown();
+        updateExecutor.shutdown();
+        try {
+            if (!updateExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.log(Level.WARNING, "Pending changes were not saved within {0} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates the executor for the queries. Uses a virtual thread per task on Java 21 and newer,
+     * otherwise a pool of daemon threads with one thread per processor.
+     */
+    private static ExecutorService createQueryExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.log(Level.FINE, "Virtual threads are not available, using a thread pool");
+            return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                    daemonThreadFactory("myosotis-query"));
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(final String name) {
+        final AtomicInteger number = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -4,12 +4,27 @@ import uni.myosotis.gui.Language;
 import uni.myosotis.gui.MainMenu;
 import uni.myosotis.logic.*;
 import uni.myosotis.objects.*;
+import uni.myosotis.persistence.CacheStatistics;
+import uni.myosotis.persistence.UnitOfWork;
 
 import javax.swing.*;
+import java.awt.Dimension;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The Controller of the application.
@@ -46,6 +61,11 @@ public class Controller {
      */
     private final LeitnerLearnSystemLogic leitnerLearnSystemLogic;
 
+    /**
+     * The IndexcardImportLogic of the application.
+     */
+    private final IndexcardImportLogic indexcardImportLogic;
+
     /**
      * The main-menu of the application.
      */
@@ -56,6 +76,11 @@ public class Controller {
      */
     private Language language;
 
+    /**
+     * The asynchronous variant of this Controller, created on first use.
+     */
+    private AsyncController asyncController;
+
     /**
      * Creates a new Controller with the given logic.
      *
@@ -65,8 +90,9 @@ public class Controller {
      * @param categoryLogic The logic for the Categories.
      * @param indexcardBoxLogic The logic for the IndexcardBoxes.
      * @param leitnerLearnSystemLogic The logic for the LearnSystems.
+     * @param indexcardImportLogic The logic for importing Indexcards.
      */
-    public Controller(final IndexcardLogic indexcardLogic, final KeywordLogic keywordLogic, final LinkLogic linkLogic, final CategoryLogic categoryLogic, final IndexcardBoxLogic indexcardBoxLogic, final LeitnerLearnSystemLogic leitnerLearnSystemLogic) {
+    public Controller(final IndexcardLogic indexcardLogic, final KeywordLogic keywordLogic, final LinkLogic linkLogic, final CategoryLogic categoryLogic, final IndexcardBoxLogic indexcardBoxLogic, final LeitnerLearnSystemLogic leitnerLearnSystemLogic, final IndexcardImportLogic indexcardImportLogic) {
 
         this.indexcardLogic = indexcardLogic;
         this.keywordLogic = keywordLogic;
@@ -74,7 +100,21 @@ public class Controller {
         this.categoryLogic = categoryLogic;
         this.indexcardBoxLogic = indexcardBoxLogic;
         this.leitnerLearnSystemLogic = leitnerLearnSystemLogic;
+        this.indexcardImportLogic = indexcardImportLogic;
+
+    }
 
+    /**
+     * Returns the asynchronous variant of this Controller, which runs the queries and changes
+     * in the background, so the GUI does not wait for the database.
+     *
+     * @return The AsyncController.
+     */
+    public synchronized AsyncController getAsyncController() {
+        if (asyncController == null) {
+            asyncController = new AsyncController(this);
+        }
+        return asyncController;
     }
 
     /**
@@ -115,7 +155,7 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to create a new Indexcard to the IndexcardLogic.
+     * Delegates the exercise to create a new Indexcard to the IndexcardLogic in the background.
      * Displays an error, if already an Indexcard with the same name exists.
      *
      * @param name The name of the Indexcard.
@@ -123,40 +163,39 @@ public class Controller {
      * @param answer The answer of the Indexcard.
      * @param keywords A List of keywords linked to the Indexcard.
      * @param links A list of Links added to the Indexcard.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
      */
-    public void createIndexcard(String name, String question, String answer, List<String> keywords, List<String> links) {
-        try {
-            // Create Keywords
-            final List<Keyword> keywordObjects = new ArrayList<>();
-            for (String keyword : keywords) {
-                if (keywordLogic.getKeywordByName(keyword).isEmpty()) {
-                    keywordObjects.add(keywordLogic.createKeyword(keyword));
-                } else {
-                    keywordObjects.add(keywordLogic.getKeywordByName(keyword).get());
-                }
-            }
+    public CompletableFuture<Void> createIndexcard(String name, String question, String answer, List<String> keywords, List<String> links) {
+        return update(() -> UnitOfWork.run(() -> {
+                    // Create Keywords
+                    final List<Keyword> keywordObjects = new ArrayList<>();
+                    for (String keyword : keywords) {
+                        if (keywordLogic.getKeywordByName(keyword).isEmpty()) {
+                            keywordObjects.add(keywordLogic.createKeyword(keyword));
+                        } else {
+                            keywordObjects.add(keywordLogic.getKeywordByName(keyword).get());
+                        }
+                    }
 
-            // Create Links
-            final List<Link> linkObjects = new ArrayList<>();
-            for (String link : links) {
-                String[] splittedLink = link.split(" => ", 2);
-                String term = splittedLink[0];
-                String indexcardName = splittedLink[1];
-                if (getIndexcardByName(indexcardName).isPresent()) {
-                    Indexcard indexcard = getIndexcardByName(indexcardName).get();
-                    linkObjects.add(linkLogic.createLink(term, indexcard));
-                }
-            }
+                    // Create Links
+                    final Map<String, Indexcard> linkedIndexcards = getLinkedIndexcards(links);
+                    final List<Link> linkObjects = new ArrayList<>();
+                    for (String link : links) {
+                        String[] splittedLink = link.split(" => ", 2);
+                        String term = splittedLink[0];
+                        String indexcardName = splittedLink[1];
+                        if (linkedIndexcards.containsKey(indexcardName)) {
+                            linkObjects.add(linkLogic.createLink(term, linkedIndexcards.get(indexcardName)));
+                        }
+                    }
 
-            indexcardLogic.createIndexcard(name, question, answer, keywordObjects, linkObjects);
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format(language.getName("indexcardCreatedMessage"),name), language.getName("indexcardCreated"),
-                    JOptionPane.INFORMATION_MESSAGE);
-        } catch (final IllegalStateException e) {
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format(language.getName("indexcardAlreadyExistError"), name), language.getName("nameAlreadyAssignedError"),
-                    JOptionPane.ERROR_MESSAGE);
-        }
+                    indexcardLogic.createIndexcard(name, question, answer, keywordObjects, linkObjects);
+                }), () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardCreatedMessage"),name), language.getName("indexcardCreated"),
+                        JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardAlreadyExistError"), name), language.getName("nameAlreadyAssignedError"),
+                        JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -176,7 +215,7 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to edit an Indexcard to the IndexcardLogic.
+     * Delegates the exercise to edit an Indexcard to the IndexcardLogic in the background.
      * Displays an error, if there is no Indexcard with the given name.
      *
      * @param name The name of the Indexcard.
@@ -185,67 +224,67 @@ public class Controller {
      * @param keywords Keywords for the Indexcard.
      * @param links The Links of the Indexcard.
      * @param id The id of the Indexcard.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
      */
-    public void editIndexcard(String name, String question, String answer, List<String> keywords, List<String> links, Long id) {
-        try {
-            // Old Keywords from this Indexcard
-            final List<Keyword> oldKeywords = indexcardLogic.getIndexcardById(id).getKeywords();
-
-            // Create new added Keywords
-            final List<Keyword> keywordObjects = new ArrayList<>();
-            for (String keyword : keywords) {
-                if (keywordLogic.getKeywordByName(keyword).isEmpty()) {
-                    keywordObjects.add(keywordLogic.createKeyword(keyword));
-                } else {
-                    keywordObjects.add(keywordLogic.getKeywordByName(keyword).get());
-                }
-            }
+    public CompletableFuture<Void> editIndexcard(String name, String question, String answer, List<String> keywords, List<String> links, Long id) {
+        return update(() -> UnitOfWork.run(() -> {
+                    // Old Keywords from this Indexcard
+                    final List<Keyword> oldKeywords = indexcardLogic.getIndexcardById(id).getKeywords();
+
+                    // Create new added Keywords
+                    final List<Keyword> keywordObjects = new ArrayList<>();
+                    for (String keyword : keywords) {
+                        if (keywordLogic.getKeywordByName(keyword).isEmpty()) {
+                            keywordObjects.add(keywordLogic.createKeyword(keyword));
+                        } else {
+                            keywordObjects.add(keywordLogic.getKeywordByName(keyword).get());
+                        }
+                    }
 
-            // Old Links from this Indexcard
-            final List<Link> oldLinks = indexcardLogic.getIndexcardById(id).getLinks();
-
-            // Create new added Links
-            final List<Link> newLinks = new ArrayList<>();
-            for (String link : links) {
-                String[] splittedLink = link.split(" => ", 2);
-                String term = splittedLink[0];
-                String indexcardName = splittedLink[1];
-                // Create new Link, if it not exists yet
-                if (!oldLinks.stream().map(Link::getTerm).toList().contains(term)) {
-                    if (getIndexcardByName(indexcardName).isPresent()) {
-                        Indexcard indexcard = getIndexcardByName(indexcardName).get();
-                        newLinks.add(linkLogic.createLink(term, indexcard));
+                    // Old Links from this Indexcard
+                    final List<Link> oldLinks = indexcardLogic.getIndexcardById(id).getLinks();
+
+                    // Create new added Links
+                    final Map<String, Indexcard> linkedIndexcards = getLinkedIndexcards(links);
+                    final List<Link> newLinks = new ArrayList<>();
+                    for (String link : links) {
+                        String[] splittedLink = link.split(" => ", 2);
+                        String term = splittedLink[0];
+                        String indexcardName = splittedLink[1];
+                        // Create new Link, if it not exists yet
+                        if (!oldLinks.stream().map(Link::getTerm).toList().contains(term)) {
+                            if (linkedIndexcards.containsKey(indexcardName)) {
+                                newLinks.add(linkLogic.createLink(term, linkedIndexcards.get(indexcardName)));
+                            }
+                        } else {
+                            // Keep old Link, if it exists yet
+                            newLinks.add(oldLinks.stream().filter(l -> l.getTerm().equals(term)).toList().get(0));
+                        }
                     }
-                } else {
-                    // Keep old Link, if it exists yet
-                    newLinks.add(oldLinks.stream().filter(l -> l.getTerm().equals(term)).toList().get(0));
-                }
-            }
 
-            // Update the Indexcard
-            indexcardLogic.updateIndexcard(name, question, answer, keywordObjects, newLinks, id);
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format(language.getName("indexcardEditedMessage"), name), language.getName("indexcardCreated"),
-                    JOptionPane.INFORMATION_MESSAGE);
+                    // Update the Indexcard
+                    indexcardLogic.updateIndexcard(name, question, answer, keywordObjects, newLinks, id);
+                    linkLogic.indexcardChanged(id);
 
-            // Remove Keywords that are not used anymore
-            for (Keyword keyword : oldKeywords) {
-                if (indexcardLogic.getIndexcardsByKeyword(keyword.getName()).isEmpty()) {
-                    keywordLogic.deleteKeyword(keyword.getName());
-                }
-            }
+                    // Remove Keywords that are not used anymore
+                    for (Keyword keyword : oldKeywords) {
+                        if (!indexcardLogic.isKeywordUsed(keyword.getName())) {
+                            keywordLogic.deleteKeyword(keyword.getName());
+                        }
+                    }
 
-            // Remove removed Links
-            for (Link link : oldLinks) {
-                if (!newLinks.contains(link)) {
-                    linkLogic.deleteLink(link);
-                }
-            }
-        } catch (final IllegalStateException e) {
-            JOptionPane.showMessageDialog(mainMenu,
-                    language.getName("noIndexcardWithNameError"), language.getName("noIndexcardError"),
-                    JOptionPane.ERROR_MESSAGE);
-        }
+                    // Remove removed Links
+                    for (Link link : oldLinks) {
+                        if (!newLinks.contains(link)) {
+                            linkLogic.deleteLink(link);
+                        }
+                    }
+                }), () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardEditedMessage"), name), language.getName("indexcardCreated"),
+                        JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("noIndexcardWithNameError"), language.getName("noIndexcardError"),
+                        JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -256,54 +295,266 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to delete an Indexcard to the IndexcardLogic.
+     * Delegates the exercise to delete an Indexcard to the IndexcardLogic in the background.
      * Delegates the exercise to delete the Indexcard from the Keyword to the KeywordLogic.
      * Displays an error, if there is no Indexcard with the given name.
      *
      * @param id The id of the Indexcard.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
      */
-    public void deleteIndexcard(Long id) {
-        try {
-            // Save old values of the Indexcard
-            Indexcard indexcard = indexcardLogic.getIndexcardById(id);
-            id = indexcard.getId();
-            String deletedName = indexcard.getName();
-            List<Keyword> keywords = indexcard.getKeywords();
-
-            // Remove Links to this Indexcard from Indexcards.
-            for (Indexcard card : getAllIndexcards()) {
-                List<Link> removedLinks = card.getLinks().stream().filter(l -> !l.getIndexcard().getName().equals(indexcard.getName())).toList();
-                indexcardLogic.updateIndexcard(card.getName(), card.getQuestion(), card.getAnswer(), card.getKeywords(), removedLinks, card.getId());
-            }
+    public CompletableFuture<Void> deleteIndexcard(Long id) {
+        return updateAndGet(() -> UnitOfWork.execute(() -> {
+                    // Save old values of the Indexcard
+                    Indexcard indexcard = indexcardLogic.getIndexcardById(id);
+                    String name = indexcard.getName();
+                    List<Keyword> keywords = indexcard.getKeywords();
+
+                    // Remove Links to this Indexcard from the Indexcards that contain them, and delete them
+                    linkLogic.deleteLinksByIndexcard(indexcard);
+
+                    // Delete the Indexcard
+                    indexcardLogic.deleteIndexcard(indexcard.getId());
+
+                    // Indexcard that should be deleted needs to be removed from the list
+                    // of Indexcards this keyword is attached to.
+                    for (Keyword keyword : keywords) {
+                        if (!indexcardLogic.isKeywordUsed(keyword.getName())) {
+                            keywordLogic.deleteKeyword(keyword.getName());
+                        }
+                    }
 
-            // Delete Links that are linked with this Indexcard
-            for (Link link : linkLogic.getLinksByIndexcard(indexcard)) {
-                linkLogic.deleteLink(link);
-            }
+                    // Delete Links from this Indexcard
+                    linkLogic.deleteLinks(indexcard.getLinks());
+                    return name;
+                }), deletedName -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardDeletedMessage"), deletedName), language.getName("indexcardDeleted"),
+                        JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("indexcardDeletedError"), language.getName("indexcardDeletedError"),
+                        JOptionPane.ERROR_MESSAGE));
+    }
 
-            // Delete the Indexcard
-            indexcardLogic.deleteIndexcard(id);
+    /**
+     * Delegates the exercise to delete several Indexcards at once to the IndexcardLogic, the LinkLogic
+     * and the KeywordLogic. The Links and the Keywords, that are not used anymore, are deleted with them,
+     * in one unit of work in the background and with a fixed number of statements, whatever the number of Indexcards.
+     * Displays an error, if the Indexcards could not be deleted.
+     *
+     * @param indexcards The Indexcards, with their Keywords.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
+     */
+    public CompletableFuture<Void> deleteIndexcards(List<Indexcard> indexcards) {
+        if (indexcards.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final List<Long> ids = indexcards.stream().map(Indexcard::getId).toList();
+        final Set<String> keywords = new HashSet<>();
+        for (Indexcard indexcard : indexcards) {
+            keywords.addAll(indexcard.getKeywordNames());
+        }
+        return update(() -> UnitOfWork.run(() -> {
+                    linkLogic.deleteLinksOfIndexcards(ids);
+                    indexcardLogic.deleteIndexcards(ids);
+                    keywordLogic.deleteUnusedKeywords(keywords);
+                }), () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardDeletedMessage"),
+                                String.join(", ", indexcards.stream().map(Indexcard::getName).toList())),
+                        language.getName("indexcardDeleted"), JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("indexcardDeletedError"), language.getName("indexcardDeletedError"),
+                        JOptionPane.ERROR_MESSAGE));
+    }
 
-            // Indexcard that should be deleted needs to be removed from the list
-            // of Indexcards this keyword is attached to.
-            for (Keyword keyword : keywords) {
-                if (indexcardLogic.getIndexcardsByKeyword(keyword.getName()).isEmpty()) {
-                    keywordLogic.deleteKeyword(keyword.getName());
-                }
+    /**
+     * Delegates the exercise to add a Keyword to several Indexcards at once to the KeywordLogic and the IndexcardLogic.
+     * The Keyword is created, if it does not exist yet. Runs in the background in one unit of work and
+     * with a fixed number of statements, whatever the number of Indexcards.
+     * Displays the result or an error, if the Keyword could not be added.
+     *
+     * @param indexcards The Indexcards.
+     * @param keyword    The name of the Keyword.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the Keyword is added.
+     */
+    public CompletableFuture<Void> addKeywordToIndexcards(List<Indexcard> indexcards, String keyword) {
+        final List<Long> ids = indexcards.stream().map(Indexcard::getId).toList();
+        return update(() -> UnitOfWork.run(() -> {
+                    final Keyword savedKeyword = keywordLogic.getKeywordByName(keyword)
+                            .orElseGet(() -> keywordLogic.createKeyword(keyword));
+                    indexcardLogic.addKeywordToIndexcards(ids, savedKeyword);
+                }), () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("keywordAddedMessage"), keyword, ids.size()),
+                        language.getName("keywordsChanged"), JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("keywordsChangedError"), language.getName("keywordsChangedError"),
+                        JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Delegates the exercise to remove a Keyword from several Indexcards at once to the IndexcardLogic.
+     * The Keyword is deleted, if it is not used anymore. Runs in the background in one unit of work and
+     * with a fixed number of statements, whatever the number of Indexcards.
+     * Displays the result or an error, if the Keyword could not be removed.
+     *
+     * @param indexcards The Indexcards.
+     * @param keyword    The name of the Keyword.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the Keyword is removed.
+     */
+    public CompletableFuture<Void> removeKeywordFromIndexcards(List<Indexcard> indexcards, String keyword) {
+        final List<Long> ids = indexcards.stream().map(Indexcard::getId).toList();
+        return update(() -> UnitOfWork.run(() -> {
+                    indexcardLogic.removeKeywordFromIndexcards(ids, keyword);
+                    keywordLogic.deleteUnusedKeywords(List.of(keyword));
+                }), () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("keywordRemovedMessage"), keyword, ids.size()),
+                        language.getName("keywordsChanged"), JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("keywordsChangedError"), language.getName("keywordsChangedError"),
+                        JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Delegates the exercise to add several Indexcards at once to a Category to the CategoryLogic.
+     * Runs in the background in one unit of work and with a fixed number of statements, whatever the number of Indexcards.
+     * Displays the result or an error, if there is no Category with the given name.
+     *
+     * @param indexcards   The Indexcards.
+     * @param categoryName The name of the Category.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the Indexcards are added.
+     */
+    public CompletableFuture<Void> addIndexcardsToCategory(List<Indexcard> indexcards, String categoryName) {
+        final List<Long> ids = indexcards.stream().map(Indexcard::getId).toList();
+        return update(() -> UnitOfWork.run(() -> categoryLogic.addIndexcardsToCategory(
+                        categoryLogic.getCategoryByName(categoryName).orElseThrow(IllegalStateException::new).getId(), ids)),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardsAddedToCategoryMessage"), ids.size(), categoryName),
+                        language.getName("categoryEdited"), JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("categoryChangedError"), language.getName("categoryChangedError"),
+                        JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Delegates the exercise to remove several Indexcards at once from a Category to the CategoryLogic.
+     * Runs in the background in one unit of work and with a fixed number of statements, whatever the number of Indexcards.
+     * Displays the result or an error, if there is no Category with the given name.
+     *
+     * @param indexcards   The Indexcards.
+     * @param categoryName The name of the Category.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the Indexcards are removed.
+     */
+    public CompletableFuture<Void> removeIndexcardsFromCategory(List<Indexcard> indexcards, String categoryName) {
+        final List<Long> ids = indexcards.stream().map(Indexcard::getId).toList();
+        return update(() -> UnitOfWork.run(() -> categoryLogic.removeIndexcardsFromCategory(
+                        categoryLogic.getCategoryByName(categoryName).orElseThrow(IllegalStateException::new).getId(), ids)),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardsRemovedFromCategoryMessage"), ids.size(), categoryName),
+                        language.getName("categoryEdited"), JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("categoryChangedError"), language.getName("categoryChangedError"),
+                        JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Runs a change in the background, after all changes that were requested before, and displays
+     * the result on the Event-Dispatch-Thread, when it is done.
+     *
+     * @param update    The change.
+     * @param onSuccess Displays the success of the change.
+     * @param onError   Displays the error, if the change failed.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
+     */
+    private CompletableFuture<Void> update(final Runnable update, final Runnable onSuccess, final Consumer<Throwable> onError) {
+        return updateAndGet(() -> {
+            update.run();
+            return null;
+        }, result -> onSuccess.run(), onError);
+    }
+
+    /**
+     * Runs a change with a result in the background, after all changes that were requested before, and displays
+     * the result on the Event-Dispatch-Thread, when it is done.
+     *
+     * @param update    The change, that returns its result.
+     * @param onSuccess Displays the result of the change.
+     * @param onError   Displays the error, if the change failed.
+     * @param <T>       The type of the result.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
+     */
+    private <T> CompletableFuture<Void> updateAndGet(final Supplier<T> update, final Consumer<T> onSuccess,
+                                                     final Consumer<Throwable> onError) {
+        return getAsyncController().updateAndGet(update).handleAsync((result, e) -> {
+            if (e == null) {
+                onSuccess.accept(result);
+            } else {
+                onError.accept(e instanceof CompletionException ? e.getCause() : e);
             }
+            return null;
+        }, AsyncController.EDT);
+    }
 
-            // Delete Links from this Indexcard
-            for (Link link : indexcard.getLinks()) {
-                linkLogic.deleteLink(link);
+    /**
+     * Imports all Indexcards of a CSV or JSON file in the background and shows the progress in a dialog.
+     * Displays the number of imported Indexcards or an error, if the file could not be imported.
+     *
+     * @param file The file with the Indexcards.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the import is done.
+     */
+    public CompletableFuture<Void> importIndexcards(File file) {
+        final JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setString(language.getName("importIndexcards"));
+        progressBar.setPreferredSize(new Dimension(360, progressBar.getPreferredSize().height));
+        final JDialog progressDialog = new JDialog(mainMenu, language.getName("importIndexcards"));
+        progressDialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        progressDialog.add(progressBar);
+        progressDialog.pack();
+        progressDialog.setLocationRelativeTo(mainMenu);
+        progressDialog.setVisible(true);
+        final IndexcardImportLogic.ProgressListener progressListener = (processedRows, rowsPerSecond) ->
+                SwingUtilities.invokeLater(() -> progressBar.setString(
+                        String.format(language.getName("importProgress"), processedRows, rowsPerSecond)));
+        return getAsyncController().importIndexcards(file, progressListener).handleAsync((result, e) -> {
+            progressDialog.dispose();
+            if (e == null) {
+                String message = String.format(language.getName("importFinishedMessage"), result.getImportedIndexcards(),
+                        result.getSkippedRows(), result.getUnresolvedLinks(), result.getIndexcardsPerSecond());
+                if (result.getFailedLinks() > 0) {
+                    message += "\n" + String.format(language.getName("importFailedLinksMessage"), result.getFailedLinks());
+                }
+                JOptionPane.showMessageDialog(mainMenu, message, language.getName("importFinished"),
+                        result.getFailedLinks() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                if (cause instanceof UncheckedIOException) {
+                    cause = cause.getCause();
+                }
+                JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("importErrorMessage"), cause.getMessage()), language.getName("importError"),
+                        JOptionPane.ERROR_MESSAGE);
             }
+            return null;
+        }, AsyncController.EDT);
+    }
 
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format(language.getName("indexcardDeletedMessage"), deletedName), language.getName("indexcardDeleted"),
-                    JOptionPane.INFORMATION_MESSAGE);
-        } catch (final IllegalStateException e) {
-            JOptionPane.showMessageDialog(mainMenu,
-                    language.getName("indexcardDeletedError"), language.getName("indexcardDeletedError"),
-                    JOptionPane.ERROR_MESSAGE);
+    /**
+     * Delegates the exercise to import all Indexcards of a CSV or JSON file to the IndexcardImportLogic.
+     * The Indexcards, that got Links, are marked as changed for the proposed Links.
+     * Runs on the thread of the caller, see {@link AsyncController#importIndexcards(File, IndexcardImportLogic.ProgressListener)}.
+     *
+     * @param file             The file with the Indexcards.
+     * @param progressListener Gets informed about the progress, could be null.
+     * @return The result of the import.
+     * @throws UncheckedIOException If the file could not be read.
+     * @throws IllegalStateException If a batch of Indexcards could not be saved.
+     */
+    public IndexcardImportResult importIndexcards(File file, IndexcardImportLogic.ProgressListener progressListener) {
+        try (IndexcardImportReader reader = IndexcardImportReader.open(file)) {
+            final IndexcardImportResult result = indexcardImportLogic.importIndexcards(reader, progressListener);
+            result.getLinkedIndexcardIds().forEach(linkLogic::indexcardChanged);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -336,13 +587,97 @@ public class Controller {
         return indexcardLogic.getIndexcardsByIndexcardNameList(indexcardNames);
     }
 
+    /**
+     * Delegates the exercise to get the Indexcards with the given ids.
+     *
+     * @param indexcardIds The ids of the Indexcards.
+     * @return The Indexcards with these ids, in the order of the ids.
+     */
+    public List<Indexcard> getIndexcardsByIds(long[] indexcardIds) {
+        return indexcardLogic.getIndexcardsByIds(indexcardIds);
+    }
+
+    /**
+     * Returns the Indexcards, that are the targets of the given Links, by their names.
+     * All targets are resolved at once.
+     *
+     * @param links The Links in the format "term => indexcard name".
+     * @return A map from the name to the Indexcard, without names that do not exist.
+     */
+    private Map<String, Indexcard> getLinkedIndexcards(List<String> links) {
+        final List<String> indexcardNames = links.stream().map(link -> link.split(" => ", 2)[1]).toList();
+        final Map<String, Indexcard> linkedIndexcards = new HashMap<>();
+        for (Indexcard indexcard : indexcardLogic.getIndexcardsByIndexcardNameList(indexcardNames)) {
+            linkedIndexcards.put(indexcard.getName(), indexcard);
+        }
+        return linkedIndexcards;
+    }
+
     /**
      * Returns a list of the names of all Indexcards.
      *
      * @return A list of the names of all Indexcards.
      */
     public List<String> getAllIndexcardNames() {
-        return getAllIndexcards().stream().map(Indexcard::getName).toList();
+        return getIndexcardSummaries().stream().map(IndexcardSummary::name).toList();
+    }
+
+    /**
+     * Delegates the exercise to find the id and name of all Indexcards to the IndexcardLogic.
+     *
+     * @return A list of the id and name of all Indexcards.
+     */
+    public List<IndexcardSummary> getIndexcardSummaries() {
+        return indexcardLogic.getIndexcardSummaries();
+    }
+
+    /**
+     * Delegates the exercise to find the id, name, question and answer of all Indexcards to the IndexcardLogic.
+     *
+     * @return A list of the texts of all Indexcards.
+     */
+    public List<IndexcardText> getIndexcardTexts() {
+        return indexcardLogic.getIndexcardTexts();
+    }
+
+    /**
+     * Delegates the exercise to find the names of the Keywords of all Indexcards to the IndexcardLogic.
+     *
+     * @return A map from the id of an Indexcard to the names of its Keywords.
+     */
+    public Map<Long, List<String>> getKeywordNamesByIndexcard() {
+        return indexcardLogic.getKeywordNamesByIndexcard();
+    }
+
+    /**
+     * Delegates the exercise to count the Indexcards to the IndexcardLogic.
+     *
+     * @return The number of Indexcards.
+     */
+    public int countIndexcards() {
+        return indexcardLogic.countIndexcards();
+    }
+
+    /**
+     * Delegates the exercise to find one page of the id and name of the Indexcards to the IndexcardLogic.
+     *
+     * @param afterId The id of the last Indexcard of the page before, or null if it is not known.
+     * @param offset  The position of the first Indexcard of the page.
+     * @param limit   The maximal number of Indexcards.
+     * @return The id and name of the Indexcards of the page.
+     */
+    public List<IndexcardSummary> getIndexcardSummaryPage(Long afterId, int offset, int limit) {
+        return indexcardLogic.getIndexcardSummaryPage(afterId, offset, limit);
+    }
+
+    /**
+     * Delegates the exercise to find the id and name of the Indexcards with the given ids to the IndexcardLogic.
+     *
+     * @param indexcardIds The ids of the Indexcards.
+     * @return The id and name of the Indexcards, in the order of the ids.
+     */
+    public List<IndexcardSummary> getIndexcardSummariesByIds(List<Long> indexcardIds) {
+        return indexcardLogic.getIndexcardSummariesByIds(indexcardIds);
     }
 
     /**
@@ -369,12 +704,41 @@ public class Controller {
      * Delegates the exercise to search for a text in all Indexcards.
      *
      * @param text The text.
-     * @return A list of Indexcards that contain the text.
+     * @return A list of Indexcards that match the text, the best match first.
      */
     public List<Indexcard> searchIndexcard(String text) {
         return indexcardLogic.searchIndexcard(text);
     }
 
+    /**
+     * Delegates the exercise to search for the ids of the Indexcards, that match a text.
+     *
+     * @param text The text.
+     * @return A list of the ids of the matching Indexcards, the best match first.
+     */
+    public List<Long> searchIndexcardIds(String text) {
+        return indexcardLogic.searchIndexcardIds(text);
+    }
+
+    /**
+     * Delegates the exercise to check, if a text contains a word to search for, to the IndexcardLogic.
+     *
+     * @param text The text.
+     * @return True, if the text contains a word.
+     */
+    public boolean containsSearchWords(String text) {
+        return indexcardLogic.containsSearchWords(text);
+    }
+
+    /**
+     * Delegates the exercise to propose Links for the whole deck to the LinkLogic.
+     *
+     * @return The proposed Links, the most frequent first.
+     */
+    public List<LinkSuggestion> suggestLinks() {
+        return linkLogic.suggestLinks();
+    }
+
     /* INDEXCARDBOXES */
 
     /**
@@ -385,24 +749,21 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to create a new IndexcardBox to the IndexcardBoxLogic.
+     * Delegates the exercise to create a new IndexcardBox to the IndexcardBoxLogic in the background.
      * Displays an error, if already an IndexcardBox with the same name exists.
      *
      * @param name The name of the IndexcardBox.
      * @param categoryList The Categories that should be added to this IndexcardBox.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
      */
-    public void createIndexcardBox(String name, List<Category> categoryList) {
-        try {
-            //logic
-            indexcardBoxLogic.createIndexcardBox(name,categoryList);
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format((language.getName("indexcardBoxCreatedMessage")),name), language.getName("indexcardBoxCreated"),
-                    JOptionPane.INFORMATION_MESSAGE);
-        } catch (final IllegalStateException e) {
-            JOptionPane.showMessageDialog(mainMenu,
-                    language.getName("indexcardAlreadyExistError"), language.getName("nameAlreadyAssignedError"),
-                    JOptionPane.ERROR_MESSAGE);
-        }
+    public CompletableFuture<Void> createIndexcardBox(String name, List<Category> categoryList) {
+        return update(() -> indexcardBoxLogic.createIndexcardBox(name,categoryList),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format((language.getName("indexcardBoxCreatedMessage")),name), language.getName("indexcardBoxCreated"),
+                        JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("indexcardAlreadyExistError"), language.getName("nameAlreadyAssignedError"),
+                        JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -423,6 +784,7 @@ public class Controller {
 
     /**
      * Delegates the exercise to update an existing IndexcardBox.
+     * Runs on the thread of the caller, the GUI runs it with {@link AsyncController#update(Runnable)}.
      *
      * @param indexcardBoxName The name of the IndexcardBox that should be updated.
      * @param categoryList The new Categories of the IndexcardBox.
@@ -439,23 +801,40 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to delete an existing IndexcardBox to the IndexcardBoxLogic.
+     * Delegates the exercise to delete an existing IndexcardBox to the IndexcardBoxLogic in the background.
      * Displays an error, if no IndexcardBox with the same name exists.
      *
      * @param name The name of the IndexcardBox.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
      */
-    public void deleteIndexcardBox(String name){
-        try {
-            indexcardBoxLogic.deleteIndexcardBox(name);
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format(language.getName("indexcardBoxDeletedMessage"), name),language.getName("indexcardBoxDeleted") ,
-                    JOptionPane.INFORMATION_MESSAGE);
-        }
-        catch (final IllegalStateException e) {
-            JOptionPane.showMessageDialog(mainMenu,
-                    language.getName("noIndexcardBoxWithNameError"), language.getName("noIndexcardBoxError"),
-                    JOptionPane.ERROR_MESSAGE);
+    public CompletableFuture<Void> deleteIndexcardBox(String name){
+        return update(() -> indexcardBoxLogic.deleteIndexcardBox(name),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardBoxDeletedMessage"), name),language.getName("indexcardBoxDeleted") ,
+                        JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("noIndexcardBoxWithNameError"), language.getName("noIndexcardBoxError"),
+                        JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Delegates the exercise to delete several IndexcardBoxes at once to the IndexcardBoxLogic in the background.
+     * Displays an error, if the IndexcardBoxes could not be deleted.
+     *
+     * @param names The names of the IndexcardBoxes.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
+     */
+    public CompletableFuture<Void> deleteIndexcardBoxes(List<String> names) {
+        if (names.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
         }
+        return update(() -> indexcardBoxLogic.deleteIndexcardBoxes(names),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("indexcardBoxDeletedMessage"), String.join(", ", names)),
+                        language.getName("indexcardBoxDeleted"), JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu,
+                        language.getName("noIndexcardBoxWithNameError"), language.getName("noIndexcardBoxError"),
+                        JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -483,7 +862,31 @@ public class Controller {
      * @return A list of the names of all IndexcardBoxes.
      */
     public List<String> getAllIndexcardBoxNames() {
-        return getAllIndexcardBoxes().stream().map(IndexcardBox::getName).toList();
+        return indexcardBoxLogic.getIndexcardBoxNames();
+    }
+
+    /**
+     * Delegates the exercise to count the IndexcardBoxes, that contain a text, to the IndexcardBoxLogic.
+     *
+     * @param text The text, empty for all IndexcardBoxes.
+     * @return The number of IndexcardBoxes.
+     */
+    public int countIndexcardBoxes(String text) {
+        return indexcardBoxLogic.countIndexcardBoxes(text);
+    }
+
+    /**
+     * Delegates the exercise to find one page of the names of the IndexcardBoxes, that contain a text,
+     * to the IndexcardBoxLogic.
+     *
+     * @param text      The text, empty for all IndexcardBoxes.
+     * @param afterName The name of the last IndexcardBox of the page before, or null if it is not known.
+     * @param offset    The position of the first IndexcardBox of the page.
+     * @param limit     The maximal number of IndexcardBoxes.
+     * @return The names of the IndexcardBoxes of the page.
+     */
+    public List<String> getIndexcardBoxNamePage(String text, String afterName, int offset, int limit) {
+        return indexcardBoxLogic.getIndexcardBoxNamePage(text, afterName, offset, limit);
     }
 
     /**
@@ -526,21 +929,19 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to create a new Category to the CategoryLogic.
+     * Delegates the exercise to create a new Category to the CategoryLogic in the background.
      *
      * @param name The name of the Category.
      * @param parents The parents of the Category.
      * @param indexcards The Indexcards that should be in this Category.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
      */
-    public void createCategory(String name, List<Category> parents, List<Indexcard> indexcards) {
-        try {
-            categoryLogic.createCategory(name, indexcards, parents);
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format((language.getName("categoryCreatedMessage")), name), language.getName("categoryCreated"),
-                    JOptionPane.INFORMATION_MESSAGE);
-        } catch (final IllegalStateException e) {
-            JOptionPane.showMessageDialog(mainMenu, e.getMessage());
-        }
+    public CompletableFuture<Void> createCategory(String name, List<Category> parents, List<Indexcard> indexcards) {
+        return update(() -> UnitOfWork.run(() -> categoryLogic.createCategory(name, indexcards, parents)),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format((language.getName("categoryCreatedMessage")), name), language.getName("categoryCreated"),
+                        JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu, e.getMessage()));
     }
 
     /**
@@ -560,24 +961,21 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to edit a Category to the CategoryLogic.
+     * Delegates the exercise to edit a Category to the CategoryLogic in the background.
      * Displays an error, if there is no Category with the given name.
      *
      * @param newName The new name of the Category.
      * @param newParents The new parents of the Category.
      * @param newIndexcards The new Indexcards of the Category.
      * @param id The id of the Category
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
      */
-    public void editCategory(String newName, List<Category> newParents, List<Indexcard> newIndexcards, Long id) {
-        try {
-            categoryLogic.updateCategory(newName, newParents, newIndexcards, id);
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format((language.getName("categoryEditedMessage")), newName), language.getName("categoryEdited"),
-                    JOptionPane.INFORMATION_MESSAGE);
-        }
-        catch (final IllegalStateException e) {
-            JOptionPane.showMessageDialog(mainMenu, e.getMessage());
-        }
+    public CompletableFuture<Void> editCategory(String newName, List<Category> newParents, List<Indexcard> newIndexcards, Long id) {
+        return update(() -> UnitOfWork.run(() -> categoryLogic.updateCategory(newName, newParents, newIndexcards, id)),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format((language.getName("categoryEditedMessage")), newName), language.getName("categoryEdited"),
+                        JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu, e.getMessage()));
     }
 
     /**
@@ -588,21 +986,37 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to delete an existing Category to the CategoryLogic.
+     * Delegates the exercise to delete an existing Category to the CategoryLogic in the background.
      * *
      * @param category The Category that should be deleted.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
      */
-    public void deleteCategory(Category category){
-        try {
-            String deletedName = category.getCategoryName();
-            categoryLogic.deleteCategory(category);
-            JOptionPane.showMessageDialog(mainMenu,
-                    String.format(language.getName("categoryDeletedMessage"), deletedName), language.getName("categoryDeleted"),
-                    JOptionPane.INFORMATION_MESSAGE);
-        }
-        catch (final IllegalStateException e) {
-            JOptionPane.showMessageDialog(mainMenu, e.getMessage());
+    public CompletableFuture<Void> deleteCategory(Category category){
+        String deletedName = category.getCategoryName();
+        return update(() -> UnitOfWork.run(() -> categoryLogic.deleteCategory(category)),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("categoryDeletedMessage"), deletedName), language.getName("categoryDeleted"),
+                        JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu, e.getMessage()));
+    }
+
+    /**
+     * Delegates the exercise to delete several Category's at once to the CategoryLogic.
+     *
+     * @param categories The Category's that should be deleted.
+     * @return A future, that is completed on the Event-Dispatch-Thread, when the result is displayed.
+     */
+    public CompletableFuture<Void> deleteCategories(List<Category> categories) {
+        if (categories.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
         }
+        final List<Long> ids = categories.stream().map(Category::getId).toList();
+        return update(() -> UnitOfWork.run(() -> categoryLogic.deleteCategories(ids)),
+                () -> JOptionPane.showMessageDialog(mainMenu,
+                        String.format(language.getName("categoryDeletedMessage"),
+                                String.join(", ", categories.stream().map(Category::getCategoryName).toList())),
+                        language.getName("categoryDeleted"), JOptionPane.INFORMATION_MESSAGE),
+                e -> JOptionPane.showMessageDialog(mainMenu, e.getMessage()));
     }
 
     /**
@@ -626,12 +1040,12 @@ public class Controller {
     }
 
     /**
-     * Delegates the exercise to find all Categories to the CategoryLogic.
+     * Delegates the exercise to return all Category's without a parent.
      *
-     * @return A list of all Categories.
+     * @return A list of all Category's, that are not a child of another Category.
      */
-    public List<Category> getAllCategories() {
-        return categoryLogic.getAllCategories();
+    public List<Category> getRootCategories() {
+        return categoryLogic.getRootCategories();
     }
 
     /**
@@ -660,7 +1074,40 @@ public class Controller {
      * @return A list of the names of all Categories.
      */
     public List<String> getCategoryNames() {
-        return getAllCategories().stream().map(Category::getCategoryName).toList();
+        return getCategorySummaries().stream().map(CategorySummary::name).toList();
+    }
+
+    /**
+     * Delegates the exercise to find the id and name of all Categories to the CategoryLogic.
+     *
+     * @return A list of the id and name of all Categories.
+     */
+    public List<CategorySummary> getCategorySummaries() {
+        return categoryLogic.getCategorySummaries();
+    }
+
+    /**
+     * Delegates the exercise to count the Categories, that contain a text, to the CategoryLogic.
+     *
+     * @param text The text, empty for all Categories.
+     * @return The number of Categories.
+     */
+    public int countCategories(String text) {
+        return categoryLogic.countCategories(text);
+    }
+
+    /**
+     * Delegates the exercise to find one page of the id and name of the Categories, that contain a text,
+     * to the CategoryLogic.
+     *
+     * @param text    The text, empty for all Categories.
+     * @param afterId The id of the last Category of the page before, or null if it is not known.
+     * @param offset  The position of the first Category of the page.
+     * @param limit   The maximal number of Categories.
+     * @return The id and name of the Categories of the page.
+     */
+    public List<CategorySummary> getCategorySummaryPage(String text, Long afterId, int offset, int limit) {
+        return categoryLogic.getCategorySummaryPage(text, afterId, offset, limit);
     }
 
     /**
@@ -683,6 +1130,15 @@ public class Controller {
         return categoryLogic.getCategoriesByIndexcard(indexCard);
     }
 
+    /**
+     * Delegates the exercise to return the names of the Categories of all Indexcards at once.
+     *
+     * @return A map from the id of an Indexcard to the names of its Categories.
+     */
+    public Map<Long, List<String>> getCategoryNamesByIndexcard() {
+        return categoryLogic.getCategoryNamesByIndexcard();
+    }
+
     /**
      * Delegates the exercise to search for Category`s with text in the category repository.
      *
@@ -697,14 +1153,18 @@ public class Controller {
 
     /**
      * Delegates the exercise to learn an IndexcardBox to the LearnsystemLogic.
+     * The Learnsystem is loaded or created in the background, then the learning session is displayed.
      *
+     * @param name The name of the selected Learnsystem.
+     * @param algorithm The name of the algorithm, that sets the due times, null for the Leitner-System.
      * @param indexcardBox The IndexcardBox that should be learned.
      */
-    public void learnLeitnerSystem(String name, IndexcardBox indexcardBox, int numberOfBoxes, String sort, String box) {
+    public void learnLeitnerSystem(String name, String algorithm, IndexcardBox indexcardBox, int numberOfBoxes, String sort, String box) {
         if (!indexcardBox.getCategoryList().isEmpty()) {
             String learnSystemName = indexcardBox.getName() + name;
-            List<String> indexCardNameList = indexcardBox.getIndexcardList();
-            mainMenu.displayLearning(leitnerLearnSystemLogic.learnLeitnerSystem(learnSystemName, indexCardNameList, numberOfBoxes, sort), indexcardBox, sort, box);
+            AsyncController.onEdt(getAsyncController().updateAndGet(() -> leitnerLearnSystemLogic.learnLeitnerSystem(learnSystemName,
+                            algorithm, indexcardBox.getIndexcardIds(), numberOfBoxes, sort)),
+                    learnSystem -> mainMenu.displayLearning(learnSystem, indexcardBox, sort, box));
         }
         else {
             JOptionPane.showMessageDialog(mainMenu,
@@ -713,11 +1173,20 @@ public class Controller {
         }
     }
 
+    /**
+     * Delegates the exercise to learn an IndexcardBox in random order to the LearnsystemLogic.
+     * The Learnsystem is loaded or created in the background, then the learning session is displayed.
+     *
+     * @param name The name of the selected Learnsystem.
+     * @param indexcardBox The IndexcardBox that should be learned.
+     * @param numberOfBoxes The number of Boxes of a new Learnsystem.
+     */
     public void learnRandomLearnSystem(String name, IndexcardBox indexcardBox, int numberOfBoxes) {
         if (!indexcardBox.getCategoryList().isEmpty()) {
             String learnSystemName = indexcardBox.getName() + name;
-            List<String> indexCardNameList = indexcardBox.getIndexcardList();
-            mainMenu.displayLearning(leitnerLearnSystemLogic.learnLeitnerSystem(learnSystemName, indexCardNameList, numberOfBoxes, ""), indexcardBox, language.getName("random"));
+            AsyncController.onEdt(getAsyncController().updateAndGet(() -> leitnerLearnSystemLogic.learnLeitnerSystem(learnSystemName,
+                            null, indexcardBox.getIndexcardIds(), numberOfBoxes, "")),
+                    learnSystem -> mainMenu.displayLearning(learnSystem, indexcardBox, language.getName("random")));
         }
         else {
             JOptionPane.showMessageDialog(mainMenu,
@@ -734,6 +1203,75 @@ public class Controller {
         leitnerLearnSystemLogic.updateLearnsystem(learnsystem);
     }
 
+    /**
+     * Delegates the exercise to create the schedule of a learning session.
+     *
+     * @param learnsystem The Learnsystem.
+     * @param boxName The name of the Box that should be learned, null or empty for all Boxes.
+     * @param order The order of Indexcards with the same due time, null for the order in the Boxes.
+     * @return The schedule with the due Indexcards.
+     */
+    public LeitnerScheduler createLeitnerScheduler(LeitnerLearnSystem learnsystem, String boxName, Comparator<Long> order) {
+        return leitnerLearnSystemLogic.createScheduler(learnsystem, boxName, order);
+    }
+
+    /**
+     * Delegates the exercise to order the ids of the Indexcards by their names.
+     *
+     * @return The order of the ids by the names in alphabetical order.
+     */
+    public Comparator<Long> getAlphabeticalOrder() {
+        return leitnerLearnSystemLogic.getAlphabeticalOrder();
+    }
+
+    /**
+     * Delegates the exercise to save an answer of a learning session in the background.
+     *
+     * @param learnsystem The Learnsystem, the Indexcard was already moved in.
+     * @param indexcard The answered Indexcard.
+     * @param correct True, if the answer was correct.
+     * @param sourceBox The number of the Box, the Indexcard was in before the answer.
+     * @param responseTime The time in milliseconds from showing the question to the answer.
+     */
+    public void recordAnswer(LeitnerLearnSystem learnsystem, Indexcard indexcard, boolean correct, int sourceBox, int responseTime) {
+        leitnerLearnSystemLogic.recordAnswer(learnsystem, indexcard, correct, sourceBox, responseTime);
+    }
+
+    /**
+     * Delegates the exercise to compute the statistics of the answers in a Learnsystem.
+     *
+     * @param learnsystem The Learnsystem.
+     * @return The statistics per Indexcard and per Box.
+     */
+    public ReviewStatistics getReviewStatistics(LeitnerLearnSystem learnsystem) {
+        return leitnerLearnSystemLogic.getReviewStatistics(learnsystem);
+    }
+
+    /**
+     * Returns the hit ratios of the second-level cache and the query cache.
+     *
+     * @return The current counts of the caches.
+     */
+    public CacheStatistics getCacheStatistics() {
+        return CacheStatistics.snapshot();
+    }
+
+    /**
+     * Delegates the exercise to save the progress of a Learnsystem in the background.
+     *
+     * @param learnsystem The Learnsystem.
+     */
+    public void recordLearnProgress(LeitnerLearnSystem learnsystem) {
+        leitnerLearnSystemLogic.recordProgress(learnsystem);
+    }
+
+    /**
+     * Delegates the exercise to save the queued progress of the learning sessions.
+     */
+    public void flushLearnProgress() {
+        leitnerLearnSystemLogic.flushProgress();
+    }
+
     /**
      * Delegates the exercise to check if a Learnsystem with the given name exists.
      *
@@ -753,4 +1291,15 @@ public class Controller {
     public LeitnerLearnSystem getLeitnerLearnSystemByName(String name) {
         return leitnerLearnSystemLogic.getLeitnerLearnSystemByName(name);
     }
+
+    /**
+     * Delegates the exercise to find the Box of an Indexcard in a Learnsystem.
+     *
+     * @param learnsystem The Learnsystem.
+     * @param indexcardId The id of the Indexcard.
+     * @return The number of the Box, starting with 0, if the Indexcard is learned in the Learnsystem.
+     */
+    public Optional<Integer> getBoxNumber(LeitnerLearnSystem learnsystem, long indexcardId) {
+        return leitnerLearnSystemLogic.getBoxNumber(learnsystem, indexcardId);
+    }
 }
\ No newline at end of file
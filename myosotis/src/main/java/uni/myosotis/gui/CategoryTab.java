@@ -1,17 +1,26 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 import uni.myosotis.objects.Category;
+import uni.myosotis.objects.CategorySummary;
 
 import javax.swing.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class CategoryTab extends JFrame{
 
     private final Controller controller;
+    private final AsyncController asyncController;
     private final Language language;
+    private int listRequest;
+    /**
+     * The shown model, that resolves the selected rows to Categories.
+     */
+    private PagedListModel<CategorySummary> categoryModel;
     private JPanel contentPane;
     private JButton createButton;
     private JButton editButton;
@@ -29,13 +38,15 @@ public class CategoryTab extends JFrame{
      */
     public CategoryTab(Controller controller, Language language) {
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         setContentPane(contentPane);
         setTitle(language.getName("categoryTitle"));
         pack();
         setMinimumSize(getSize());
         setSize(800, 600);
-        updateList(controller.getAllCategories());
+        PagedListModel.useFixedCellSize(categoryList);
+        updateList(categories(""));
         addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
                 onCancel();
@@ -61,7 +72,7 @@ public class CategoryTab extends JFrame{
      */
     private void onCreate() {
         controller.createCategory();
-        updateList(controller.getAllCategories());
+        updateList(categories(""));
     }
 
     /**
@@ -71,14 +82,15 @@ public class CategoryTab extends JFrame{
      */
     private void onEdit(){
         if (categoryList.getSelectedValue() != null) {
-            if (controller.getCategoryByName(categoryList.getSelectedValue()).isPresent()) {
-                controller.editCategory(controller.getCategoryByName(categoryList.getSelectedValue()).get());
-            }
+            AsyncController.onEdt(asyncController.getCategoryByName(categoryList.getSelectedValue()), category -> {
+                category.ifPresent(controller::editCategory);
+                updateList(categories(""));
+            });
         }
         else {
             controller.editCategory();
+            updateList(categories(""));
         }
-        updateList(controller.getAllCategories());
     }
 
     /**
@@ -88,30 +100,47 @@ public class CategoryTab extends JFrame{
      * and updates the displayed list of all Indexcards.
      */
     private void onDelete(){
-        if (categoryList.getSelectedValue() != null) {
-            for (String categoryName : categoryList.getSelectedValuesList()) {
-                if (controller.getCategoryByName(categoryName).isPresent()) {
-                    controller.deleteCategory(controller.getCategoryByName(categoryName).get());
-                }
-            }
+        if (!categoryList.isSelectionEmpty()) {
+            // The names of the selected rows could be not loaded yet, so they are resolved by the model.
+            CompletableFuture<List<Category>> selectedCategories = categoryModel.getElementsAt(categoryList.getSelectedIndices())
+                    .thenCompose(summaries -> asyncController.query(() ->
+                            controller.getCategoriesByCategoryNameList(summaries.stream().map(CategorySummary::name).toList())));
+            AsyncController.disableUntilDone(selectedCategories
+                    .thenComposeAsync(controller::deleteCategories, AsyncController.EDT)
+                    .thenRun(() -> updateList(categories(""))), deleteButton);
         }
         else {
             controller.deleteCategory();
+            updateList(categories(""));
         }
-        updateList(controller.getAllCategories());
     }
 
     /**
-     * Updates the displayed list of Categories.
+     * Updates the displayed list of Categories, as soon as they are loaded.
+     * Results of older requests are ignored.
      *
-     * @param categoryList The updated elements of the displayed list.
+     * @param categoryList The future model of the displayed list.
      */
-    private void updateList(List<Category> categoryList) {
-        DefaultListModel<String> listModel = new DefaultListModel<>();
-        for (Category category : categoryList) {
-            listModel.addElement(category.getCategoryName());
-        }
-        this.categoryList.setModel(listModel);
+    private void updateList(CompletableFuture<PagedListModel<CategorySummary>> categoryList) {
+        final int request = ++listRequest;
+        AsyncController.onEdt(categoryList, listModel -> {
+            if (request == listRequest) {
+                this.categoryModel = listModel;
+                this.categoryList.setModel(listModel);
+            }
+        });
+    }
+
+    /**
+     * Returns a model, that loads the names of the Categories page by page.
+     *
+     * @param text The text, the names must contain, empty for all Categories.
+     * @return The future model.
+     */
+    private CompletableFuture<PagedListModel<CategorySummary>> categories(final String text) {
+        return PagedListModel.create(asyncController, () -> controller.countCategories(text),
+                (after, offset, limit) -> controller.getCategorySummaryPage(text, after == null ? null : after.id(), offset, limit),
+                CategorySummary::name);
     }
 
     /**
@@ -120,7 +149,7 @@ public class CategoryTab extends JFrame{
      * for the selected text.
      */
     private void onSearch(){
-        updateList(controller.searchCategory(searchField.getText()));
+        updateList(categories(searchField.getText()));
     }
 
     /**
@@ -1,5 +1,6 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 import uni.myosotis.objects.Category;
 import uni.myosotis.objects.Indexcard;
@@ -10,6 +11,8 @@ import javax.swing.tree.DefaultTreeModel;
 import java.awt.event.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class CreateCategory extends JDialog {
 
@@ -17,6 +20,7 @@ public class CreateCategory extends JDialog {
      * The controller.
      */
     private final Controller controller;
+    private final AsyncController asyncController;
     private final Language language;
     private JPanel contentPane;
     private JTextField nameTextField;
@@ -37,6 +41,7 @@ public class CreateCategory extends JDialog {
      */
     public CreateCategory(Controller controller, Language language) {
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         setTitle(language.getName("createCategoryTitle"));
         setModal(true);
@@ -73,19 +78,18 @@ public class CreateCategory extends JDialog {
     }
 
     /**
-     * Updates the tree of the current poly-hierarchy of the Category`s.
+     * Updates the tree of the current poly-hierarchy of the Category`s, as soon as it is loaded in the background.
      */
     private void updateCategoryTree() {
-        DefaultMutableTreeNode root = new DefaultMutableTreeNode(language.getName("categoryTitle"));
-        for (Category category : controller.getAllCategories()) {
-            if (controller.getParentCategories(category).isEmpty()) {
+        AsyncController.onEdt(asyncController.query(() -> {
+            DefaultMutableTreeNode root = new DefaultMutableTreeNode(language.getName("categoryTitle"));
+            for (Category category : controller.getRootCategories()) {
                 DefaultMutableTreeNode node = new DefaultMutableTreeNode(category.getCategoryName());
                 addNodes(node);
                 root.add(node);
             }
-        }
-        DefaultTreeModel defaultTreeModel = new DefaultTreeModel(root);
-        categoryTree.setModel(defaultTreeModel);
+            return new DefaultTreeModel(root);
+        }), categoryTree::setModel);
     }
 
     /**
@@ -105,49 +109,59 @@ public class CreateCategory extends JDialog {
     }
 
     /**
-     * Updates the lists of possible parents of the Category.
+     * Updates the lists of possible parents of the Category, as soon as they are loaded in the background.
      */
     private void updateParentList() {
-        // List of possible Parents
-        DefaultListModel<String> newParentList = new DefaultListModel<>();
-        newParentList.addAll(controller.getAllCategories().stream().map(Category::getCategoryName).toList());
-        parentList.setModel(newParentList);
+        AsyncController.onEdt(asyncController.query(controller::getCategoryNames), categoryNames -> {
+            // List of possible Parents
+            DefaultListModel<String> newParentList = new DefaultListModel<>();
+            newParentList.addAll(categoryNames);
+            parentList.setModel(newParentList);
+        });
     }
 
     /**
-     * Updates the list of Indexcards.
+     * Updates the list of Indexcards, as soon as they are loaded in the background.
      */
     private void updateIndexcardList() {
-        DefaultListModel<String> defaultListModel = new DefaultListModel<>();
-        defaultListModel.addAll(controller.getAllIndexcardNames());
-        indexcardList.setModel(defaultListModel);
+        AsyncController.onEdt(asyncController.query(controller::getAllIndexcardNames), indexcardNames -> {
+            DefaultListModel<String> defaultListModel = new DefaultListModel<>();
+            defaultListModel.addAll(indexcardNames);
+            indexcardList.setModel(defaultListModel);
+        });
     }
 
     /**
-     * Create a new Category, if the entered Text isn't empty, and close the window.
+     * Create a new Category in the background, if the entered Text isn't empty, and close the window, when it is created.
+     * The buttons are disabled, until the Category is created.
      */
     private void onCreate() {
         String name = nameTextField.getText();
         if (name.isBlank()) {
             JOptionPane.showMessageDialog(this, language.getName("categoryWithNoNameError"), language.getName("categoryWithNoName"), JOptionPane.INFORMATION_MESSAGE);
-        } else if (controller.getAllCategories().stream().map(Category::getCategoryName).toList().contains(name)) {
-            JOptionPane.showMessageDialog(this, language.getName("categoryAlreadyExistError"), language.getName("categoryAlreadyExist"), JOptionPane.INFORMATION_MESSAGE);
-        } else {
+            return;
+        }
+        List<String> parentNames = parentList.getSelectedValuesList();
+        List<String> indexcardNames = indexcardList.getSelectedValuesList();
+        // Empty, if the name is already assigned.
+        CompletableFuture<Optional<CategorySelection>> selection = asyncController.query(() -> {
+            if (controller.getCategoryNames().contains(name)) {
+                return Optional.empty();
+            }
             List<Category> selectedParents = new ArrayList<>();
-            for (String s : parentList.getSelectedValuesList()) {
-                if (controller.getCategoryByName(s).isPresent()) {
-                    selectedParents.add(controller.getCategoryByName(s).get());
-                }
+            for (String s : parentNames) {
+                controller.getCategoryByName(s).ifPresent(selectedParents::add);
             }
-            List<Indexcard> selectedIndexcards = new ArrayList<>();
-            for (String s : indexcardList.getSelectedValuesList()) {
-                if (controller.getIndexcardByName(s).isPresent()) {
-                    selectedIndexcards.add(controller.getIndexcardByName(s).get());
-                }
+            return Optional.of(new CategorySelection(selectedParents, controller.getIndexcardsByIndexcardNameList(indexcardNames)));
+        });
+        AsyncController.disableUntilDone(selection.thenComposeAsync(selected -> {
+            if (selected.isEmpty()) {
+                JOptionPane.showMessageDialog(this, language.getName("categoryAlreadyExistError"), language.getName("categoryAlreadyExist"), JOptionPane.INFORMATION_MESSAGE);
+                return CompletableFuture.completedFuture(null);
             }
-            controller.createCategory(name, selectedParents, selectedIndexcards);
-            dispose();
-        }
+            return controller.createCategory(name, selected.get().parents(), selected.get().indexcards())
+                    .thenRun(this::dispose);
+        }, AsyncController.EDT), createButton, cancelButton);
     }
 
     /**
@@ -157,4 +171,10 @@ public class CreateCategory extends JDialog {
         // add your code here if necessary
         dispose();
     }
+
+    /**
+     * The selected parents and Indexcards of the new Category.
+     */
+    private record CategorySelection(List<Category> parents, List<Indexcard> indexcards) {
+    }
 }
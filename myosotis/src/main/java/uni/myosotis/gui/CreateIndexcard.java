@@ -1,5 +1,6 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 
 import javax.swing.*;
@@ -49,11 +50,13 @@ public class CreateIndexcard extends JDialog {
         setModal(true);
         setContentPane(contentPane);
         getRootPane().setDefaultButton(buttonOK);
-        // Set Model
-        DefaultListModel<String> listModel = new DefaultListModel<>();
-        listModel.addAll(controller.getAllIndexcardNames());
+        // Set Model, as soon as the names of the Indexcards are loaded
+        AsyncController.onEdt(controller.getAsyncController().query(controller::getAllIndexcardNames), indexcardNames -> {
+            DefaultListModel<String> listModel = new DefaultListModel<>();
+            listModel.addAll(indexcardNames);
+            indexcardList.setModel(listModel);
+        });
         // For Language
-        indexcardList.setModel(listModel);
         buttonOK.setText(language.getName("confirm"));
         buttonCancel.setText(language.getName("cancel"));
         nameLabel.setText(language.getName("name"));
@@ -123,7 +126,8 @@ public class CreateIndexcard extends JDialog {
     }
 
     /**
-     * Create a new Indexcard, if the entered Text isn't empty, and close the window.
+     * Create a new Indexcard in the background, if the entered Text isn't empty, and close the window, when it is created.
+     * The buttons are disabled, until the Indexcard is created.
      */
     private void onOK() {
         final String name = textFieldName.getText();
@@ -145,8 +149,8 @@ public class CreateIndexcard extends JDialog {
         }
 
         if (!name.isBlank() && !question.isBlank() && !answer.isBlank()) {
-            controller.createIndexcard(name, question, answer, keywords, links);
-            dispose();
+            AsyncController.disableUntilDone(controller.createIndexcard(name, question, answer, keywords, links)
+                    .thenRun(this::dispose), buttonOK, buttonCancel, addLinkButton, removeLinkButton);
         } else {
             JOptionPane.showMessageDialog(this, language.getName("notAllFieldsFilledError"), language.getName("indexcardNotCreated"), JOptionPane.ERROR_MESSAGE);
         }
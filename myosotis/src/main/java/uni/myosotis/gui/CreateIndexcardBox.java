@@ -1,5 +1,6 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 import uni.myosotis.objects.Category;
 
@@ -7,6 +8,7 @@ import javax.swing.*;
 import java.awt.event.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class CreateIndexcardBox extends JDialog {
 
@@ -14,6 +16,7 @@ public class CreateIndexcardBox extends JDialog {
      * The controller.
      */
     private final Controller controller;
+    private final AsyncController asyncController;
     private final Language language;
     private JLabel nameLabel;
     private JTextField indexcardBoxName;
@@ -39,6 +42,7 @@ public class CreateIndexcardBox extends JDialog {
      */
     public CreateIndexcardBox(Controller controller, Language language) {
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         setTitle(language.getName("createIndexcardBoxTitle"));
         setModal(true);
@@ -67,33 +71,36 @@ public class CreateIndexcardBox extends JDialog {
     }
 
     /**
-     * Sets the CategoryScrollPane with a list of all Categories.
+     * Sets the CategoryScrollPane with a list of all Categories, that is filled as soon as they are loaded in the background.
      */
     public void setCategoryScrollPane(){
-        // Array of all Categories
-        String[] categoriesNames = controller.getAllCategories().stream().
-                map(Category::getCategoryName).toList().toArray(new String[0]);
-        categoryNamesList = new JList<>(categoriesNames);
+        categoryNamesList = new JList<>();
         categoryNamesList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         // Parents options
         categoryScrollPane.setViewportView(categoryNamesList);
+        // Array of all Categories
+        AsyncController.onEdt(asyncController.query(controller::getCategoryNames),
+                categoriesNames -> categoryNamesList.setListData(categoriesNames.toArray(new String[0])));
     }
 
     /**
-     * Create a new Category, if the entered Text isn't empty, and close the window.
+     * Create a new IndexcardBox in the background, if the entered Text isn't empty, and close the window, when it is created.
+     * The buttons are disabled, until the IndexcardBox is created.
      */
     private void onOK() {
         final String name = indexcardBoxName.getText();
         final List<String> selectedCategoriesNames = categoryNamesList.getSelectedValuesList();
-        final List<Category> selectedCategories = new ArrayList<>();
-        for (String selectedCategoriesName : selectedCategoriesNames) {
-            if (controller.getCategoryByName(selectedCategoriesName).isPresent()) {
-                selectedCategories.add(controller.getCategoryByName(selectedCategoriesName).get());
-            }
-        }
         if (!name.isBlank() && !selectedCategoriesNames.isEmpty()) {
-            controller.createIndexcardBox(name, selectedCategories);
-            dispose();
+            CompletableFuture<List<Category>> selectedCategories = asyncController.query(() -> {
+                final List<Category> categories = new ArrayList<>();
+                for (String selectedCategoriesName : selectedCategoriesNames) {
+                    controller.getCategoryByName(selectedCategoriesName).ifPresent(categories::add);
+                }
+                return categories;
+            });
+            AsyncController.disableUntilDone(selectedCategories
+                    .thenComposeAsync(categories -> controller.createIndexcardBox(name, categories), AsyncController.EDT)
+                    .thenRun(this::dispose), confirmButton, cancelButton);
         } else {
             JOptionPane.showMessageDialog(this, language.getName("notAllFieldsFilledError"), language.getName("indexcardboxNotCreated"), JOptionPane.ERROR_MESSAGE);
         }
@@ -1,10 +1,11 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
-import uni.myosotis.objects.Category;
 
 import javax.swing.*;
 import java.awt.event.*;
+import java.util.concurrent.CompletableFuture;
 
 public class DeleteCategory extends JDialog{
     /**
@@ -34,11 +35,9 @@ public class DeleteCategory extends JDialog{
         // Set the language
         whichCategoryLabel.setText(language.getName("whichCategory"));
         deleteButton.setText(language.getName("delete"));
-        // Array of all Categories
-        String[] categoriesNames = controller.getAllCategories().stream().
-                map(Category::getCategoryName).toList().toArray(new String[0]);
-
-        categoryNamesComboBox.setModel(new DefaultComboBoxModel<>(categoriesNames));
+        // Array of all Categories, as soon as they are loaded
+        AsyncController.onEdt(controller.getAsyncController().query(controller::getCategoryNames), categoriesNames ->
+                categoryNamesComboBox.setModel(new DefaultComboBoxModel<>(categoriesNames.toArray(new String[0]))));
 
         deleteButton.addActionListener(e -> onDelete());
 
@@ -55,15 +54,15 @@ public class DeleteCategory extends JDialog{
     }
 
     /**
-     * Deletes a Category. If no Category is selected, an error will be displayed.
+     * Deletes a Category in the background. If no Category is selected, an error will be displayed.
+     * The button is disabled, until the Category is deleted, then the window is closed.
      */
     private void onDelete() {
         String categoryToDelete = (String) categoryNamesComboBox.getSelectedItem();
         if (categoryToDelete != null) {
-            if (controller.getCategoryByName(categoryToDelete).isPresent()) {
-                controller.deleteCategory(controller.getCategoryByName(categoryToDelete).get());
-                dispose();
-            }
+            AsyncController.disableUntilDone(controller.getAsyncController().getCategoryByName(categoryToDelete)
+                    .thenComposeAsync(category -> category.map(c -> controller.deleteCategory(c).thenRun(this::dispose))
+                            .orElseGet(() -> CompletableFuture.completedFuture(null)), AsyncController.EDT), deleteButton);
         } else {
             JOptionPane.showMessageDialog(this, language.getName("noCategorySelectedError"), language.getName("noCategorySelectedError"), JOptionPane.ERROR_MESSAGE);
         }
@@ -1,9 +1,10 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
-import uni.myosotis.objects.Indexcard;
 import javax.swing.*;
 import java.awt.event.*;
+import java.util.concurrent.CompletableFuture;
 
 public class DeleteIndexcard extends JDialog {
 
@@ -34,11 +35,9 @@ public class DeleteIndexcard extends JDialog {
         // Set the language
         whichIndexcardLabel.setText(language.getName("whichIndexcard"));
 
-        // Array of all Indexcard-names
-        String[] indexcardsNames = controller.getAllIndexcards().stream().
-                map(Indexcard::getName).toList().toArray(new String[0]);
-
-        comboBoxName.setModel(new DefaultComboBoxModel<>(indexcardsNames));
+        // Array of all Indexcard-names, as soon as they are loaded
+        AsyncController.onEdt(controller.getAsyncController().query(controller::getAllIndexcardNames), indexcardsNames ->
+                comboBoxName.setModel(new DefaultComboBoxModel<>(indexcardsNames.toArray(new String[0]))));
 
         deleteButton.addActionListener(e -> onDelete());
 
@@ -55,15 +54,16 @@ public class DeleteIndexcard extends JDialog {
     }
 
     /**
-     * Deletes an Indexcard. If no Indexcard is select, an error will be displayed.
+     * Deletes an Indexcard in the background. If no Indexcard is select, an error will be displayed.
+     * The button is disabled, until the Indexcard is deleted, then the window is closed.
      */
     private void onDelete() {
         String indexCardToDelete = (String) comboBoxName.getSelectedItem();
         if (indexCardToDelete != null) {
-            if (controller.getIndexcardByName(indexCardToDelete).isPresent()) {
-                controller.deleteIndexcard(controller.getIndexcardByName(indexCardToDelete).get().getId());
-            }
-            dispose();
+            AsyncController.disableUntilDone(controller.getAsyncController().getIndexcardByName(indexCardToDelete)
+                    .thenComposeAsync(indexcard -> indexcard.map(i -> controller.deleteIndexcard(i.getId()))
+                            .orElseGet(() -> CompletableFuture.completedFuture(null)), AsyncController.EDT)
+                    .thenRun(this::dispose), deleteButton);
         } else {
             JOptionPane.showMessageDialog(this,language.getName("noIndexcardSelectedError") ,language.getName("deletionNotPossibleError") , JOptionPane.ERROR_MESSAGE);
         }
@@ -1,10 +1,11 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
-import uni.myosotis.objects.IndexcardBox;
 
 import javax.swing.*;
 import java.awt.event.*;
+import java.util.concurrent.CompletableFuture;
 
 public class DeleteIndexcardBox extends JDialog{
     /**
@@ -37,10 +38,8 @@ public class DeleteIndexcardBox extends JDialog{
         deleteButton.setText(language.getName("delete"));
         whichIndexcardBox.setText(language.getName("whichIndexcardBox"));
 
-        String[] indexcardBoxesNames = controller.getAllIndexcardBoxes().stream().
-                map(IndexcardBox::getName).toList().toArray(new String[0]);
-
-        comboBoxName.setModel(new DefaultComboBoxModel<>(indexcardBoxesNames));
+        AsyncController.onEdt(controller.getAsyncController().query(controller::getAllIndexcardBoxNames), indexcardBoxesNames ->
+                comboBoxName.setModel(new DefaultComboBoxModel<>(indexcardBoxesNames.toArray(new String[0]))));
 
         deleteButton.addActionListener(e -> onDelete());
 
@@ -57,15 +56,16 @@ public class DeleteIndexcardBox extends JDialog{
     }
 
     /**
-     * Deletes an Indexcard. If no Indexcard is select, an error will be displayed.
+     * Deletes an Indexcard in the background. If no Indexcard is select, an error will be displayed.
+     * The button is disabled, until the IndexcardBox is deleted, then the window is closed.
      */
     private void onDelete() {
         String indexcardBoxToDelete = (String) comboBoxName.getSelectedItem();
         if (indexcardBoxToDelete != null) {
-            if (controller.getIndexcardBoxByName(indexcardBoxToDelete).isPresent()) {
-                controller.deleteIndexcardBox(controller.getIndexcardBoxByName(indexcardBoxToDelete).get().getName());
-            }
-            dispose();
+            AsyncController.disableUntilDone(controller.getAsyncController().getIndexcardBoxByName(indexcardBoxToDelete)
+                    .thenComposeAsync(indexcardBox -> indexcardBox.map(box -> controller.deleteIndexcardBox(box.getName()))
+                            .orElseGet(() -> CompletableFuture.completedFuture(null)), AsyncController.EDT)
+                    .thenRun(this::dispose), deleteButton);
         } else {
             JOptionPane.showMessageDialog(this, language.getName("noIndexcardBoxSelectedError"), language.getName("deletionNotPossibleError"), JOptionPane.ERROR_MESSAGE);
         }
@@ -1,6 +1,8 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
+import uni.myosotis.logic.LinkTermMatcher;
 import uni.myosotis.objects.Indexcard;
 import uni.myosotis.objects.Link;
 
@@ -8,8 +10,10 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import javax.swing.text.*;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
 
 public class DisplayIndexcard extends JFrame {
 
@@ -27,6 +31,17 @@ public class DisplayIndexcard extends JFrame {
     private JList<String> linkedIndexcardsList;
     private JLabel linkedListLabel;
 
+    /**
+     * The targets of the Links of the Indexcard by their ids, loaded together with the terms.
+     */
+    private final Map<Long, Indexcard> linkedIndexcards = new HashMap<>();
+
+    /**
+     * The occurrences of the terms of the Links in the questionArea and the answerArea.
+     */
+    private List<LinkTermMatcher.Span> questionSpans = List.of();
+    private List<LinkTermMatcher.Span> answerSpans = List.of();
+
     /**
      * Creates a new Window to display an Indexcard.
      *
@@ -49,15 +64,7 @@ public class DisplayIndexcard extends JFrame {
         questionArea.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                int offset = questionArea.viewToModel2D(e.getPoint());
-                try {
-                    int start = Utilities.getWordStart(questionArea, offset);
-                    int end = Utilities.getWordEnd(questionArea, offset);
-                    String word = questionArea.getText().substring(start, end);
-                    onWordClicked(word);
-                } catch (BadLocationException ex) {
-                    ex.printStackTrace();
-                }
+                onWordClicked(questionSpans, questionArea.viewToModel2D(e.getPoint()));
             }
         });
         this.answerArea.setText(indexcard.getAnswer());
@@ -65,15 +72,7 @@ public class DisplayIndexcard extends JFrame {
         answerArea.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                int offset = answerArea.viewToModel2D(e.getPoint());
-                try {
-                    int start = Utilities.getWordStart(answerArea, offset);
-                    int end = Utilities.getWordEnd(answerArea, offset);
-                    String word = answerArea.getText().substring(start, end);
-                    onWordClicked(word);
-                } catch (BadLocationException ex) {
-                    ex.printStackTrace();
-                }
+                onWordClicked(answerSpans, answerArea.viewToModel2D(e.getPoint()));
             }
         });
         // Set Model
@@ -85,9 +84,8 @@ public class DisplayIndexcard extends JFrame {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2 && e.getButton() == MouseEvent.BUTTON1) {
-                    if (controller.getIndexcardByName(linkedIndexcardsList.getSelectedValue()).isPresent()) {
-                        controller.displayIndexcard(controller.getIndexcardByName(linkedIndexcardsList.getSelectedValue()).get());
-                    }
+                    AsyncController.onEdt(controller.getAsyncController().getIndexcardByName(linkedIndexcardsList.getSelectedValue()),
+                            linkedCard -> linkedCard.ifPresent(controller::displayIndexcard));
                 }
             }
         });
@@ -105,58 +103,69 @@ public class DisplayIndexcard extends JFrame {
         highlightWords();
     }
 
-    private void onWordClicked(String word) {
-        DefaultListModel<String> model = (DefaultListModel<String>) linkedIndexcardsList.getModel();
-        for (int i = 0; i < model.getSize(); i++) {
-            String item = model.getElementAt(i);
-            if (controller.getIndexcardByName(item).isPresent()) {
-                Indexcard linkedCard = controller.getIndexcardByName(item).get();
-                for (Link link : indexcard.getLinks()) {
-                    if (link.getTerm().equals(word) && Objects.equals(link.getIndexcard().getId(), linkedCard.getId())) {
-                        DisplayIndexcard displayIndexcard = new DisplayIndexcard(controller, linkedCard, language);
-                        displayIndexcard.setSize(600, 400);
-                        displayIndexcard.setMinimumSize(displayIndexcard.getSize());
-                        displayIndexcard.setLocationRelativeTo(this);
-                        displayIndexcard.setVisible(true);
-                    }
-                }
+    /**
+     * Displays the linked Indexcards of the term at the clicked position. The term is looked up in the
+     * occurrences of the highlighting, so a click does not access the database.
+     *
+     * @param spans  The occurrences of the terms in the clicked area.
+     * @param offset The clicked position in the text of the area.
+     */
+    private void onWordClicked(List<LinkTermMatcher.Span> spans, int offset) {
+        // A click on the right half of the last character of a term is mapped to the position after it.
+        final Optional<LinkTermMatcher.Span> span = LinkTermMatcher.spanAt(spans, offset)
+                .or(() -> LinkTermMatcher.spanAt(spans, offset - 1));
+        if (span.isEmpty()) {
+            return;
+        }
+        for (Link link : span.get().links()) {
+            final Indexcard linkedCard = linkedIndexcards.get(link.getIndexcard().getId());
+            if (linkedCard != null) {
+                DisplayIndexcard displayIndexcard = new DisplayIndexcard(controller, linkedCard, language);
+                displayIndexcard.setSize(600, 400);
+                displayIndexcard.setMinimumSize(displayIndexcard.getSize());
+                displayIndexcard.setLocationRelativeTo(this);
+                displayIndexcard.setVisible(true);
             }
         }
     }
     /**
-     * highlight all words which are linked to another Indexcard.
+     * highlight all words which are linked to another Indexcard. The terms are compiled once and
+     * the targets of the Links are loaded together in the background, before any word is clicked.
      */
-private void highlightWords(){
-    List<Link> links = indexcard.getLinks();
-    Color babyBlue = new Color(173, 216, 230);
-    for (Link link : links) {
-        String term = link.getTerm();
-        int index = 0;
-        while (index >= 0) {
-            index = questionArea.getText().indexOf(term, index);
-            if (index >= 0) {
-                try {
-                    questionArea.getHighlighter().addHighlight(index, index + term.length(), new DefaultHighlighter.DefaultHighlightPainter(babyBlue));
-                } catch (BadLocationException e) {
-                    e.printStackTrace();
+    private void highlightWords(){
+        final LinkTermMatcher linkTermMatcher = new LinkTermMatcher(indexcard.getLinks());
+        if (!linkTermMatcher.isEmpty()) {
+            final long[] ids = indexcard.getLinks().stream().mapToLong(link -> link.getIndexcard().getId()).distinct().toArray();
+            AsyncController.onEdt(controller.getAsyncController().query(() -> controller.getIndexcardsByIds(ids)), linkedCards -> {
+                for (Indexcard linkedCard : linkedCards) {
+                    linkedIndexcards.put(linkedCard.getId(), linkedCard);
                 }
-                index += term.length();
-            }
+            });
         }
-        index = 0;
-        while (index >= 0) {
-            index = answerArea.getText().indexOf(term, index);
-            if (index >= 0) {
-                try {
-                    answerArea.getHighlighter().addHighlight(index, index + term.length(), new DefaultHighlighter.DefaultHighlightPainter(babyBlue));
-                } catch (BadLocationException e) {
-                    e.printStackTrace();
-                }
-                index += term.length();
+        questionSpans = highlightWords(linkTermMatcher, questionArea);
+        answerSpans = highlightWords(linkTermMatcher, answerArea);
+    }
+
+    /**
+     * highlight all words in the area which are linked to another Indexcard.
+     *
+     * @param linkTermMatcher The terms of the Links of the Indexcard.
+     * @param area            The questionArea or the answerArea.
+     * @return The occurrences of the terms in the text of the area.
+     */
+    private List<LinkTermMatcher.Span> highlightWords(LinkTermMatcher linkTermMatcher, JTextArea area) {
+        Color babyBlue = new Color(173, 216, 230);
+        DefaultHighlighter.DefaultHighlightPainter painter = new DefaultHighlighter.DefaultHighlightPainter(babyBlue);
+        final List<LinkTermMatcher.Span> spans = linkTermMatcher.match(area.getText());
+        for (LinkTermMatcher.Span span : spans) {
+            try {
+                area.getHighlighter().addHighlight(span.start(), span.end(), painter);
+            } catch (BadLocationException e) {
+                e.printStackTrace();
             }
         }
+        return spans;
     }
-}
 /**
  * Close the Window.
  */
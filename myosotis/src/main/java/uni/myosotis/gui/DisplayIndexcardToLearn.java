@@ -1,6 +1,9 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
+import uni.myosotis.logic.LeitnerScheduler;
+import uni.myosotis.logic.LinkTermMatcher;
 import uni.myosotis.objects.Indexcard;
 import uni.myosotis.objects.IndexcardBox;
 import uni.myosotis.objects.LeitnerLearnSystem;
@@ -9,7 +12,6 @@ import uni.myosotis.objects.Link;
 import javax.swing.*;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultHighlighter;
-import javax.swing.text.Utilities;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -17,14 +19,56 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class DisplayIndexcardToLearn extends JDialog{
+
+    /**
+     * The number of due Indexcards, that are loaded with one query.
+     */
+    private static final int PREFETCH_SIZE = 20;
+
     private final Controller controller;
+    private final AsyncController asyncController;
     private final LeitnerLearnSystem learnSystem;
     private final Language language;
     private Indexcard indexcard;
 
-    private List<Indexcard> indexCardList2Learn;
+    /**
+     * The due Indexcards of this session, ordered by their due time. Created in the background by {@link #start()}.
+     */
+    private LeitnerScheduler scheduler;
+    /**
+     * The number of Indexcards of the session, with the ones answered before it was continued.
+     */
+    private int sessionSize;
+
+    /**
+     * The next due Indexcards, loaded together by their ids.
+     */
+    private final Deque<Indexcard> loadedIndexcards = new ArrayDeque<>();
+
+    /**
+     * The time in milliseconds, when the question of the current Indexcard was shown.
+     */
+    private long questionShownAt;
+
+    /**
+     * The terms of the Links of the current Indexcard and the Indexcard, they were compiled for.
+     */
+    private LinkTermMatcher linkTermMatcher;
+    private Indexcard linkTermIndexcard;
+
+    /**
+     * The targets of the Links of the current Indexcard by their ids, loaded together with the terms.
+     */
+    private Map<Long, Indexcard> linkedIndexcards = Map.of();
+
+    /**
+     * The occurrences of the terms in the questionArea and the answerArea.
+     */
+    private List<LinkTermMatcher.Span> questionSpans = List.of();
+    private List<LinkTermMatcher.Span> answerSpans = List.of();
 
     private JPanel contentPane;
     //private JButton backButton;
@@ -48,6 +92,7 @@ public class DisplayIndexcardToLearn extends JDialog{
 
     /**
      * This function is the basics to the logic from the LearnSystem and also the GUI from the LearnSystem.
+     * The session is loaded by {@link #start()}.
      * @param controller The controller that is used to get the indexcards.
      * @param learnSystem The learnSystem that is used to get the indexcards.
      * @param indexcardBox The indexcardBox that is used to get the indexcards.
@@ -58,36 +103,11 @@ public class DisplayIndexcardToLearn extends JDialog{
     public DisplayIndexcardToLearn(Controller controller, LeitnerLearnSystem learnSystem, IndexcardBox indexcardBox, Language language, String sort, String box) {
         this.learnSystem = learnSystem;
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         this.selectedSort = sort;
         this.selectedBox = box;
         //learnSystem.setSortType(this.selectedSort);
-        if (learnSystem.getSortType().isEmpty() && this.selectedBox.isEmpty()) {
-            this.indexCardList2Learn = controller.getIndexcardsByIndexcardNameList(learnSystem.getNextIndexcardNames());
-        }
-        else {
-            this.indexCardList2Learn = controller.getIndexcardsByIndexcardNameList(learnSystem.getIndexcardBox(selectedBox).getIndexcardNames());
-            List<Indexcard> sortedIndexCardList = learnSort(indexCardList2Learn, sort);
-            if(sortedIndexCardList != null){
-                this.indexCardList2Learn = learnSort(this.indexCardList2Learn, sort);
-            }
-
-        }
-        if (selectedSort == language.getName("random")) {
-            Collections.shuffle(indexCardList2Learn);
-        }
-        // TODO sort the index card list following the selectedSort
-        if (checkIndexCardList2Learn()) {
-            JOptionPane.showMessageDialog(this, String.format(language.getName("boxEmpty"), selectedBox)
-                    ,String.format(language.getName("boxEmptyMessage"),selectedBox), JOptionPane.INFORMATION_MESSAGE);
-            dispose();
-            return;
-        }
-        this.indexcard = this.indexCardList2Learn.get(learnSystem.getProgress());
-        this.learnProgressBar.setMinimum(0);
-        this.learnProgressBar.setMaximum(this.indexCardList2Learn.size());
-        setProgressDisplay();
-        setLabels();
         hiddenButtons();
         setContentPane(contentPane);
         setTitle(language.getName("indexcard"));
@@ -102,7 +122,6 @@ public class DisplayIndexcardToLearn extends JDialog{
         answeredButton.setText(language.getName("answered"));
         linkedListLabel.setText(language.getName("linkedIndexcardsList"));
 
-        controller.updateLearnsystem(learnSystem);
         addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
                 onCancel();
@@ -120,9 +139,8 @@ public class DisplayIndexcardToLearn extends JDialog{
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2 && e.getButton() == MouseEvent.BUTTON1) {
-                    if (controller.getIndexcardByName(linkedIndexcardsList.getSelectedValue()).isPresent()) {
-                        controller.displayIndexcard(controller.getIndexcardByName(linkedIndexcardsList.getSelectedValue()).get());
-                    }
+                    AsyncController.onEdt(asyncController.getIndexcardByName(linkedIndexcardsList.getSelectedValue()),
+                            linkedCard -> linkedCard.ifPresent(controller::displayIndexcard));
                 }
             }
         });
@@ -130,30 +148,14 @@ public class DisplayIndexcardToLearn extends JDialog{
         questionArea.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                int offset = questionArea.viewToModel2D(e.getPoint());
-                try {
-                    int start = Utilities.getWordStart(questionArea, offset);
-                    int end = Utilities.getWordEnd(questionArea, offset);
-                    String word = questionArea.getText().substring(start, end);
-                    onWordClicked(word);
-                } catch (BadLocationException ex) {
-                    ex.printStackTrace();
-                }
+                onWordClicked(questionSpans, questionArea.viewToModel2D(e.getPoint()));
             }
         });
 
         answerArea.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                int offset = answerArea.viewToModel2D(e.getPoint());
-                try {
-                    int start = Utilities.getWordStart(answerArea, offset);
-                    int end = Utilities.getWordEnd(answerArea, offset);
-                    String word = answerArea.getText().substring(start, end);
-                    onWordClicked(word);
-                } catch (BadLocationException ex) {
-                    ex.printStackTrace();
-                }
+                onWordClicked(answerSpans, answerArea.viewToModel2D(e.getPoint()));
             }
         });
 
@@ -161,7 +163,43 @@ public class DisplayIndexcardToLearn extends JDialog{
         answerArea.setFont(font);
         questionArea.setFont(font);
         sorryLabel.setVisible(false);
-        highlightWords();
+    }
+
+    /**
+     * Creates the schedule of the session and loads the first due Indexcards in the background,
+     * then displays the first Indexcard. If no Indexcard is due, a message is displayed and the window is closed.
+     *
+     * @return A future, that is completed on the Event-Dispatch-Thread with true, if an Indexcard is displayed.
+     */
+    public CompletableFuture<Boolean> start() {
+        return asyncController.query(() -> {
+            // Without a selected Box, the due Indexcards of all Boxes are learned.
+            scheduler = controller.createLeitnerScheduler(learnSystem, selectedBox, learnOrder(selectedSort));
+            return scheduler.getDueCount();
+        }).thenComposeAsync(dueCount -> {
+            // The progress counts the answered Indexcards of this session, a continued session keeps it.
+            if (!learnSystem.getStarted()) {
+                learnSystem.setProgress(0);
+            }
+            sessionSize = learnSystem.getProgress() + dueCount;
+            return nextIndexcard();
+        }, AsyncController.EDT).thenApplyAsync(first -> {
+            indexcard = first;
+            if (checkIndexCardList2Learn()) {
+                JOptionPane.showMessageDialog(this, String.format(language.getName("boxEmpty"), selectedBox)
+                        ,String.format(language.getName("boxEmptyMessage"),selectedBox), JOptionPane.INFORMATION_MESSAGE);
+                dispose();
+                return false;
+            }
+            questionShownAt = System.currentTimeMillis();
+            learnProgressBar.setMinimum(0);
+            learnProgressBar.setMaximum(sessionSize);
+            setProgressDisplay();
+            setLabels();
+            controller.recordLearnProgress(learnSystem);
+            highlightWords();
+            return true;
+        }, AsyncController.EDT);
     }
 
     /**
@@ -177,21 +215,28 @@ public class DisplayIndexcardToLearn extends JDialog{
         linkedIndexcardsList.setModel(linkedListModel);
     }
 
-    private void onWordClicked(String word) {
-        DefaultListModel<String> model = (DefaultListModel<String>) linkedIndexcardsList.getModel();
-        for (int i = 0; i < model.getSize(); i++) {
-            String item = model.getElementAt(i);
-            if (controller.getIndexcardByName(item).isPresent()) {
-                Indexcard linkedCard = controller.getIndexcardByName(item).get();
-                for (Link link : indexcard.getLinks()) {
-                    if (link.getTerm().equals(word) && link.getIndexcard().getId() == linkedCard.getId()) {
-                        DisplayIndexcard displayIndexcard = new DisplayIndexcard(controller, linkedCard, language);
-                        displayIndexcard.setSize(600, 400);
-                        displayIndexcard.setMinimumSize(displayIndexcard.getSize());
-                        displayIndexcard.setLocationRelativeTo(this);
-                        displayIndexcard.setVisible(true);
-                    }
-                }
+    /**
+     * Displays the linked Indexcards of the term at the clicked position. The term is looked up in the
+     * occurrences of the last highlighting, so a click does not access the database.
+     *
+     * @param spans  The occurrences of the terms in the clicked area.
+     * @param offset The clicked position in the text of the area.
+     */
+    private void onWordClicked(List<LinkTermMatcher.Span> spans, int offset) {
+        // A click on the right half of the last character of a term is mapped to the position after it.
+        final Optional<LinkTermMatcher.Span> span = LinkTermMatcher.spanAt(spans, offset)
+                .or(() -> LinkTermMatcher.spanAt(spans, offset - 1));
+        if (span.isEmpty()) {
+            return;
+        }
+        for (Link link : span.get().links()) {
+            final Indexcard linkedCard = linkedIndexcards.get(link.getIndexcard().getId());
+            if (linkedCard != null) {
+                DisplayIndexcard displayIndexcard = new DisplayIndexcard(controller, linkedCard, language);
+                displayIndexcard.setSize(600, 400);
+                displayIndexcard.setMinimumSize(displayIndexcard.getSize());
+                displayIndexcard.setLocationRelativeTo(this);
+                displayIndexcard.setVisible(true);
             }
         }
     }
@@ -209,14 +254,29 @@ public class DisplayIndexcardToLearn extends JDialog{
 
     /**
      * This method is called when the user clicks the "Next" button.
-     * It shows the next indexcard.
+     * It shows the next indexcard, the buttons are disabled while it is loaded.
      * If there is no next indexcard, it closes the window.
      */
     private void onNext() {
         hiddenButtons();
-        if (learnSystem.getProgress() < this.indexCardList2Learn.size() - 1) {
+        AsyncController.disableUntilDone(nextIndexcard(), nextButton, answeredButton, correctButton, wrongButton)
+                .thenAccept(this::showNext);
+    }
+
+    /**
+     * Shows the next indexcard, or closes the window, if there is none.
+     * Does nothing, if the window was closed while the indexcard was loaded.
+     *
+     * @param next The next indexcard or null.
+     */
+    private void showNext(Indexcard next) {
+        if (!isDisplayable()) {
+            return;
+        }
+        if (next != null) {
             learnSystem.increaseProgress();
-            indexcard = indexCardList2Learn.get(learnSystem.getProgress());
+            indexcard = next;
+            questionShownAt = System.currentTimeMillis();
             questionArea.setText(indexcard.getQuestion());
             answerArea.setText("");
             setProgressDisplay();
@@ -225,11 +285,13 @@ public class DisplayIndexcardToLearn extends JDialog{
             // The user has learned all the indexcards in the box.
             learnSystem.setProgress(0);
             learnSystem.setStarted(false);
-            JOptionPane.showMessageDialog(this, String.format(language.getName("boxEnded"), selectedBox)
-                    ,String.format(language.getName("boxEndedMessage"),selectedBox), JOptionPane.INFORMATION_MESSAGE);
+            showStatistics();
             dispose();
         }
-        controller.updateLearnsystem(learnSystem);
+        controller.recordLearnProgress(learnSystem);
+        if (!isDisplayable()) {
+            controller.flushLearnProgress();
+        }
         setLabels();
         sorryLabel.setVisible(false);
         this.answerArea.setText("");
@@ -237,22 +299,27 @@ public class DisplayIndexcardToLearn extends JDialog{
     }
 
     /**
-     * This method is called when the user clicks the "Back" button.
-     * It shows the previous indexcard.
+     * Shows the end of the session with the statistics of all answers per Box, when they are computed
+     * in the background. If they can not be computed, the end is shown without them.
      */
-    private void onBack() {
-        hiddenButtons();
-        if (learnSystem.getProgress() > 0) {
-            learnSystem.decreaseProgress();
-            indexcard = indexCardList2Learn.get(learnSystem.getProgress());
-            questionArea.setText(indexcard.getQuestion());
-            answerArea.setText("");
-            setProgressDisplay();
-        }
-
-        controller.updateLearnsystem(learnSystem);
-        setLabels();
-        this.answerArea.setText("");
+    private void showStatistics() {
+        final String message = String.format(language.getName("boxEnded"), selectedBox);
+        final String title = String.format(language.getName("boxEndedMessage"), selectedBox);
+        final int numberOfBoxes = learnSystem.getBoxes().size();
+        final CompletableFuture<String> text = controller.getAsyncController().getReviewStatistics(learnSystem)
+                .handle((statistics, e) -> {
+                    final StringBuilder lines = new StringBuilder(message);
+                    for (int box = 0; statistics != null && box < numberOfBoxes; box++) {
+                        if (statistics.getBoxReviews(box) > 0) {
+                            lines.append('\n').append(String.format(language.getName("boxStatistics"), box + 1,
+                                    statistics.getBoxReviews(box), statistics.getBoxRetention(box) * 100,
+                                    statistics.getBoxResponseTime(box) / 1000));
+                        }
+                    }
+                    return lines.toString();
+                });
+        AsyncController.onEdt(text, lines ->
+                JOptionPane.showMessageDialog(null, lines, title, JOptionPane.INFORMATION_MESSAGE));
     }
 
     /**
@@ -260,7 +327,8 @@ public class DisplayIndexcardToLearn extends JDialog{
      */
     private void onCancel() {
         learnSystem.setStarted(true);
-        controller.updateLearnsystem(learnSystem);
+        controller.recordLearnProgress(learnSystem);
+        controller.flushLearnProgress();
         dispose();
     }
 
@@ -286,8 +354,7 @@ public class DisplayIndexcardToLearn extends JDialog{
      * @param indexcard The Indexcard that was answered correct.
      */
     private void onCorrect(Indexcard indexcard){
-        learnSystem.correctAnswer(indexcard);
-        controller.updateLearnsystem(learnSystem);
+        answer(indexcard, true);
         onNext();
     }
 
@@ -297,18 +364,23 @@ public class DisplayIndexcardToLearn extends JDialog{
      * @param indexcard The Indexcard that was answered wrong.
      */
     private void onWrong(Indexcard indexcard){
-        learnSystem.wrongAnswer(indexcard);
-        controller.updateLearnsystem(learnSystem);
+        answer(indexcard, false);
         sorryLabel.setText(language.getName("sorryMessage"));
         sorryLabel.setVisible(true);
 
     }
 
     /**
-     * This methode will get all the index card from the LearsSystem which are in the in a box.
+     * Moves the answered Indexcard in the Learnsystem and saves the answer in the background.
+     *
+     * @param indexcard The answered Indexcard.
+     * @param correct True, if the answer was correct.
      */
-    private List<Indexcard> getIndexcardFromBox(LeitnerLearnSystem learnSystem, int boxNumber){
-        return controller.getIndexcardsByIndexcardNameList(learnSystem.getIndexcardFromBox(boxNumber));
+    private void answer(Indexcard indexcard, boolean correct) {
+        final Integer sourceBox = learnSystem.getBoxNumber(indexcard.getId());
+        final int responseTime = (int) Math.min(Integer.MAX_VALUE, System.currentTimeMillis() - questionShownAt);
+        scheduler.answer(indexcard, correct);
+        controller.recordAnswer(learnSystem, indexcard, correct, sourceBox == null ? 0 : sourceBox, responseTime);
     }
 
     /**
@@ -316,72 +388,112 @@ public class DisplayIndexcardToLearn extends JDialog{
      */
     public void setProgressDisplay(){
         this.learnProgressBar.setValue(learnSystem.getProgress());
-        this.percentageValue.setText((learnSystem.getProgress()) * 100 / indexCardList2Learn.size() +"%");
+        this.percentageValue.setText((learnSystem.getProgress()) * 100 / sessionSize +"%");
     }
 
     /**
-     * Checks if there exists Indexcards to learn.
+     * Checks if there are no Indexcards to learn.
      *
-     * @return True, if there exists Indexcards to learn.
+     * @return True, if no Indexcard is due.
      */
     public boolean checkIndexCardList2Learn(){
-        return indexCardList2Learn.isEmpty();
+        return indexcard == null;
     }
 
     /**
-     * Sort the Indexcards.
+     * Returns the next due Indexcard. The next PREFETCH_SIZE due Indexcards are loaded together by their ids
+     * in the background, if all loaded ones were shown.
      *
-     * @param indexcards The Indexcards that should be sorted.
-     * @param method The method how the Indexcards should be sorted.
-     * @return The sorted Indexcards.
+     * @return A future, that is completed on the Event-Dispatch-Thread with the next Indexcard or null,
+     * if no Indexcard is due anymore.
      */
-    public List<Indexcard> learnSort(List<Indexcard> indexcards ,String method){
-        if (method == null){
-            return null;
+    private CompletableFuture<Indexcard> nextIndexcard() {
+        if (!loadedIndexcards.isEmpty()) {
+            return CompletableFuture.completedFuture(loadedIndexcards.poll());
         }
-        else if (method.equals(language.getName("alphabetical"))){
-            Collections.sort(indexcards, Comparator.comparing(Indexcard::getName));
-            return indexcards;
-        } else if (method.equals(language.getName("random"))) {
-            Collections.shuffle(indexcards);
-            return indexcards;
+        return loadNextIndexcards().thenApplyAsync(next -> {
+            loadedIndexcards.addAll(next);
+            return loadedIndexcards.poll();
+        }, AsyncController.EDT);
+    }
+
+    /**
+     * Loads the next PREFETCH_SIZE due Indexcards together by their ids in the background.
+     * Indexcards, that were deleted in the meantime, are skipped.
+     *
+     * @return The future Indexcards, empty if no Indexcard is due anymore.
+     */
+    private CompletableFuture<List<Indexcard>> loadNextIndexcards() {
+        return asyncController.query(() -> {
+            List<Indexcard> next = List.of();
+            while (next.isEmpty() && scheduler.hasNext()) {
+                final long[] ids = new long[PREFETCH_SIZE];
+                int count = 0;
+                while (count < ids.length && scheduler.hasNext()) {
+                    ids[count++] = scheduler.next();
+                }
+                next = controller.getIndexcardsByIds(Arrays.copyOf(ids, count));
+            }
+            return next;
+        });
+    }
 
+    /**
+     * Returns the order of the Indexcards, that are due at the same time.
+     *
+     * @param method The selected sort.
+     * @return The order of the ids of the Indexcards, null for the order in the Boxes.
+     */
+    private Comparator<Long> learnOrder(String method) {
+        if (language.getName("alphabetical").equals(method)) {
+            return controller.getAlphabeticalOrder();
+        } else if (language.getName("random").equals(method)) {
+            return LeitnerScheduler.randomOrder();
         }
         return null;
     }
     /**
      * highlight all words in the questionArea and answerArea which are linked to another Indexcard.
+     * The terms of the Links and their targets are only loaded once for every Indexcard, the targets in the background.
      */
     private void highlightWords(){
-        List<Link> links = indexcard.getLinks();
-        Color babyBlue = new Color(173, 216, 230);
-        for (Link link : links) {
-            String word = link.getTerm();
-            int index = 0;
-            while (index >= 0) {
-                index = questionArea.getText().indexOf(word, index);
-                if (index >= 0) {
-                    try {
-                        questionArea.getHighlighter().addHighlight(index, index + word.length(), new DefaultHighlighter.DefaultHighlightPainter(babyBlue));
-                    } catch (BadLocationException e) {
-                        e.printStackTrace();
+        if (linkTermIndexcard != indexcard) {
+            linkTermMatcher = new LinkTermMatcher(indexcard.getLinks());
+            final Map<Long, Indexcard> linkedCards = new HashMap<>();
+            linkedIndexcards = linkedCards;
+            if (!linkTermMatcher.isEmpty()) {
+                final long[] ids = indexcard.getLinks().stream().mapToLong(link -> link.getIndexcard().getId()).distinct().toArray();
+                AsyncController.onEdt(asyncController.query(() -> controller.getIndexcardsByIds(ids)), loaded -> {
+                    for (Indexcard linkedCard : loaded) {
+                        linkedCards.put(linkedCard.getId(), linkedCard);
                     }
-                    index += word.length();
-                }
+                });
             }
-            index = 0;
-            while (index >= 0) {
-                index = answerArea.getText().indexOf(word, index);
-                if (index >= 0) {
-                    try {
-                        answerArea.getHighlighter().addHighlight(index, index + word.length(), new DefaultHighlighter.DefaultHighlightPainter(babyBlue));
-                    } catch (BadLocationException e) {
-                        e.printStackTrace();
-                    }
-                    index += word.length();
-                }
+            linkTermIndexcard = indexcard;
+        }
+        questionSpans = highlightWords(questionArea);
+        answerSpans = highlightWords(answerArea);
+    }
+
+    /**
+     * highlight all words in the area which are linked to another Indexcard.
+     *
+     * @param area The questionArea or the answerArea.
+     * @return The occurrences of the terms in the text of the area.
+     */
+    private List<LinkTermMatcher.Span> highlightWords(JTextArea area) {
+        Color babyBlue = new Color(173, 216, 230);
+        DefaultHighlighter.DefaultHighlightPainter painter = new DefaultHighlighter.DefaultHighlightPainter(babyBlue);
+        area.getHighlighter().removeAllHighlights();
+        final List<LinkTermMatcher.Span> spans = linkTermMatcher.match(area.getText());
+        for (LinkTermMatcher.Span span : spans) {
+            try {
+                area.getHighlighter().addHighlight(span.start(), span.end(), painter);
+            } catch (BadLocationException e) {
+                e.printStackTrace();
             }
         }
+        return spans;
     }
 
 }
\ No newline at end of file
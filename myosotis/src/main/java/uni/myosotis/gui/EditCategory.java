@@ -1,5 +1,6 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 import uni.myosotis.objects.Category;
 import uni.myosotis.objects.Indexcard;
@@ -10,10 +11,14 @@ import javax.swing.tree.DefaultTreeModel;
 import java.awt.event.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class EditCategory extends JDialog {
 
     private final Controller controller;
+    private final AsyncController asyncController;
     private final Language language;
     private JPanel contentPane;
     private JComboBox<String> comboBoxName;
@@ -29,13 +34,25 @@ public class EditCategory extends JDialog {
     private JLabel parentLabel;
     private JLabel indexcardLabel;
 
+    /**
+     * The name of the Category, that is selected as soon as the names of the Category's are loaded.
+     */
+    private String categoryToSelect;
+
+    /**
+     * If the names of the Category's are loaded into the ComboBox.
+     */
+    private boolean categoryNamesLoaded;
+
     /**
      * Creates a new EditCategory-Dialog.
+     * The Category's and Indexcards are loaded in the background.
      *
      * @param controller The Controller of the application.
      */
     public EditCategory(Controller controller, Language language) {
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         setModal(true);
         setTitle(language.getName("editCategoryTitle"));
@@ -44,17 +61,16 @@ public class EditCategory extends JDialog {
         getRootPane().setDefaultButton(editButton);
         setContentPane(contentPane);
 
-        // List of all Categories
-        List<Category> categories = controller.getAllCategories();
-        // Array of all Category-names
-        String[] categoryNames = new String[categories.size()];
-        for (int i = 0; i < categories.size(); i++) {
-            categoryNames[i] = categories.get(i).getCategoryName();
-        }
-
         //ComboBox with all Category-names
-        comboBoxName.setModel(new DefaultComboBoxModel<>(categoryNames));
-        comboBoxName.setSelectedItem(null);
+        AsyncController.onEdt(asyncController.query(controller::getCategoryNames), categoryNames -> {
+            DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>(categoryNames.toArray(new String[0]));
+            model.setSelectedItem(categoryToSelect);
+            comboBoxName.setModel(model);
+            categoryNamesLoaded = true;
+            if (categoryToSelect != null) {
+                showSelectedCategory();
+            }
+        });
 
         updateCategoryTree();
         updateParentList();
@@ -68,11 +84,7 @@ public class EditCategory extends JDialog {
         indexcardLabel.setText(language.getName("indexcard"));
 
         // Update infos, if another Category is selected.
-        comboBoxName.addActionListener(e -> {
-            nameTextField.setText((String) comboBoxName.getSelectedItem());
-            updateParentList();
-            updateIndexcardList();
-        });
+        comboBoxName.addActionListener(e -> showSelectedCategory());
 
         editButton.addActionListener(e -> onEdit());
 
@@ -91,19 +103,27 @@ public class EditCategory extends JDialog {
     }
 
     /**
-     * Updates the tree of the current poly-hierarchy of the Category`s.
+     * Updates the infos of the selected Category.
+     */
+    private void showSelectedCategory() {
+        nameTextField.setText((String) comboBoxName.getSelectedItem());
+        updateParentList();
+        updateIndexcardList();
+    }
+
+    /**
+     * Updates the tree of the current poly-hierarchy of the Category`s, as soon as it is loaded in the background.
      */
     private void updateCategoryTree() {
-        DefaultMutableTreeNode root = new DefaultMutableTreeNode(language.getName("categoryTitle"));
-        for (Category category : controller.getAllCategories()) {
-            if (controller.getParentCategories(category).isEmpty()) {
+        AsyncController.onEdt(asyncController.query(() -> {
+            DefaultMutableTreeNode root = new DefaultMutableTreeNode(language.getName("categoryTitle"));
+            for (Category category : controller.getRootCategories()) {
                 DefaultMutableTreeNode node = new DefaultMutableTreeNode(category.getCategoryName());
                 addNodes(node);
                 root.add(node);
             }
-        }
-        DefaultTreeModel defaultTreeModel = new DefaultTreeModel(root);
-        categoryTree.setModel(defaultTreeModel);
+            return new DefaultTreeModel(root);
+        }), categoryTree::setModel);
     }
 
     /**
@@ -121,91 +141,108 @@ public class EditCategory extends JDialog {
     }
 
     /**
-     * Updates the lists of possible parents of the Category.
+     * Updates the lists of possible parents of the Category, as soon as they are loaded in the background.
+     * The result is ignored, if another Category was selected meanwhile.
      */
     private void updateParentList() {
-        // All children of the edited Category
-        List<String> allOwnChildrenNames = new ArrayList<>();
-        if (controller.getCategoryByName((String) comboBoxName.getSelectedItem()).isPresent()) {
-            Category categoryToEdit = controller.getCategoryByName((String) comboBoxName.getSelectedItem()).get();
-            allOwnChildrenNames.addAll(categoryToEdit.getAllChildren().stream().map(Category::getCategoryName).toList());
-        }
-        // Filter own children
-        DefaultListModel<String> defaultListModel = new DefaultListModel<>();
-        defaultListModel.addAll(controller.getAllCategories().stream()
-                .map(Category::getCategoryName)
-                .filter(categoryName -> !allOwnChildrenNames.contains(categoryName) && !categoryName.equals(comboBoxName.getSelectedItem())).toList());
-        parentList.setModel(defaultListModel);
-        // Select parents of the Category before editing
-        if (controller.getCategoryByName((String) comboBoxName.getSelectedItem()).isPresent()) {
-            List<String> parentNames = controller.getParentCategories(controller.getCategoryByName((String) comboBoxName.getSelectedItem()).get()).stream().map(Category::getCategoryName).toList();
-            int[] selectedParents = new int[parentNames.size()];
-            for (int i = 0; i < selectedParents.length; i++) {
-                selectedParents[i] = defaultListModel.indexOf(parentNames.get(i));
+        final String selectedName = (String) comboBoxName.getSelectedItem();
+        CompletableFuture<NameSelection> parents = asyncController.query(() -> {
+            Optional<Category> categoryToEdit = controller.getCategoryByName(selectedName);
+            // All children of the edited Category
+            List<String> allOwnChildrenNames = new ArrayList<>();
+            categoryToEdit.ifPresent(category ->
+                    allOwnChildrenNames.addAll(category.getAllChildren().stream().map(Category::getCategoryName).toList()));
+            // Filter own children
+            List<String> possibleParents = controller.getCategoryNames().stream()
+                    .filter(categoryName -> !allOwnChildrenNames.contains(categoryName) && !categoryName.equals(selectedName)).toList();
+            List<String> parentNames = categoryToEdit.map(category -> controller.getParentCategories(category).stream()
+                    .map(Category::getCategoryName).toList()).orElse(List.of());
+            return new NameSelection(possibleParents, parentNames);
+        });
+        AsyncController.onEdt(parents, selection -> {
+            if (!Objects.equals(selectedName, comboBoxName.getSelectedItem())) {
+                return;
             }
-            parentList.setSelectedIndices(selectedParents);
-        }
+            DefaultListModel<String> defaultListModel = new DefaultListModel<>();
+            defaultListModel.addAll(selection.names());
+            parentList.setModel(defaultListModel);
+            // Select parents of the Category before editing
+            parentList.setSelectedIndices(selection.indicesIn(defaultListModel));
+        });
     }
 
     /**
-     * Updates the list of Indexcards.
+     * Updates the list of Indexcards, as soon as they are loaded in the background.
+     * The result is ignored, if another Category was selected meanwhile.
      */
     private void updateIndexcardList() {
-        DefaultListModel<String> defaultListModel = new DefaultListModel<>();
-        defaultListModel.addAll(controller.getAllIndexcardNames());
-        indexcardList.setModel(defaultListModel);
-        // Select Indexcards, that are in the Category before editing
-        if (comboBoxName.getSelectedItem() != null && controller.getCategoryByName((String) comboBoxName.getSelectedItem()).isPresent()) {
-            List<String> indexcardNames = controller.getCategoryByName((String) comboBoxName.getSelectedItem()).get().getIndexcards().stream().map(Indexcard::getName).toList();
-            int[] selectedIndexcards = new int[indexcardNames.size()];
-            for (int i = 0; i < selectedIndexcards.length; i++) {
-                selectedIndexcards[i] = defaultListModel.indexOf(indexcardNames.get(i));
+        final String selectedName = (String) comboBoxName.getSelectedItem();
+        CompletableFuture<NameSelection> indexcards = asyncController.query(() -> {
+            List<String> indexcardNames = selectedName == null ? List.of() : controller.getCategoryByName(selectedName)
+                    .map(category -> category.getIndexcards().stream().map(Indexcard::getName).toList()).orElse(List.of());
+            return new NameSelection(controller.getAllIndexcardNames(), indexcardNames);
+        });
+        AsyncController.onEdt(indexcards, selection -> {
+            if (!Objects.equals(selectedName, comboBoxName.getSelectedItem())) {
+                return;
             }
-            indexcardList.setSelectedIndices(selectedIndexcards);
-        }
+            DefaultListModel<String> defaultListModel = new DefaultListModel<>();
+            defaultListModel.addAll(selection.names());
+            indexcardList.setModel(defaultListModel);
+            // Select Indexcards, that are in the Category before editing
+            indexcardList.setSelectedIndices(selection.indicesIn(defaultListModel));
+        });
     }
 
     /**
      * Sets a Category to edit by setting the ComboBox to the Category-name.
+     * If the names of the Category's are not loaded yet, the Category is selected as soon as they are.
      *
      * @param category The Category.
      */
     public void setCategory(Category category){
-        comboBoxName.setSelectedItem(category.getCategoryName());
+        if (categoryNamesLoaded) {
+            comboBoxName.setSelectedItem(category.getCategoryName());
+        } else {
+            categoryToSelect = category.getCategoryName();
+        }
     }
 
     /**
-     * When the Edit-Button is pressed, the Category is edited.
+     * When the Edit-Button is pressed, the Category is edited in the background.
+     * The buttons are disabled, until the Category is edited, then the Dialog is closed.
      */
     private void onEdit() {
         String newName = nameTextField.getText();
-        if (controller.getAllIndexcardNames().stream().filter(n -> !n.equals(comboBoxName.getSelectedItem())).toList().contains(newName)) {
-            JOptionPane.showMessageDialog(this, language.getName("categoryAlreadyExistError"), language.getName("categoryAlreadyExist"), JOptionPane.INFORMATION_MESSAGE);
-        } else if (newName.isBlank()) {
+        if (newName.isBlank()) {
             JOptionPane.showMessageDialog(this, language.getName("categoryWithNoNameError"), language.getName("categoryWithNoName"), JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            Category oldCategory;
-            if (controller.getCategoryByName((String) comboBoxName.getSelectedItem()).isPresent()) {
-                oldCategory = controller.getCategoryByName((String) comboBoxName.getSelectedItem()).get();
-            } else {
-                throw new IllegalStateException(language.getName("noCategoryToEditError"));
+            return;
+        }
+        String oldName = (String) comboBoxName.getSelectedItem();
+        List<String> parentNames = parentList.getSelectedValuesList();
+        List<String> indexcardNames = indexcardList.getSelectedValuesList();
+        // Empty, if the name is already assigned.
+        CompletableFuture<Optional<CategoryChange>> change = asyncController.query(() -> {
+            if (controller.getAllIndexcardNames().stream().filter(n -> !n.equals(oldName)).toList().contains(newName)) {
+                return Optional.empty();
             }
-            final Long oldId = oldCategory.getId();
+            Category oldCategory = controller.getCategoryByName(oldName)
+                    .orElseThrow(() -> new IllegalStateException(language.getName("noCategoryToEditError")));
             List<Category> selectedParents = new ArrayList<>();
-            for (String s : parentList.getSelectedValuesList()) {
-                if (controller.getCategoryByName(s).isPresent()) {
-                    selectedParents.add(controller.getCategoryByName(s).get());
-                }
+            for (String s : parentNames) {
+                controller.getCategoryByName(s).ifPresent(selectedParents::add);
             }
-            List<Indexcard> selectedIndexcards = new ArrayList<>();
-            for (String s : indexcardList.getSelectedValuesList()) {
-                if (controller.getIndexcardByName(s).isPresent()) {
-                    selectedIndexcards.add(controller.getIndexcardByName(s).get());
-                }
+            return Optional.of(new CategoryChange(oldCategory.getId(), selectedParents,
+                    controller.getIndexcardsByIndexcardNameList(indexcardNames)));
+        });
+        AsyncController.disableUntilDone(change.thenComposeAsync(selected -> {
+            if (selected.isEmpty()) {
+                JOptionPane.showMessageDialog(this, language.getName("categoryAlreadyExistError"), language.getName("categoryAlreadyExist"), JOptionPane.INFORMATION_MESSAGE);
+                return CompletableFuture.completedFuture(null);
             }
-            controller.editCategory(newName, selectedParents, selectedIndexcards, oldId);
-            dispose();
-        }
+            return controller.editCategory(newName, selected.get().parents(), selected.get().indexcards(), selected.get().id())
+                    .thenRun(this::dispose);
+        }, AsyncController.EDT), editButton, cancelButton);
     }
 
     /**
@@ -214,4 +251,24 @@ public class EditCategory extends JDialog {
     private void onCancel() {
         dispose();
     }
+
+    /**
+     * The names of a list and the names, that are selected in it.
+     */
+    private record NameSelection(List<String> names, List<String> selectedNames) {
+
+        int[] indicesIn(DefaultListModel<String> model) {
+            int[] indices = new int[selectedNames.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = model.indexOf(selectedNames.get(i));
+            }
+            return indices;
+        }
+    }
+
+    /**
+     * The id of the edited Category and its new parents and Indexcards.
+     */
+    private record CategoryChange(Long id, List<Category> parents, List<Indexcard> indexcards) {
+    }
 }
@@ -1,15 +1,17 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 import javax.swing.*;
 import java.awt.event.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import uni.myosotis.objects.Indexcard;
-import uni.myosotis.objects.Keyword;
 
 public class EditIndexcard extends JDialog {
 
     private final Controller controller;
+    private final AsyncController asyncController;
     private final Language language;
     private JPanel contentPane;
     private JButton confirmButton, cancelButton;
@@ -32,13 +34,25 @@ public class EditIndexcard extends JDialog {
     private JLabel indexcardLabel2;
     private String oldName;
 
+    /**
+     * The name of the Indexcard, that is selected as soon as the names of the Indexcards are loaded.
+     */
+    private String indexcardToSelect;
+
+    /**
+     * If the names of the Indexcards are loaded into the ComboBox.
+     */
+    private boolean indexcardNamesLoaded;
+
     /**
      * Creates a new EditIndexcard-Dialog.
+     * The Indexcards are loaded in the background.
      *
      * @param controller The Controller of the application.
      */
     public EditIndexcard(Controller controller, Language language){
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         setModal(true);
         setTitle("Karteikarte bearbeiten");
@@ -58,49 +72,28 @@ public class EditIndexcard extends JDialog {
         addLinkButton.setText(language.getName("addLink"));
         removeLinkButton.setText(language.getName("removeLink"));
 
-        //list of all indexcards
-        List<Indexcard> indexcards = controller.getAllIndexcards();
-        //Array of all indexcard names
-        String[] indexcardsNames = new String[indexcards.size()];
-        for (int i = 0; i < indexcards.size(); i++) {
-            indexcardsNames[i] = indexcards.get(i).getName();
-        }
-        //ComboBox with all indexcard names
-        comboBoxName.setModel(new DefaultComboBoxModel<>(indexcardsNames));
-
-        // List of existing Indexcards
-        DefaultListModel<String> listModelForIndexcards = new DefaultListModel<>();
-        listModelForIndexcards.addAll(controller.getAllIndexcardNames());
-        indexcardList.setModel(listModelForIndexcards);
-
-        //ActionListener for the ComboBox
-        comboBoxName.addActionListener(e -> {
-            Optional<Indexcard> indexcard = controller.getIndexcardByName((String) comboBoxName.getSelectedItem());
-            if(indexcard.isPresent()){
-                textFieldName.setText(indexcard.get().getName());
-                textAreaQuestion.setText(indexcard.get().getQuestion());
-                textAreaAnswer.setText(indexcard.get().getAnswer());
-                StringBuilder keywords = new StringBuilder();
-                for (Keyword keyword : indexcard.get().getKeywords()) {
-                    keywords.append("#").append(keyword.getName()).append(" ");
-                }
-                textFieldKeywords.setText(keywords.toString());
-
-                // List of all Links of the Indexcard.
-                DefaultListModel<String> listModel = new DefaultListModel<>();
-                listModel.addAll(indexcard.get().getLinks().stream().map(link -> link.getTerm() + " => " + link.getIndexcard().getName()).toList());
-                linkList.setModel(listModel);
+        AsyncController.onEdt(asyncController.query(controller::getAllIndexcardNames), indexcardNames -> {
+            //ComboBox with all indexcard names
+            DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>(indexcardNames.toArray(new String[0]));
+            if (indexcardToSelect != null) {
+                model.setSelectedItem(indexcardToSelect);
+            }
+            comboBoxName.setModel(model);
+            indexcardNamesLoaded = true;
 
-                // List of existing Indexcards without the selected.
-                DefaultListModel<String> listModelOfIndexcards = new DefaultListModel<>();
-                List<String> list = controller.getAllIndexcardNames().stream().filter(name -> !name.equals(comboBoxName.getSelectedItem())).toList();
-                listModelOfIndexcards.addAll(list);
-                indexcardList.setModel(listModelOfIndexcards);
+            // List of existing Indexcards
+            DefaultListModel<String> listModelForIndexcards = new DefaultListModel<>();
+            listModelForIndexcards.addAll(indexcardNames);
+            indexcardList.setModel(listModelForIndexcards);
 
-                oldName = indexcard.get().getName();
+            if (indexcardToSelect != null) {
+                showSelectedIndexcard();
             }
         });
 
+        //ActionListener for the ComboBox
+        comboBoxName.addActionListener(e -> showSelectedIndexcard());
+
         confirmButton.addActionListener(e -> onOK());
 
         cancelButton.addActionListener(e -> onCancel());
@@ -161,61 +154,102 @@ public class EditIndexcard extends JDialog {
     }
 
     /**
-     * When the OK-Button is pressed, the Indexcard is edited.
+     * Loads the selected Indexcard in the background and displays it.
+     * The result is ignored, if another Indexcard was selected meanwhile.
      */
-    private void onOK() {
+    private void showSelectedIndexcard() {
+        final String selectedName = (String) comboBoxName.getSelectedItem();
+        CompletableFuture<Optional<IndexcardDetails>> details = asyncController.query(() ->
+                controller.getIndexcardByName(selectedName).map(indexcard -> new IndexcardDetails(indexcard,
+                        indexcard.getKeywords().stream().map(keyword -> "#" + keyword.getName() + " ").reduce("", String::concat),
+                        indexcard.getLinks().stream().map(link -> link.getTerm() + " => " + link.getIndexcard().getName()).toList(),
+                        controller.getAllIndexcardNames().stream().filter(name -> !name.equals(selectedName)).toList())));
+        AsyncController.onEdt(details, loaded -> {
+            if (loaded.isEmpty() || !Objects.equals(selectedName, comboBoxName.getSelectedItem())) {
+                return;
+            }
+            Indexcard indexcard = loaded.get().indexcard();
+            textFieldName.setText(indexcard.getName());
+            textAreaQuestion.setText(indexcard.getQuestion());
+            textAreaAnswer.setText(indexcard.getAnswer());
+            textFieldKeywords.setText(loaded.get().keywords());
 
-        Indexcard oldIndexcard;
-        if (controller.getAllIndexcardNames().stream().filter(name -> !name.equals(comboBoxName.getSelectedItem())).toList().contains(textFieldName.getText())) {
-            JOptionPane.showMessageDialog(this, language.getName("indexcardAlreadyExistError"), language.getName("nameAlreadyAssignedError"), JOptionPane.INFORMATION_MESSAGE);
-        } else {
+            // List of all Links of the Indexcard.
+            DefaultListModel<String> listModel = new DefaultListModel<>();
+            listModel.addAll(loaded.get().links());
+            linkList.setModel(listModel);
 
-            //Old Parameters
-            if (controller.getIndexcardByName(oldName).isPresent()) {
-                oldIndexcard = controller.getIndexcardByName(oldName).get();
-            } else {
-                throw new IllegalStateException(language.getName("indexcardToEditNonExistingError"));
-            }
+            // List of existing Indexcards without the selected.
+            DefaultListModel<String> listModelOfIndexcards = new DefaultListModel<>();
+            listModelOfIndexcards.addAll(loaded.get().otherIndexcardNames());
+            indexcardList.setModel(listModelOfIndexcards);
 
-            final Long oldIndexcardId = oldIndexcard.getId();
+            oldName = indexcard.getName();
+        });
+    }
 
-            // New Parameters
-            final String name = textFieldName.getText();
-            final String question = textAreaQuestion.getText();
-            final String answer = textAreaAnswer.getText();
+    /**
+     * When the OK-Button is pressed, the Indexcard is edited in the background.
+     * The buttons are disabled, until the Indexcard is edited, then the Dialog is closed.
+     */
+    private void onOK() {
+        // New Parameters
+        final String name = textFieldName.getText();
+        final String question = textAreaQuestion.getText();
+        final String answer = textAreaAnswer.getText();
+        if (name.isBlank() || question.isBlank() || answer.isBlank()) {
+            JOptionPane.showMessageDialog(this,
+                    language.getName("notAllFieldsFilledError"), language.getName("indexcardNotEditedError"),
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            // Separate Keywords
-            String[] keywordStrings = textFieldKeywords.getText()
-                    .replaceAll(" ", "")
-                    .split("#");
+        // Separate Keywords
+        String[] keywordStrings = textFieldKeywords.getText()
+                .replaceAll(" ", "")
+                .split("#");
 
-            List<String> keywords = new ArrayList<>(Arrays.asList(keywordStrings));
-            keywords.remove(0);
+        List<String> keywords = new ArrayList<>(Arrays.asList(keywordStrings));
+        keywords.remove(0);
 
-            // Save added Links
-            List<String> links = new ArrayList<>();
-            for (int i = 0; i < linkList.getModel().getSize(); i++) {
-                links.add(linkList.getModel().getElementAt(i));
-            }
+        // Save added Links
+        List<String> links = new ArrayList<>();
+        for (int i = 0; i < linkList.getModel().getSize(); i++) {
+            links.add(linkList.getModel().getElementAt(i));
+        }
 
-            if (!name.isBlank() && !question.isBlank() && !answer.isBlank()) {
-                controller.editIndexcard(name, question, answer, keywords, links, oldIndexcardId);
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        language.getName("notAllFieldsFilledError"), language.getName("indexcardNotEditedError"),
-                        JOptionPane.ERROR_MESSAGE);
+        final String selectedName = (String) comboBoxName.getSelectedItem();
+        final String nameBeforeEditing = oldName;
+        // The id of the Indexcard before editing, empty if the new name is already assigned.
+        CompletableFuture<Optional<Long>> oldIndexcardId = asyncController.query(() -> {
+            if (controller.getAllIndexcardNames().stream().filter(n -> !n.equals(selectedName)).toList().contains(name)) {
+                return Optional.empty();
             }
-        }
+            //Old Parameters
+            return Optional.of(controller.getIndexcardByName(nameBeforeEditing)
+                    .orElseThrow(() -> new IllegalStateException(language.getName("indexcardToEditNonExistingError"))).getId());
+        });
+        AsyncController.disableUntilDone(oldIndexcardId.thenComposeAsync(id -> {
+            if (id.isEmpty()) {
+                JOptionPane.showMessageDialog(this, language.getName("indexcardAlreadyExistError"), language.getName("nameAlreadyAssignedError"), JOptionPane.INFORMATION_MESSAGE);
+                return CompletableFuture.completedFuture(null);
+            }
+            return controller.editIndexcard(name, question, answer, keywords, links, id.get()).thenRun(this::dispose);
+        }, AsyncController.EDT), confirmButton, cancelButton, addLinkButton, removeLinkButton);
     }
 
     /**
      * Sets an indexcard to edit by setting the ComboBox to the indexcard name.
+     * If the names of the Indexcards are not loaded yet, the Indexcard is selected as soon as they are.
      *
      * @param indexcard The Indexcard that should be edited.
      */
     public void setIndexcard(Indexcard indexcard){
-        comboBoxName.setSelectedItem(indexcard.getName());
+        if (indexcardNamesLoaded) {
+            comboBoxName.setSelectedItem(indexcard.getName());
+        } else {
+            indexcardToSelect = indexcard.getName();
+        }
     }
 
     /**
@@ -263,4 +297,10 @@ public class EditIndexcard extends JDialog {
         // add your code here if necessary
         dispose();
     }
+
+    /**
+     * The loaded Indexcard with its Keywords, its Links and the names of all other Indexcards.
+     */
+    private record IndexcardDetails(Indexcard indexcard, String keywords, List<String> links, List<String> otherIndexcardNames) {
+    }
 }
@@ -1,5 +1,6 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 import uni.myosotis.objects.Category;
 import uni.myosotis.objects.IndexcardBox;
@@ -7,11 +8,14 @@ import uni.myosotis.objects.IndexcardBox;
 import javax.swing.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class EditIndexcardBox extends JDialog {
 
     private final Controller controller;
+    private final AsyncController asyncController;
     private final Language language;
     private JLabel nameLabel;
     private JScrollPane categoryScrollPane;
@@ -22,17 +26,38 @@ public class EditIndexcardBox extends JDialog {
     private JLabel categoryLabel;
 
     private JList<String> categoriesNamesList;
-    private  Optional<IndexcardBox> selectedIndexcardBox;
+    private  Optional<IndexcardBox> selectedIndexcardBox = Optional.empty();
+
+    /**
+     * The name of the IndexcardBox, that is selected as soon as the names of the IndexcardBoxes are loaded.
+     */
+    private String indexcardBoxToSelect;
+
+    /**
+     * If the names of the IndexcardBoxes are loaded into the ComboBox.
+     */
+    private boolean indexcardBoxNamesLoaded;
 
     public EditIndexcardBox(Controller controller,Language language){
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         setModal(true);
         setTitle(language.getName("editIndexcardBoxTitle"));
         getRootPane().setDefaultButton(confirmButton);
         setContentPane(contentPane);
 
-        indexcardboxNameComboBox.setModel(new DefaultComboBoxModel<>(controller.getAllIndexcardBoxNames().toArray(new String[0])));
+        AsyncController.onEdt(asyncController.query(controller::getAllIndexcardBoxNames), indexcardBoxNames -> {
+            DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>(indexcardBoxNames.toArray(new String[0]));
+            if (indexcardBoxToSelect != null) {
+                model.setSelectedItem(indexcardBoxToSelect);
+            }
+            indexcardboxNameComboBox.setModel(model);
+            indexcardBoxNamesLoaded = true;
+            if (indexcardBoxToSelect != null) {
+                showSelectedIndexcardBox();
+            }
+        });
         // Set the language
         categoryLabel.setText(language.getName("category"));
         nameLabel.setText(language.getName("name"));
@@ -44,15 +69,29 @@ public class EditIndexcardBox extends JDialog {
         cancelButton.addActionListener(e -> onCancel());
 
         //ActionListener for the ComboBox
-        indexcardboxNameComboBox.addActionListener(e -> {
-            selectedIndexcardBox = controller.getIndexcardBoxByName((String) indexcardboxNameComboBox.getSelectedItem());
+        indexcardboxNameComboBox.addActionListener(e -> showSelectedIndexcardBox());
+    }
+
+    /**
+     * Loads the selected IndexcardBox and the names of all Category's in the background and displays them.
+     * The result is ignored, if another IndexcardBox was selected meanwhile.
+     */
+    private void showSelectedIndexcardBox() {
+        final String selectedName = (String) indexcardboxNameComboBox.getSelectedItem();
+        CompletableFuture<IndexcardBoxDetails> details = asyncController.query(() ->
+                new IndexcardBoxDetails(controller.getIndexcardBoxByName(selectedName), controller.getCategoryNames()));
+        AsyncController.onEdt(details, loaded -> {
+            if (!Objects.equals(selectedName, indexcardboxNameComboBox.getSelectedItem())) {
+                return;
+            }
+            selectedIndexcardBox = loaded.indexcardBox();
             if(selectedIndexcardBox.isPresent()){
                 List<String> selectedIndexcardBoxCategory = List.of(selectedIndexcardBox.get().getCategoryNameList());
-                categoriesNamesList = new JList<>(controller.getCategoryNames().toArray(new String[0]));
+                categoriesNamesList = new JList<>(loaded.categoryNames().toArray(new String[0]));
                 ArrayList<Integer> indices = new ArrayList<>();
                 categoriesNamesList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
                 for (String s : selectedIndexcardBoxCategory) {
-                    indices.add(List.of(controller.getCategoryNames()).indexOf(s));
+                    indices.add(loaded.categoryNames().indexOf(s));
                 }
                 int[] indicesArray = indices.stream().mapToInt(i->i).toArray();
                 categoriesNamesList.setSelectedIndices(indicesArray);
@@ -61,29 +100,47 @@ public class EditIndexcardBox extends JDialog {
         });
     }
 
+    /**
+     * Saves the selected Category's of the IndexcardBox in the background.
+     * The buttons are disabled, until the IndexcardBox is saved, then the Dialog is closed.
+     */
     public void onOK(){
         if(selectedIndexcardBox.isPresent()) {
+            final String indexcardBoxName = selectedIndexcardBox.get().getName();
+            final List<String> selectedCategoryNames = categoriesNamesList.getSelectedValuesList();
+            CompletableFuture<Void> update = asyncController.update(() -> {
                 List<Category> selectedCategoryList = new ArrayList<>();
-                for (int i = 0; i < categoriesNamesList.getSelectedValuesList().size(); i++){
-                    if (controller.getCategoryByName(categoriesNamesList.getSelectedValuesList().get(i)).isPresent()) {
-                        selectedCategoryList.add(controller.getCategoryByName(categoriesNamesList.getSelectedValuesList().get(i)).get());
-                    }
+                for (String categoryName : selectedCategoryNames) {
+                    controller.getCategoryByName(categoryName).ifPresent(selectedCategoryList::add);
                 }
-                controller.editIndexcardBox(selectedIndexcardBox.get().getName(), selectedCategoryList);
-            dispose();
+                controller.editIndexcardBox(indexcardBoxName, selectedCategoryList);
+            });
+            AsyncController.disableUntilDone(update, confirmButton, cancelButton)
+                    .whenCompleteAsync((result, e) -> dispose(), AsyncController.EDT);
         }
     }
 
     /**
      * Sets an indexcardBox to edit by setting the ComboBox to the indexcard name.
+     * If the names of the IndexcardBoxes are not loaded yet, the IndexcardBox is selected as soon as they are.
      *
      * @param indexcardBoxName The IndexcardBox that should be edited.
      */
     public void setIndexcardBox(String indexcardBoxName){
-        indexcardboxNameComboBox.setSelectedItem(indexcardBoxName);
+        if (indexcardBoxNamesLoaded) {
+            indexcardboxNameComboBox.setSelectedItem(indexcardBoxName);
+        } else {
+            indexcardBoxToSelect = indexcardBoxName;
+        }
     }
 
     public void onCancel(){
         dispose();
     }
+
+    /**
+     * The loaded IndexcardBox, if it exists, and the names of all Category's.
+     */
+    private record IndexcardBoxDetails(Optional<IndexcardBox> indexcardBox, List<String> categoryNames) {
+    }
 }
@@ -1,17 +1,23 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
-import uni.myosotis.objects.Category;
 import uni.myosotis.objects.Indexcard;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntPredicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class Glossar extends JDialog {
 
+    private static final Logger logger = Logger.getLogger(Glossar.class.getName());
+
     private final Controller controller;
     private final Language language;
     private JPanel contentPane;
@@ -31,6 +37,14 @@ public class Glossar extends JDialog {
     private final String[] columnNames;
     private final String selectedCategory;
     private final String selectedKeyword;
+    private final GlossarTableModel glossarModel;
+    private final TableRowSorter<GlossarTableModel> sorter;
+    private SwingWorker<GlossarTableModel.Snapshot, Void> loader;
+
+    /**
+     * The number of the last search, so the result of an older search, that finishes later, is dropped.
+     */
+    private int searchSequence;
 
     public Glossar(Controller controller, Language language) {
         this.controller = controller;
@@ -42,6 +56,12 @@ public class Glossar extends JDialog {
                                         language.getName("categoryTitle")};
         this.selectedKeyword = language.getName("selectKeyword");
         this.selectedCategory = language.getName("selectCategory");
+        this.glossarModel = new GlossarTableModel(columnNames);
+        this.sorter = new TableRowSorter<>(glossarModel);
+        sorter.setComparator(GlossarTableModel.NAME_COLUMN, Comparator.naturalOrder());
+        indexCardTable.setModel(glossarModel);
+        indexCardTable.setRowSorter(sorter);
+        sort(true);
         setContentPane(contentPane);
         setCategoryComboBox();
         setKeywordComboBox();
@@ -68,32 +88,64 @@ public class Glossar extends JDialog {
         filterButton.addActionListener(e -> onFiltern());
 
         removeFilterButton.addActionListener(e -> onFilternEntfernen());
-        reverseSortRadioButton.addActionListener(e -> sort((DefaultTableModel) indexCardTable.getModel(), !reverseSortRadioButton.isSelected()));
+        reverseSortRadioButton.addActionListener(e -> sort(!reverseSortRadioButton.isSelected()));
         searchButton.addActionListener(e -> search(searchTextField.getText()));
     }
 
     /**
-     * Searches in the Indexcards for a given text and displays the results in the table.
-     * Is case-insensitive.
+     * Searches in the Indexcards for a given text and shows only the results in the table, the best match first.
+     * Uses the full-text index over name, question, answer, keywords and categories,
+     * so it is case-insensitive and finds prefixes and small typos.
+     * The search runs in the background, the table is filtered afterwards. While the results are shown,
+     * the table is not sorted by name, until the sort order is changed.
+     * A text without words shows all Indexcards again.
 
      * @param text The text.
      */
     private void search(String text) {
-        DefaultTableModel glossarModel = new DefaultTableModel(columnNames, 0);
-        List<Indexcard> filteredIndexCards = controller.getAllIndexcards().stream()
-                .filter(indexCard -> indexCard.getName().toLowerCase().contains(text.toLowerCase()) ||
-                        indexCard.getQuestion().toLowerCase().contains(text.toLowerCase()) ||
-                        indexCard.getAnswer().toLowerCase().contains(text.toLowerCase()) ||
-                        indexCard.getKeywordNames().toString().toLowerCase().contains(text.toLowerCase()) ||
-                        controller.getCategoriesByIndexcard(indexCard).toString().toLowerCase().contains(text.toLowerCase()))
-                .toList();
-
-        for (Indexcard indexCard : filteredIndexCards) {
-            glossarModel.addRow(new Object[]{indexCard.getName(), indexCard.getQuestion(), indexCard.getAnswer(), indexCard.getKeywordNames(), controller.getCategoriesByIndexcard(indexCard).stream().map(Category::getCategoryName).toList()});
+        final int sequence = ++searchSequence;
+        if (!controller.containsSearchWords(text)) {
+            clearSearch();
+            return;
         }
-        indexCardTable.setModel(sort(glossarModel, true));
-        // add data JTable
-        indexcardsPane.setViewportView(indexCardTable);
+        new SwingWorker<List<Long>, Void>() {
+            @Override
+            protected List<Long> doInBackground() {
+                return controller.searchIndexcardIds(text);
+            }
+
+            @Override
+            protected void done() {
+                if (sequence != searchSequence) {
+                    return;
+                }
+                try {
+                    List<Long> indexcardIds = get();
+                    Set<Long> matches = new HashSet<>(indexcardIds);
+                    sorter.setSortKeys(null);
+                    glossarModel.setRanking(indexcardIds);
+                    sorter.setRowFilter(new RowFilter<>() {
+                        @Override
+                        public boolean include(Entry<? extends GlossarTableModel, ? extends Integer> entry) {
+                            return glossarModel.isIndexcardIn(entry.getIdentifier(), matches);
+                        }
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    logger.log(Level.SEVERE, "Error while searching the glossar", e.getCause());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Removes the results of the search and sorts the table by name again.
+     */
+    private void clearSearch() {
+        sorter.setRowFilter(null);
+        glossarModel.setRanking(null);
+        sort(!reverseSortRadioButton.isSelected());
     }
 
     public JPanel getGlossarPane(){
@@ -121,61 +173,60 @@ public class Glossar extends JDialog {
         }
     }
 
+    /**
+     * Loads a new snapshot of all Indexcards in the background and shows it in the table
+     * without a filter. A load that is still running gets replaced. Only the texts and the names
+     * of the Keywords and Categories are loaded with projections, not the Indexcards themselves.
+     */
     public void setGlossar() {
-        DefaultTableModel glossarModel = new DefaultTableModel(columnNames, 0);
-        for (Indexcard indexCard : controller.getAllIndexcards()) {
-            glossarModel.addRow(new Object[]{indexCard.getName(), indexCard.getQuestion(), indexCard.getAnswer(), indexCard.getKeywordNames(), controller.getCategoriesByIndexcard(indexCard).stream().map(Category::getCategoryName).toList()});
+        searchSequence++;
+        clearSearch();
+        if (loader != null) {
+            loader.cancel(false);
         }
-        indexCardTable.setModel(sort(glossarModel, true));
-        indexcardsPane.setViewportView(indexCardTable);
+        loader = new SwingWorker<>() {
+            @Override
+            protected GlossarTableModel.Snapshot doInBackground() {
+                return new GlossarTableModel.Snapshot(controller.getIndexcardTexts(), controller.getKeywordNamesByIndexcard(),
+                        controller.getCategoryNamesByIndexcard());
+            }
+
+            @Override
+            protected void done() {
+                if (loader != this || isCancelled()) {
+                    return;
+                }
+                try {
+                    glossarModel.setSnapshot(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    logger.log(Level.SEVERE, "Error while loading the glossar", e.getCause());
+                }
+            }
+        };
+        loader.execute();
     }
 
     /**
-     * sorts the glossar table by the first column (indexcard name)
-     * @param glossarModel the table model
+     * Sorts the glossar table by the first column (indexcard name).
+     * Only the view gets sorted, the rows of the model stay as they are.
+     *
      * @param order if true ascending, if false descending
-     * @return the sorted table model
      */
-    public DefaultTableModel sort(DefaultTableModel glossarModel, boolean order){
-        List<Vector> data = new ArrayList<>();
-        for (int i = 0; i < glossarModel.getRowCount(); i++) {
-            data.add(glossarModel.getDataVector().get(i));
-        }
-        data.sort(Comparator.comparing(o -> o.get(0).toString()));
-        if (!order) {
-            Collections.reverse(data);
-        }
-        glossarModel.setRowCount(0);
-        for (Vector row : data) {
-            glossarModel.addRow(row);
-        }
-        return glossarModel;
+    public void sort(boolean order) {
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(GlossarTableModel.NAME_COLUMN,
+                order ? SortOrder.ASCENDING : SortOrder.DESCENDING)));
     }
 
     public void onFilternKeyword() {
         String keywordToFilter = (String) keywordComboBox.getSelectedItem();
-        DefaultTableModel glossarModel = new DefaultTableModel(columnNames, 0);
-        List<Indexcard> filteredIndexCards = controller.getAllIndexcards().stream()
-                .filter(indexCard -> indexCard.getKeywordNames().contains(keywordToFilter))
-                .toList();
-        for (Indexcard indexCard : filteredIndexCards) {
-            glossarModel.addRow(new Object[]{indexCard.getName(), indexCard.getQuestion(), indexCard.getAnswer(), indexCard.getKeywordNames(), controller.getCategoriesByIndexcard(indexCard).stream().map(Category::getCategoryName).toList()});
-        }
-        indexCardTable.setModel(sort(glossarModel, true));
-        indexcardsPane.setViewportView(indexCardTable);
+        setFilter(row -> glossarModel.getKeywords(row).contains(keywordToFilter));
     }
 
     public void onFilternCategory() {
         String categoryToFilter = (String) categoryComboBox.getSelectedItem();
-        DefaultTableModel glossarModel = new DefaultTableModel(columnNames, 0);
-        List<Indexcard> filteredIndexCards = controller.getAllIndexcards().stream()
-                .filter(indexCard -> controller.getCategoriesByIndexcard(indexCard).stream().map(Category::getCategoryName).toList().contains(categoryToFilter))
-                .toList();
-        for (Indexcard indexCard : filteredIndexCards) {
-            glossarModel.addRow(new Object[]{indexCard.getName(), indexCard.getQuestion(), indexCard.getAnswer(), indexCard.getKeywordNames(), controller.getCategoriesByIndexcard(indexCard).stream().map(Category::getCategoryName).toList()});
-        }
-        indexCardTable.setModel(sort(glossarModel, true));
-        indexcardsPane.setViewportView(indexCardTable);
+        setFilter(row -> glossarModel.getCategories(row).contains(categoryToFilter));
     }
 
     /**
@@ -184,31 +235,44 @@ public class Glossar extends JDialog {
     void onFilternCategoryAndKeyword(){
         String categoryToFilter = (String) categoryComboBox.getSelectedItem();
         String keywordToFilter = (String) keywordComboBox.getSelectedItem();
-        DefaultTableModel glossaryModel = new DefaultTableModel(columnNames, 0);
+        setFilter(row -> glossarModel.getCategories(row).contains(categoryToFilter) && glossarModel.getKeywords(row).contains(keywordToFilter));
+    }
 
-        List<Indexcard> filteredIndexCards = controller.getAllIndexcards().stream()
-                .filter(indexCard -> controller.getCategoriesByIndexcard(indexCard).stream().map(Category::getCategoryName).toList().contains(categoryToFilter) && indexCard.getKeywordNames().contains(keywordToFilter))
-                .toList();
-        for (Indexcard indexCard : filteredIndexCards) {
-            glossaryModel.addRow(new Object[]{indexCard.getName(), indexCard.getQuestion(), indexCard.getAnswer(), indexCard.getKeywordNames(), controller.getCategoriesByIndexcard(indexCard).stream().map(Category::getCategoryName).toList()});
-        }
-        indexCardTable.setModel(sort(glossaryModel, true));
-        indexcardsPane.setViewportView(indexCardTable);
+    /**
+     * Shows only the rows of the model, that match the filter.
+     *
+     * @param filter Decides by the row of the model, if the row is shown.
+     */
+    private void setFilter(IntPredicate filter) {
+        sorter.setRowFilter(new RowFilter<>() {
+            @Override
+            public boolean include(Entry<? extends GlossarTableModel, ? extends Integer> entry) {
+                return filter.test(entry.getIdentifier());
+            }
+        });
     }
 
     /**
      * Set the CategoryComboBox with all Categories, which are in the Database.
      * The first Item is "Wählen Sie eine Kategorie aus" which is "null" if selected.
+     * The Categories are loaded in the background.
      */
     public void setCategoryComboBox(){
-        DefaultComboBoxModel<String> comboModel = new DefaultComboBoxModel<>(controller.getCategoryNames().toArray(new String[0]));
-        comboModel.setSelectedItem(selectedCategory);
-        categoryComboBox.setModel(comboModel);
+        AsyncController.onEdt(controller.getAsyncController().query(controller::getCategoryNames), categoryNames -> {
+            DefaultComboBoxModel<String> comboModel = new DefaultComboBoxModel<>(categoryNames.toArray(new String[0]));
+            comboModel.setSelectedItem(selectedCategory);
+            categoryComboBox.setModel(comboModel);
+        });
     }
 
+    /**
+     * Set the KeywordComboBox with all Keywords, which are in the Database, as soon as they are loaded in the background.
+     */
     public void setKeywordComboBox(){
-        DefaultComboBoxModel<String> comboModel = new DefaultComboBoxModel<>(controller.getAllKeywordNames().toArray(new String[0]));
-        comboModel.setSelectedItem(selectedKeyword);
-        keywordComboBox.setModel(comboModel);
+        AsyncController.onEdt(controller.getAsyncController().query(controller::getAllKeywordNames), keywordNames -> {
+            DefaultComboBoxModel<String> comboModel = new DefaultComboBoxModel<>(keywordNames.toArray(new String[0]));
+            comboModel.setSelectedItem(selectedKeyword);
+            keywordComboBox.setModel(comboModel);
+        });
     }
 }
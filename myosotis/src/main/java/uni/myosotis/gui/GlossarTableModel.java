@@ -0,0 +1,206 @@
+package uni.myosotis.gui;
+
+import uni.myosotis.objects.IndexcardText;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * The table model of the Glossar.
+ * <p>
+ * The model holds a read-only snapshot of all Indexcards, stored column by column.
+ * Sorting and filtering are done by a TableRowSorter on top of the model, so they
+ * only change the view and neither copy rows nor load anything from the database.
+ * Only the ranking of a search changes the order of the rows in the model, because the
+ * rank of a row is not one of its columns.
+ */
+public class GlossarTableModel extends AbstractTableModel {
+
+    static final int NAME_COLUMN = 0;
+    static final int QUESTION_COLUMN = 1;
+    static final int ANSWER_COLUMN = 2;
+    static final int KEYWORD_COLUMN = 3;
+    static final int CATEGORY_COLUMN = 4;
+
+    private final String[] columnNames;
+
+    private Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * The index in the snapshot for every row, or null if the rows are in the order of the snapshot.
+     */
+    private int[] order;
+
+    /**
+     * Creates a new, empty GlossarTableModel.
+     *
+     * @param columnNames The names of the five columns.
+     */
+    public GlossarTableModel(String[] columnNames) {
+        this.columnNames = columnNames;
+    }
+
+    /**
+     * Replaces the shown Indexcards. Must be called on the Event-Dispatch-Thread.
+     *
+     * @param snapshot The new snapshot of the Indexcards.
+     */
+    public void setSnapshot(Snapshot snapshot) {
+        this.snapshot = snapshot;
+        this.order = null;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Orders the rows by the ranking of a search: the given Indexcards first, in the order of the list,
+     * then all other Indexcards in the order of the snapshot. Must be called on the Event-Dispatch-Thread.
+     *
+     * @param indexcardIds The ids of the Indexcards, the best match first, or null for the order of the snapshot.
+     */
+    public void setRanking(List<Long> indexcardIds) {
+        if (indexcardIds == null) {
+            order = null;
+        } else {
+            final Map<Long, Integer> ranks = new HashMap<>(indexcardIds.size() * 2);
+            for (Long id : indexcardIds) {
+                ranks.putIfAbsent(id, ranks.size());
+            }
+            final int size = snapshot.ids.length;
+            order = IntStream.range(0, size).boxed()
+                    .sorted(Comparator.comparingInt(index -> ranks.getOrDefault(snapshot.ids[index], size)))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return snapshot.ids.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column <= ANSWER_COLUMN ? String.class : List.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        final int index = index(row);
+        return switch (column) {
+            case NAME_COLUMN -> snapshot.names[index];
+            case QUESTION_COLUMN -> snapshot.questions[index];
+            case ANSWER_COLUMN -> snapshot.answers[index];
+            case KEYWORD_COLUMN -> snapshot.keywords[index];
+            case CATEGORY_COLUMN -> snapshot.categories[index];
+            default -> throw new IndexOutOfBoundsException(column);
+        };
+    }
+
+    /**
+     * Returns the id of the Indexcard in a row.
+     *
+     * @param row The row of the model.
+     * @return The id of the Indexcard.
+     */
+    public long getIndexcardId(int row) {
+        return snapshot.ids[index(row)];
+    }
+
+    /**
+     * Returns the names of the Keywords of the Indexcard in a row.
+     *
+     * @param row The row of the model.
+     * @return The names of the Keywords.
+     */
+    public List<String> getKeywords(int row) {
+        return snapshot.keywords[index(row)];
+    }
+
+    /**
+     * Returns the names of the Categories of the Indexcard in a row.
+     *
+     * @param row The row of the model.
+     * @return The names of the Categories.
+     */
+    public List<String> getCategories(int row) {
+        return snapshot.categories[index(row)];
+    }
+
+    /**
+     * Returns if the Indexcard in a row is one of the given Indexcards.
+     *
+     * @param row The row of the model.
+     * @param indexcardIds The ids of the Indexcards.
+     * @return True, if the id of the Indexcard is in the set.
+     */
+    boolean isIndexcardIn(int row, Set<Long> indexcardIds) {
+        return indexcardIds.contains(snapshot.ids[index(row)]);
+    }
+
+    /**
+     * Returns the index in the snapshot of a row.
+     */
+    private int index(int row) {
+        return order == null ? row : order[row];
+    }
+
+    /**
+     * An immutable, column-oriented copy of the Indexcards, that are shown in the Glossar.
+     * Can be created on a background thread.
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), Map.of());
+
+        private final long[] ids;
+        private final String[] names;
+        private final String[] questions;
+        private final String[] answers;
+        private final List<String>[] keywords;
+        private final List<String>[] categories;
+
+        /**
+         * Creates a snapshot of the given Indexcards.
+         *
+         * @param indexcards The texts of the Indexcards.
+         * @param keywordNamesByIndexcard The names of the Keywords by the id of the Indexcard.
+         * @param categoryNamesByIndexcard The names of the Categories by the id of the Indexcard.
+         */
+        @SuppressWarnings("unchecked")
+        public Snapshot(List<IndexcardText> indexcards, Map<Long, List<String>> keywordNamesByIndexcard,
+                        Map<Long, List<String>> categoryNamesByIndexcard) {
+            final int size = indexcards.size();
+            this.ids = new long[size];
+            this.names = new String[size];
+            this.questions = new String[size];
+            this.answers = new String[size];
+            this.keywords = new List[size];
+            this.categories = new List[size];
+            for (int row = 0; row < size; row++) {
+                final IndexcardText indexcard = indexcards.get(row);
+                ids[row] = indexcard.id();
+                names[row] = indexcard.name();
+                questions[row] = indexcard.question();
+                answers[row] = indexcard.answer();
+                keywords[row] = List.copyOf(keywordNamesByIndexcard.getOrDefault(indexcard.id(), List.of()));
+                categories[row] = List.copyOf(categoryNamesByIndexcard.getOrDefault(indexcard.id(), List.of()));
+            }
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
+import uni.myosotis.logic.FsrsAlgorithm;
+import uni.myosotis.logic.LeitnerAlgorithm;
+import uni.myosotis.logic.Sm2Algorithm;
 import uni.myosotis.objects.IndexcardBox;
 import uni.myosotis.objects.LeitnerLearnSystem;
 
 import javax.swing.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 public class IndexcardBoxTab extends JDialog {
     private final Controller controller;
+    private final AsyncController asyncController;
     private final Language language;
+    private int listRequest;
+    /**
+     * The shown model, that resolves the selected rows to names.
+     */
+    private PagedListModel<String> indexcardBoxModel;
 
     private JPanel contentPane;
     private JButton searchButton;
@@ -31,13 +41,15 @@ public class IndexcardBoxTab extends JDialog {
 
     public IndexcardBoxTab(Controller controller, Language language) {
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         setContentPane(contentPane);
         setTitle(language.getName("indexcardBoxTitle"));
         pack();
         setMinimumSize(getSize());
         setSize(800, 600);
-        updateList(controller.getAllIndexcardBoxes());
+        PagedListModel.useFixedCellSize(indexcardBoxList);
+        updateList(indexcardBoxes(""));
         updateComboBox();
         // Set the language
         indexcardBoxLabel.setText(language.getName("indexcardBoxTitle"));
@@ -65,20 +77,35 @@ public class IndexcardBoxTab extends JDialog {
      * Updates the list of indexcards
      */
     private void onRemoveFilter() {
-        updateList(controller.getAllIndexcardBoxes());
+        updateList(indexcardBoxes(""));
     }
 
     /**
-     * This method updates the list of indexcards and displays the Names in the list.
-     * @param indexcardBoxList the list of indexcards which should be displayed
+     * This method updates the list of indexcards and displays the Names in the list,
+     * as soon as they are loaded. Results of older requests are ignored.
+     * @param indexcardBoxList the future model with the names which should be displayed
      */
 
-    private void updateList(List<IndexcardBox> indexcardBoxList) {
-        DefaultListModel<String> listModel = new DefaultListModel<>();
-        for (IndexcardBox indexcardBox : indexcardBoxList) {
-            listModel.addElement(indexcardBox.getName());
-        }
-        this.indexcardBoxList.setModel(listModel);
+    private void updateList(CompletableFuture<PagedListModel<String>> indexcardBoxList) {
+        final int request = ++listRequest;
+        AsyncController.onEdt(indexcardBoxList, listModel -> {
+            if (request == listRequest) {
+                this.indexcardBoxModel = listModel;
+                this.indexcardBoxList.setModel(listModel);
+            }
+        });
+    }
+
+    /**
+     * Returns a model, that loads the names of the IndexcardBoxes page by page.
+     *
+     * @param text The text, the names must contain, empty for all IndexcardBoxes.
+     * @return The future model.
+     */
+    private CompletableFuture<PagedListModel<String>> indexcardBoxes(final String text) {
+        return PagedListModel.create(asyncController, () -> controller.countIndexcardBoxes(text),
+                (after, offset, limit) -> controller.getIndexcardBoxNamePage(text, after, offset, limit),
+                name -> name);
     }
 
     /**
@@ -94,26 +121,31 @@ public class IndexcardBoxTab extends JDialog {
             JOptionPane.showMessageDialog(this, language.getName("selectOneIndexcardBoxMessage")
                     , language.getName("selectOneIndexcardBox"), JOptionPane.INFORMATION_MESSAGE);
         } else if (Objects.equals(Objects.requireNonNull(learnSystemName.getSelectedItem()).toString(), language.getName("random"))) {
-            LearnConfig learnConfig = null;
-            controller.learnRandomLearnSystem(learnSystemName.getSelectedItem().toString(), controller.getIndexcardBoxByName(indexcardBoxList.getSelectedValue()).get(), 1);
-        } else if (Objects.equals(learnSystemName.getSelectedItem().toString(), language.getName("leitner"))) {
             String selectedLearnSystemName = learnSystemName.getSelectedItem().toString();
-            IndexcardBox indexcardBoxSelected = controller.getIndexcardBoxByName(indexcardBoxList.getSelectedValue()).get();
-            int numberOfBoxes = 5;
-            LearnConfig learnConfig = new LearnConfig(controller, language, selectedLearnSystemName, indexcardBoxSelected, numberOfBoxes);
-            if(controller.getLeitnerLearnSystemByName(indexcardBoxSelected.getName() + selectedLearnSystemName) == null){
-                learnConfig.configAll();
-                learnConfig.setVisible(true);
-            }
-            else if (!controller.getLeitnerLearnSystemByName(indexcardBoxSelected.getName() + selectedLearnSystemName).getStarted()) {
-                //else if(!controller.existsLearnsystem(controller.getIndexcardBoxByName(indexcardBoxList.getSelectedValue()).get().getName()+ learnSystemName.getSelectedItem().toString())){
-                // Show just the boxes which can be selected to learn
-                learnConfig.configAll();
-                learnConfig.setVisible(true);
-            } else if (controller.getLeitnerLearnSystemByName(indexcardBoxSelected.getName() + selectedLearnSystemName).getStarted()) {
-                LeitnerLearnSystem learnSystem = controller.getLeitnerLearnSystemByName(indexcardBoxSelected.getName() + selectedLearnSystemName);
-                controller.learnLeitnerSystem(selectedLearnSystemName, indexcardBoxSelected, numberOfBoxes, learnSystem.getSortType(), learnConfig.getSelectedBox());
-            }
+            AsyncController.onEdt(asyncController.getIndexcardBoxByName(indexcardBoxList.getSelectedValue()),
+                    indexcardBox -> indexcardBox.ifPresent(box -> controller.learnRandomLearnSystem(selectedLearnSystemName, box, 1)));
+        } else if (algorithmOf(learnSystemName.getSelectedItem().toString()) != null) {
+            String selectedLearnSystemName = learnSystemName.getSelectedItem().toString();
+            String algorithm = algorithmOf(selectedLearnSystemName);
+            String indexcardBoxName = indexcardBoxList.getSelectedValue();
+            // Load the IndexcardBox and its Learnsystem in the background, then continue on the EDT.
+            CompletableFuture<LeitnerSelection> selection = asyncController.query(() -> {
+                IndexcardBox indexcardBox = controller.getIndexcardBoxByName(indexcardBoxName).orElseThrow();
+                return new LeitnerSelection(indexcardBox,
+                        controller.getLeitnerLearnSystemByName(indexcardBox.getName() + selectedLearnSystemName));
+            });
+            AsyncController.onEdt(selection, selected -> {
+                int numberOfBoxes = 5;
+                LearnConfig learnConfig = new LearnConfig(controller, language, selectedLearnSystemName, algorithm, selected.indexcardBox(), numberOfBoxes);
+                if (selected.learnSystem() == null || !selected.learnSystem().getStarted()) {
+                    // Show just the boxes which can be selected to learn
+                    learnConfig.configAll();
+                    learnConfig.setVisible(true);
+                } else {
+                    controller.learnLeitnerSystem(selectedLearnSystemName, algorithm, selected.indexcardBox(), numberOfBoxes,
+                            selected.learnSystem().getSortType(), learnConfig.getSelectedBox());
+                }
+            });
 
         } else {
             JOptionPane.showMessageDialog(this, language.getName("selectLearnSystemMessage"),
@@ -127,17 +159,16 @@ public class IndexcardBoxTab extends JDialog {
      * If not it opens a dialog to delete an indexcard
      */
     private void onDelete() {
-        if (indexcardBoxList.getSelectedValue() != null) {
-            for (Object indexcardBoxName : indexcardBoxList.getSelectedValuesList()) {
-                if (controller.getIndexcardBoxByName(indexcardBoxName.toString()).isPresent()) {
-                    controller.deleteIndexcardBox(controller.getIndexcardBoxByName(indexcardBoxName.toString()).get().getName());
-                }
-            }
+        if (!indexcardBoxList.isSelectionEmpty()) {
+            // The names of the selected rows could be not loaded yet, so they are resolved by the model.
+            AsyncController.disableUntilDone(indexcardBoxModel.getElementsAt(indexcardBoxList.getSelectedIndices())
+                    .thenComposeAsync(controller::deleteIndexcardBoxes, AsyncController.EDT)
+                    .thenRun(() -> updateList(indexcardBoxes(""))), deleteButton);
         }
         else {
             controller.deleteIndexcardBox();
+            updateList(indexcardBoxes(""));
         }
-        updateList(controller.getAllIndexcardBoxes());
 
     }
 
@@ -149,16 +180,13 @@ public class IndexcardBoxTab extends JDialog {
     private void onEdit() {
         if (indexcardBoxList.getSelectedValue() != null) {
             if (indexcardBoxList.getSelectedValuesList().size() == 1) {
-                String indexcardBoxName = indexcardBoxList.getSelectedValue();
-                if (controller.getIndexcardBoxByName(indexcardBoxName).isPresent()) {
-                    controller.editIndexcardBox(controller.getIndexcardBoxByName(indexcardBoxName).get().getName());
-                }
+                controller.editIndexcardBox(indexcardBoxList.getSelectedValue());
             }
         }
         else {
             controller.editIndexcardBox();
         }
-        updateList(controller.getAllIndexcardBoxes());
+        updateList(indexcardBoxes(""));
     }
 
     /**
@@ -166,7 +194,7 @@ public class IndexcardBoxTab extends JDialog {
      */
     private void onCreate() {
         controller.createIndexcardBox();
-        updateList(controller.getAllIndexcardBoxes());
+        updateList(indexcardBoxes(""));
     }
 
     /**
@@ -175,7 +203,7 @@ public class IndexcardBoxTab extends JDialog {
      * If not it displays all indexcards
      */
     private void onSearch(){
-        updateList(controller.searchIndexcardBox(textField1.getText()));
+        updateList(indexcardBoxes(textField1.getText()));
     }
 
     /**
@@ -198,9 +226,32 @@ public class IndexcardBoxTab extends JDialog {
      */
     public void updateComboBox(){
         // Array of all Indexcardnames
-        String[] learnSystemList = {language.getName("leitner"), language.getName("random")};
+        String[] learnSystemList = {language.getName("leitner"), language.getName("sm2"), language.getName("fsrs"),
+                language.getName("random")};
         learnSystemName.setModel(new DefaultComboBoxModel<>(learnSystemList));
     }
 
+    /**
+     * Returns the algorithm of a Learnsystem in the ComboBox. The Boxes of the Leitner-System are
+     * used by all of them, SM-2 and FSRS only calculate other due times.
+     *
+     * @param selectedLearnSystemName The selected Learnsystem.
+     * @return The name of the algorithm, or null if the Learnsystem has none.
+     */
+    private String algorithmOf(String selectedLearnSystemName) {
+        if (selectedLearnSystemName.equals(language.getName("leitner"))) {
+            return LeitnerAlgorithm.NAME;
+        } else if (selectedLearnSystemName.equals(language.getName("sm2"))) {
+            return Sm2Algorithm.NAME;
+        } else if (selectedLearnSystemName.equals(language.getName("fsrs"))) {
+            return FsrsAlgorithm.NAME;
+        }
+        return null;
+    }
 
+    /**
+     * The selected IndexcardBox and its Leitner-Learnsystem, which is null if it was not created yet.
+     */
+    private record LeitnerSelection(IndexcardBox indexcardBox, LeitnerLearnSystem learnSystem) {
+    }
 }
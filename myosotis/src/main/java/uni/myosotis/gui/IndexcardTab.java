@@ -1,14 +1,24 @@
 package uni.myosotis.gui;
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardSummary;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.event.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class IndexcardTab extends JDialog{
     private final Controller controller;
+    private final AsyncController asyncController;
     private final Language language;
+    private int listRequest;
+    /**
+     * The shown model, that resolves the selected rows to Indexcards.
+     */
+    private PagedListModel<IndexcardSummary> indexcardModel;
     private JPanel contentPane;
     private JButton searchButton;
     private JList<String> indexcardList;
@@ -16,21 +26,29 @@ public class IndexcardTab extends JDialog{
     private JButton deleteButton;
     private JButton editButton;
     private JButton createButton;
+    private JButton importButton;
+    private JButton keywordButton;
+    private JButton categoryButton;
     private JLabel indexcardLabel;
 
     public IndexcardTab(Controller controller, Language language) {
         this.controller = controller;
+        this.asyncController = controller.getAsyncController();
         this.language = language;
         setContentPane(contentPane);
         pack();
         setMinimumSize(getSize());
-        updateList(controller.getAllIndexcards());
+        PagedListModel.useFixedCellSize(indexcardList);
+        updateList(allIndexcards());
         // Set the language
         indexcardLabel.setText(language.getName("indexcard"));
         searchButton.setText(language.getName("search"));
         deleteButton.setText(language.getName("delete"));
         editButton.setText(language.getName("edit"));
         createButton.setText(language.getName("create"));
+        importButton.setText(language.getName("import"));
+        keywordButton.setText(language.getName("keyword"));
+        categoryButton.setText(language.getName("category"));
         // Add listeners
         addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
@@ -41,29 +59,54 @@ public class IndexcardTab extends JDialog{
         createButton.addActionListener(e -> onCreate());
         editButton.addActionListener(e -> onEdit());
         deleteButton.addActionListener(e -> onDelete());
+        importButton.addActionListener(e -> onImport());
+        keywordButton.addActionListener(e -> onKeyword());
+        categoryButton.addActionListener(e -> onCategory());
         // Display an Indexcard, if it gets double-clicked.
         indexcardList.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2 && e.getButton() == MouseEvent.BUTTON1) {
-                    if (controller.getIndexcardByName(indexcardList.getSelectedValue()).isPresent()) {
-                        controller.displayIndexcard(controller.getIndexcardByName(indexcardList.getSelectedValue()).get());
-                    }
+                    AsyncController.onEdt(asyncController.getIndexcardByName(indexcardList.getSelectedValue()),
+                            indexcard -> indexcard.ifPresent(controller::displayIndexcard));
                 }
             }
         });
     }
 
     /**
-     * This method updates the list of indexcards and displays the Names in the list.
-     * @param indexcardList the list of indexcards which should be displayed
+     * This method updates the list of indexcards and displays the Names in the list,
+     * as soon as the first page is loaded. Results of older requests are ignored.
+     * @param indexcardList the future model with the names which should be displayed
      */
-    private void updateList(List<Indexcard> indexcardList) {
-        DefaultListModel<String> listModel = new DefaultListModel<>();
-        for (Indexcard indexcard : indexcardList) {
-            listModel.addElement(indexcard.getName());
-        }
-        this.indexcardList.setModel(listModel);
+    private void updateList(CompletableFuture<PagedListModel<IndexcardSummary>> indexcardList) {
+        final int request = ++listRequest;
+        AsyncController.onEdt(indexcardList, listModel -> {
+            if (request == listRequest) {
+                this.indexcardModel = listModel;
+                this.indexcardList.setModel(listModel);
+            }
+        });
+    }
+
+    /**
+     * Loads the Indexcards of the given rows in the background, also the rows, whose names are not loaded yet.
+     *
+     * @param indices The rows.
+     * @return The future Indexcards.
+     */
+    private CompletableFuture<List<Indexcard>> indexcardsAt(int[] indices) {
+        return indexcardModel.getElementsAt(indices).thenCompose(summaries -> asyncController.query(() ->
+                controller.getIndexcardsByIds(summaries.stream().mapToLong(IndexcardSummary::id).toArray())));
+    }
+
+    /**
+     * Returns a model, that loads the names of all Indexcards page by page, in the order of their ids.
+     */
+    private CompletableFuture<PagedListModel<IndexcardSummary>> allIndexcards() {
+        return PagedListModel.create(asyncController, controller::countIndexcards,
+                (after, offset, limit) -> controller.getIndexcardSummaryPage(after == null ? null : after.id(), offset, limit),
+                IndexcardSummary::name);
     }
 
     /**
@@ -72,18 +115,16 @@ public class IndexcardTab extends JDialog{
      * If not it opens a dialog to delete an indexcard.
      */
     private void onDelete() {
-        if (indexcardList.getSelectedValue() != null) {
-            for (Object indexcardName : indexcardList.getSelectedValuesList()) {
-                if (controller.getIndexcardByName(indexcardName.toString()).isPresent()) {
-                    controller.deleteIndexcard(controller.getIndexcardByName(indexcardName.toString()).get().getId());
-                }
-            }
+        if (!indexcardList.isSelectionEmpty()) {
+            AsyncController.disableUntilDone(indexcardsAt(indexcardList.getSelectedIndices())
+                    .thenComposeAsync(controller::deleteIndexcards, AsyncController.EDT)
+                    .thenRun(() -> updateList(allIndexcards())), deleteButton);
         }
         else {
             // Pop-out
             controller.deleteIndexcard();
+            updateList(allIndexcards());
         }
-        updateList(controller.getAllIndexcards());
     }
 
     /**
@@ -92,30 +133,129 @@ public class IndexcardTab extends JDialog{
      * If not it opens a dialog to edit an indexcard.
      */
     private void onEdit() {
-        if (indexcardList.getSelectedValue() != null) {
-            if (controller.getIndexcardByName(indexcardList.getSelectedValue()).isPresent()) {
-                controller.editIndexcard(controller.getIndexcardByName(indexcardList.getSelectedValue()).get());
-            }
+        if (!indexcardList.isSelectionEmpty()) {
+            AsyncController.onEdt(indexcardsAt(new int[]{indexcardList.getSelectedIndex()}), indexcard -> {
+                indexcard.stream().findFirst().ifPresent(controller::editIndexcard);
+                updateList(allIndexcards());
+            });
         }
         else {
             controller.editIndexcard();
+            updateList(allIndexcards());
         }
-        updateList(controller.getAllIndexcards());
     }
     /**
      * Opens the dialog to create a new indexcard
      */
     private void onCreate() {
         controller.createIndexcard();
-        updateList(controller.getAllIndexcards());
+        updateList(allIndexcards());
+    }
+    /**
+     * Opens a dialog to choose a CSV or JSON file and imports the Indexcards in it.
+     */
+    private void onImport() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle(language.getName("importIndexcards"));
+        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV / JSON", "csv", "json", "jsonl", "ndjson"));
+        if (fileChooser.showOpenDialog(contentPane) == JFileChooser.APPROVE_OPTION) {
+            controller.importIndexcards(fileChooser.getSelectedFile())
+                    .thenRunAsync(() -> updateList(allIndexcards()), AsyncController.EDT);
+        }
     }
+
+    /**
+     * Adds a Keyword to all selected Indexcards or removes it from them, with one change for all of them.
+     * The Keyword can be chosen from the existing ones or entered as a new one.
+     */
+    private void onKeyword() {
+        if (indexcardList.isSelectionEmpty()) {
+            showNoIndexcardSelected();
+            return;
+        }
+        final CompletableFuture<List<Indexcard>> indexcards = indexcardsAt(indexcardList.getSelectedIndices());
+        AsyncController.onEdt(asyncController.query(controller::getAllKeywordNames), keywordNames -> {
+            final JComboBox<String> keywordComboBox = new JComboBox<>(keywordNames.toArray(new String[0]));
+            keywordComboBox.setEditable(true);
+            final int option = chooseAddOrRemove(keywordComboBox, language.getName("keyword"));
+            final String keyword = keywordComboBox.getSelectedItem() == null ? "" : keywordComboBox.getSelectedItem().toString().trim();
+            if (option == JOptionPane.CLOSED_OPTION || option == JOptionPane.CANCEL_OPTION || keyword.isEmpty()) {
+                return;
+            }
+            changeSelection(indexcards.thenComposeAsync(selected -> option == JOptionPane.YES_OPTION
+                    ? controller.addKeywordToIndexcards(selected, keyword)
+                    : controller.removeKeywordFromIndexcards(selected, keyword), AsyncController.EDT));
+        });
+    }
+
+    /**
+     * Adds all selected Indexcards to a Category or removes them from it, with one change for all of them.
+     */
+    private void onCategory() {
+        if (indexcardList.isSelectionEmpty()) {
+            showNoIndexcardSelected();
+            return;
+        }
+        final CompletableFuture<List<Indexcard>> indexcards = indexcardsAt(indexcardList.getSelectedIndices());
+        AsyncController.onEdt(asyncController.query(controller::getCategoryNames), categoryNames -> {
+            if (categoryNames.isEmpty()) {
+                return;
+            }
+            final JComboBox<String> categoryComboBox = new JComboBox<>(categoryNames.toArray(new String[0]));
+            final int option = chooseAddOrRemove(categoryComboBox, language.getName("category"));
+            final String categoryName = (String) categoryComboBox.getSelectedItem();
+            if (option == JOptionPane.CLOSED_OPTION || option == JOptionPane.CANCEL_OPTION || categoryName == null) {
+                return;
+            }
+            changeSelection(indexcards.thenComposeAsync(selected -> option == JOptionPane.YES_OPTION
+                    ? controller.addIndexcardsToCategory(selected, categoryName)
+                    : controller.removeIndexcardsFromCategory(selected, categoryName), AsyncController.EDT));
+        });
+    }
+
+    /**
+     * Shows the combo box in a dialog with the options to add, to remove or to cancel.
+     *
+     * @param comboBox The combo box, to choose the Keyword or Category.
+     * @param title    The title of the dialog.
+     * @return JOptionPane.YES_OPTION to add, JOptionPane.NO_OPTION to remove, otherwise cancelled.
+     */
+    private int chooseAddOrRemove(JComboBox<String> comboBox, String title) {
+        final Object[] options = {language.getName("add"), language.getName("remove"), language.getName("cancel")};
+        return JOptionPane.showOptionDialog(contentPane, comboBox, title, JOptionPane.YES_NO_CANCEL_OPTION,
+                JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+    }
+
+    /**
+     * Disables the buttons for the Keywords and Category's, until the change of the selected Indexcards is done.
+     *
+     * @param change The running change.
+     */
+    private void changeSelection(CompletableFuture<Void> change) {
+        AsyncController.disableUntilDone(change, keywordButton, categoryButton);
+    }
+
+    private void showNoIndexcardSelected() {
+        JOptionPane.showMessageDialog(contentPane, language.getName("noIndexcardSelectedError"),
+                language.getName("noIndexcardSelectedError"), JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * Checks if the user has entered a search term
      * If so it searches for indexcards with the search term in the name
      * If not it displays all indexcards
      */
     private void onSearch(){
-        updateList(controller.searchIndexcard(searchField.getText()));
+        final String text = searchField.getText();
+        if (!controller.containsSearchWords(text)) {
+            updateList(allIndexcards());
+            return;
+        }
+        // The search returns the ids of all matches, the names are loaded page by page.
+        updateList(asyncController.query(() -> controller.searchIndexcardIds(text)).thenCompose(ids ->
+                PagedListModel.create(asyncController, ids::size,
+                        (after, offset, limit) -> controller.getIndexcardSummariesByIds(ids.subList(offset, Math.min(offset + limit, ids.size()))),
+                        IndexcardSummary::name)));
     }
     /**
      * returns the contentPane
@@ -22,6 +22,11 @@ public class LearnConfig  extends JDialog{
 
     private final String selectedLearnSystemName;
 
+    /**
+     * The name of the algorithm, that sets the due times, null for the Leitner-System.
+     */
+    private final String algorithm;
+
     private final IndexcardBox indexcardBoxSelected;
 
     private final int numberOfBoxes;
@@ -29,10 +34,11 @@ public class LearnConfig  extends JDialog{
     private String selectedSort;
 
 
-    public LearnConfig(Controller controller, Language language, String selectedLearnSystemName, IndexcardBox indexcardBoxSelected, int numberOfBoxes) {
+    public LearnConfig(Controller controller, Language language, String selectedLearnSystemName, String algorithm, IndexcardBox indexcardBoxSelected, int numberOfBoxes) {
         this.controller = controller;
         this.language = language;
         this.selectedLearnSystemName = selectedLearnSystemName;
+        this.algorithm = algorithm;
         this.indexcardBoxSelected = indexcardBoxSelected;
         this.numberOfBoxes = numberOfBoxes;
         this.selectedSort = language.getName("firstBox");
@@ -81,7 +87,7 @@ public class LearnConfig  extends JDialog{
             if(sortComboBox.getSelectedIndex() != -1 && boxesList.getSelectedIndex() != -1){
             String selectedSort = getSelectedSort();
             String selectedBox = getSelectedBox();
-            controller.learnLeitnerSystem(selectedLearnSystemName, indexcardBoxSelected, numberOfBoxes, selectedSort, selectedBox);
+            controller.learnLeitnerSystem(selectedLearnSystemName, algorithm, indexcardBoxSelected, numberOfBoxes, selectedSort, selectedBox);
             dispose();
             }
         }
@@ -1,5 +1,6 @@
 package uni.myosotis.gui;
 
+import uni.myosotis.controller.AsyncController;
 import uni.myosotis.controller.Controller;
 import uni.myosotis.objects.*;
 
@@ -246,70 +247,79 @@ public class MainMenu extends JFrame {
      * Displays the Menu for learning.
      */
     public void displayLearning(LeitnerLearnSystem learnSystem, IndexcardBox indexCardBox, String sort, String box) {
-        final DisplayIndexcardToLearn displayIndexcardToLearn = new DisplayIndexcardToLearn(controller, learnSystem, indexCardBox, language, sort, box);
-        displayIndexcardToLearn.pack();
-        displayIndexcardToLearn.setMinimumSize(displayIndexcardToLearn.getSize());
-        displayIndexcardToLearn.setLocationRelativeTo(this);
-        if (!displayIndexcardToLearn.checkIndexCardList2Learn()) {
-            displayIndexcardToLearn.setVisible(true);
-        } else {
-            displayIndexcardToLearn.dispose();
-        }
+        showLearning(new DisplayIndexcardToLearn(controller, learnSystem, indexCardBox, language, sort, box));
     }
 
     /**
      * Displays the Menu for learning.
      */
     public void displayLearning(LeitnerLearnSystem learnSystem, IndexcardBox indexCardBox, String selectedSort) {
-        final DisplayIndexcardToLearn displayIndexcardToLearn = new DisplayIndexcardToLearn(controller, learnSystem, indexCardBox, language, selectedSort, "");
-        displayIndexcardToLearn.pack();
-        displayIndexcardToLearn.setMinimumSize(displayIndexcardToLearn.getSize());
-        displayIndexcardToLearn.setLocationRelativeTo(this);
-        displayIndexcardToLearn.setVisible(true);
+        showLearning(new DisplayIndexcardToLearn(controller, learnSystem, indexCardBox, language, selectedSort, ""));
+    }
+
+    /**
+     * Displays the learning session, as soon as its first Indexcard is loaded in the background.
+     * If no Indexcard is due, the session closes itself.
+     *
+     * @param displayIndexcardToLearn The learning session.
+     */
+    private void showLearning(DisplayIndexcardToLearn displayIndexcardToLearn) {
+        AsyncController.onEdt(displayIndexcardToLearn.start(), started -> {
+            if (started) {
+                displayIndexcardToLearn.pack();
+                displayIndexcardToLearn.setMinimumSize(displayIndexcardToLearn.getSize());
+                displayIndexcardToLearn.setLocationRelativeTo(this);
+                displayIndexcardToLearn.setVisible(true);
+            }
+        });
     }
 
 
     /**
      * Create basic tests for Indexcards, Categories, Keywords and IndexcardBoxes.
+     * Runs in the background and waits for every change, before the next one is requested.
      */
     public void createExampleIndexcards(){
-        // Test createIndexcard
-        controller.createIndexcard("ITK1", "Was ist ein Computer?", "Ein Computer ist ein Gerät, das Daten verarbeitet.", List.of(new String[]{"#IT"}), new ArrayList<>());
-        // Test editIndexcard
-        controller.editIndexcard("ITK1", "Was ist ein Computer?", "Ein Computer ist ein Gerät, das Daten verarbeitet. ps:Version2", List.of(new String[]{"#IT", "#Biologie"}), new ArrayList<>(), controller.getIndexcardByName("ITK1").get().getId());
-        // Test deleteIndexcard
-        controller.deleteIndexcard(controller.getIndexcardByName("ITK1").get().getId());
-
-        controller.createIndexcard("ITK2", "Was ist ein Programm?", "Ein Programm ist eine Anweisung für einen Computer.", List.of(new String[]{"#IT"}), new ArrayList<>());
-        controller.createIndexcard("ITK3", "Was ist ein Programmierer?", "Ein Programmierer ist eine Person, die Programme schreibt.", List.of(new String[]{"#IT", "#Biologie"}), new ArrayList<>());
-
-        controller.createIndexcard("BOTK1", "Was ist ein Baum?", "Ein Baum ist ein Lebewesen.", List.of(new String[]{"#Biologie"}), new ArrayList<>());
-        controller.createIndexcard("BOTK2", "Was ist ein Blume?", "Eine Blume ist ein Lebewesen.", List.of(new String[]{"#Biologie"}), new ArrayList<>());
-
-        controller.createIndexcard("BIOK1", "Was ist ein Organismus?", "Ein Organismus ist ein Lebewesen.", List.of(new String[]{"#Biologie"}), new ArrayList<>());
-        controller.createIndexcard("BIOK2", "Was ist ein Zelle?", "Eine Zelle ist der kleinste Teil eines Organismus.", List.of(new String[]{"#Biologie"}), new ArrayList<>());
-        controller.createIndexcard("BIOK1", "Was ist ein Organismus?", "Ein Organismus ist ein Lebewesen.", List.of(new String[]{"#Biologie"}), new ArrayList<>());
-        controller.createIndexcard("BIOK2", "Was ist ein Zelle?", "Eine Zelle ist der kleinste Teil eines Organismus.", List.of(new String[]{"#Biologie"}), new ArrayList<>());
-        // Test createCategory
-        controller.createCategory("IT", new ArrayList<>(), controller.getAllIndexcards());
-        // Test editCategory without editing parent
-        controller.editCategory(controller.getCategoryByName("IT").get().getCategoryName(), controller.getCategoryByName("IT").get().getChildren(), controller.getCategoryByName("IT").get().getIndexcards(), controller.getCategoryByName("IT").get().getId());
-        // Test deleteCategory
-        controller.deleteCategory(controller.getCategoryByName("IT").get());
-
-        controller.createCategory("Biologie", new ArrayList<>(), controller.getAllIndexcards());
-
-        // Test createIndexcardBox
-        controller.createIndexcardBox("ITBox",controller.getCategoriesByCategoryNameList(List.of(new String[]{"Biologie"})));
-        // Test editIndexcardBox
-        controller.editIndexcardBox("ITBox", controller.getCategoriesByCategoryNameList(List.of(new String[]{"IT","Biologie"})));
-        // Test deleteIndexcardBox
-        controller.deleteIndexcardBox("ITBox");
-
-        controller.createIndexcardBox("BiologieBox",controller.getCategoriesByCategoryNameList(List.of(new String[]{"Biologie"})));
-
-        // Parent Category test
-        controller.createCategory("Botanic", List.of(controller.getCategoryByName("Biologie").get()), new ArrayList<>());
+        controller.getAsyncController().query(() -> {
+            // Test createIndexcard
+            controller.createIndexcard("ITK1", "Was ist ein Computer?", "Ein Computer ist ein Gerät, das Daten verarbeitet.", List.of(new String[]{"#IT"}), new ArrayList<>()).join();
+            // Test editIndexcard
+            controller.editIndexcard("ITK1", "Was ist ein Computer?", "Ein Computer ist ein Gerät, das Daten verarbeitet. ps:Version2", List.of(new String[]{"#IT", "#Biologie"}), new ArrayList<>(), controller.getIndexcardByName("ITK1").get().getId()).join();
+            // Test deleteIndexcard
+            controller.deleteIndexcard(controller.getIndexcardByName("ITK1").get().getId()).join();
+
+            controller.createIndexcard("ITK2", "Was ist ein Programm?", "Ein Programm ist eine Anweisung für einen Computer.", List.of(new String[]{"#IT"}), new ArrayList<>()).join();
+            controller.createIndexcard("ITK3", "Was ist ein Programmierer?", "Ein Programmierer ist eine Person, die Programme schreibt.", List.of(new String[]{"#IT", "#Biologie"}), new ArrayList<>()).join();
+
+            controller.createIndexcard("BOTK1", "Was ist ein Baum?", "Ein Baum ist ein Lebewesen.", List.of(new String[]{"#Biologie"}), new ArrayList<>()).join();
+            controller.createIndexcard("BOTK2", "Was ist ein Blume?", "Eine Blume ist ein Lebewesen.", List.of(new String[]{"#Biologie"}), new ArrayList<>()).join();
+
+            controller.createIndexcard("BIOK1", "Was ist ein Organismus?", "Ein Organismus ist ein Lebewesen.", List.of(new String[]{"#Biologie"}), new ArrayList<>()).join();
+            controller.createIndexcard("BIOK2", "Was ist ein Zelle?", "Eine Zelle ist der kleinste Teil eines Organismus.", List.of(new String[]{"#Biologie"}), new ArrayList<>()).join();
+            controller.createIndexcard("BIOK1", "Was ist ein Organismus?", "Ein Organismus ist ein Lebewesen.", List.of(new String[]{"#Biologie"}), new ArrayList<>()).join();
+            controller.createIndexcard("BIOK2", "Was ist ein Zelle?", "Eine Zelle ist der kleinste Teil eines Organismus.", List.of(new String[]{"#Biologie"}), new ArrayList<>()).join();
+            // Test createCategory
+            controller.createCategory("IT", new ArrayList<>(), controller.getAllIndexcards()).join();
+            // Test editCategory without editing parent
+            controller.editCategory(controller.getCategoryByName("IT").get().getCategoryName(), controller.getCategoryByName("IT").get().getChildren(), controller.getCategoryByName("IT").get().getIndexcards(), controller.getCategoryByName("IT").get().getId()).join();
+            // Test deleteCategory
+            controller.deleteCategory(controller.getCategoryByName("IT").get()).join();
+
+            controller.createCategory("Biologie", new ArrayList<>(), controller.getAllIndexcards()).join();
+
+            // Test createIndexcardBox
+            controller.createIndexcardBox("ITBox",controller.getCategoriesByCategoryNameList(List.of(new String[]{"Biologie"}))).join();
+            // Test editIndexcardBox
+            controller.getAsyncController().update(() -> controller.editIndexcardBox("ITBox", controller.getCategoriesByCategoryNameList(List.of(new String[]{"IT","Biologie"})))).join();
+            // Test deleteIndexcardBox
+            controller.deleteIndexcardBox("ITBox").join();
+
+            controller.createIndexcardBox("BiologieBox",controller.getCategoriesByCategoryNameList(List.of(new String[]{"Biologie"}))).join();
+
+            // Parent Category test
+            controller.createCategory("Botanic", List.of(controller.getCategoryByName("Biologie").get()), new ArrayList<>()).join();
+            return null;
+        });
     }
 
     /**
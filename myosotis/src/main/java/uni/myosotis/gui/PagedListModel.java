@@ -0,0 +1,203 @@
+package uni.myosotis.gui;
+
+import uni.myosotis.controller.AsyncController;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A list model, that loads the shown names page by page, while the user scrolls.
+ * <p>
+ * Only the number of rows and the first page are loaded, before the model is shown. Every other page
+ * is loaded in the background, when one of its rows gets painted, and the page after it is loaded
+ * in advance. A page is loaded after the last element of the page before it (keyset pagination), if
+ * that page is still loaded, otherwise at its offset. Only the pages that were used last are kept.
+ * <p>
+ * The JList must have a fixed cell size, see {@link #useFixedCellSize(JList)}, otherwise it asks for
+ * every row to compute its size. The model must only be used on the Event-Dispatch-Thread.
+ *
+ * @param <T> The type of the loaded elements.
+ */
+public class PagedListModel<T> extends AbstractListModel<String> {
+
+    private static final Logger logger = Logger.getLogger(PagedListModel.class.getName());
+
+    /**
+     * The number of rows, that are loaded with one query.
+     */
+    static final int PAGE_SIZE = 200;
+
+    /**
+     * The number of pages, that are kept.
+     */
+    private static final int MAX_PAGES = 50;
+
+    /**
+     * Used to compute the size of the cells of a JList.
+     */
+    private static final String PROTOTYPE_CELL_VALUE = "X".repeat(24);
+
+    /**
+     * Loads one page of elements.
+     *
+     * @param <T> The type of the elements.
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+
+        /**
+         * Loads one page of elements.
+         *
+         * @param after  The last element of the page before, or null if it is not known.
+         * @param offset The position of the first element of the page.
+         * @param limit  The maximal number of elements.
+         * @return The elements of the page.
+         */
+        List<T> load(T after, int offset, int limit);
+    }
+
+    private final AsyncController asyncController;
+    private final PageSource<T> source;
+    private final Function<T, String> name;
+    private final int size;
+    private final Map<Integer, List<T>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+
+    private PagedListModel(AsyncController asyncController, PageSource<T> source, Function<T, String> name,
+                           int size, List<T> firstPage) {
+        this.asyncController = asyncController;
+        this.source = source;
+        this.name = name;
+        this.size = size;
+        pages.put(0, firstPage);
+    }
+
+    /**
+     * Creates a new PagedListModel in the background. Counts the rows and loads the first page.
+     *
+     * @param asyncController The AsyncController, that runs the queries.
+     * @param count           Counts the rows.
+     * @param source          Loads the pages.
+     * @param name            Returns the shown name of an element.
+     * @param <T>             The type of the elements.
+     * @return The future PagedListModel.
+     */
+    public static <T> CompletableFuture<PagedListModel<T>> create(final AsyncController asyncController, final IntSupplier count,
+                                                                  final PageSource<T> source, final Function<T, String> name) {
+        return asyncController.query(() -> {
+            final int size = count.getAsInt();
+            final List<T> firstPage = size == 0 ? List.of() : source.load(null, 0, PAGE_SIZE);
+            return new PagedListModel<>(asyncController, source, name, size, firstPage);
+        });
+    }
+
+    /**
+     * Sets a fixed cell size for the JList, so it does not load every row to compute the size of its cells.
+     *
+     * @param list The JList.
+     */
+    public static void useFixedCellSize(final JList<String> list) {
+        list.setPrototypeCellValue(PROTOTYPE_CELL_VALUE);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the name at the given row. If its page is not loaded yet, the page gets loaded and
+     * an empty name is returned, until the page is there.
+     *
+     * @param index The row.
+     * @return The name at the row.
+     */
+    @Override
+    public String getElementAt(final int index) {
+        final int page = index / PAGE_SIZE;
+        final List<T> elements = pages.get(page);
+        if (elements == null) {
+            load(page);
+            return "";
+        }
+        load(page + 1);
+        final int position = index % PAGE_SIZE;
+        return position < elements.size() ? name.apply(elements.get(position)) : "";
+    }
+
+    /**
+     * Returns the elements at the given rows, like the selected rows of a JList. Unlike
+     * {@link #getElementAt(int)}, the pages of the rows, that are not loaded, are loaded first in the background.
+     * They are not kept, because a large selection would drop the shown pages.
+     *
+     * @param indices The rows in ascending order, like {@link JList#getSelectedIndices()}.
+     * @return The future elements at the rows, in the order of the rows.
+     */
+    public CompletableFuture<List<T>> getElementsAt(final int[] indices) {
+        // The pages are only read on the Event-Dispatch-Thread, so the loaded ones are taken along.
+        final Map<Integer, List<T>> loadedPages = new HashMap<>();
+        for (int index : indices) {
+            final int page = index / PAGE_SIZE;
+            for (int loadedPage : new int[]{page - 1, page}) {
+                final List<T> elements = pages.get(loadedPage);
+                if (elements != null) {
+                    loadedPages.put(loadedPage, elements);
+                }
+            }
+        }
+        return asyncController.query(() -> {
+            final List<T> elements = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                final int page = index / PAGE_SIZE;
+                final List<T> elementsOfPage = loadedPages.computeIfAbsent(page, missingPage -> {
+                    final List<T> previous = loadedPages.get(missingPage - 1);
+                    final T after = previous == null || previous.size() < PAGE_SIZE ? null : previous.get(previous.size() - 1);
+                    return source.load(after, missingPage * PAGE_SIZE, PAGE_SIZE);
+                });
+                final int position = index % PAGE_SIZE;
+                if (position < elementsOfPage.size()) {
+                    elements.add(elementsOfPage.get(position));
+                }
+            }
+            return elements;
+        });
+    }
+
+    /**
+     * Loads a page in the background, if it exists and is neither loaded nor loading.
+     * If the query fails, the page is loaded again, when one of its rows gets painted.
+     */
+    private void load(final int page) {
+        final int offset = page * PAGE_SIZE;
+        if (offset >= size || pages.containsKey(page) || !loading.add(page)) {
+            return;
+        }
+        final List<T> previous = pages.get(page - 1);
+        final T after = previous == null || previous.size() < PAGE_SIZE ? null : previous.get(previous.size() - 1);
+        asyncController.query(() -> source.load(after, offset, PAGE_SIZE)).whenCompleteAsync((elements, e) -> {
+            loading.remove(page);
+            if (e != null) {
+                logger.log(Level.SEVERE, "Could not load the page " + page, e);
+                return;
+            }
+            pages.put(page, elements);
+            fireContentsChanged(this, offset, Math.min(offset + PAGE_SIZE, size) - 1);
+        }, AsyncController.EDT);
+    }
+}
@@ -1,9 +1,11 @@
 package uni.myosotis.logic;
 
 import uni.myosotis.objects.Category;
+import uni.myosotis.objects.CategorySummary;
 import uni.myosotis.objects.Indexcard;
 import uni.myosotis.objects.IndexcardBox;
 import uni.myosotis.persistence.CategoryRepository;
+import uni.myosotis.persistence.Repositories;
 
 import java.util.*;
 import java.util.logging.Level;
@@ -28,7 +30,7 @@ public class CategoryLogic {
     public CategoryLogic () {
 
         this.indexcardBoxLogic = new IndexcardBoxLogic();
-        this.categoryRepository = new CategoryRepository();
+        this.categoryRepository = Repositories.categoryRepository();
         this.indexcardLogic = new IndexcardLogic();
     }
 
@@ -125,29 +127,86 @@ public class CategoryLogic {
         }
     }
 
+    /**
+     * Deletes the Category's with the given ids with a fixed number of statements, whatever the number of ids.
+     * The Category's are removed from their parents and from the IndexcardBoxes, their children stay.
+     *
+     * @param ids The ids of the Category's.
+     */
+    public void deleteCategories(Collection<Long> ids) {
+        if (categoryRepository.deleteCategories(ids) < 0) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Adds the Indexcards with the given ids to a Category with a fixed number of statements, whatever the number of ids.
+     * Indexcards, that are in the Category already, are not added again.
+     *
+     * @param categoryId   The id of the Category.
+     * @param indexcardIds The ids of the Indexcards.
+     */
+    public void addIndexcardsToCategory(Long categoryId, Collection<Long> indexcardIds) {
+        if (categoryRepository.addIndexcards(categoryId, indexcardIds) < 0) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Removes the Indexcards with the given ids from a Category with a fixed number of statements, whatever the number of ids.
+     *
+     * @param categoryId   The id of the Category.
+     * @param indexcardIds The ids of the Indexcards.
+     */
+    public void removeIndexcardsFromCategory(Long categoryId, Collection<Long> indexcardIds) {
+        if (categoryRepository.removeIndexcards(categoryId, indexcardIds) < 0) {
+            throw new IllegalStateException();
+        }
+    }
+
     /**
      * Returns a list of all parents of a Category.
+     * The parents are looked up in the join table of the children, instead of loading all Category's.
      *
      * @param category The Category from them the parents should be returned.
      * @return A list of all parents of the Category.
      */
     public List<Category> getParentCategories(Category category) {
-        return categoryRepository.getAllCategories().stream().filter(c -> c.getChildren().stream().map(Category::getCategoryName).toList().contains(category.getCategoryName())).toList();
+        if (category.getId() == null) {
+            return new ArrayList<>();
+        }
+        return categoryRepository.getParentCategories(List.of(category.getId()));
     }
 
     /**
      * Returns a list of all parents of a Category. Includes the parents of the parent-categories.
+     * Needs one query per level of the hierarchy, every ancestor is only returned once.
      *
      * @param category The Category from them the parents should be returned.
      * @return A list of all parents of the Category, including the parents of the parent-categories.
      */
     public List<Category> getAllParentCategories(Category category) {
-        List<Category> parents = getParentCategories(category);
-        Set<Category> parentList = new HashSet<>(parents);
-        for (Category parent : parents) {
-            parentList.addAll(getAllParentCategories(parent));
+        final Map<Long, Category> ancestors = new LinkedHashMap<>();
+        List<Long> currentLevel = category.getId() == null ? List.of() : List.of(category.getId());
+        while (!currentLevel.isEmpty()) {
+            final List<Long> nextLevel = new ArrayList<>();
+            for (Category parent : categoryRepository.getParentCategories(currentLevel)) {
+                if (ancestors.putIfAbsent(parent.getId(), parent) == null) {
+                    nextLevel.add(parent.getId());
+                }
+            }
+            currentLevel = nextLevel;
         }
-        return new ArrayList<>(parentList);
+        return new ArrayList<>(ancestors.values());
+    }
+
+    /**
+     * Returns all Category's, that are not a child of another Category.
+     *
+     * @return All Category's without a parent.
+     */
+    public List<Category> getRootCategories() {
+        return categoryRepository.getRootCategories();
     }
 
     /**
@@ -159,6 +218,38 @@ public class CategoryLogic {
         return categoryRepository.getAllCategories();
     }
 
+    /**
+     * Returns the id and name of all Category's, without loading the Category's.
+     *
+     * @return The id and name of all Category's.
+     */
+    public List<CategorySummary> getCategorySummaries() {
+        return categoryRepository.getCategorySummaries();
+    }
+
+    /**
+     * Returns the number of Category's, that contain the text.
+     *
+     * @param text The text, empty for all Category's.
+     * @return The number of Category's.
+     */
+    public int countCategories(String text) {
+        return Math.toIntExact(categoryRepository.countCategories(text));
+    }
+
+    /**
+     * Returns one page of the id and name of the Category's, that contain the text, in the order of their ids.
+     *
+     * @param text    The text, empty for all Category's.
+     * @param afterId The id of the last Category of the page before, or null if it is not known.
+     * @param offset  The position of the first Category of the page.
+     * @param limit   The maximal number of Category's.
+     * @return The id and name of the Category's of the page.
+     */
+    public List<CategorySummary> getCategorySummaryPage(String text, Long afterId, int offset, int limit) {
+        return categoryRepository.getCategorySummaryPage(text, afterId, offset, limit);
+    }
+
     /**
      * Return the category with the given name.
      *
@@ -197,7 +288,16 @@ public class CategoryLogic {
      * @return A list of all Categories that contain that Indexcard.
      */
     public List<Category> getCategoriesByIndexcard(Indexcard indexCard) {
-        return getAllCategories().stream().filter(category -> category.getIndexcards().stream().map(Indexcard::getName).toList().contains(indexCard.getName())).toList();
+        return categoryRepository.getCategoriesByIndexcardId(indexCard.getId());
+    }
+
+    /**
+     * Returns the names of the Categories of all Indexcards at once.
+     *
+     * @return A map from the id of an Indexcard to the names of its Categories.
+     */
+    public Map<Long, List<String>> getCategoryNamesByIndexcard() {
+        return categoryRepository.getCategoryNamesByIndexcard();
     }
 
     /**
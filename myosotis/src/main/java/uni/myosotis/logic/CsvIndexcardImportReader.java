@@ -0,0 +1,195 @@
+package uni.myosotis.logic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads Indexcards from a CSV file, record by record.
+ * <p>
+ * The first record is the header and has to contain the columns "name", "question" and "answer",
+ * the columns "keywords" and "links" are optional. Fields can be quoted with double quotes, then they
+ * may contain separators, line breaks and escaped quotes (""). Keywords are separated by commas,
+ * Links by "|" and have the format "term => name of the linked Indexcard".
+ */
+public class CsvIndexcardImportReader implements IndexcardImportReader {
+
+    /**
+     * The default separator, the same as in the LanguagesFile.
+     */
+    public static final char DEFAULT_SEPARATOR = ';';
+
+    private final BufferedReader reader;
+
+    private final char separator;
+
+    /**
+     * The position of each column in a record.
+     */
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    /**
+     * The next record, that was already read by hasNext().
+     */
+    private List<String> nextRecord;
+
+    /**
+     * The number of the line the current record starts in.
+     */
+    private long lineNumber = 1;
+
+    /**
+     * Creates a new CsvIndexcardImportReader with the default separator.
+     *
+     * @param reader The reader of the CSV data.
+     */
+    public CsvIndexcardImportReader(final Reader reader) {
+        this(reader, DEFAULT_SEPARATOR);
+    }
+
+    /**
+     * Creates a new CsvIndexcardImportReader.
+     *
+     * @param reader    The reader of the CSV data.
+     * @param separator The separator of the fields.
+     */
+    public CsvIndexcardImportReader(final Reader reader, final char separator) {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+        this.separator = separator;
+        final List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalStateException("The CSV file is empty.");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            // The header may start with a byte order mark
+            columns.put(header.get(i).replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "question", "answer")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalStateException("The CSV file has no column: " + required);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextRecord == null) {
+            final List<String> record = readRecord();
+            if (record == null) {
+                return false;
+            }
+            // Skip empty lines
+            if (record.size() > 1 || !record.get(0).isBlank()) {
+                nextRecord = record;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public IndexcardImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final List<String> record = nextRecord;
+        nextRecord = null;
+        return new IndexcardImportRow(
+                field(record, "name").strip(),
+                field(record, "question"),
+                field(record, "answer"),
+                split(field(record, "keywords"), ","),
+                split(field(record, "links"), "\\|"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Returns the value of a column in a record, or an empty string if the column does not exist.
+     */
+    private String field(final List<String> record, final String column) {
+        final Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return "";
+        }
+        return record.get(index);
+    }
+
+    /**
+     * Splits a field into its trimmed, non-empty parts.
+     */
+    private static List<String> split(final String field, final String regex) {
+        if (field.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(field.split(regex)).map(String::strip).filter(s -> !s.isEmpty()).toList();
+    }
+
+    /**
+     * Reads the next record, the fields of a record can span multiple lines if they are quoted.
+     *
+     * @return The fields of the record or null at the end of the data.
+     */
+    private List<String> readRecord() {
+        try {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            final long recordStart = lineNumber;
+            final List<String> record = new ArrayList<>();
+            final StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (c == -1) {
+                    if (quoted) {
+                        throw new IllegalStateException("Unclosed quote in the record starting in line " + recordStart);
+                    }
+                    break;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        final int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            lineNumber++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == separator) {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    lineNumber++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            record.add(field.toString());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package uni.myosotis.logic;
+
+import java.util.Arrays;
+
+/**
+ * The Free Spaced Repetition Scheduler (FSRS, version 4).
+ * <p>
+ * Every Indexcard has a stability, the number of days until the probability to remember it falls
+ * to 90 percent, and a difficulty between 1 and 10. Both are updated with every review by the
+ * formulas of FSRS and its 17 weights. The Indexcard is due again, when the probability to
+ * remember it falls to the desired retention.
+ */
+public class FsrsAlgorithm implements LearnSystem {
+
+    public static final String NAME = "FSRS";
+
+    /**
+     * The default weights of FSRS 4.
+     */
+    static final double[] DEFAULT_WEIGHTS = {
+            0.4, 0.6, 2.4, 5.8, 4.93, 0.94, 0.86, 0.01, 1.49, 0.14, 0.94, 2.18, 0.05, 0.34, 1.26, 0.29, 2.61
+    };
+
+    static final double DEFAULT_RETENTION = 0.9;
+
+    private static final double MAXIMUM_INTERVAL = 36500;
+
+    private final double[] w;
+    private final double retention;
+
+    /**
+     * Creates FSRS with the default weights and a desired retention of 90 percent.
+     */
+    public FsrsAlgorithm() {
+        this(DEFAULT_WEIGHTS, DEFAULT_RETENTION);
+    }
+
+    /**
+     * Creates FSRS with own weights, e.g. optimized for the reviews of a user.
+     *
+     * @param weights   The 17 weights.
+     * @param retention The desired probability to remember an Indexcard, when it is due.
+     */
+    public FsrsAlgorithm(double[] weights, double retention) {
+        if (weights.length != DEFAULT_WEIGHTS.length) {
+            throw new IllegalArgumentException("FSRS needs " + DEFAULT_WEIGHTS.length + " weights");
+        }
+        if (retention <= 0 || retention >= 1) {
+            throw new IllegalArgumentException("The retention must be between 0 and 1");
+        }
+        this.w = Arrays.copyOf(weights, weights.length);
+        this.retention = retention;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void review(LearnStates states, int card, int grade, long time) {
+        LearnSystem.checkGrade(grade);
+        double stability;
+        double difficulty;
+        if (states.isNew(card)) {
+            stability = w[grade - 1];
+            difficulty = initialDifficulty(grade);
+        } else {
+            final double elapsedDays = Math.max(0, time - states.getLastReview(card)) / (double) DAY;
+            final double lastStability = states.getStability(card);
+            final double lastDifficulty = states.getDifficulty(card);
+            final double recall = Math.pow(1 + elapsedDays / (9 * lastStability), -1);
+            if (grade == AGAIN) {
+                stability = w[11] * Math.pow(lastDifficulty, -w[12]) * (Math.pow(lastStability + 1, w[13]) - 1)
+                        * Math.exp(w[14] * (1 - recall));
+                states.setLapses(card, states.getLapses(card) + 1);
+            } else {
+                final double hardPenalty = grade == HARD ? w[15] : 1;
+                final double easyBonus = grade == EASY ? w[16] : 1;
+                stability = lastStability * (1 + Math.exp(w[8]) * (11 - lastDifficulty) * Math.pow(lastStability, -w[9])
+                        * (Math.exp(w[10] * (1 - recall)) - 1) * hardPenalty * easyBonus);
+            }
+            // Mean reversion to the difficulty of a new Indexcard, that was answered with GOOD.
+            difficulty = w[7] * initialDifficulty(GOOD) + (1 - w[7]) * (lastDifficulty - w[6] * (grade - 3));
+        }
+        stability = Math.max(0.1, stability);
+        final double interval = Math.min(MAXIMUM_INTERVAL, Math.max(1, Math.round(9 * stability * (1 / retention - 1))));
+        states.setStability(card, (float) stability);
+        states.setDifficulty(card, (float) clampDifficulty(difficulty));
+        states.setRepetitions(card, grade == AGAIN ? 0 : states.getRepetitions(card) + 1);
+        states.setLastReview(card, time);
+        states.setDueTime(card, time + (long) (interval * DAY));
+    }
+
+    private double initialDifficulty(int grade) {
+        return clampDifficulty(w[4] - (grade - 3) * w[5]);
+    }
+
+    private static double clampDifficulty(double difficulty) {
+        return Math.min(10, Math.max(1, difficulty));
+    }
+}
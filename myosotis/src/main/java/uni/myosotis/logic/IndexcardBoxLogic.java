@@ -3,7 +3,9 @@ package uni.myosotis.logic;
 import uni.myosotis.objects.Category;
 import uni.myosotis.objects.IndexcardBox;
 import uni.myosotis.persistence.IndexcardBoxRepository;
+import uni.myosotis.persistence.Repositories;
 
+import java.util.Collection;
 import java.util.List;
 
 public class IndexcardBoxLogic {
@@ -16,7 +18,7 @@ public class IndexcardBoxLogic {
      * Creates a new IndexcardBoxLogic.
      */
     public IndexcardBoxLogic () {
-        this.indexcardBoxRepository = new IndexcardBoxRepository();
+        this.indexcardBoxRepository = Repositories.indexcardBoxRepository();
     }
     public IndexcardBox getIndexcardBoxByName(String name) {
         return indexcardBoxRepository.getIndexcardBoxByName(name).get();
@@ -42,6 +44,38 @@ public class IndexcardBoxLogic {
         return indexcardBoxRepository.getAllIndexcardBoxes();
     }
 
+    /**
+     * Returns the names of all IndexcardBoxes, without loading their Category's.
+     *
+     * @return The names of all IndexcardBoxes.
+     */
+    public List<String> getIndexcardBoxNames() {
+        return indexcardBoxRepository.getIndexcardBoxNames();
+    }
+
+    /**
+     * Returns the number of IndexcardBoxes, that contain the text in their name.
+     *
+     * @param text The text, empty for all IndexcardBoxes.
+     * @return The number of IndexcardBoxes.
+     */
+    public int countIndexcardBoxes(String text) {
+        return Math.toIntExact(indexcardBoxRepository.countIndexcardBoxes(text));
+    }
+
+    /**
+     * Returns one page of the names of the IndexcardBoxes, that contain the text in their name, in the order of the names.
+     *
+     * @param text      The text, empty for all IndexcardBoxes.
+     * @param afterName The name of the last IndexcardBox of the page before, or null if it is not known.
+     * @param offset    The position of the first IndexcardBox of the page.
+     * @param limit     The maximal number of IndexcardBoxes.
+     * @return The names of the IndexcardBoxes of the page.
+     */
+    public List<String> getIndexcardBoxNamePage(String text, String afterName, int offset, int limit) {
+        return indexcardBoxRepository.getIndexcardBoxNamePage(text, afterName, offset, limit);
+    }
+
     public Boolean IndexcardBoxIsPresent(String name) {
         return indexcardBoxRepository.getIndexcardBoxByName(name).isPresent();
     }
@@ -54,6 +88,17 @@ public class IndexcardBoxLogic {
         }
     }
 
+    /**
+     * Deletes the IndexcardBoxes with the given names with one statement, whatever the number of names.
+     *
+     * @param names The names of the IndexcardBoxes.
+     */
+    public void deleteIndexcardBoxes(Collection<String> names) {
+        if (indexcardBoxRepository.deleteIndexcardBoxes(names) < 0) {
+            throw new IllegalStateException();
+        }
+    }
+
     public void updateIndexcardBox(String indexcardBoxName, List<Category> indexcardBoxList) {
         if (indexcardBoxRepository.getIndexcardBoxByName(indexcardBoxName).isPresent()) {
             IndexcardBox indexcardBox = indexcardBoxRepository.getIndexcardBoxByName(indexcardBoxName).get();
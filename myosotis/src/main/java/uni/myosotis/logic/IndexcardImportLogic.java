@@ -0,0 +1,243 @@
+package uni.myosotis.logic;
+
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.Keyword;
+import uni.myosotis.objects.Link;
+import uni.myosotis.persistence.IndexcardRepository;
+import uni.myosotis.persistence.KeywordRepository;
+import uni.myosotis.persistence.LinkRepository;
+import uni.myosotis.persistence.Repositories;
+import uni.myosotis.persistence.UnitOfWork;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The logic for importing many Indexcards at once.
+ * <p>
+ * The rows are read lazily and written in batches, every batch inside one UnitOfWork.
+ * Keywords and the targets of Links are resolved through in-memory maps, which are filled once
+ * at the start of the import, so the import does not query the database per row.
+ * Links are created together with their Indexcard, Links to an Indexcard further down in the file
+ * are created after all Indexcards.
+ */
+public class IndexcardImportLogic {
+
+    private static final Logger logger = Logger.getLogger(IndexcardImportLogic.class.getName());
+
+    /**
+     * The number of rows that are written in one transaction.
+     */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Gets informed about the progress of an import after every batch.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Gets called after a batch was written.
+         *
+         * @param processedRows  The number of rows that were processed so far.
+         * @param rowsPerSecond  The current throughput of the import.
+         */
+        void onProgress(long processedRows, double rowsPerSecond);
+    }
+
+    /**
+     * The repository for the Indexcards.
+     */
+    final IndexcardRepository indexcardRepository;
+
+    /**
+     * The repository for the Keywords.
+     */
+    final KeywordRepository keywordRepository;
+
+    /**
+     * The repository for the Links.
+     */
+    final LinkRepository linkRepository;
+
+    /**
+     * The full-text index, that gets the imported Indexcards.
+     */
+    final IndexcardSearchIndex searchIndex;
+
+    /**
+     * Creates a new IndexcardImportLogic with its own full-text index.
+     */
+    public IndexcardImportLogic() {
+        this(new IndexcardSearchIndex());
+    }
+
+    /**
+     * Creates a new IndexcardImportLogic.
+     *
+     * @param searchIndex The full-text index of the IndexcardLogic.
+     */
+    public IndexcardImportLogic(final IndexcardSearchIndex searchIndex) {
+        this.indexcardRepository = Repositories.indexcardRepository();
+        this.keywordRepository = Repositories.keywordRepository();
+        this.linkRepository = Repositories.linkRepository();
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Imports all Indexcards of the reader. Rows without a name or with the name of an
+     * existing Indexcard are skipped. If a batch could not be saved, it is rolled back and
+     * a IllegalStateException will be thrown, the batches before stay imported.
+     * <p>
+     * The Links of a batch are created in the same UnitOfWork as its Indexcards, if the linked
+     * Indexcard exists already. Links to Indexcards further down in the file are created after
+     * the last batch, if such a batch of Links could not be saved, it is rolled back and its Links
+     * are counted as failed.
+     *
+     * @param reader           The reader of the rows.
+     * @param progressListener Gets informed about the progress, could be null.
+     * @return The result of the import.
+     */
+    public IndexcardImportResult importIndexcards(final IndexcardImportReader reader, final ProgressListener progressListener) {
+        final long start = System.nanoTime();
+        final IndexcardImportResult result = new IndexcardImportResult();
+        final Map<String, Long> indexcardIds = indexcardRepository.getIndexcardIdsByName();
+        final Map<String, Keyword> keywords = new HashMap<>();
+        for (Keyword keyword : keywordRepository.getAllKeywords()) {
+            keywords.put(keyword.getName(), keyword);
+        }
+        final Map<Long, List<String>> pendingLinks = new LinkedHashMap<>();
+
+        // Create the Indexcards with their Keywords and the Links to Indexcards, that exist already
+        long processedRows = 0;
+        while (reader.hasNext()) {
+            final List<IndexcardImportRow> batch = new ArrayList<>(BATCH_SIZE);
+            while (batch.size() < BATCH_SIZE && reader.hasNext()) {
+                batch.add(reader.next());
+            }
+            UnitOfWork.run(() -> {
+                final Map<Indexcard, List<String>> batchLinks = new LinkedHashMap<>();
+                for (IndexcardImportRow row : batch) {
+                    if (row.getName().isBlank() || indexcardIds.containsKey(row.getName())) {
+                        result.addSkippedRow();
+                        continue;
+                    }
+                    final Indexcard indexcard = new Indexcard(row.getName(), row.getQuestion(), row.getAnswer(),
+                            resolveKeywords(row.getKeywords(), keywords), new ArrayList<>());
+                    if (indexcardRepository.saveIndexcard(indexcard) < 0) {
+                        throw new IllegalStateException("The Indexcard " + row.getName() + " could not be imported.");
+                    }
+                    searchIndex.put(indexcard);
+                    indexcardIds.put(row.getName(), indexcard.getId());
+                    if (!row.getLinks().isEmpty()) {
+                        batchLinks.put(indexcard, row.getLinks());
+                    }
+                    result.addImportedIndexcard();
+                }
+                batchLinks.forEach((indexcard, links) -> {
+                    final List<String> laterLinks = createLinks(indexcard, links, indexcardIds, false, result);
+                    if (!laterLinks.isEmpty()) {
+                        pendingLinks.put(indexcard.getId(), laterLinks);
+                    }
+                });
+            });
+            processedRows += batch.size();
+            reportProgress(progressListener, processedRows, start);
+        }
+
+        // Create the Links to Indexcards further down in the file, now that every target exists
+        final List<Long> sourceIds = new ArrayList<>(pendingLinks.keySet());
+        for (int from = 0; from < sourceIds.size(); from += BATCH_SIZE) {
+            final List<Long> ids = sourceIds.subList(from, Math.min(from + BATCH_SIZE, sourceIds.size()));
+            final IndexcardImportResult batchResult = new IndexcardImportResult();
+            try {
+                UnitOfWork.run(() -> {
+                    for (Indexcard indexcard : indexcardRepository.getIndexcardsByIds(ids)) {
+                        createLinks(indexcard, pendingLinks.get(indexcard.getId()), indexcardIds, true, batchResult);
+                    }
+                });
+                result.addLinks(batchResult);
+            } catch (RuntimeException e) {
+                final int failedLinks = ids.stream().mapToInt(id -> pendingLinks.get(id).size()).sum();
+                logger.log(Level.SEVERE, "{0} links could not be imported: {1}", new Object[]{failedLinks, e.getMessage()});
+                result.addFailedLinks(failedLinks);
+            }
+        }
+
+        result.setElapsedNanos(System.nanoTime() - start);
+        logger.log(Level.INFO, "Imported {0} indexcards in {1} ms",
+                new Object[]{result.getImportedIndexcards(), result.getElapsedMillis()});
+        return result;
+    }
+
+    /**
+     * Returns the Keywords with the given names, missing Keywords get created and added to the map.
+     */
+    private List<Keyword> resolveKeywords(final List<String> names, final Map<String, Keyword> keywords) {
+        final List<Keyword> keywordObjects = new ArrayList<>(names.size());
+        for (String name : names) {
+            Keyword keyword = keywords.get(name);
+            if (keyword == null) {
+                keyword = new Keyword(name);
+                if (keywordRepository.saveKeyword(keyword) < 0) {
+                    throw new IllegalStateException("The Keyword " + name + " could not be imported.");
+                }
+                keywords.put(name, keyword);
+            }
+            if (!keywordObjects.contains(keyword)) {
+                keywordObjects.add(keyword);
+            }
+        }
+        return keywordObjects;
+    }
+
+    /**
+     * Creates the Links of an imported Indexcard and saves the Indexcard with them.
+     * Links to Indexcards that do not exist are skipped, or returned, if the linked Indexcard
+     * could still be imported later.
+     *
+     * @return The Links to Indexcards, that could still be imported, empty if it is the last try.
+     */
+    private List<String> createLinks(final Indexcard indexcard, final List<String> links, final Map<String, Long> indexcardIds,
+                                     final boolean lastTry, final IndexcardImportResult result) {
+        final List<String> laterLinks = new ArrayList<>();
+        int createdLinks = 0;
+        for (String link : links) {
+            final String[] splittedLink = link.split(" => ", 2);
+            final Long targetId = splittedLink.length == 2 ? indexcardIds.get(splittedLink[1].strip()) : null;
+            if (targetId == null) {
+                if (splittedLink.length == 2 && !lastTry) {
+                    laterLinks.add(link);
+                } else {
+                    result.addUnresolvedLink();
+                }
+                continue;
+            }
+            final Link linkObject = new Link(splittedLink[0].strip(), indexcardRepository.getIndexcardReference(targetId));
+            linkRepository.save(linkObject);
+            indexcard.getLinks().add(linkObject);
+            result.addImportedLink();
+            createdLinks++;
+        }
+        if (createdLinks > 0) {
+            if (indexcardRepository.updateIndexcard(indexcard) < 0) {
+                throw new IllegalStateException("The Links of the Indexcard " + indexcard.getName() + " could not be imported.");
+            }
+            result.addLinkedIndexcard(indexcard.getId());
+        }
+        return laterLinks;
+    }
+
+    private static void reportProgress(final ProgressListener progressListener, final long processedRows, final long start) {
+        final double rowsPerSecond = processedRows * 1e9 / Math.max(1, System.nanoTime() - start);
+        logger.log(Level.FINE, "Import progress: {0} rows ({1} rows/s)", new Object[]{processedRows, Math.round(rowsPerSecond)});
+        if (progressListener != null) {
+            progressListener.onProgress(processedRows, rowsPerSecond);
+        }
+    }
+}
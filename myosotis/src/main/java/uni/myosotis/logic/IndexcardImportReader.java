@@ -0,0 +1,35 @@
+package uni.myosotis.logic;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Reads the rows of a bulk import lazily, one IndexcardImportRow at a time,
+ * so that the whole file never has to be held in memory.
+ * Errors while reading are thrown as unchecked exceptions by hasNext() and next().
+ */
+public interface IndexcardImportReader extends Iterator<IndexcardImportRow>, Closeable {
+
+    /**
+     * Opens a reader for the given file. Files ending with ".json", ".jsonl" or ".ndjson"
+     * are read as JSON, all other files as CSV.
+     *
+     * @param file The file that should be imported.
+     * @return The reader for the file.
+     * @throws IOException If the file could not be opened.
+     */
+    static IndexcardImportReader open(final File file) throws IOException {
+        final Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+        final String fileName = file.getName().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".json") || fileName.endsWith(".jsonl") || fileName.endsWith(".ndjson")) {
+            return new JsonIndexcardImportReader(reader);
+        }
+        return new CsvIndexcardImportReader(reader);
+    }
+}
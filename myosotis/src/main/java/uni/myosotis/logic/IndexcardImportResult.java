@@ -0,0 +1,134 @@
+package uni.myosotis.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a bulk import of Indexcards.
+ */
+public class IndexcardImportResult {
+
+    private int importedIndexcards;
+
+    private int skippedRows;
+
+    private int importedLinks;
+
+    private int unresolvedLinks;
+
+    private int failedLinks;
+
+    private long elapsedNanos;
+
+    private final List<Long> linkedIndexcardIds = new ArrayList<>();
+
+    /**
+     * Returns the number of Indexcards that were created.
+     *
+     * @return The number of created Indexcards.
+     */
+    public int getImportedIndexcards() {
+        return importedIndexcards;
+    }
+
+    /**
+     * Returns the number of rows that were skipped, because they had no name or
+     * an Indexcard with the same name already exists.
+     *
+     * @return The number of skipped rows.
+     */
+    public int getSkippedRows() {
+        return skippedRows;
+    }
+
+    /**
+     * Returns the number of Links that were created.
+     *
+     * @return The number of created Links.
+     */
+    public int getImportedLinks() {
+        return importedLinks;
+    }
+
+    /**
+     * Returns the number of Links that were not created, because the linked Indexcard does not exist.
+     *
+     * @return The number of Links that could not be resolved.
+     */
+    public int getUnresolvedLinks() {
+        return unresolvedLinks;
+    }
+
+    /**
+     * Returns the number of Links that were not created, because they could not be saved.
+     *
+     * @return The number of failed Links.
+     */
+    public int getFailedLinks() {
+        return failedLinks;
+    }
+
+    /**
+     * Returns the ids of the Indexcards, that got Links by the import.
+     *
+     * @return The ids of the Indexcards with created Links.
+     */
+    public List<Long> getLinkedIndexcardIds() {
+        return linkedIndexcardIds;
+    }
+
+    /**
+     * Returns the duration of the import in milliseconds.
+     *
+     * @return The duration of the import.
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Returns the throughput of the import.
+     *
+     * @return The number of created Indexcards per second.
+     */
+    public double getIndexcardsPerSecond() {
+        return elapsedNanos == 0 ? 0 : importedIndexcards * 1e9 / elapsedNanos;
+    }
+
+    void addImportedIndexcard() {
+        importedIndexcards++;
+    }
+
+    void addSkippedRow() {
+        skippedRows++;
+    }
+
+    void addImportedLink() {
+        importedLinks++;
+    }
+
+    void addUnresolvedLink() {
+        unresolvedLinks++;
+    }
+
+    void addLinkedIndexcard(final Long indexcardId) {
+        linkedIndexcardIds.add(indexcardId);
+    }
+
+    void addFailedLinks(final int links) {
+        failedLinks += links;
+    }
+
+    /**
+     * Adds the Links of a batch, that was saved.
+     */
+    void addLinks(final IndexcardImportResult batchResult) {
+        importedLinks += batchResult.importedLinks;
+        unresolvedLinks += batchResult.unresolvedLinks;
+        linkedIndexcardIds.addAll(batchResult.linkedIndexcardIds);
+    }
+
+    void setElapsedNanos(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+}
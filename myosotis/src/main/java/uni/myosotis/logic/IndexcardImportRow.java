@@ -0,0 +1,82 @@
+package uni.myosotis.logic;
+
+import java.util.List;
+
+/**
+ * One row of a bulk import, that describes an Indexcard which should be created.
+ * The Links are given in the same format as in the dialogs: "term => name of the linked Indexcard".
+ */
+public class IndexcardImportRow {
+
+    private final String name;
+
+    private final String question;
+
+    private final String answer;
+
+    private final List<String> keywords;
+
+    private final List<String> links;
+
+    /**
+     * Creates a new IndexcardImportRow.
+     *
+     * @param name     The name of the Indexcard.
+     * @param question The question of the Indexcard.
+     * @param answer   The answer of the Indexcard.
+     * @param keywords The names of the Keywords of the Indexcard.
+     * @param links    The Links of the Indexcard.
+     */
+    public IndexcardImportRow(final String name, final String question, final String answer, final List<String> keywords, final List<String> links) {
+        this.name = name;
+        this.question = question;
+        this.answer = answer;
+        this.keywords = keywords;
+        this.links = links;
+    }
+
+    /**
+     * Returns the name of the Indexcard.
+     *
+     * @return The name of the Indexcard.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the question of the Indexcard.
+     *
+     * @return The question of the Indexcard.
+     */
+    public String getQuestion() {
+        return question;
+    }
+
+    /**
+     * Returns the answer of the Indexcard.
+     *
+     * @return The answer of the Indexcard.
+     */
+    public String getAnswer() {
+        return answer;
+    }
+
+    /**
+     * Returns the names of the Keywords of the Indexcard.
+     *
+     * @return The names of the Keywords, could be empty.
+     */
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * Returns the Links of the Indexcard.
+     *
+     * @return The Links in the format "term => name of the linked Indexcard", could be empty.
+     */
+    public List<String> getLinks() {
+        return links;
+    }
+}
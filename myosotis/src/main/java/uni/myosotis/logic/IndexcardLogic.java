@@ -2,17 +2,33 @@ package uni.myosotis.logic;
 
 import uni.myosotis.objects.Category;
 import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardSummary;
+import uni.myosotis.objects.IndexcardText;
 import uni.myosotis.objects.Keyword;
 import uni.myosotis.objects.Link;
 import uni.myosotis.persistence.CategoryRepository;
 import uni.myosotis.persistence.IndexcardRepository;
+import uni.myosotis.persistence.Repositories;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class IndexcardLogic {
 
+    private static final Logger logger = Logger.getLogger(IndexcardLogic.class.getName());
+
+    /**
+     * The maximal number of names that are resolved with one query.
+     */
+    static final int NAME_CHUNK_SIZE = 1000;
+
     /**
      * The repository for the Indexcards.
      */
@@ -24,12 +40,27 @@ public class IndexcardLogic {
     final CategoryRepository categoryRepository;
 
     /**
-     * Creates a new IndexcardLogic.
+     * The full-text index of the Indexcards, that is kept up to date with every change of an Indexcard.
+     */
+    final IndexcardSearchIndex searchIndex;
+
+    /**
+     * Creates a new IndexcardLogic with its own full-text index.
      */
     public IndexcardLogic () {
+        this(new IndexcardSearchIndex());
+    }
 
-        this.indexcardRepository = new IndexcardRepository();
-        this.categoryRepository = new CategoryRepository();
+    /**
+     * Creates a new IndexcardLogic.
+     *
+     * @param searchIndex The full-text index, that is shared with the other logic, that changes Indexcards.
+     */
+    public IndexcardLogic (IndexcardSearchIndex searchIndex) {
+
+        this.indexcardRepository = Repositories.indexcardRepository();
+        this.categoryRepository = Repositories.categoryRepository();
+        this.searchIndex = searchIndex;
 
     }
 
@@ -47,9 +78,11 @@ public class IndexcardLogic {
         if (indexcardRepository.getIndexcardByName(name).isPresent()) {
             throw new IllegalStateException();
         } else {
-            if (indexcardRepository.saveIndexcard(new Indexcard(name, question, answer, keywords, links)) < 0) {
+            final Indexcard indexcard = new Indexcard(name, question, answer, keywords, links);
+            if (indexcardRepository.saveIndexcard(indexcard) < 0) {
                 throw new IllegalStateException();
             }
+            searchIndex.put(indexcard);
         }
     }
 
@@ -79,6 +112,7 @@ public class IndexcardLogic {
             if (indexcardRepository.updateIndexcard(indexcard) < 0) {
                 throw new IllegalStateException();
             }
+            searchIndex.put(indexcard);
 
         }
         // Invalid id, indexcard does not exist.
@@ -96,7 +130,7 @@ public class IndexcardLogic {
     public void deleteIndexcard(Long id) {
         if (indexcardRepository.getIndexcardById(id).isPresent()) {
             Indexcard indexcard2delete = indexcardRepository.getIndexcardById(id).get();
-            List<Category> categoryContains = categoryRepository.getAllCategories();
+            List<Category> categoryContains = categoryRepository.getCategoriesByIndexcardId(id);
             for (Category categoryContain : categoryContains) {
                 List<String> temp = new ArrayList<>(categoryContain.getIndexcards().stream().map(Indexcard::getName).toList());
                 if (temp.contains(indexcard2delete.getName())) {
@@ -108,11 +142,56 @@ public class IndexcardLogic {
             if (indexcardRepository.deleteIndexcard(id) < 0) {
                 throw new IllegalStateException();
             }
+            searchIndex.remove(id);
         } else {
             throw new IllegalStateException();
         }
     }
 
+    /**
+     * Deletes the Indexcards with the given ids with a fixed number of statements, whatever the number of ids.
+     * The Indexcards are removed from their Category's before. Their Links must be deleted before.
+     * Ids without an Indexcard are skipped.
+     *
+     * @param ids The ids of the Indexcards.
+     */
+    public void deleteIndexcards(Collection<Long> ids) {
+        if (categoryRepository.removeIndexcardsFromAllCategories(ids) < 0 || indexcardRepository.deleteIndexcards(ids) < 0) {
+            throw new IllegalStateException();
+        }
+        for (Long id : ids) {
+            searchIndex.remove(id);
+        }
+    }
+
+    /**
+     * Adds a Keyword to the Indexcards with the given ids with a fixed number of statements, whatever the number of ids.
+     * The Keyword must be saved before. Ids without an Indexcard are skipped.
+     *
+     * @param ids     The ids of the Indexcards.
+     * @param keyword The Keyword.
+     */
+    public void addKeywordToIndexcards(Collection<Long> ids, Keyword keyword) {
+        if (indexcardRepository.addKeyword(ids, keyword.getName()) < 0) {
+            throw new IllegalStateException();
+        }
+        searchIndex.reload(ids);
+    }
+
+    /**
+     * Removes a Keyword from the Indexcards with the given ids with a fixed number of statements, whatever the number of ids.
+     * The Keyword itself is not deleted, even if it is not used anymore.
+     *
+     * @param ids     The ids of the Indexcards.
+     * @param keyword The name of the Keyword.
+     */
+    public void removeKeywordFromIndexcards(Collection<Long> ids, String keyword) {
+        if (indexcardRepository.removeKeyword(ids, keyword) < 0) {
+            throw new IllegalStateException();
+        }
+        searchIndex.reload(ids);
+    }
+
     /**
      * Returns all Indexcards.
      *
@@ -123,18 +202,41 @@ public class IndexcardLogic {
     }
 
     /**
-     * Returns all Indexcards.
+     * Returns the id and name of all Indexcards, without loading the Indexcards.
      *
-     * @return          A list of all indexcards.
+     * @return          A list of the id and name of all indexcards.
+     */
+    public List<IndexcardSummary> getIndexcardSummaries() {
+        return indexcardRepository.getIndexcardSummaries();
+    }
+
+    /**
+     * Returns the id, name, question and answer of all Indexcards, without loading the Indexcards.
+     *
+     * @return          A list of the texts of all indexcards.
+     */
+    public List<IndexcardText> getIndexcardTexts() {
+        return indexcardRepository.getIndexcardTexts();
+    }
+
+    /**
+     * Returns the names of the Keywords of all Indexcards at once, without loading the Indexcards.
+     *
+     * @return          A map from the id of an Indexcard to the names of its Keywords.
+     */
+    public Map<Long, List<String>> getKeywordNamesByIndexcard() {
+        return indexcardRepository.getKeywordNamesByIndexcard();
+    }
+
+    /**
+     * Returns the Indexcards with the given names, in the order of the names.
+     * Names without an Indexcard are skipped.
+     *
+     * @param indexcardNames The names of the Indexcards.
+     * @return          A list of the indexcards with these names.
      */
     public List<Indexcard> getAllIndexcards(List<String> indexcardNames) {
-        List<Indexcard> indexcards = new ArrayList<>();
-        for (String indexcardName : indexcardNames) {
-            if (getIndexcardByName(indexcardName).isPresent()) {
-                indexcards.add(getIndexcardByName(indexcardName).get());
-            }
-        }
-        return indexcards;
+        return getIndexcardsByIndexcardNameList(indexcardNames);
     }
 
     /**
@@ -169,34 +271,175 @@ public class IndexcardLogic {
      * @return          All Indexcards with that Keyword.
      */
     public List<Indexcard> getIndexcardsByKeyword(String keyword) {
+        return indexcardRepository.getIndexcardsByKeyword(keyword);
+    }
 
-        List<Indexcard> indexcards = indexcardRepository.getAllIndexcards();
+    /**
+     * Checks if at least one Indexcard has the given Keyword, without loading the Indexcards.
+     *
+     * @param           keyword The Keyword.
+     * @return          True, if the Keyword is used by an Indexcard.
+     */
+    public boolean isKeywordUsed(String keyword) {
+        return indexcardRepository.isKeywordUsed(keyword);
+    }
 
-        // Remove the Indexcards that do not have the given keyword
-        indexcards.removeIf(indexcard -> !indexcard.getKeywords().stream()
-                .map(Keyword::getName)
-                .toList()
-                .contains(keyword));
+    /**
+     * Searches the Indexcards with the full-text index over name, question, answer, keywords and categories.
+     * The words of the text are matched as words or prefixes of words, not as substrings.
+     *
+     * @param text The text.
+     * @return The matching Indexcards, the best match first.
+     */
+    public List<Indexcard> searchIndexcard(String text) {
+        if (!containsSearchWords(text)) {
+            return indexcardRepository.getAllIndexcards();
+        }
+        return getIndexcardsByIds(searchIndex.search(text, Integer.MAX_VALUE).stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Searches the ids of the Indexcards with the full-text index, without loading the Indexcards.
+     *
+     * @param text The text.
+     * @return The ids of the matching Indexcards, the best match first.
+     */
+    public List<Long> searchIndexcardIds(String text) {
+        return searchIndex.search(text, Integer.MAX_VALUE);
+    }
 
+    /**
+     * Returns if the text contains a word, that can be searched for in the full-text index.
+     * A text of only spaces and punctuation contains no word, so it should show all Indexcards.
+     *
+     * @param text The text.
+     * @return True, if the text contains a letter or a digit.
+     */
+    public boolean containsSearchWords(String text) {
+        return text != null && text.codePoints().anyMatch(Character::isLetterOrDigit);
+    }
+
+    /**
+     * Loads the Indexcards with the given ids by their primary key, in the order of the ids.
+     * The ids are resolved with one IN-query per NAME_CHUNK_SIZE ids. Ids without an Indexcard are skipped.
+     *
+     * @param indexcardIds The ids of the Indexcards.
+     * @return The list of indexcards.
+     */
+    public List<Indexcard> getIndexcardsByIds(long[] indexcardIds) {
+        final Map<Long, Indexcard> indexcardsById = new HashMap<>();
+        for (int from = 0; from < indexcardIds.length; from += NAME_CHUNK_SIZE) {
+            final List<Long> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + NAME_CHUNK_SIZE, indexcardIds.length); i++) {
+                chunk.add(indexcardIds[i]);
+            }
+            for (Indexcard indexcard : indexcardRepository.getIndexcardsByIds(chunk)) {
+                indexcardsById.put(indexcard.getId(), indexcard);
+            }
+        }
+        final List<Indexcard> indexcards = new ArrayList<>(indexcardIds.length);
+        for (long indexcardId : indexcardIds) {
+            final Indexcard indexcard = indexcardsById.get(indexcardId);
+            if (indexcard != null) {
+                indexcards.add(indexcard);
+            }
+        }
         return indexcards;
     }
 
-    public List<Indexcard> searchIndexcard(String text) {
-        return indexcardRepository.searchIndexcard(text);
+    /**
+     * Returns the id and name of the Indexcards with the given ids, in the order of the ids.
+     * Ids without an Indexcard are skipped.
+     *
+     * @param indexcardIds The ids of the Indexcards, at most NAME_CHUNK_SIZE.
+     * @return The id and name of the Indexcards.
+     */
+    public List<IndexcardSummary> getIndexcardSummariesByIds(List<Long> indexcardIds) {
+        if (indexcardIds.size() > NAME_CHUNK_SIZE) {
+            throw new IllegalStateException("Too many ids: " + indexcardIds.size());
+        }
+        final Map<Long, IndexcardSummary> summariesById = new HashMap<>();
+        for (IndexcardSummary summary : indexcardRepository.getIndexcardSummariesByIds(indexcardIds)) {
+            summariesById.put(summary.id(), summary);
+        }
+        final List<IndexcardSummary> summaries = new ArrayList<>(indexcardIds.size());
+        for (Long indexcardId : indexcardIds) {
+            final IndexcardSummary summary = summariesById.get(indexcardId);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
     }
 
     /**
-     * Create a function which converts a list of indexcard names to a list of indexcards.
+     * Returns the number of Indexcards.
+     *
+     * @return The number of Indexcards.
+     */
+    public int countIndexcards() {
+        return Math.toIntExact(indexcardRepository.countIndexcards());
+    }
+
+    /**
+     * Returns one page of the id and name of the Indexcards, in the order of their ids.
+     *
+     * @param afterId The id of the last Indexcard of the page before, or null if it is not known.
+     * @param offset  The position of the first Indexcard of the page.
+     * @param limit   The maximal number of Indexcards.
+     * @return The id and name of the Indexcards of the page.
+     */
+    public List<IndexcardSummary> getIndexcardSummaryPage(Long afterId, int offset, int limit) {
+        return indexcardRepository.getIndexcardSummaryPage(afterId, offset, limit);
+    }
+
+    /**
+     * Converts a list of indexcard names to a list of indexcards, in the order of the names.
+     * Names without an Indexcard are skipped.
+     *
      * @param indexcardNames The list of indexcard names.
-     *                       The list of indexcards.
+     * @return The list of indexcards.
      */
     public List<Indexcard> getIndexcardsByIndexcardNameList(List<String> indexcardNames) {
-        List<Indexcard> indexcards = new ArrayList<>();
+        return getIndexcardsByIndexcardNameList(indexcardNames, null);
+    }
+
+    /**
+     * Converts a list of indexcard names to a list of indexcards, in the order of the names.
+     * The names are resolved with one IN-query per NAME_CHUNK_SIZE distinct names, instead of one query per name.
+     * Names without an Indexcard are skipped and added to the list of missing names.
+     *
+     * @param indexcardNames The list of indexcard names.
+     * @param missingNames   Gets the names without an Indexcard, could be null.
+     * @return The list of indexcards.
+     */
+    public List<Indexcard> getIndexcardsByIndexcardNameList(List<String> indexcardNames, List<String> missingNames) {
+        final List<String> distinctNames = new ArrayList<>(new LinkedHashSet<>(indexcardNames));
+        final Map<String, Indexcard> indexcardsByName = new HashMap<>();
+        for (int from = 0; from < distinctNames.size(); from += NAME_CHUNK_SIZE) {
+            final List<String> chunk = distinctNames.subList(from, Math.min(from + NAME_CHUNK_SIZE, distinctNames.size()));
+            for (Indexcard indexcard : indexcardRepository.getIndexcardsFromNameList(chunk)) {
+                indexcardsByName.put(indexcard.getName(), indexcard);
+            }
+        }
+
+        final List<Indexcard> indexcards = new ArrayList<>(indexcardNames.size());
+        int missing = 0;
         for (String indexcardName : indexcardNames) {
-            if (indexcardRepository.getIndexcardByName(indexcardName).isPresent()) {
-                indexcards.add(indexcardRepository.getIndexcardByName(indexcardName).get());
+            final Indexcard indexcard = indexcardsByName.get(indexcardName);
+            if (indexcard != null) {
+                indexcards.add(indexcard);
+            } else {
+                missing++;
+                if (missingNames != null) {
+                    missingNames.add(indexcardName);
+                }
             }
         }
+        if (missing > 0) {
+            logger.log(Level.WARNING, "{0} of {1} indexcard names could not be resolved",
+                    new Object[]{missing, indexcardNames.size()});
+        }
         return indexcards;
     }
 }
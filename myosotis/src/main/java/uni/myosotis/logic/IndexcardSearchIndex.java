@@ -0,0 +1,541 @@
+package uni.myosotis.logic;
+
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardText;
+import uni.myosotis.objects.Keyword;
+import uni.myosotis.persistence.CategoryRepository;
+import uni.myosotis.persistence.IndexcardRepository;
+import uni.myosotis.persistence.Repositories;
+import uni.myosotis.persistence.UnitOfWork;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An in-memory inverted index for the full-text search over the Indexcards.
+ * <p>
+ * The name, question, answer and keywords of every Indexcard are split into lower case tokens
+ * without accents. Every token points to a posting list of the Indexcards that contain it,
+ * together with a weight that depends on the field (a match in the name counts more than
+ * a match in the answer). The names of the Category's are matched with the same tokenizer,
+ * but are taken from the CategoryRepository, so renaming a Category does not touch this index.
+ * <p>
+ * A query token matches a token of the index exactly, as prefix or, for longer tokens, with a
+ * small edit distance. All query tokens must match, the results are ranked by the summed weights.
+ * This replaces the former substring search with LIKE '%text%': a text in the middle of a word
+ * is not found anymore ("karte" does not find "Lernkarte", but "lern" does), while the order of
+ * the words, the case and accents do not matter anymore.
+ * <p>
+ * The index is built once with the projections of the IndexcardRepository, when it is used the first
+ * time, and kept up to date by the logic, that changes the Indexcards. An edited Indexcard gets a new
+ * document number, the old one is only marked as deleted and removed when the index is compacted.
+ * The application shares one index between the IndexcardLogic and the IndexcardImportLogic.
+ */
+public final class IndexcardSearchIndex {
+
+    private static final Logger logger = Logger.getLogger(IndexcardSearchIndex.class.getName());
+
+    private static final int NAME_WEIGHT = 10;
+    private static final int KEYWORD_WEIGHT = 6;
+    private static final int CATEGORY_WEIGHT = 4;
+    private static final int QUESTION_WEIGHT = 3;
+    private static final int ANSWER_WEIGHT = 1;
+
+    /** The factor for a token, that only starts with the query token. */
+    private static final float PREFIX_FACTOR = 0.6f;
+
+    /** The factor for a token, that is only similar to the query token. */
+    private static final float FUZZY_FACTOR = 0.4f;
+
+    /** The maximal number of index tokens, that one query token is expanded to. */
+    private static final int MAX_EXPANSIONS = 256;
+
+    /** The repository, the Indexcards are loaded from, when the index is built. */
+    private final IndexcardRepository indexcardRepository;
+
+    /** The repository, the names and Indexcards of the Category's are read from. */
+    private final CategoryRepository categoryRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The posting lists by token, null if the index is not built. */
+    private TreeMap<String, Postings> postings;
+
+    /** The id of the Indexcard of every document number. */
+    private long[] indexcardIds;
+
+    /** The document numbers, that were replaced or deleted. */
+    private BitSet deleted;
+
+    /** The number of document numbers that were handed out. */
+    private int documentCount;
+
+    /** The current document number of every Indexcard. */
+    private Map<Long, Integer> documentsByIndexcard;
+
+    /**
+     * Creates a new IndexcardSearchIndex over the repositories of the chosen backend.
+     */
+    public IndexcardSearchIndex() {
+        this(Repositories.indexcardRepository(), Repositories.categoryRepository());
+    }
+
+    /**
+     * Creates a new IndexcardSearchIndex.
+     *
+     * @param indexcardRepository The repository of the Indexcards.
+     * @param categoryRepository  The repository of the Category's.
+     */
+    IndexcardSearchIndex(final IndexcardRepository indexcardRepository, final CategoryRepository categoryRepository) {
+        this.indexcardRepository = indexcardRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Searches the Indexcards that match all tokens of the text.
+     *
+     * @param text  The text that should be searched for.
+     * @param limit The maximal number of results.
+     * @return The ids of the matching Indexcards, the best match first.
+     */
+    public List<Long> search(final String text, final int limit) {
+        final List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(text)));
+        if (queryTokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ensureBuilt();
+        final TreeMap<String, List<Long>> categoriesByToken = tokenizeCategoryNames(categoryRepository.getCategoryNames());
+        lock.readLock().lock();
+        try {
+            if (postings == null || documentsByIndexcard.isEmpty()) {
+                return new ArrayList<>();
+            }
+            final float[] scores = new float[documentCount];
+            final int[] matchedTokens = new int[documentCount];
+            final float[] tokenScores = new float[documentCount];
+            final int[] touched = new int[documentCount];
+            final int aliveCount = documentsByIndexcard.size();
+
+            for (int t = 0; t < queryTokens.size(); t++) {
+                final String queryToken = queryTokens.get(t);
+                int touchedCount = 0;
+                for (Map.Entry<String, Float> expansion : expand(queryToken, postings.navigableKeySet()).entrySet()) {
+                    final Postings list = postings.get(expansion.getKey());
+                    final float factor = expansion.getValue() * (float) Math.log(1.0 + (double) aliveCount / list.size);
+                    for (int i = 0; i < list.size; i++) {
+                        final int document = list.documents[i];
+                        final float score = list.weights[i] * factor;
+                        if (tokenScores[document] == 0) {
+                            touched[touchedCount++] = document;
+                        }
+                        tokenScores[document] = Math.max(tokenScores[document], score);
+                    }
+                }
+                touchedCount = addCategoryMatches(queryToken, categoriesByToken, tokenScores, touched, touchedCount);
+                for (int i = 0; i < touchedCount; i++) {
+                    final int document = touched[i];
+                    if (matchedTokens[document] == t) {
+                        scores[document] += tokenScores[document];
+                        matchedTokens[document]++;
+                    }
+                    tokenScores[document] = 0;
+                }
+            }
+
+            final List<Integer> results = new ArrayList<>();
+            for (int document = 0; document < documentCount; document++) {
+                if (matchedTokens[document] == queryTokens.size() && !deleted.get(document)) {
+                    results.add(document);
+                }
+            }
+            results.sort((a, b) -> scores[a] != scores[b] ? Float.compare(scores[b], scores[a]) : Long.compare(indexcardIds[a], indexcardIds[b]));
+            final List<Long> ids = new ArrayList<>(Math.min(limit, results.size()));
+            for (int i = 0; i < results.size() && i < limit; i++) {
+                ids.add(indexcardIds[results.get(i)]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces an Indexcard in the index. Does nothing, if the index is not built yet,
+     * then the Indexcard is not even tokenized.
+     *
+     * @param indexcard The saved or updated Indexcard.
+     */
+    public void put(final Indexcard indexcard) {
+        if (!isBuilt() || indexcard.getId() == null) {
+            return;
+        }
+        final Map<String, Integer> tokens = tokenize(indexcard.getName(), indexcard.getQuestion(), indexcard.getAnswer(),
+                indexcard.getKeywords().stream().map(Keyword::getName).toList());
+        lock.writeLock().lock();
+        try {
+            if (postings == null) {
+                return;
+            }
+            UnitOfWork.onRollback(this::invalidate);
+            final Integer oldDocument = documentsByIndexcard.remove(indexcard.getId());
+            if (oldDocument != null) {
+                deleted.set(oldDocument);
+            }
+            addDocument(indexcard.getId(), tokens);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted Indexcard from the index. Does nothing, if the index is not built yet.
+     *
+     * @param indexcardId The id of the deleted Indexcard.
+     */
+    public void remove(final Long indexcardId) {
+        lock.writeLock().lock();
+        try {
+            if (postings == null) {
+                return;
+            }
+            UnitOfWork.onRollback(this::invalidate);
+            final Integer oldDocument = documentsByIndexcard.remove(indexcardId);
+            if (oldDocument != null) {
+                deleted.set(oldDocument);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the Indexcards with the given ids again and replaces them in the index, after their Keywords
+     * were changed without loading them. Does nothing, if the index is not built yet.
+     *
+     * @param indexcardIds The ids of the changed Indexcards.
+     */
+    public void reload(final Collection<Long> indexcardIds) {
+        if (!isBuilt() || indexcardIds.isEmpty()) {
+            return;
+        }
+        final List<Long> ids = List.copyOf(indexcardIds);
+        for (int from = 0; from < ids.size(); from += IndexcardLogic.NAME_CHUNK_SIZE) {
+            for (Indexcard indexcard : indexcardRepository.getIndexcardsByIds(
+                    ids.subList(from, Math.min(from + IndexcardLogic.NAME_CHUNK_SIZE, ids.size())))) {
+                put(indexcard);
+            }
+        }
+    }
+
+    /**
+     * Drops the index, so it gets built again on the next use.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            postings = null;
+            indexcardIds = null;
+            deleted = null;
+            documentsByIndexcard = null;
+            documentCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text into lower case tokens of letters and digits, accents are removed.
+     *
+     * @param text The text.
+     * @return The tokens in the order of the text.
+     */
+    static List<String> tokenize(final String text) {
+        final List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        final String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        final StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            final char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the tokens of the given Indexcard fields with their summed weights.
+     */
+    private static Map<String, Integer> tokenize(final String name, final String question, final String answer,
+                                                 final List<String> keywords) {
+        final Map<String, Integer> tokens = new HashMap<>();
+        addTokens(tokens, name, NAME_WEIGHT);
+        addTokens(tokens, question, QUESTION_WEIGHT);
+        addTokens(tokens, answer, ANSWER_WEIGHT);
+        for (String keyword : keywords) {
+            addTokens(tokens, keyword, KEYWORD_WEIGHT);
+        }
+        return tokens;
+    }
+
+    private static void addTokens(final Map<String, Integer> tokens, final String text, final int weight) {
+        for (String token : tokenize(text)) {
+            tokens.merge(token, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Returns the index tokens, that match the query token, with the factor of the match.
+     */
+    private static Map<String, Float> expand(final String queryToken, final NavigableSet<String> tokens) {
+        final Map<String, Float> expansions = new HashMap<>();
+        if (tokens.contains(queryToken)) {
+            expansions.put(queryToken, 1.0f);
+        }
+        for (String token : tokens.subSet(queryToken, false, queryToken + Character.MAX_VALUE, false)) {
+            if (expansions.size() >= MAX_EXPANSIONS) {
+                break;
+            }
+            expansions.put(token, PREFIX_FACTOR);
+        }
+        final int maxDistance = maxDistance(queryToken);
+        if (maxDistance > 0) {
+            // Typos in the first character are not searched, so only a small range of the tokens has to be compared.
+            final String first = queryToken.substring(0, 1);
+            for (String token : tokens.subSet(first, true, first + Character.MAX_VALUE, false)) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                if (!expansions.containsKey(token) && Math.abs(token.length() - queryToken.length()) <= maxDistance
+                        && distance(queryToken, token, maxDistance) <= maxDistance) {
+                    expansions.put(token, FUZZY_FACTOR);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    /**
+     * Returns the ids of the Category's by the tokens of their names, so the names are only tokenized once per query.
+     */
+    private static TreeMap<String, List<Long>> tokenizeCategoryNames(final Map<Long, String> categoryNames) {
+        final TreeMap<String, List<Long>> categoriesByToken = new TreeMap<>();
+        for (Map.Entry<Long, String> category : categoryNames.entrySet()) {
+            for (String token : new LinkedHashSet<>(tokenize(category.getValue()))) {
+                categoriesByToken.computeIfAbsent(token, key -> new ArrayList<>()).add(category.getKey());
+            }
+        }
+        return categoriesByToken;
+    }
+
+    /**
+     * Adds the Indexcards of the Category's, whose name matches the query token.
+     */
+    private int addCategoryMatches(final String queryToken, final TreeMap<String, List<Long>> categoriesByToken,
+                                          final float[] tokenScores, final int[] touched, int touchedCount) {
+        final Map<Long, Float> factors = new HashMap<>();
+        for (Map.Entry<String, Float> expansion : expand(queryToken, categoriesByToken.navigableKeySet()).entrySet()) {
+            for (Long categoryId : categoriesByToken.get(expansion.getKey())) {
+                factors.merge(categoryId, expansion.getValue(), Math::max);
+            }
+        }
+        for (Map.Entry<Long, Float> category : factors.entrySet()) {
+            final float factor = category.getValue();
+            for (Long indexcardId : categoryRepository.getIndexcardIds(category.getKey())) {
+                final Integer document = documentsByIndexcard.get(indexcardId);
+                if (document == null) {
+                    continue;
+                }
+                if (tokenScores[document] == 0) {
+                    touched[touchedCount++] = document;
+                }
+                tokenScores[document] = Math.max(tokenScores[document], CATEGORY_WEIGHT * factor);
+            }
+        }
+        return touchedCount;
+    }
+
+    private static int maxDistance(final String token) {
+        // Numbers are not corrected, "card12" should not find "card13".
+        if (token.chars().anyMatch(Character::isDigit)) {
+            return 0;
+        }
+        if (token.length() >= 8) {
+            return 2;
+        }
+        return token.length() >= 4 ? 1 : 0;
+    }
+
+    /**
+     * Returns the Levenshtein distance of the two tokens, or maxDistance + 1 if it is bigger than maxDistance.
+     */
+    private static int distance(final String a, final String b, final int maxDistance) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private void addDocument(final Long indexcardId, final Map<String, Integer> tokens) {
+        if (documentCount == indexcardIds.length) {
+            indexcardIds = Arrays.copyOf(indexcardIds, Math.max(16, indexcardIds.length * 2));
+        }
+        final int document = documentCount++;
+        indexcardIds[document] = indexcardId;
+        documentsByIndexcard.put(indexcardId, document);
+        for (Map.Entry<String, Integer> token : tokens.entrySet()) {
+            postings.computeIfAbsent(token.getKey(), key -> new Postings()).add(document, token.getValue());
+        }
+    }
+
+    /**
+     * Removes the deleted documents from the posting lists, once they are the majority.
+     */
+    private void compactIfNeeded() {
+        final int deletedCount = documentCount - documentsByIndexcard.size();
+        if (deletedCount < 1024 || deletedCount < documentsByIndexcard.size()) {
+            return;
+        }
+        final int[] newDocuments = new int[documentCount];
+        final long[] newIndexcardIds = new long[Math.max(16, documentsByIndexcard.size())];
+        int newCount = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (deleted.get(document)) {
+                newDocuments[document] = -1;
+            } else {
+                newDocuments[document] = newCount;
+                newIndexcardIds[newCount++] = indexcardIds[document];
+            }
+        }
+        final Iterator<Postings> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            final Postings list = iterator.next();
+            list.renumber(newDocuments);
+            if (list.size == 0) {
+                iterator.remove();
+            }
+        }
+        documentsByIndexcard.replaceAll((id, document) -> newDocuments[document]);
+        indexcardIds = newIndexcardIds;
+        documentCount = newCount;
+        deleted = new BitSet();
+    }
+
+    private boolean isBuilt() {
+        lock.readLock().lock();
+        try {
+            return postings != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        lock.readLock().lock();
+        try {
+            if (postings != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (postings != null) {
+                return;
+            }
+            final long start = System.nanoTime();
+            final List<IndexcardText> texts;
+            final Map<Long, List<String>> keywords;
+            try {
+                texts = indexcardRepository.getIndexcardTexts();
+                keywords = indexcardRepository.getKeywordNamesByIndexcard();
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Error occurred while building the search index", e);
+                throw e;
+            }
+            // The index could contain uncommitted changes of the active unit of work.
+            UnitOfWork.onRollback(this::invalidate);
+            postings = new TreeMap<>();
+            indexcardIds = new long[Math.max(16, texts.size())];
+            deleted = new BitSet();
+            documentsByIndexcard = new HashMap<>(texts.size() * 2);
+            documentCount = 0;
+            for (IndexcardText text : texts) {
+                addDocument(text.id(), tokenize(text.name(), text.question(), text.answer(),
+                        keywords.getOrDefault(text.id(), List.of())));
+            }
+            logger.log(Level.INFO, "Built search index for {0} indexcards with {1} tokens in {2} ms",
+                    new Object[]{texts.size(), postings.size(), (System.nanoTime() - start) / 1_000_000});
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The documents and weights of one token, sorted by the document number.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        private void add(final int document, final int weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size] = weight;
+            size++;
+        }
+
+        private void renumber(final int[] newDocuments) {
+            int newSize = 0;
+            for (int i = 0; i < size; i++) {
+                final int document = newDocuments[documents[i]];
+                if (document >= 0) {
+                    documents[newSize] = document;
+                    weights[newSize] = weights[i];
+                    newSize++;
+                }
+            }
+            size = newSize;
+        }
+    }
+}
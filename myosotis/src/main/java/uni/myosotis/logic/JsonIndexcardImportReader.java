@@ -0,0 +1,182 @@
+package uni.myosotis.logic;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads Indexcards from JSON, object by object, with a streaming parser.
+ * <p>
+ * The data can either be one array of objects or a sequence of objects (one per line).
+ * Every object has the fields "name", "question", "answer" and optional "keywords" and "links".
+ * Keywords are an array of names. Links are an array of strings in the format
+ * "term => name of the linked Indexcard" or of objects with the fields "term" and "indexcard".
+ */
+public class JsonIndexcardImportReader implements IndexcardImportReader {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final JsonParser parser;
+
+    /**
+     * The next row, that was already read by hasNext().
+     */
+    private IndexcardImportRow nextRow;
+
+    /**
+     * Creates a new JsonIndexcardImportReader.
+     *
+     * @param reader The reader of the JSON data.
+     */
+    public JsonIndexcardImportReader(final Reader reader) {
+        try {
+            this.parser = jsonFactory.createParser(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow != null) {
+            return true;
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            // Skip the brackets of an array of Indexcards
+            while (token == JsonToken.START_ARRAY || token == JsonToken.END_ARRAY) {
+                token = parser.nextToken();
+            }
+            if (token == null) {
+                return false;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Expected an Indexcard object at " + parser.getCurrentLocation());
+            }
+            nextRow = readIndexcard();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public IndexcardImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final IndexcardImportRow row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Reads the fields of one Indexcard object, the parser stands on its START_OBJECT.
+     */
+    private IndexcardImportRow readIndexcard() throws IOException {
+        String name = "";
+        String question = "";
+        String answer = "";
+        List<String> keywords = List.of();
+        List<String> links = List.of();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            switch (field) {
+                case "name" -> name = readText(value).strip();
+                case "question" -> question = readText(value);
+                case "answer" -> answer = readText(value);
+                case "keywords" -> keywords = readStrings(value);
+                case "links" -> links = readLinks(value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new IndexcardImportRow(name, question, answer, keywords, links);
+    }
+
+    /**
+     * Reads a scalar value as text. An object or array is skipped and read as an empty text,
+     * so its fields are not taken for fields of the Indexcard.
+     */
+    private String readText(final JsonToken value) throws IOException {
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getValueAsString("");
+    }
+
+    /**
+     * Reads an array of strings or a single string with comma separated values.
+     */
+    private List<String> readStrings(final JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return Arrays.stream(parser.getText().split(",")).map(String::strip).filter(s -> !s.isEmpty()).toList();
+        }
+        final List<String> strings = new ArrayList<>();
+        if (value == JsonToken.START_ARRAY) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token.isStructStart()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                final String string = parser.getValueAsString();
+                if (string != null && !string.isBlank()) {
+                    strings.add(string.strip());
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        return strings;
+    }
+
+    /**
+     * Reads an array of Links, that are either strings or objects with a term and an Indexcard.
+     */
+    private List<String> readLinks(final JsonToken value) throws IOException {
+        final List<String> links = new ArrayList<>();
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return links;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                String term = null;
+                String indexcard = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.getCurrentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "term" -> term = parser.getValueAsString();
+                        case "indexcard" -> indexcard = parser.getValueAsString();
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (term != null && indexcard != null) {
+                    links.add(term + " => " + indexcard);
+                }
+            } else if (token == JsonToken.VALUE_STRING) {
+                links.add(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return links;
+    }
+}
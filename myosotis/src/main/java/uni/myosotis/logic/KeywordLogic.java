@@ -2,7 +2,9 @@ package uni.myosotis.logic;
 
 import uni.myosotis.objects.Keyword;
 import uni.myosotis.persistence.KeywordRepository;
+import uni.myosotis.persistence.Repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +16,7 @@ public class KeywordLogic {
      * Creates a new KeywordLogic.
      */
     public KeywordLogic() {
-        this.KeywordRepository = new KeywordRepository();
+        this.KeywordRepository = Repositories.keywordRepository();
     }
 
     /**
@@ -73,4 +75,16 @@ public class KeywordLogic {
             }
         }
     }
+
+    /**
+     * Deletes the Keywords with the given names, that are not used by an Indexcard anymore,
+     * with one statement.
+     *
+     * @param names         Names of the keywords, that could be unused.
+     */
+    public void deleteUnusedKeywords(Collection<String> names) {
+        if (KeywordRepository.deleteUnusedKeywords(names) < 0) {
+            throw new IllegalStateException();
+        }
+    }
 }
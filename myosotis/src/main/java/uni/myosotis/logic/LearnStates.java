@@ -0,0 +1,146 @@
+package uni.myosotis.logic;
+
+import java.util.Arrays;
+
+/**
+ * The learning states of a list of Indexcards, stored column by column in primitive arrays.
+ * The Indexcards are addressed by their position in the list.
+ * <p>
+ * What the values mean depends on the {@link LearnSystem}: SM-2 keeps the ease factor as
+ * difficulty, FSRS its difficulty between 1 and 10, the Leitner-System the Box as repetitions.
+ */
+public class LearnStates {
+
+    private int size;
+    private long[] dueTimes;
+    private long[] lastReviews;
+    private float[] stabilities;
+    private float[] difficulties;
+    private int[] repetitions;
+    private int[] lapses;
+
+    /**
+     * Creates the states of new Indexcards.
+     *
+     * @param size The number of Indexcards.
+     */
+    public LearnStates(int size) {
+        reset(size);
+    }
+
+    /**
+     * Resets the states, all Indexcards are new afterwards.
+     *
+     * @param size The number of Indexcards.
+     */
+    public void reset(int size) {
+        this.size = size;
+        this.dueTimes = new long[size];
+        this.lastReviews = new long[size];
+        this.stabilities = new float[size];
+        this.difficulties = new float[size];
+        this.repetitions = new int[size];
+        this.lapses = new int[size];
+    }
+
+    /**
+     * Adds the states of new Indexcards at the end.
+     *
+     * @param count The number of new Indexcards.
+     * @return The position of the first new Indexcard.
+     */
+    public int add(int count) {
+        final int first = size;
+        size += count;
+        dueTimes = Arrays.copyOf(dueTimes, size);
+        lastReviews = Arrays.copyOf(lastReviews, size);
+        stabilities = Arrays.copyOf(stabilities, size);
+        difficulties = Arrays.copyOf(difficulties, size);
+        repetitions = Arrays.copyOf(repetitions, size);
+        lapses = Arrays.copyOf(lapses, size);
+        return first;
+    }
+
+    /**
+     * Returns the number of Indexcards.
+     *
+     * @return The number of Indexcards.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns if the Indexcard was never reviewed.
+     *
+     * @param card The position of the Indexcard.
+     * @return True, if the Indexcard is new.
+     */
+    public boolean isNew(int card) {
+        return lastReviews[card] == 0;
+    }
+
+    /**
+     * Returns the number of Indexcards, that are due at the given time.
+     *
+     * @param time The time in milliseconds.
+     * @return The number of due Indexcards.
+     */
+    public int countDue(long time) {
+        int count = 0;
+        for (int card = 0; card < size; card++) {
+            if (dueTimes[card] <= time) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long getDueTime(int card) {
+        return dueTimes[card];
+    }
+
+    public void setDueTime(int card, long dueTime) {
+        dueTimes[card] = dueTime;
+    }
+
+    public long getLastReview(int card) {
+        return lastReviews[card];
+    }
+
+    public void setLastReview(int card, long lastReview) {
+        lastReviews[card] = lastReview;
+    }
+
+    public float getStability(int card) {
+        return stabilities[card];
+    }
+
+    public void setStability(int card, float stability) {
+        stabilities[card] = stability;
+    }
+
+    public float getDifficulty(int card) {
+        return difficulties[card];
+    }
+
+    public void setDifficulty(int card, float difficulty) {
+        difficulties[card] = difficulty;
+    }
+
+    public int getRepetitions(int card) {
+        return repetitions[card];
+    }
+
+    public void setRepetitions(int card, int repetitions) {
+        this.repetitions[card] = repetitions;
+    }
+
+    public int getLapses(int card) {
+        return lapses[card];
+    }
+
+    public void setLapses(int card, int lapses) {
+        this.lapses[card] = lapses;
+    }
+}
@@ -0,0 +1,85 @@
+package uni.myosotis.logic;
+
+/**
+ * A spaced-repetition algorithm, that decides when an Indexcard has to be learned again.
+ * <p>
+ * The algorithms do not keep any state themselves. The state of every Indexcard is kept in
+ * {@link LearnStates}, the reviews in a {@link ReviewLog}, both stored in primitive arrays, so
+ * hundreds of thousands of Indexcards and reviews fit into a few arrays without boxing.
+ * The Indexcards are addressed by their position, e.g. in the list of an IndexcardBox.
+ */
+public interface LearnSystem {
+
+    /** The Indexcard was not remembered. */
+    int AGAIN = 1;
+    /** The Indexcard was remembered with difficulties. */
+    int HARD = 2;
+    /** The Indexcard was remembered. */
+    int GOOD = 3;
+    /** The Indexcard was remembered easily. */
+    int EASY = 4;
+
+    /** The milliseconds of a day. */
+    long DAY = 24L * 60 * 60 * 1000;
+
+    /**
+     * Returns the name of the algorithm.
+     *
+     * @return The name.
+     */
+    String getName();
+
+    /**
+     * Applies a review of an Indexcard to its state and calculates its next due time.
+     *
+     * @param states The states of the Indexcards.
+     * @param card   The position of the Indexcard.
+     * @param grade  The grade of the answer, from {@link #AGAIN} to {@link #EASY}.
+     * @param time   The time of the review in milliseconds.
+     */
+    void review(LearnStates states, int card, int grade, long time);
+
+    /**
+     * Calculates the states of all Indexcards again from their reviews, in one pass over the reviews.
+     * Can be used after changing the algorithm or its parameters.
+     *
+     * @param states    The states, that are replaced.
+     * @param cardCount The number of Indexcards.
+     * @param reviews   The reviews of the Indexcards.
+     */
+    default void recompute(LearnStates states, int cardCount, ReviewLog reviews) {
+        states.reset(cardCount);
+        reviews.sortByTime();
+        for (int i = 0; i < reviews.size(); i++) {
+            review(states, reviews.getCard(i), reviews.getGrade(i), reviews.getTime(i));
+        }
+    }
+
+    /**
+     * Returns the algorithm with the given name.
+     *
+     * @param name The name of the algorithm.
+     * @return The algorithm.
+     * @throws IllegalArgumentException If there is no algorithm with this name.
+     */
+    static LearnSystem forName(String name) {
+        return switch (name) {
+            case LeitnerAlgorithm.NAME -> new LeitnerAlgorithm(5);
+            case Sm2Algorithm.NAME -> new Sm2Algorithm();
+            case FsrsAlgorithm.NAME -> new FsrsAlgorithm();
+            default -> throw new IllegalArgumentException("Unknown learn system: " + name);
+        };
+    }
+
+    /**
+     * Checks, that a grade is valid.
+     *
+     * @param grade The grade.
+     * @throws IllegalArgumentException If the grade is not between AGAIN and EASY.
+     */
+    static void checkGrade(int grade) {
+        if (grade < AGAIN || grade > EASY) {
+            throw new IllegalArgumentException("Invalid grade: " + grade);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package uni.myosotis.logic;
+
+import uni.myosotis.objects.LeitnerLearnSystem;
+import uni.myosotis.persistence.ReviewColumns;
+
+import java.util.Arrays;
+
+/**
+ * The {@link LearnStates} of all Indexcards of a Learnsystem, together with the algorithm that changes them.
+ * The Indexcards are addressed by their ids, which are mapped to their position in the sorted ids
+ * by binary search, so no map with boxed ids is needed.
+ */
+public class LearnSystemStates {
+
+    private final LearnSystem algorithm;
+    private final long[] indexcardIds;
+    private final LearnStates states;
+
+    LearnSystemStates(LearnSystem algorithm, long[] indexcardIds, LearnStates states) {
+        this.algorithm = algorithm;
+        this.indexcardIds = indexcardIds;
+        this.states = states;
+    }
+
+    /**
+     * Calculates the states of all Indexcards of a Learnsystem from their reviews, in one pass over
+     * the reviews, and sets the due times of the reviewed Indexcards in the Learnsystem.
+     * Reviews of Indexcards, that are not in the Learnsystem anymore, are skipped.
+     *
+     * @param learnSystem The Learnsystem.
+     * @param algorithm   The algorithm, that calculates the states.
+     * @param reviews     The reviews of the Learnsystem.
+     * @return The states of the Indexcards.
+     */
+    public static LearnSystemStates recompute(LeitnerLearnSystem learnSystem, LearnSystem algorithm, ReviewColumns reviews) {
+        final long[] indexcardIds = learnSystem.getIndexcardIds();
+        final ReviewLog log = new ReviewLog();
+        for (int row = 0; row < reviews.size(); row++) {
+            final int card = Arrays.binarySearch(indexcardIds, reviews.getIndexcardId(row));
+            if (card >= 0) {
+                log.add(card, reviews.getGrade(row), reviews.getReviewTime(row));
+            }
+        }
+        final LearnStates states = new LearnStates(indexcardIds.length);
+        algorithm.recompute(states, indexcardIds.length, log);
+        for (int card = 0; card < indexcardIds.length; card++) {
+            if (!states.isNew(card)) {
+                learnSystem.setDueTime(indexcardIds[card], states.getDueTime(card));
+            }
+        }
+        return new LearnSystemStates(algorithm, indexcardIds, states);
+    }
+
+    /**
+     * Returns the algorithm, that changes the states.
+     *
+     * @return The algorithm.
+     */
+    public LearnSystem getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Applies a review of an Indexcard to its state.
+     *
+     * @param indexcardId The id of the Indexcard.
+     * @param grade       The grade of the answer, from {@link LearnSystem#AGAIN} to {@link LearnSystem#EASY}.
+     * @param time        The time of the review in milliseconds.
+     * @return The next due time of the Indexcard in milliseconds.
+     * @throws IllegalArgumentException If the Indexcard is not in the Learnsystem.
+     */
+    public long review(long indexcardId, int grade, long time) {
+        final int card = Arrays.binarySearch(indexcardIds, indexcardId);
+        if (card < 0) {
+            throw new IllegalArgumentException("Indexcard " + indexcardId + " is not in the Learnsystem");
+        }
+        algorithm.review(states, card, grade, time);
+        return states.getDueTime(card);
+    }
+}
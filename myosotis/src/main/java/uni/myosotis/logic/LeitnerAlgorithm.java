@@ -0,0 +1,44 @@
+package uni.myosotis.logic;
+
+/**
+ * The Leitner-System as a {@link LearnSystem}, with the same rules as the LeitnerLearnSystem:
+ * a correct answer moves the Indexcard to the next Box, a wrong answer to the previous Box.
+ * The Box is kept as repetitions, its interval is given by {@link LeitnerScheduler#getInterval(int)}.
+ */
+public class LeitnerAlgorithm implements LearnSystem {
+
+    public static final String NAME = "Leitner";
+
+    private final int numberOfBoxes;
+
+    /**
+     * Creates the Leitner-System.
+     *
+     * @param numberOfBoxes The number of Boxes.
+     */
+    public LeitnerAlgorithm(int numberOfBoxes) {
+        this.numberOfBoxes = numberOfBoxes;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void review(LearnStates states, int card, int grade, long time) {
+        LearnSystem.checkGrade(grade);
+        int box = states.getRepetitions(card);
+        if (grade == AGAIN) {
+            box = Math.max(0, box - 1);
+            states.setLapses(card, states.getLapses(card) + 1);
+        } else {
+            box = Math.min(numberOfBoxes - 1, box + 1);
+        }
+        final long interval = LeitnerScheduler.getInterval(box).toMillis();
+        states.setRepetitions(card, box);
+        states.setStability(card, (float) interval / DAY);
+        states.setLastReview(card, time);
+        states.setDueTime(card, time + interval);
+    }
+}
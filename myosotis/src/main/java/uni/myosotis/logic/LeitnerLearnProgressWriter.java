@@ -0,0 +1,305 @@
+package uni.myosotis.logic;
+
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.LeitnerLearnSystem;
+import uni.myosotis.objects.ReviewEvent;
+import uni.myosotis.persistence.LeitnerLearnSystemRepository;
+import uni.myosotis.persistence.ReviewEventRepository;
+import uni.myosotis.persistence.UnitOfWork;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Saves the learning progress of the Leitner-Learnsystems in the background (write-behind).
+ * <p>
+ * Every answer and every change of the progress is appended to an in-memory queue, so the
+ * learning dialog never waits for the database. A background thread takes all queued events
+ * every few seconds, replays them on the stored Learnsystems and saves them in one unit of work,
+ * together with a ReviewEvent for every answer.
+ * The queue is also written, when a learning dialog is closed, before a Learnsystem is updated
+ * and when the application ends. If the events can not be saved, they stay in the queue
+ * and are tried again with the next flush.
+ * <p>
+ * Until its events are saved, a Learnsystem is kept by the writer. Reads of this Learnsystem get
+ * the changed object from {@link #getPendingLearnSystem(String)} instead of the database, so they
+ * never have to wait for a flush.
+ */
+public class LeitnerLearnProgressWriter {
+
+    private static final Logger logger = Logger.getLogger(LeitnerLearnProgressWriter.class.getName());
+
+    /**
+     * The time between two scheduled flushes.
+     */
+    private static final long FLUSH_INTERVAL_SECONDS = 3;
+
+    private final LeitnerLearnSystemRepository leitnerLearnSystemRepository;
+
+    private final ReviewEventRepository reviewEventRepository;
+
+    /**
+     * The events that are not saved yet, the oldest first.
+     */
+    private final Deque<LearnEvent> events = new ArrayDeque<>();
+
+    /**
+     * The Learnsystems with events, that are not saved yet, by their ids. Guarded by the events.
+     */
+    private final Map<Long, LeitnerLearnSystem> pendingLearnSystems = new HashMap<>();
+
+    /**
+     * Makes sure, that only one flush writes at a time, so the events are saved in order.
+     */
+    private final Object flushLock = new Object();
+
+    /**
+     * The thread for the scheduled flushes, created with the first event.
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a new LeitnerLearnProgressWriter.
+     *
+     * @param leitnerLearnSystemRepository The repository, the Learnsystems are saved with.
+     * @param reviewEventRepository The repository, the answers are appended to.
+     */
+    public LeitnerLearnProgressWriter(final LeitnerLearnSystemRepository leitnerLearnSystemRepository,
+                                      final ReviewEventRepository reviewEventRepository) {
+        this.leitnerLearnSystemRepository = leitnerLearnSystemRepository;
+        this.reviewEventRepository = reviewEventRepository;
+    }
+
+    /**
+     * Queues an answer, that moved an Indexcard to the next or the previous Box.
+     *
+     * @param learnSystem  The Learnsystem, the Indexcard was learned in.
+     * @param indexcard    The Indexcard.
+     * @param correct      True, if the answer was correct.
+     * @param sourceBox    The number of the Box, the Indexcard was in before the answer.
+     * @param responseTime The time in milliseconds from showing the question to the answer.
+     */
+    public void recordAnswer(final LeitnerLearnSystem learnSystem, final Indexcard indexcard, final boolean correct,
+                             final int sourceBox, final int responseTime) {
+        append(learnSystem, new Answer(learnSystem.getId(), indexcard.getId(), correct, learnSystem.getDueTime(indexcard.getId()),
+                System.currentTimeMillis(), sourceBox, responseTime));
+    }
+
+    /**
+     * Queues the current progress of a Learnsystem. Only the last progress of every
+     * Learnsystem is saved with the next flush.
+     *
+     * @param learnSystem The Learnsystem.
+     */
+    public void recordProgress(final LeitnerLearnSystem learnSystem) {
+        append(learnSystem, new Progress(learnSystem.getId(), learnSystem.getProgress(), learnSystem.getStarted()));
+    }
+
+    /**
+     * Returns the Learnsystem with the given name, if some of its events are not saved yet.
+     * It is the object, that was changed by the learning session, so it is newer than the stored one.
+     *
+     * @param name The name of the Learnsystem.
+     * @return The changed Learnsystem or null, if all its events are saved.
+     */
+    public LeitnerLearnSystem getPendingLearnSystem(final String name) {
+        synchronized (events) {
+            for (LeitnerLearnSystem learnSystem : pendingLearnSystems.values()) {
+                if (Objects.equals(learnSystem.getName(), name)) {
+                    return learnSystem;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Runs a read, while no flush is saving events. Every event is either saved before the read
+     * or still queued, and can be added with {@link #getPendingReviewEvents(long)}.
+     *
+     * @param read The read.
+     * @param <T> The type of the result.
+     * @return The result of the read.
+     */
+    public <T> T read(final Supplier<T> read) {
+        synchronized (flushLock) {
+            return read.get();
+        }
+    }
+
+    /**
+     * Returns the review events of the queued answers of a Learnsystem.
+     *
+     * @param learnSystemId The id of the Learnsystem.
+     * @return The review events, that are not saved yet.
+     */
+    public List<ReviewEvent> getPendingReviewEvents(final long learnSystemId) {
+        final List<LearnEvent> pending = new ArrayList<>();
+        synchronized (events) {
+            for (LearnEvent event : events) {
+                if (event.learnSystemId() == learnSystemId) {
+                    pending.add(event);
+                }
+            }
+        }
+        return toReviewEvents(pending);
+    }
+
+    /**
+     * Saves the queued events in the background, without waiting for it.
+     */
+    public void flushAsync() {
+        synchronized (events) {
+            if (scheduler != null) {
+                scheduler.execute(this::flush);
+            }
+        }
+    }
+
+    /**
+     * Saves all queued events in one unit of work and waits for it.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            final List<LearnEvent> batch;
+            synchronized (events) {
+                if (events.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(events);
+                events.clear();
+            }
+            try {
+                final Map<Long, Consumer<LeitnerLearnSystem>> changes = coalesce(batch);
+                final List<ReviewEvent> reviewEvents = toReviewEvents(batch);
+                UnitOfWork.run(() -> {
+                    changes.forEach(leitnerLearnSystemRepository::updateLearnSystem);
+                    if (reviewEventRepository.saveReviewEvents(reviewEvents) < 0) {
+                        // The changes of the Learnsystems are rolled back too, so the whole batch is queued again.
+                        throw new IllegalStateException("The review events could not be saved.");
+                    }
+                });
+                logger.log(Level.FINE, "Saved {0} learn events of {1} learnsystems",
+                        new Object[]{batch.size(), changes.size()});
+                synchronized (events) {
+                    // The stored Learnsystems are up-to-date, unless events were queued during the flush.
+                    final Set<Long> queuedIds = new HashSet<>();
+                    for (LearnEvent event : events) {
+                        queuedIds.add(event.learnSystemId());
+                    }
+                    pendingLearnSystems.keySet().retainAll(queuedIds);
+                }
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Learn events could not be saved, trying again later: {0}", e.getMessage());
+                synchronized (events) {
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        events.addFirst(batch.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private void append(final LeitnerLearnSystem learnSystem, final LearnEvent event) {
+        synchronized (events) {
+            events.addLast(event);
+            pendingLearnSystems.put(learnSystem.getId(), learnSystem);
+            if (scheduler == null) {
+                startScheduler();
+            }
+        }
+    }
+
+    /**
+     * Starts the thread for the scheduled flushes and flushes the queue when the application ends.
+     */
+    private void startScheduler() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "myosotis-learn-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "myosotis-learn-writer-shutdown"));
+    }
+
+    /**
+     * Combines the events to one change per Learnsystem. The answers are replayed in their order,
+     * of the progress only the last one is kept.
+     */
+    private static Map<Long, Consumer<LeitnerLearnSystem>> coalesce(final List<LearnEvent> batch) {
+        final Map<Long, List<Answer>> answers = new LinkedHashMap<>();
+        final Map<Long, Progress> progress = new LinkedHashMap<>();
+        for (LearnEvent event : batch) {
+            if (event instanceof Answer answer) {
+                answers.computeIfAbsent(answer.learnSystemId(), id -> new ArrayList<>()).add(answer);
+            } else if (event instanceof Progress lastProgress) {
+                progress.put(lastProgress.learnSystemId(), lastProgress);
+            }
+        }
+        final Map<Long, Consumer<LeitnerLearnSystem>> changes = new LinkedHashMap<>();
+        answers.forEach((id, learnSystemAnswers) -> changes.put(id, learnSystem -> {
+            for (Answer answer : learnSystemAnswers) {
+                if (answer.correct()) {
+                    learnSystem.moveIndexcardToNextBox(answer.indexcardId());
+                } else {
+                    learnSystem.moveIndexcardToPreviousBox(answer.indexcardId());
+                }
+                if (answer.dueTime() > 0) {
+                    learnSystem.setDueTime(answer.indexcardId(), answer.dueTime());
+                }
+            }
+        }));
+        progress.forEach((id, lastProgress) -> changes.merge(id, learnSystem -> {
+            learnSystem.setProgress(lastProgress.progress());
+            learnSystem.setStarted(lastProgress.started());
+        }, Consumer::andThen));
+        return changes;
+    }
+
+    /**
+     * Creates a ReviewEvent for every answer.
+     */
+    private static List<ReviewEvent> toReviewEvents(final List<LearnEvent> batch) {
+        final List<ReviewEvent> reviewEvents = new ArrayList<>();
+        for (LearnEvent event : batch) {
+            if (event instanceof Answer answer) {
+                reviewEvents.add(new ReviewEvent(answer.learnSystemId(), answer.indexcardId(), answer.reviewTime(),
+                        answer.correct() ? LearnSystem.GOOD : LearnSystem.AGAIN, answer.responseTime(), answer.sourceBox()));
+            }
+        }
+        return reviewEvents;
+    }
+
+    /**
+     * An event of a learning session, that has to be saved.
+     */
+    private sealed interface LearnEvent permits Answer, Progress {
+
+        /**
+         * Returns the id of the Learnsystem, that was changed.
+         *
+         * @return The id of the Learnsystem.
+         */
+        long learnSystemId();
+    }
+
+    /**
+     * An Indexcard was answered, moved to the next or the previous Box and is due again at the due time.
+     */
+    private record Answer(long learnSystemId, long indexcardId, boolean correct, long dueTime,
+                          long reviewTime, int sourceBox, int responseTime) implements LearnEvent {
+    }
+
+    /**
+     * The progress of a Learnsystem has changed.
+     */
+    private record Progress(long learnSystemId, int progress, boolean started) implements LearnEvent {
+    }
+}
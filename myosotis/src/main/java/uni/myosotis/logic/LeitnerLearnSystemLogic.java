@@ -1,9 +1,20 @@
 package uni.myosotis.logic;
 
+import uni.myosotis.objects.Box;
+import uni.myosotis.objects.Indexcard;
 import uni.myosotis.objects.LeitnerLearnSystem;
+import uni.myosotis.persistence.IndexcardRepository;
 import uni.myosotis.persistence.LeitnerLearnSystemRepository;
+import uni.myosotis.persistence.Repositories;
+import uni.myosotis.persistence.ReviewColumns;
+import uni.myosotis.persistence.ReviewEventRepository;
 
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 
 public class LeitnerLearnSystemLogic {
@@ -13,8 +24,26 @@ public class LeitnerLearnSystemLogic {
      */
     final LeitnerLearnSystemRepository leitnerLearnSystemRepository;
 
+    /**
+     * The repository for the answers of the learning sessions.
+     */
+    final ReviewEventRepository reviewEventRepository;
+
+    /**
+     * The repository for the Indexcards, to find the names of the learned Indexcards.
+     */
+    final IndexcardRepository indexcardRepository;
+
+    /**
+     * Saves the progress of the learning sessions in the background.
+     */
+    final LeitnerLearnProgressWriter progressWriter;
+
     public LeitnerLearnSystemLogic() {
-        this.leitnerLearnSystemRepository = new LeitnerLearnSystemRepository();
+        this.leitnerLearnSystemRepository = Repositories.leitnerLearnSystemRepository();
+        this.indexcardRepository = Repositories.indexcardRepository();
+        this.reviewEventRepository = Repositories.reviewEventRepository();
+        this.progressWriter = new LeitnerLearnProgressWriter(leitnerLearnSystemRepository, reviewEventRepository);
     }
 
 
@@ -22,35 +51,179 @@ public class LeitnerLearnSystemLogic {
 
     /**
      * Delegates the exercise to update a Learnsystem to the LearnsystemRepository.
+     * The queued progress is saved first, so it is not applied after this update.
      *
      * @param learnsystem The Learnsystem that should be updated.
      */
     public void updateLearnsystem(LeitnerLearnSystem learnsystem) {
+        progressWriter.flush();
         leitnerLearnSystemRepository.updateLearnSystem(learnsystem);
     }
 
+    /**
+     * Queues an answer of a learning session, the Indexcard was already moved in the given Learnsystem.
+     *
+     * @param learnsystem The Learnsystem.
+     * @param indexcard The answered Indexcard.
+     * @param correct True, if the answer was correct.
+     * @param sourceBox The number of the Box, the Indexcard was in before the answer.
+     * @param responseTime The time in milliseconds from showing the question to the answer.
+     */
+    public void recordAnswer(LeitnerLearnSystem learnsystem, Indexcard indexcard, boolean correct, int sourceBox, int responseTime) {
+        progressWriter.recordAnswer(learnsystem, indexcard, correct, sourceBox, responseTime);
+    }
+
+    /**
+     * Computes the statistics of all answers in a Learnsystem, per Indexcard and per Box.
+     * The queued answers are added to the stored ones, without saving them first.
+     *
+     * @param learnsystem The Learnsystem.
+     * @return The statistics.
+     */
+    public ReviewStatistics getReviewStatistics(LeitnerLearnSystem learnsystem) {
+        return new ReviewStatistics(getReviewColumns(learnsystem));
+    }
+
+    /**
+     * Reads all answers in a Learnsystem, the stored ones together with the queued ones.
+     */
+    private ReviewColumns getReviewColumns(LeitnerLearnSystem learnsystem) {
+        return progressWriter.read(() -> {
+            final ReviewColumns columns = reviewEventRepository.getReviewColumns(learnsystem.getId());
+            columns.addAll(progressWriter.getPendingReviewEvents(learnsystem.getId()));
+            return columns;
+        });
+    }
+
+    /**
+     * Queues the current progress of a Learnsystem.
+     *
+     * @param learnsystem The Learnsystem.
+     */
+    public void recordProgress(LeitnerLearnSystem learnsystem) {
+        progressWriter.recordProgress(learnsystem);
+    }
+
+    /**
+     * Saves the queued progress in the background, e.g. when a learning session is closed.
+     */
+    public void flushProgress() {
+        progressWriter.flushAsync();
+    }
 
-    public LeitnerLearnSystem learnLeitnerSystem(final String name , List<String> indexcardList, int numberOfBoxes,String sortType) {
-        LeitnerLearnSystem learnSystem = leitnerLearnSystemRepository.getLeitnerLearnSystemByName(name);
+
+    /**
+     * Creates the schedule of a learning session with the due Indexcards of a Learnsystem.
+     * If the Learnsystem uses another algorithm than the Leitner-System, the states of all its
+     * Indexcards are calculated again from its answers first, in one pass for the whole IndexcardBox.
+     *
+     * @param learnsystem The Learnsystem.
+     * @param boxName The name of the Box that should be learned, null or empty for all Boxes.
+     * @param order The order of Indexcards with the same due time, null for the order in the Boxes.
+     * @return The schedule of the session.
+     */
+    public LeitnerScheduler createScheduler(LeitnerLearnSystem learnsystem, String boxName, Comparator<Long> order) {
+        final List<Box> boxes;
+        if (boxName == null || boxName.isEmpty()) {
+            boxes = learnsystem.getBoxes();
+        } else {
+            final Box box = learnsystem.getIndexcardBox(boxName);
+            boxes = box == null ? List.of() : List.of(box);
+        }
+        final LearnSystem algorithm = learnsystem.getAlgorithm() == null ? null : LearnSystem.forName(learnsystem.getAlgorithm());
+        final LearnSystemStates states = algorithm == null || algorithm instanceof LeitnerAlgorithm
+                ? null : LearnSystemStates.recompute(learnsystem, algorithm, getReviewColumns(learnsystem));
+        return new LeitnerScheduler(learnsystem, states, boxes, order, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Returns an order of the ids of the Indexcards by their names.
+     * The names are read once, without loading the Indexcards.
+     *
+     * @return The order of the ids by the names in alphabetical order.
+     */
+    public Comparator<Long> getAlphabeticalOrder() {
+        final Map<Long, String> names = new HashMap<>();
+        indexcardRepository.getIndexcardIdsByName().forEach((name, id) -> names.put(id, name));
+        return Comparator.comparing(id -> names.getOrDefault(id, ""));
+    }
+
+
+    /**
+     * Loads a Learnsystem, or creates it, if it does not exist yet.
+     *
+     * @param name The name of the Learnsystem.
+     * @param algorithm The name of the {@link LearnSystem}, that sets the due times of a new Learnsystem,
+     *                  null for the Leitner-System.
+     * @param indexcardIds The ids of the Indexcards of a new Learnsystem.
+     * @param numberOfBoxes The number of Boxes of a new Learnsystem.
+     * @param sortType The order, in which the Indexcards are learned.
+     * @return The Learnsystem.
+     */
+    public LeitnerLearnSystem learnLeitnerSystem(final String name, String algorithm, long[] indexcardIds, int numberOfBoxes, String sortType) {
+        LeitnerLearnSystem learnSystem = loadLeitnerLearnSystem(name);
         if (learnSystem!=null) {
             return learnSystem;
         } else {
-            saveLeitnerLearnSystem(name, indexcardList, numberOfBoxes, sortType);
+            saveLeitnerLearnSystem(name, algorithm, indexcardIds, numberOfBoxes, sortType);
             if (leitnerLearnSystemRepository.getLeitnerLearnSystemByName(name) == null)
                 throw new RuntimeException();
             return leitnerLearnSystemRepository.getLeitnerLearnSystemByName(name);
         }
     }
 
-    public void saveLeitnerLearnSystem(String name, List<String> indexcardList, int numberOfBoxes, String sortType) {
-        leitnerLearnSystemRepository.saveLeitnerLearnSystem(name, indexcardList, numberOfBoxes, sortType);
+    public void saveLeitnerLearnSystem(String name, String algorithm, long[] indexcardIds, int numberOfBoxes, String sortType) {
+        leitnerLearnSystemRepository.saveLeitnerLearnSystem(name, algorithm, indexcardIds, numberOfBoxes, sortType);
     }
 
     public boolean existsLeitnerLearnSystem(String name) {
-        return leitnerLearnSystemRepository.getLeitnerLearnSystemByName(name) != null;
+        return progressWriter.getPendingLearnSystem(name) != null
+                || leitnerLearnSystemRepository.getLeitnerLearnSystemByName(name) != null;
     }
 
     public LeitnerLearnSystem getLeitnerLearnSystemByName(String name) {
+        return loadLeitnerLearnSystem(name);
+    }
+
+    /**
+     * Returns the number of the Box, an indexcard is in, without loading the LeitnerLearnSystem.
+     * If the progress of the LeitnerLearnSystem is not saved yet, the Box is read from the changed
+     * LeitnerLearnSystem of the learning session instead.
+     *
+     * @param learnsystem The LeitnerLearnSystem.
+     * @param indexcardId The id of the indexcard.
+     * @return The number of the Box, starting with 0, if the indexcard is learned in the LeitnerLearnSystem.
+     */
+    public Optional<Integer> getBoxNumber(LeitnerLearnSystem learnsystem, long indexcardId) {
+        return progressWriter.read(() -> {
+            final LeitnerLearnSystem pending = progressWriter.getPendingLearnSystem(learnsystem.getName());
+            if (pending != null) {
+                return Optional.ofNullable(pending.getBoxNumber(indexcardId));
+            }
+            return leitnerLearnSystemRepository.getBoxNumber(learnsystem.getId(), indexcardId);
+        });
+    }
+
+    /**
+     * Loads a LeitnerLearnSystem. If its progress is not saved yet, the changed LeitnerLearnSystem of the
+     * learning session is returned, so the queued progress does not have to be saved first.
+     * If its boxes were stored as lists of names by an old version,
+     * the LeitnerCards are created from them first, with the ids of the named indexcards.
+     *
+     * @param name The name of the LeitnerLearnSystem.
+     * @return The LeitnerLearnSystem or null, if it does not exist.
+     */
+    private LeitnerLearnSystem loadLeitnerLearnSystem(String name) {
+        final LeitnerLearnSystem pending = progressWriter.getPendingLearnSystem(name);
+        if (pending != null) {
+            return pending;
+        }
+        final LeitnerLearnSystem learnSystem = leitnerLearnSystemRepository.getLeitnerLearnSystemByName(name);
+        if (learnSystem == null || !learnSystem.hasLegacyBoxes()) {
+            return learnSystem;
+        }
+        final Map<String, Long> indexcardIds = indexcardRepository.getIndexcardIdsByName();
+        leitnerLearnSystemRepository.updateLearnSystem(learnSystem.getId(), legacy -> legacy.migrateLegacyBoxes(indexcardIds));
         return leitnerLearnSystemRepository.getLeitnerLearnSystemByName(name);
     }
 
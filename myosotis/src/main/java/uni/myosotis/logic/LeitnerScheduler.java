@@ -0,0 +1,235 @@
+package uni.myosotis.logic;
+
+import uni.myosotis.objects.Box;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.LeitnerCard;
+import uni.myosotis.objects.LeitnerLearnSystem;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Schedules the Indexcards of a learning session of a Leitner-Learnsystem by their due time.
+ * <p>
+ * Every Indexcard gets a due time, when it is answered: the time of the answer plus the interval
+ * of the Box, the Indexcard was moved to. The interval doubles with every Box, starting with one day
+ * in the first Box. Indexcards that were never answered are due immediately. If the Learnsystem uses
+ * another {@link LearnSystem}, like SM-2 or FSRS, the algorithm calculates the due time instead,
+ * and the Boxes only show how well the Indexcards are known.
+ * <p>
+ * Every Box keeps its Indexcards ordered by their due time, see
+ * {@link LeitnerLearnSystem#getCardsByDueTime(int)}. The Boxes of a session are merged with a heap,
+ * that only holds the next chunk of due Indexcards of every Box. The chunk of a Box is loaded, when the
+ * Indexcards of its last chunk were all taken, so starting a session never looks at Indexcards,
+ * that are not due, nor at all due Indexcards at once. Taking the next Indexcard costs O(log n).
+ */
+public class LeitnerScheduler {
+
+    /**
+     * The interval of the first Box.
+     */
+    static final Duration FIRST_INTERVAL = Duration.ofDays(1);
+
+    /**
+     * The number of due Indexcards, that are taken from a Box at once.
+     */
+    static final int CHUNK_SIZE = 64;
+
+    private final LeitnerLearnSystem learnSystem;
+    private final Clock clock;
+    private final LearnSystemStates states;
+    private final Comparator<Long> order;
+    private final long startedAt;
+    private final BoxCursor[] cursors;
+    private final PriorityQueue<DueIndexcard> dueIndexcards;
+    private final int dueCount;
+
+    /**
+     * Creates the schedule of a session with all Indexcards of the given Boxes that are due now.
+     * Indexcards with the same due time are ordered by the given order, or else by their order in the Boxes.
+     *
+     * @param learnSystem The Learnsystem, that is learned.
+     * @param boxes       The Boxes, whose Indexcards should be learned.
+     * @param order       The order of Indexcards with the same due time, null for the order in the Boxes.
+     * @param clock       The clock, that gives the current time.
+     */
+    public LeitnerScheduler(LeitnerLearnSystem learnSystem, List<Box> boxes, Comparator<Long> order, Clock clock) {
+        this(learnSystem, null, boxes, order, clock);
+    }
+
+    /**
+     * Creates the schedule of a session with all Indexcards of the given Boxes that are due now.
+     * Indexcards with the same due time are ordered by the given order, or else by their order in the Boxes.
+     *
+     * @param learnSystem The Learnsystem, that is learned.
+     * @param states      The states of the algorithm, that sets the due times, null for the intervals of the Boxes.
+     * @param boxes       The Boxes, whose Indexcards should be learned.
+     * @param order       The order of Indexcards with the same due time, null for the order in the Boxes.
+     * @param clock       The clock, that gives the current time.
+     */
+    public LeitnerScheduler(LeitnerLearnSystem learnSystem, LearnSystemStates states, List<Box> boxes,
+                            Comparator<Long> order, Clock clock) {
+        this.learnSystem = learnSystem;
+        this.states = states;
+        this.clock = clock;
+        this.order = order;
+        this.startedAt = clock.millis();
+        Comparator<DueIndexcard> comparator = Comparator.comparingLong(DueIndexcard::dueTime);
+        if (order != null) {
+            comparator = comparator.thenComparing(DueIndexcard::id, order);
+        }
+        comparator = comparator.thenComparingInt(DueIndexcard::box).thenComparingLong(DueIndexcard::position);
+        this.dueIndexcards = new PriorityQueue<>(comparator);
+        this.cursors = new BoxCursor[boxes.size()];
+        final LeitnerCard lastDue = LeitnerCard.key(startedAt, Long.MAX_VALUE, Long.MAX_VALUE);
+        int dueCount = 0;
+        for (int i = 0; i < boxes.size(); i++) {
+            final int boxNumber = learnSystem.getBoxes().indexOf(boxes.get(i));
+            cursors[i] = new BoxCursor(boxNumber < 0 ? null : learnSystem.getCardsByDueTime(boxNumber));
+            if (cursors[i].cards != null) {
+                dueCount += cursors[i].cards.headSet(lastDue, true).size();
+                expand(i);
+            }
+        }
+        this.dueCount = dueCount;
+    }
+
+    /**
+     * Returns the interval of a Box, after which its Indexcards are due again.
+     *
+     * @param boxNumber The number of the Box, starting with 0.
+     * @return The interval of the Box.
+     */
+    public static Duration getInterval(int boxNumber) {
+        return FIRST_INTERVAL.multipliedBy(1L << Math.min(boxNumber, 30));
+    }
+
+    /**
+     * Returns an order, that mixes the Indexcards randomly, but stays the same during the session.
+     *
+     * @return The random order of the ids of the Indexcards.
+     */
+    public static Comparator<Long> randomOrder() {
+        final int seed = new Random().nextInt();
+        return Comparator.comparingInt(id -> Integer.rotateLeft(Long.hashCode(id) * 0x9E3779B9, 16) ^ seed);
+    }
+
+    /**
+     * Returns the number of Indexcards, that were due when the session started.
+     *
+     * @return The number of due Indexcards.
+     */
+    public int getDueCount() {
+        return dueCount;
+    }
+
+    /**
+     * Returns if there are due Indexcards left in this session.
+     *
+     * @return True, if there is a next Indexcard.
+     */
+    public boolean hasNext() {
+        return !dueIndexcards.isEmpty();
+    }
+
+    /**
+     * Removes and returns the id of the Indexcard, that has been due for the longest time.
+     *
+     * @return The id of the next Indexcard.
+     * @throws NoSuchElementException If no Indexcard is left.
+     */
+    public long next() {
+        final DueIndexcard next = dueIndexcards.poll();
+        if (next == null) {
+            throw new NoSuchElementException("No Indexcard is due anymore");
+        }
+        if (--cursors[next.box()].queued == 0) {
+            expand(next.box());
+        }
+        return next.id();
+    }
+
+    /**
+     * Puts the next chunk of due Indexcards of a Box into the heap. With an order, all Indexcards with the
+     * same due time are taken together, because the order decides between them and not their position.
+     */
+    private void expand(int box) {
+        final BoxCursor cursor = cursors[box];
+        final NavigableSet<LeitnerCard> cards = cursor.last == null ? cursor.cards : cursor.cards.tailSet(cursor.last, false);
+        int added = 0;
+        for (LeitnerCard card : cards) {
+            if (card.getDueTime() > startedAt
+                    || added >= CHUNK_SIZE && (order == null || card.getDueTime() != cursor.last.getDueTime())) {
+                break;
+            }
+            dueIndexcards.add(new DueIndexcard(card.getIndexcardId(), card.getDueTime(), box, card.getPositionInBox()));
+            // Answered Indexcards change their key, so the cursor keeps a copy.
+            cursor.last = LeitnerCard.key(card.getDueTime(), card.getPositionInBox(), card.getIndexcardId());
+            added++;
+        }
+        cursor.queued = added;
+    }
+
+    /**
+     * Moves an answered Indexcard to the next or the previous Box and sets its due time by
+     * the interval of the new Box, or by the algorithm of the Learnsystem.
+     *
+     * @param indexcard The answered Indexcard.
+     * @param correct   True, if the answer was correct.
+     * @return The new due time of the Indexcard in milliseconds.
+     */
+    public long answer(Indexcard indexcard, boolean correct) {
+        if (correct) {
+            learnSystem.correctAnswer(indexcard);
+        } else {
+            learnSystem.wrongAnswer(indexcard);
+        }
+        final long now = clock.millis();
+        final long dueTime;
+        if (states == null) {
+            final Integer boxNumber = learnSystem.getBoxNumber(indexcard.getId());
+            dueTime = now + getInterval(boxNumber == null ? 0 : boxNumber).toMillis();
+        } else {
+            dueTime = states.review(indexcard.getId(), correct ? LearnSystem.GOOD : LearnSystem.AGAIN, now);
+        }
+        learnSystem.setDueTime(indexcard.getId(), dueTime);
+        return dueTime;
+    }
+
+    /**
+     * An Indexcard in the heap of the due Indexcards.
+     *
+     * @param id       The id of the Indexcard.
+     * @param dueTime  The due time in milliseconds.
+     * @param box      The index of the Box in the session.
+     * @param position The position in the Box, decides with the Box if everything else is equal.
+     */
+    private record DueIndexcard(long id, long dueTime, int box, long position) {
+    }
+
+    /**
+     * The position of the session in the due Indexcards of a Box.
+     */
+    private static final class BoxCursor {
+
+        /**
+         * The Indexcards of the Box by their due time, null if the Box is not in the Learnsystem.
+         */
+        private final NavigableSet<LeitnerCard> cards;
+
+        /**
+         * The key of the last Indexcard, that was put into the heap.
+         */
+        private LeitnerCard last;
+
+        /**
+         * The number of Indexcards of the Box, that are in the heap.
+         */
+        private int queued;
+
+        private BoxCursor(NavigableSet<LeitnerCard> cards) {
+            this.cards = cards;
+        }
+    }
+}
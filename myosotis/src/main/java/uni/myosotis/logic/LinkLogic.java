@@ -2,9 +2,16 @@ package uni.myosotis.logic;
 
 import uni.myosotis.objects.Indexcard;
 import uni.myosotis.objects.Link;
+import uni.myosotis.objects.LinkSuggestion;
+import uni.myosotis.persistence.IndexcardRepository;
 import uni.myosotis.persistence.LinkRepository;
+import uni.myosotis.persistence.Repositories;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The logic for the Links
@@ -16,11 +23,27 @@ public class LinkLogic {
      */
     private final LinkRepository linkRepository;
 
+    /**
+     * The repository for the Indexcards, that are scanned for the proposed Links.
+     */
+    private final IndexcardRepository indexcardRepository;
+
+    /**
+     * Proposes Links for the whole deck and keeps the occurrences between two calls of suggestLinks.
+     */
+    private final LinkSuggestionEngine linkSuggestionEngine = new LinkSuggestionEngine();
+
+    /**
+     * The ids of the Indexcards, that were changed since the last call of suggestLinks.
+     */
+    private final Set<Long> changedIndexcards = ConcurrentHashMap.newKeySet();
+
     /**
      * Creates a new LinkLogic.
      */
     public LinkLogic() {
-        this.linkRepository = new LinkRepository();
+        this.linkRepository = Repositories.linkRepository();
+        this.indexcardRepository = Repositories.indexcardRepository();
     }
 
     /**
@@ -45,6 +68,16 @@ public class LinkLogic {
         linkRepository.delete(link);
     }
 
+    /**
+     * Deletes existing Links from the persistence storage at once.
+     * The Links must not be contained by an Indexcard anymore.
+     *
+     * @param links The links that should be deleted.
+     */
+    public void deleteLinks(final Collection<Link> links) {
+        linkRepository.deleteLinks(links);
+    }
+
     /**
      * Returns a list of all Links saved in the persistence storage.
      *
@@ -89,12 +122,48 @@ public class LinkLogic {
 
     /**
      * Deletes all Links saved in the persistence storage that are linked with a specific Indexcard.
+     * The Links are removed from the Indexcards that contain them, the other Indexcards are not changed.
+     * The Indexcards, that contained the Links, are marked as changed for the proposed Links.
      *
      * @param indexcard The specific Indexcard.
      */
     public void deleteLinksByIndexcard(final Indexcard indexcard) {
-        for (Link link : getLinksByIndexcard(indexcard)) {
-            deleteLink(link);
-        }
+        linkRepository.deleteLinksToIndexcard(indexcard).forEach(this::indexcardChanged);
+    }
+
+    /**
+     * Deletes all Links, that are linked with or contained by the given Indexcards, with a fixed number
+     * of statements. The Links are removed from the other Indexcards that contain them, these Indexcards
+     * are marked as changed for the proposed Links.
+     *
+     * @param indexcardIds The ids of the Indexcards.
+     */
+    public void deleteLinksOfIndexcards(final Collection<Long> indexcardIds) {
+        linkRepository.deleteLinksOfIndexcards(indexcardIds).forEach(this::indexcardChanged);
+    }
+
+    /**
+     * Marks an Indexcard as changed, so its question and answer are scanned again by the next call of
+     * suggestLinks. Created and deleted Indexcards are found by suggestLinks itself.
+     *
+     * @param indexcardId The id of the changed Indexcard.
+     */
+    public void indexcardChanged(final Long indexcardId) {
+        changedIndexcards.add(indexcardId);
+    }
+
+    /**
+     * Proposes Links for the whole deck, where the question or answer of an Indexcard contains the name
+     * of another Indexcard or the term of an existing Link. Only the Indexcards, that were created or
+     * changed since the last call, are scanned again.
+     *
+     * @return The proposed Links, the most frequent first.
+     */
+    public List<LinkSuggestion> suggestLinks() {
+        final List<Long> changed = new ArrayList<>(changedIndexcards);
+        changed.forEach(changedIndexcards::remove);
+        linkSuggestionEngine.refresh(indexcardRepository.getIndexcardIdsByName(), linkRepository.getIndexcardIdsByLinkTerm(),
+                changed, indexcardRepository::getIndexcardsByIds);
+        return linkSuggestionEngine.getSuggestions();
     }
 }
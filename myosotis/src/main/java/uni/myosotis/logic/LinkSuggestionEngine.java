@@ -0,0 +1,235 @@
+package uni.myosotis.logic;
+
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.Link;
+import uni.myosotis.objects.LinkSuggestion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Proposes Links for the whole deck. The names of all Indexcards and the terms of all existing Links are
+ * compiled into one automaton, that finds them in the questions and answers of the Indexcards.
+ * <p>
+ * The Indexcards are loaded in chunks of LOAD_CHUNK_SIZE and every chunk is scanned in parallel with
+ * fork/join. The occurrences of every Indexcard are kept, so a refresh only scans the Indexcards, that were
+ * created or changed since. If terms were added, the other Indexcards are only scanned for the added terms.
+ * Occurrences of removed terms are dropped without a scan.
+ */
+public final class LinkSuggestionEngine {
+
+    /**
+     * The minimal length of a term, shorter names match too many words.
+     */
+    static final int MIN_TERM_LENGTH = 3;
+
+    /**
+     * The number of Indexcards, that are loaded at once.
+     */
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    /**
+     * The number of Indexcards, that are scanned by one fork/join task.
+     */
+    private static final int SCAN_CHUNK_SIZE = 64;
+
+    /**
+     * The occurrences in one Indexcard.
+     *
+     * @param occurrences The number of occurrences of every term, as it is written in the Indexcard.
+     * @param linkedTerms The terms of the Links of the Indexcard, in lower case.
+     */
+    private record ScannedIndexcard(Map<String, Integer> occurrences, Set<String> linkedTerms) {
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * The ids of the Indexcards, that every term would be linked with, by the term in lower case.
+     */
+    private Map<String, Set<Long>> targetsByTerm = new HashMap<>();
+
+    /**
+     * The automaton of all terms, built again only if terms were added or removed.
+     */
+    private TermAutomaton automaton;
+
+    /**
+     * The occurrences of the scanned Indexcards by their ids.
+     */
+    private final Map<Long, ScannedIndexcard> scannedIndexcards = new HashMap<>();
+
+    /**
+     * Creates a new LinkSuggestionEngine, that scans with the common fork/join pool.
+     */
+    public LinkSuggestionEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new LinkSuggestionEngine.
+     *
+     * @param pool The pool, the Indexcards are scanned with.
+     */
+    LinkSuggestionEngine(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Brings the occurrences up to date with the deck. Indexcards, that are not in the deck anymore, are dropped.
+     *
+     * @param indexcardIdsByName     The ids of all Indexcards by their names.
+     * @param indexcardIdsByLinkTerm The ids of the linked Indexcards by the terms of all Links.
+     * @param changedIds             The ids of the Indexcards, that were changed since the last refresh.
+     * @param loader                 Loads the Indexcards with the given ids, with their Links.
+     * @return The number of scanned Indexcards.
+     * @throws RuntimeException If the loader fails, then the next refresh scans all Indexcards.
+     */
+    public synchronized int refresh(final Map<String, Long> indexcardIdsByName,
+                                    final Map<String, Set<Long>> indexcardIdsByLinkTerm,
+                                    final Collection<Long> changedIds,
+                                    final Function<List<Long>, List<Indexcard>> loader) {
+        final Map<String, Set<Long>> targets = new HashMap<>();
+        indexcardIdsByName.forEach((name, id) -> addTarget(targets, name, id));
+        indexcardIdsByLinkTerm.forEach((term, ids) -> ids.forEach(id -> addTarget(targets, term, id)));
+        final Set<String> addedTerms = new HashSet<>(targets.keySet());
+        addedTerms.removeAll(targetsByTerm.keySet());
+        final Set<String> removedTerms = new HashSet<>(targetsByTerm.keySet());
+        removedTerms.removeAll(targets.keySet());
+        targetsByTerm = targets;
+        if (automaton == null || !addedTerms.isEmpty() || !removedTerms.isEmpty()) {
+            automaton = new TermAutomaton(new ArrayList<>(targets.keySet()), true);
+        }
+
+        final Set<Long> indexcardIds = new HashSet<>(indexcardIdsByName.values());
+        scannedIndexcards.keySet().retainAll(indexcardIds);
+        changedIds.forEach(scannedIndexcards::remove);
+        if (!removedTerms.isEmpty()) {
+            for (ScannedIndexcard scanned : scannedIndexcards.values()) {
+                scanned.occurrences().keySet().removeIf(term -> removedTerms.contains(TermAutomaton.fold(term)));
+            }
+        }
+        final Set<Long> unscannedIds = new LinkedHashSet<>(indexcardIds);
+        unscannedIds.removeAll(scannedIndexcards.keySet());
+        final List<Long> scannedIds = addedTerms.isEmpty() ? List.of() : new ArrayList<>(scannedIndexcards.keySet());
+
+        try {
+            scan(new ArrayList<>(unscannedIds), automaton, loader);
+            if (!scannedIds.isEmpty()) {
+                scan(scannedIds, new TermAutomaton(new ArrayList<>(addedTerms), true), loader);
+            }
+        } catch (RuntimeException e) {
+            // Some Indexcards could miss the added terms, so all Indexcards are scanned with the next refresh.
+            scannedIndexcards.clear();
+            throw e;
+        }
+        return unscannedIds.size() + scannedIds.size();
+    }
+
+    /**
+     * Returns the proposed Links. A term is not proposed for an Indexcard, that has a Link with this term
+     * already, or that would be linked with itself.
+     *
+     * @return The proposed Links, the most frequent first.
+     */
+    public synchronized List<LinkSuggestion> getSuggestions() {
+        final List<LinkSuggestion> suggestions = new ArrayList<>();
+        scannedIndexcards.forEach((indexcardId, scanned) -> scanned.occurrences().forEach((term, occurrences) -> {
+            final String foldedTerm = TermAutomaton.fold(term);
+            if (scanned.linkedTerms().contains(foldedTerm)) {
+                return;
+            }
+            for (Long targetId : targetsByTerm.getOrDefault(foldedTerm, Set.of())) {
+                if (!targetId.equals(indexcardId)) {
+                    suggestions.add(new LinkSuggestion(indexcardId, term, targetId, occurrences));
+                }
+            }
+        }));
+        suggestions.sort(Comparator.comparingInt(LinkSuggestion::occurrences).reversed()
+                .thenComparing(LinkSuggestion::indexcardId)
+                .thenComparing(LinkSuggestion::term)
+                .thenComparing(LinkSuggestion::targetId));
+        return suggestions;
+    }
+
+    private static void addTarget(final Map<String, Set<Long>> targets, final String term, final Long id) {
+        if (term != null && term.length() >= MIN_TERM_LENGTH && id != null) {
+            targets.computeIfAbsent(TermAutomaton.fold(term), key -> new HashSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Scans the Indexcards for the terms and adds the occurrences to the occurrences, that were found before.
+     */
+    private void scan(final List<Long> ids, final TermAutomaton automaton, final Function<List<Long>, List<Indexcard>> loader) {
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            final List<Indexcard> indexcards = loader.apply(ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size())));
+            final ScannedIndexcard[] scanned = new ScannedIndexcard[indexcards.size()];
+            pool.invoke(new ScanTask(automaton, indexcards, scanned, 0, indexcards.size()));
+            for (int i = 0; i < scanned.length; i++) {
+                final ScannedIndexcard before = scannedIndexcards.putIfAbsent(indexcards.get(i).getId(), scanned[i]);
+                if (before != null) {
+                    scanned[i].occurrences().forEach((term, count) -> before.occurrences().merge(term, count, Integer::sum));
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans a range of Indexcards, ranges larger than SCAN_CHUNK_SIZE are split in halves.
+     */
+    private static final class ScanTask extends RecursiveAction {
+
+        private final TermAutomaton automaton;
+        private final List<Indexcard> indexcards;
+        private final ScannedIndexcard[] scanned;
+        private final int from;
+        private final int to;
+
+        ScanTask(final TermAutomaton automaton, final List<Indexcard> indexcards, final ScannedIndexcard[] scanned,
+                 final int from, final int to) {
+            this.automaton = automaton;
+            this.indexcards = indexcards;
+            this.scanned = scanned;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SCAN_CHUNK_SIZE) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ScanTask(automaton, indexcards, scanned, from, middle),
+                        new ScanTask(automaton, indexcards, scanned, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                final Indexcard indexcard = indexcards.get(i);
+                final Map<String, Integer> occurrences = new HashMap<>();
+                for (String text : new String[]{indexcard.getQuestion(), indexcard.getAnswer()}) {
+                    if (text != null) {
+                        automaton.match(text, true, (start, end, term) ->
+                                occurrences.merge(text.substring(start, end), 1, Integer::sum));
+                    }
+                }
+                final Set<String> linkedTerms = new HashSet<>();
+                for (Link link : indexcard.getLinks()) {
+                    if (link.getTerm() != null) {
+                        linkedTerms.add(TermAutomaton.fold(link.getTerm()));
+                    }
+                }
+                scanned[i] = new ScannedIndexcard(occurrences, linkedTerms);
+            }
+        }
+    }
+}
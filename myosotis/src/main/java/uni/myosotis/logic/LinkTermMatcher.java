@@ -0,0 +1,109 @@
+package uni.myosotis.logic;
+
+import uni.myosotis.objects.Link;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds the terms of the Links of an Indexcard in a text, like the question or the answer of the Indexcard.
+ * <p>
+ * The terms are compiled once into an Aho-Corasick automaton, so all terms are found with one pass over
+ * the text, whatever the number of Links. Overlapping occurrences are resolved from left to right, the longest
+ * term at the same start wins. The found spans are sorted by their start, so the Links at a position of the
+ * text, like the position of a mouse click, are found with a binary search.
+ */
+public final class LinkTermMatcher {
+
+    /**
+     * An occurrence of a term in a text.
+     *
+     * @param start The index of the first character of the term.
+     * @param end   The index after the last character of the term.
+     * @param links The Links with this term, at least one.
+     */
+    public record Span(int start, int end, List<Link> links) {
+    }
+
+    /**
+     * The Links of every term, in the order of the terms.
+     */
+    private final List<List<Link>> links = new ArrayList<>();
+
+    /**
+     * The automaton of the terms.
+     */
+    private final TermAutomaton automaton;
+
+    /**
+     * Compiles the terms of the Links. Links without a term are skipped, Links with the same term share it.
+     *
+     * @param links The Links of an Indexcard.
+     */
+    public LinkTermMatcher(final Collection<Link> links) {
+        final Map<String, List<Link>> linksByTerm = new LinkedHashMap<>();
+        for (Link link : links) {
+            if (link.getTerm() != null && !link.getTerm().isEmpty()) {
+                linksByTerm.computeIfAbsent(link.getTerm(), term -> new ArrayList<>()).add(link);
+            }
+        }
+        for (List<Link> linksOfTerm : linksByTerm.values()) {
+            this.links.add(Collections.unmodifiableList(linksOfTerm));
+        }
+        this.automaton = new TermAutomaton(new ArrayList<>(linksByTerm.keySet()), false);
+    }
+
+    /**
+     * Returns true, if there is no term to find.
+     *
+     * @return True, if no Link has a term.
+     */
+    public boolean isEmpty() {
+        return links.isEmpty();
+    }
+
+    /**
+     * Finds the terms in the text with one pass over it. Overlapping occurrences are resolved from left
+     * to right, the longest term at the same start wins.
+     *
+     * @param text The text.
+     * @return The occurrences of the terms, sorted by their start and not overlapping.
+     */
+    public List<Span> match(final String text) {
+        final List<Span> spans = new ArrayList<>();
+        if (text == null || isEmpty()) {
+            return spans;
+        }
+        automaton.match(text, false, (start, end, term) -> spans.add(new Span(start, end, links.get(term))));
+        return spans;
+    }
+
+    /**
+     * Returns the occurrence at a position of the text, without searching the text again.
+     *
+     * @param spans  The occurrences in the text, as returned by {@link #match(String)}.
+     * @param offset The position in the text.
+     * @return The occurrence, that contains the position, or empty.
+     */
+    public static Optional<Span> spanAt(final List<Span> spans, final int offset) {
+        int low = 0;
+        int high = spans.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final Span span = spans.get(middle);
+            if (offset < span.start()) {
+                high = middle - 1;
+            } else if (offset >= span.end()) {
+                low = middle + 1;
+            } else {
+                return Optional.of(span);
+            }
+        }
+        return Optional.empty();
+    }
+}
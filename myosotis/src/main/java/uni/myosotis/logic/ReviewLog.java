@@ -0,0 +1,107 @@
+package uni.myosotis.logic;
+
+import java.util.Arrays;
+
+/**
+ * The reviews of a list of Indexcards, stored column by column in growing primitive arrays.
+ * The Indexcards are addressed by their position in the list, like in {@link LearnStates}.
+ */
+public class ReviewLog {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private int[] cards = new int[INITIAL_CAPACITY];
+    private byte[] grades = new byte[INITIAL_CAPACITY];
+    private long[] times = new long[INITIAL_CAPACITY];
+
+    /** False, if a review was added with an earlier time than the review before. */
+    private boolean sorted = true;
+
+    /**
+     * Adds a review.
+     *
+     * @param card  The position of the Indexcard.
+     * @param grade The grade of the answer, from {@link LearnSystem#AGAIN} to {@link LearnSystem#EASY}.
+     * @param time  The time of the review in milliseconds.
+     */
+    public void add(int card, int grade, long time) {
+        LearnSystem.checkGrade(grade);
+        if (size == cards.length) {
+            final int capacity = size + (size >> 1);
+            cards = Arrays.copyOf(cards, capacity);
+            grades = Arrays.copyOf(grades, capacity);
+            times = Arrays.copyOf(times, capacity);
+        }
+        if (size > 0 && time < times[size - 1]) {
+            sorted = false;
+        }
+        cards[size] = card;
+        grades[size] = (byte) grade;
+        times[size] = time;
+        size++;
+    }
+
+    /**
+     * Returns the number of reviews.
+     *
+     * @return The number of reviews.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getCard(int review) {
+        return cards[review];
+    }
+
+    public int getGrade(int review) {
+        return grades[review];
+    }
+
+    public long getTime(int review) {
+        return times[review];
+    }
+
+    /**
+     * Sorts the reviews by their time. Reviews with the same time keep their order.
+     * Does nothing, if the reviews were added in the order of their time.
+     */
+    public void sortByTime() {
+        if (sorted) {
+            return;
+        }
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Stable bottom-up merge sort of the positions, so no boxed comparator is needed.
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int left = 0; left < size; left += 2 * width) {
+                final int middle = Math.min(left + width, size);
+                final int right = Math.min(left + 2 * width, size);
+                int i = left;
+                int j = middle;
+                for (int k = left; k < right; k++) {
+                    buffer[k] = i < middle && (j >= right || times[order[i]] <= times[order[j]]) ? order[i++] : order[j++];
+                }
+            }
+            final int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        final int[] sortedCards = new int[cards.length];
+        final byte[] sortedGrades = new byte[grades.length];
+        final long[] sortedTimes = new long[times.length];
+        for (int k = 0; k < size; k++) {
+            sortedCards[k] = cards[order[k]];
+            sortedGrades[k] = grades[order[k]];
+            sortedTimes[k] = times[order[k]];
+        }
+        cards = sortedCards;
+        grades = sortedGrades;
+        times = sortedTimes;
+        sorted = true;
+    }
+}
@@ -0,0 +1,155 @@
+package uni.myosotis.logic;
+
+import uni.myosotis.persistence.ReviewColumns;
+
+import java.util.Arrays;
+
+/**
+ * Statistics of the review events of a Learnsystem, per Indexcard and per Box.
+ * <p>
+ * The statistics are computed in one pass over the columns of the events. Because the events are
+ * ordered by the id of the Indexcard, the events of one Indexcard are next to each other and every
+ * Indexcard needs only one slot in the result arrays. An Indexcard is found by binary search.
+ * An answer counts as remembered, if its grade is at least {@link LearnSystem#HARD}.
+ */
+public class ReviewStatistics {
+
+    private final long[] indexcardIds;
+    private final int[] indexcardReviews;
+    private final int[] indexcardRemembered;
+    private final long[] lastReviewTimes;
+
+    private final int[] boxReviews;
+    private final int[] boxRemembered;
+    private final long[] boxResponseTimes;
+
+    /**
+     * Computes the statistics of the given review events.
+     *
+     * @param columns The review events, ordered by the id of the Indexcard.
+     */
+    public ReviewStatistics(ReviewColumns columns) {
+        final int size = columns.size();
+        long[] ids = new long[16];
+        int[] reviews = new int[16];
+        int[] remembered = new int[16];
+        long[] lastReviews = new long[16];
+        int[] perBoxReviews = new int[8];
+        int[] perBoxRemembered = new int[8];
+        long[] perBoxResponseTimes = new long[8];
+        int cards = 0;
+        for (int row = 0; row < size; row++) {
+            final long indexcardId = columns.getIndexcardId(row);
+            if (cards == 0 || ids[cards - 1] != indexcardId) {
+                if (cards == ids.length) {
+                    final int capacity = cards * 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    reviews = Arrays.copyOf(reviews, capacity);
+                    remembered = Arrays.copyOf(remembered, capacity);
+                    lastReviews = Arrays.copyOf(lastReviews, capacity);
+                }
+                ids[cards++] = indexcardId;
+            }
+            final boolean correct = columns.getGrade(row) >= LearnSystem.HARD;
+            final int card = cards - 1;
+            reviews[card]++;
+            if (correct) {
+                remembered[card]++;
+            }
+            lastReviews[card] = Math.max(lastReviews[card], columns.getReviewTime(row));
+            final int box = Math.max(0, columns.getSourceBox(row));
+            if (box >= perBoxReviews.length) {
+                final int capacity = Math.max(box + 1, perBoxReviews.length * 2);
+                perBoxReviews = Arrays.copyOf(perBoxReviews, capacity);
+                perBoxRemembered = Arrays.copyOf(perBoxRemembered, capacity);
+                perBoxResponseTimes = Arrays.copyOf(perBoxResponseTimes, capacity);
+            }
+            perBoxReviews[box]++;
+            if (correct) {
+                perBoxRemembered[box]++;
+            }
+            perBoxResponseTimes[box] += columns.getResponseTime(row);
+        }
+        this.indexcardIds = Arrays.copyOf(ids, cards);
+        this.indexcardReviews = Arrays.copyOf(reviews, cards);
+        this.indexcardRemembered = Arrays.copyOf(remembered, cards);
+        this.lastReviewTimes = Arrays.copyOf(lastReviews, cards);
+        this.boxReviews = perBoxReviews;
+        this.boxRemembered = perBoxRemembered;
+        this.boxResponseTimes = perBoxResponseTimes;
+    }
+
+    /**
+     * Returns the number of reviewed Indexcards.
+     *
+     * @return The number of Indexcards with at least one review.
+     */
+    public int getIndexcardCount() {
+        return indexcardIds.length;
+    }
+
+    /**
+     * Returns the number of reviews of an Indexcard.
+     *
+     * @param indexcardId The id of the Indexcard.
+     * @return The number of reviews, 0 if it was never reviewed.
+     */
+    public int getReviews(long indexcardId) {
+        final int card = Arrays.binarySearch(indexcardIds, indexcardId);
+        return card < 0 ? 0 : indexcardReviews[card];
+    }
+
+    /**
+     * Returns the share of the reviews of an Indexcard, in which it was remembered.
+     *
+     * @param indexcardId The id of the Indexcard.
+     * @return The retention between 0 and 1, NaN if it was never reviewed.
+     */
+    public double getRetention(long indexcardId) {
+        final int card = Arrays.binarySearch(indexcardIds, indexcardId);
+        return card < 0 ? Double.NaN : (double) indexcardRemembered[card] / indexcardReviews[card];
+    }
+
+    /**
+     * Returns the time of the last review of an Indexcard.
+     *
+     * @param indexcardId The id of the Indexcard.
+     * @return The time in milliseconds, 0 if it was never reviewed.
+     */
+    public long getLastReviewTime(long indexcardId) {
+        final int card = Arrays.binarySearch(indexcardIds, indexcardId);
+        return card < 0 ? 0 : lastReviewTimes[card];
+    }
+
+    /**
+     * Returns the number of answers to Indexcards, that were in the Box.
+     *
+     * @param box The number of the Box, starting with 0.
+     * @return The number of reviews.
+     */
+    public int getBoxReviews(int box) {
+        return box < boxReviews.length ? boxReviews[box] : 0;
+    }
+
+    /**
+     * Returns the share of the answers to Indexcards in the Box, in which they were remembered.
+     *
+     * @param box The number of the Box, starting with 0.
+     * @return The retention between 0 and 1, NaN if there are no reviews.
+     */
+    public double getBoxRetention(int box) {
+        final int reviews = getBoxReviews(box);
+        return reviews == 0 ? Double.NaN : (double) boxRemembered[box] / reviews;
+    }
+
+    /**
+     * Returns the average time of the answers to Indexcards in the Box.
+     *
+     * @param box The number of the Box, starting with 0.
+     * @return The average response time in milliseconds, NaN if there are no reviews.
+     */
+    public double getBoxResponseTime(int box) {
+        final int reviews = getBoxReviews(box);
+        return reviews == 0 ? Double.NaN : (double) boxResponseTimes[box] / reviews;
+    }
+}
@@ -0,0 +1,64 @@
+package uni.myosotis.logic;
+
+/**
+ * The SM-2 algorithm of SuperMemo.
+ * <p>
+ * Every Indexcard has an ease factor, starting with 2.5. After one and two correct answers in a row
+ * the Indexcard is due after one and six days, afterwards the last interval is multiplied with the
+ * ease factor. A wrong answer starts the repetitions again.
+ */
+public class Sm2Algorithm implements LearnSystem {
+
+    public static final String NAME = "SM-2";
+
+    static final float INITIAL_EASE = 2.5f;
+    static final float MINIMUM_EASE = 1.3f;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void review(LearnStates states, int card, int grade, long time) {
+        LearnSystem.checkGrade(grade);
+        if (states.isNew(card)) {
+            states.setDifficulty(card, INITIAL_EASE);
+        }
+        final int quality = toQuality(grade);
+        final float ease = states.getDifficulty(card);
+        states.setDifficulty(card, Math.max(MINIMUM_EASE,
+                ease + (0.1f - (5 - quality) * (0.08f + (5 - quality) * 0.02f))));
+        final float interval;
+        if (quality < 3) {
+            states.setRepetitions(card, 0);
+            states.setLapses(card, states.getLapses(card) + 1);
+            interval = 1;
+        } else {
+            final int repetitions = states.getRepetitions(card);
+            if (repetitions == 0) {
+                interval = 1;
+            } else if (repetitions == 1) {
+                interval = 6;
+            } else {
+                interval = Math.round(states.getStability(card) * ease);
+            }
+            states.setRepetitions(card, repetitions + 1);
+        }
+        states.setStability(card, interval);
+        states.setLastReview(card, time);
+        states.setDueTime(card, time + (long) (interval * DAY));
+    }
+
+    /**
+     * Converts a grade to the quality from 0 to 5 of SM-2.
+     */
+    private static int toQuality(int grade) {
+        return switch (grade) {
+            case AGAIN -> 1;
+            case HARD -> 3;
+            case GOOD -> 4;
+            default -> 5;
+        };
+    }
+}
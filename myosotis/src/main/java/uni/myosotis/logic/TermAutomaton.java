@@ -0,0 +1,219 @@
+package uni.myosotis.logic;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * An Aho-Corasick automaton, that finds a set of terms in a text with one pass over the text.
+ * <p>
+ * The trie is built breadth-first from the sorted terms, so the transitions of every state are stored
+ * next to each other and sorted by their character. This keeps the automaton small enough for the names
+ * of all Indexcards of a deck. The automaton is not changed after it was built, so it can be used
+ * by several threads at once.
+ */
+final class TermAutomaton {
+
+    /**
+     * Receives the occurrences of the terms in a text.
+     */
+    interface Occurrences {
+
+        /**
+         * Receives an occurrence of a term.
+         *
+         * @param start The index of the first character of the term.
+         * @param end   The index after the last character of the term.
+         * @param term  The index of the term in the list, the automaton was built from.
+         */
+        void accept(int start, int end, int term);
+    }
+
+    private final boolean ignoreCase;
+
+    /**
+     * The character of the transition into every state, the root has none.
+     */
+    private final char[] labels;
+
+    /**
+     * The first child of every state, the children of a state are the states up to the first child of the next one.
+     */
+    private final int[] firstChildren;
+
+    /**
+     * The state of the longest proper suffix of every state, that is a state as well.
+     */
+    private final int[] failures;
+
+    /**
+     * The state of the longest proper suffix of every state, that is a whole term, or 0.
+     */
+    private final int[] outputs;
+
+    /**
+     * The index of the term, that ends in every state, or -1.
+     */
+    private final int[] terms;
+
+    /**
+     * The length of the prefix of every state.
+     */
+    private final int[] depths;
+
+    /**
+     * Builds the automaton of the terms.
+     *
+     * @param terms      The terms, not empty and different from each other, also if the case is ignored.
+     * @param ignoreCase True, if the case of the terms and of the text is ignored.
+     */
+    TermAutomaton(final List<String> terms, final boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        final String[] folded = terms.stream().map(term -> ignoreCase ? fold(term) : term).toArray(String[]::new);
+        final int[] order = IntStream.range(0, folded.length).boxed()
+                .sorted(Comparator.comparing(term -> folded[term]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        final int capacity = Arrays.stream(folded).mapToInt(String::length).sum() + 1;
+        // Every state covers the range of the sorted terms, that start with its prefix.
+        final int[] from = new int[capacity];
+        final int[] to = new int[capacity];
+        final char[] labels = new char[capacity];
+        final int[] firstChildren = new int[capacity + 1];
+        final int[] stateTerms = new int[capacity];
+        final int[] depths = new int[capacity];
+        to[0] = order.length;
+        int states = 1;
+        for (int state = 0; state < states; state++) {
+            firstChildren[state] = states;
+            stateTerms[state] = -1;
+            int i = from[state];
+            if (i < to[state] && folded[order[i]].length() == depths[state]) {
+                stateTerms[state] = order[i++];
+            }
+            while (i < to[state]) {
+                final char c = folded[order[i]].charAt(depths[state]);
+                int j = i + 1;
+                while (j < to[state] && folded[order[j]].charAt(depths[state]) == c) {
+                    j++;
+                }
+                from[states] = i;
+                to[states] = j;
+                labels[states] = c;
+                depths[states] = depths[state] + 1;
+                states++;
+                i = j;
+            }
+        }
+        firstChildren[states] = states;
+        this.labels = Arrays.copyOf(labels, states);
+        this.firstChildren = Arrays.copyOf(firstChildren, states + 1);
+        this.terms = Arrays.copyOf(stateTerms, states);
+        this.depths = Arrays.copyOf(depths, states);
+        this.failures = new int[states];
+        this.outputs = new int[states];
+        // The states are numbered breadth-first, so the suffixes of a state are done before the state.
+        for (int state = 0; state < states; state++) {
+            for (int child = this.firstChildren[state]; child < this.firstChildren[state + 1]; child++) {
+                if (state != 0) {
+                    int failure = failures[state];
+                    int next = transition(failure, this.labels[child]);
+                    while (next < 0 && failure != 0) {
+                        failure = failures[failure];
+                        next = transition(failure, this.labels[child]);
+                    }
+                    failures[child] = next < 0 ? 0 : next;
+                }
+                outputs[child] = this.terms[failures[child]] >= 0 ? failures[child] : outputs[failures[child]];
+            }
+        }
+    }
+
+    /**
+     * Finds the terms in the text with one pass over it. Overlapping occurrences are resolved from left
+     * to right, the longest term at the same start wins.
+     *
+     * @param text       The text.
+     * @param wholeWords True, if only occurrences are found, that are not part of a longer word.
+     * @param consumer   Receives the occurrences, sorted by their start and not overlapping.
+     */
+    void match(final CharSequence text, final boolean wholeWords, final Occurrences consumer) {
+        final int length = text.length();
+        // The length and the term of the longest term, that starts at every index.
+        final int[] longest = new int[length];
+        final int[] termAt = new int[length];
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = ignoreCase ? fold(text.charAt(i)) : text.charAt(i);
+            int next = transition(state, c);
+            while (next < 0 && state != 0) {
+                state = failures[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+            for (int found = terms[state] >= 0 ? state : outputs[state]; found != 0; found = outputs[found]) {
+                final int start = i + 1 - depths[found];
+                if (depths[found] > longest[start] && (!wholeWords || isWord(text, start, i + 1))) {
+                    longest[start] = depths[found];
+                    termAt[start] = terms[found];
+                }
+            }
+        }
+        int start = 0;
+        while (start < length) {
+            if (longest[start] > 0) {
+                consumer.accept(start, start + longest[start], termAt[start]);
+                start += longest[start];
+            } else {
+                start++;
+            }
+        }
+    }
+
+    /**
+     * Folds a term like the characters of a text, if the case is ignored. The length is not changed,
+     * so the positions of the occurrences are the positions in the text.
+     *
+     * @param term The term.
+     * @return The term in lower case.
+     */
+    static String fold(final String term) {
+        final char[] characters = term.toCharArray();
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = fold(characters[i]);
+        }
+        return new String(characters);
+    }
+
+    private static char fold(final char c) {
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * Returns true, if the characters before and after the occurrence are not letters or digits.
+     */
+    private static boolean isWord(final CharSequence text, final int start, final int end) {
+        return (start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1)))
+                && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)));
+    }
+
+    /**
+     * Returns the target of the transition of a state with a character, or -1.
+     */
+    private int transition(final int state, final char c) {
+        int low = firstChildren[state];
+        int high = firstChildren[state + 1] - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (labels[middle] < c) {
+                low = middle + 1;
+            } else if (labels[middle] > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,12 +1,10 @@
 package uni.myosotis.objects;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This class represents a box of indexcards.
@@ -21,7 +19,20 @@ public class Box {
 
     private String name;
 
-    List<String> indexcardNames = new ArrayList<>();
+    /**
+     * The ids of the indexcards in the order they were added. Only a view of the
+     * LeitnerCards of the LeitnerLearnSystem, which store the box of every indexcard.
+     * A linked set, so an indexcard is found and removed without going through the box.
+     */
+    @Transient
+    private final Set<Long> indexcardIds = new LinkedHashSet<>();
+
+    /**
+     * The names of the indexcards, as they were stored before the LeitnerCards existed.
+     * Only read to migrate old databases, null afterwards.
+     */
+    @Column(name = "indexcardNames")
+    private List<String> legacyIndexcardNames;
 
 
     /**
@@ -48,35 +59,60 @@ public class Box {
     }
 
     /**
-     * Returns the indexcards names of the box.
-     * @return The indexcards names of the box.
+     * Returns the ids of the indexcards in the box.
+     * @return The ids of the indexcards, in the order they were added.
      */
-    public List<String> getIndexcardNames() {
-        return indexcardNames;
+    public long[] getIndexcardIds() {
+        final long[] ids = new long[indexcardIds.size()];
+        int i = 0;
+        for (long indexcardId : indexcardIds) {
+            ids[i++] = indexcardId;
+        }
+        return ids;
     }
+
     /**
-     * Set the indexcard names in the box.
-     * @param indexcardNames Index card names.
+     * Set the ids of the indexcards in the box.
+     * @param indexcardIds The ids of the indexcards.
      */
-    public void setIndexcardNames(List<String> indexcardNames) {
-        this.indexcardNames = indexcardNames;
+    void setIndexcardIds(LongList indexcardIds) {
+        this.indexcardIds.clear();
+        for (int i = 0; i < indexcardIds.size(); i++) {
+            this.indexcardIds.add(indexcardIds.get(i));
+        }
     }
 
     /**
-     * Adds an indexcard to the box.
-     * @param indexcardName The name of the indexcard.
+     * Returns if the indexcard is in the box.
+     * @param indexcardId The id of the indexcard.
+     * @return True, if the indexcard is in the box.
      */
-    public void addIndexcard(String indexcardName) {
-        this.indexcardNames.add(indexcardName);
+    public boolean containsIndexcard(long indexcardId) {
+        return this.indexcardIds.contains(indexcardId);
     }
 
     /**
-     * Removes an indexcard from the box.
-     * @param indexcardName The name of the indexcard.
+     * Returns the number of indexcards in the box.
+     * @return The number of indexcards.
      */
+    public int size() {
+        return this.indexcardIds.size();
+    }
 
-    public void removeIndexcard(String indexcardName) {
-        this.indexcardNames.remove(indexcardName);
+    /**
+     * Adds an indexcard to the end of the box.
+     * @param indexcardId The id of the indexcard.
+     */
+    void addIndexcard(long indexcardId) {
+        this.indexcardIds.add(indexcardId);
+    }
+
+    /**
+     * Removes an indexcard from the box.
+     * @param indexcardId The id of the indexcard.
+     */
+    void removeIndexcard(long indexcardId) {
+        this.indexcardIds.remove(indexcardId);
     }
 
     /**
@@ -87,4 +123,22 @@ public class Box {
     public String getName() {
         return name;
     }
+
+    /**
+     * Returns the indexcard names of an old database and removes them from the box.
+     * @return The old indexcard names, could be empty.
+     */
+    List<String> takeLegacyIndexcardNames() {
+        final List<String> names = legacyIndexcardNames == null ? List.of() : legacyIndexcardNames;
+        legacyIndexcardNames = null;
+        return names;
+    }
+
+    /**
+     * Returns if the box has indexcard names of an old database.
+     * @return True, if the box has to be migrated.
+     */
+    boolean hasLegacyIndexcardNames() {
+        return legacyIndexcardNames != null && !legacyIndexcardNames.isEmpty();
+    }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package uni.myosotis.objects;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -13,6 +16,8 @@ import java.util.Set;
  * This class represents a category.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Category implements Serializable {
 
     /**
@@ -30,13 +35,17 @@ public class Category implements Serializable {
     /**
      * The children of the Category.
      */
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Category> children;
 
     /**
      * The Indexcards in the Category.
      */
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Indexcard> indexcards;
 
     /**
@@ -165,4 +174,13 @@ public class Category implements Serializable {
     public Long getId() {
         return id;
     }
+
+    /**
+     * Sets the id of the Category. Only used by a storage backend, that generates the ids itself.
+     *
+     * @param id The id of the Category.
+     */
+    public void setId(final Long id) {
+        this.id = id;
+    }
 }
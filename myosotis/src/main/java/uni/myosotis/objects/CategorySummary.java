@@ -0,0 +1,11 @@
+package uni.myosotis.objects;
+
+/**
+ * The id and the name of a Category, for lists that show only the names.
+ * Loaded with a projection, so the children and Indexcards of the Category are not read.
+ *
+ * @param id   The id of the Category.
+ * @param name The name of the Category.
+ */
+public record CategorySummary(Long id, String name) {
+}
@@ -1,6 +1,9 @@
 package uni.myosotis.objects;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.util.List;
@@ -9,6 +12,8 @@ import java.util.List;
  * This class represents an index card.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Indexcard implements Serializable {
 
     private String name;
@@ -18,10 +23,15 @@ public class Indexcard implements Serializable {
     @Column(length = Integer.MAX_VALUE)
     private String answer;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(indexes = @Index(name = "idx_indexcard_keyword_name", columnList = "keywords_name"))
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Keyword> keywords;
 
-    @OneToMany(fetch = FetchType.EAGER)
+    @OneToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Link> links;
 
     /**
@@ -127,6 +137,15 @@ public class Indexcard implements Serializable {
         return id;
     }
 
+    /**
+     * Sets the id of the Indexcard. Only used by a storage backend, that generates the ids itself.
+     *
+     * @param id The id of the Indexcard.
+     */
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
     /**
      * Sets the name of the Indexcard to the given name.
      *
@@ -1,21 +1,30 @@
 package uni.myosotis.objects;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class IndexcardBox implements Serializable{
 
     @Id
     private String name;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Category> categoryList;
 
     public IndexcardBox(){
@@ -51,21 +60,22 @@ public class IndexcardBox implements Serializable{
     }
 
     /**
-     * Returns a list of all indexcards in the box, without duplicates.
-     * By checking if the indexcard is already in the list, duplicates are avoided.
+     * Returns the ids of all indexcards in the box, without duplicates.
+     * By checking if the id is already in the set, duplicates are avoided.
      *
-     * @return List of indexcards
+     * @return The ids of the indexcards, in the order of the categories.
      */
-    public List<String> getIndexcardList() {
-        List<String> indexcardList = new ArrayList<>();
+    public long[] getIndexcardIds() {
+        final Set<Long> seen = new HashSet<>();
+        final LongList indexcardIds = new LongList();
         for (Category category : categoryList) {
-            for (String indexcard : category.getIndexcards().stream().map(Indexcard::getName).toList()) {
-                if (!indexcardList.contains(indexcard)) {
-                    indexcardList.add(indexcard);
+            for (Indexcard indexcard : category.getIndexcards()) {
+                if (seen.add(indexcard.getId())) {
+                    indexcardIds.add(indexcard.getId());
                 }
             }
         }
-        return indexcardList;
+        return indexcardIds.toArray();
     }
 
     /**
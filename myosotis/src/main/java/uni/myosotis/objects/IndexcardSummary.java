@@ -0,0 +1,11 @@
+package uni.myosotis.objects;
+
+/**
+ * The id and the name of an Indexcard, for lists that show only the names.
+ * Loaded with a projection, so question, answer, Keywords and Links are not read.
+ *
+ * @param id   The id of the Indexcard.
+ * @param name The name of the Indexcard.
+ */
+public record IndexcardSummary(Long id, String name) {
+}
@@ -0,0 +1,13 @@
+package uni.myosotis.objects;
+
+/**
+ * The id, name, question and answer of an Indexcard, for tables that show the texts.
+ * Loaded with a projection, so Keywords and Links are not read.
+ *
+ * @param id       The id of the Indexcard.
+ * @param name     The name of the Indexcard.
+ * @param question The question of the Indexcard.
+ * @param answer   The answer of the Indexcard.
+ */
+public record IndexcardText(Long id, String name, String question, String answer) {
+}
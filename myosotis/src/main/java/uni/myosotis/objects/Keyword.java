@@ -1,8 +1,11 @@
 package uni.myosotis.objects;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Embeddable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 
@@ -11,6 +14,8 @@ import java.io.Serializable;
  */
 @Entity
 @Embeddable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Keyword implements Serializable {
 
     @Id
@@ -0,0 +1,130 @@
+package uni.myosotis.objects;
+
+import jakarta.persistence.*;
+
+import java.util.Comparator;
+
+/**
+ * The learning state of one Indexcard in a LeitnerLearnSystem: the Box it is in and when it is due again.
+ * Every Indexcard of a LeitnerLearnSystem is one row, so moving an Indexcard changes only this row.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_leitner_card_indexcard", columnNames = {"learnSystem_id", "indexcardId"}),
+        indexes = @Index(name = "idx_leitner_card_box", columnList = "learnSystem_id, boxNumber"))
+public class LeitnerCard {
+
+    /**
+     * The order of the LeitnerCards by their due time. LeitnerCards with the same due time are ordered
+     * by their position in the Box, like the Indexcards of a Box.
+     */
+    public static final Comparator<LeitnerCard> DUE_ORDER = Comparator.comparingLong(LeitnerCard::getDueTime)
+            .thenComparingLong(LeitnerCard::getPositionInBox)
+            .thenComparingLong(LeitnerCard::getIndexcardId);
+
+    /**
+     * The id of the LeitnerCard.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leitner_card_seq")
+    @SequenceGenerator(name = "leitner_card_seq", sequenceName = "leitner_card_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The LeitnerLearnSystem, the Indexcard is learned in.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private LeitnerLearnSystem learnSystem;
+
+    /**
+     * The id of the Indexcard. Stays the same, when the Indexcard is renamed.
+     */
+    private long indexcardId;
+
+    /**
+     * The number of the Box, starting with 0.
+     */
+    private int boxNumber;
+
+    /**
+     * The position in the Box. An Indexcard that is moved into a Box gets a higher position
+     * than all Indexcards before, so the Indexcards of a Box keep the order in which they were added.
+     */
+    private long positionInBox;
+
+    /**
+     * The time in milliseconds, when the Indexcard is due again, 0 if it was never answered.
+     */
+    private long dueTime;
+
+    /**
+     * Creates a new LeitnerCard.
+     */
+    public LeitnerCard() {
+
+    }
+
+    /**
+     * Creates a new LeitnerCard.
+     *
+     * @param learnSystem   The LeitnerLearnSystem.
+     * @param indexcardId   The id of the Indexcard.
+     * @param boxNumber     The number of the Box, starting with 0.
+     * @param positionInBox The position in the Box.
+     */
+    public LeitnerCard(LeitnerLearnSystem learnSystem, long indexcardId, int boxNumber, long positionInBox) {
+        this.learnSystem = learnSystem;
+        this.indexcardId = indexcardId;
+        this.boxNumber = boxNumber;
+        this.positionInBox = positionInBox;
+    }
+
+    /**
+     * Creates a LeitnerCard, that is only used to search the LeitnerCards by {@link #DUE_ORDER}.
+     *
+     * @param dueTime       The due time in milliseconds.
+     * @param positionInBox The position in the Box.
+     * @param indexcardId   The id of the Indexcard.
+     * @return The LeitnerCard, that is never stored.
+     */
+    public static LeitnerCard key(long dueTime, long positionInBox, long indexcardId) {
+        final LeitnerCard key = new LeitnerCard(null, indexcardId, 0, positionInBox);
+        key.dueTime = dueTime;
+        return key;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getIndexcardId() {
+        return indexcardId;
+    }
+
+    public int getBoxNumber() {
+        return boxNumber;
+    }
+
+    public long getPositionInBox() {
+        return positionInBox;
+    }
+
+    /**
+     * Moves the Indexcard to another Box, at the given position.
+     *
+     * @param boxNumber     The number of the Box.
+     * @param positionInBox The position in the Box.
+     */
+    public void moveTo(int boxNumber, long positionInBox) {
+        this.boxNumber = boxNumber;
+        this.positionInBox = positionInBox;
+    }
+
+    public long getDueTime() {
+        return dueTime;
+    }
+
+    public void setDueTime(long dueTime) {
+        this.dueTime = dueTime;
+    }
+}
@@ -2,8 +2,7 @@ package uni.myosotis.objects;
 
 import jakarta.persistence.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.logging.Level;
 
 /**
@@ -21,7 +20,6 @@ public class LeitnerLearnSystem {
     @OneToMany
     private List<Box> boxes;
 
-    private List<String> indexcardList;
     private int progress;
 
     private int numberOfBoxes;
@@ -32,17 +30,55 @@ public class LeitnerLearnSystem {
 
     private boolean started;
 
+    /**
+     * The name of the spaced-repetition algorithm, that sets the due times of the indexcards.
+     * Null for the Leitner-System, whose due times follow the boxes, also for learnsystems of older versions.
+     */
+    private String algorithm;
+
+    /**
+     * The box and due time of every indexcard. Moving an indexcard changes only its LeitnerCard.
+     * Loaded with the LeitnerLearnSystem, because the boxes are filled from them.
+     */
+    @OneToMany(mappedBy = "learnSystem", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    private List<LeitnerCard> cards = new ArrayList<>();
+
+    /**
+     * The LeitnerCards by the ids of their indexcards, built from the LeitnerCards when they are needed first
+     * and kept up to date when a LeitnerCard is added.
+     */
+    @Transient
+    private Map<Long, LeitnerCard> cardsById;
+
+    /**
+     * The LeitnerCards of every box, ordered by {@link LeitnerCard#DUE_ORDER}. Filled with the boxes
+     * and kept up to date, when a card is moved or gets another due time.
+     */
+    @Transient
+    private List<NavigableSet<LeitnerCard>> cardsByDueTime;
+
+    /**
+     * True, if the indexcard names of the boxes were filled from the LeitnerCards.
+     */
+    @Transient
+    private boolean boxesFilled;
+
+    /**
+     * The next free position in the boxes.
+     */
+    @Transient
+    private long nextPosition;
+
     public LeitnerLearnSystem() {
     }
 
     /**
      * Creates a new LeitnerLearnSystem.
      * All indexcards are places in the first box.
-     * @param indexcardList The list of indexcards that should be learned.
+     * @param indexcardIds The ids of the indexcards that should be learned.
      */
-    public LeitnerLearnSystem(String name, List<String> indexcardList, int numberOfBoxes,String sortType) {
+    public LeitnerLearnSystem(String name, long[] indexcardIds, int numberOfBoxes,String sortType) {
         this.name = name;
-        this.indexcardList = indexcardList;
         this.progress = 0;
         this.numberOfBoxes = numberOfBoxes;
         this.boxes = new ArrayList<>();
@@ -53,7 +89,9 @@ public class LeitnerLearnSystem {
             this.boxes.add(new Box("Box " + (i + 1)));
         }
         // add all indexcards to the first box
-        this.boxes.get(0).setIndexcardNames(indexcardList);
+        for (long indexcardId : indexcardIds) {
+            addCard(indexcardId, 0);
+        }
         logger.log(Level.INFO, name + "created");
     }
 
@@ -74,7 +112,7 @@ public class LeitnerLearnSystem {
      */
     public void correctAnswer(Indexcard indexcard) {
         logger.log(Level.INFO, "correctAnswer for indexcard: " + indexcard.getName());
-        moveIndexcardToNextBox(indexcard.getName());
+        moveIndexcardToNextBox(indexcard.getId());
         logger.log(Level.INFO, "indexcard is moved to the next box");
     }
 
@@ -86,7 +124,7 @@ public class LeitnerLearnSystem {
      */
     public void wrongAnswer(Indexcard indexcard) {
         logger.log(Level.INFO, "wrongAnswer for indexcard: " + indexcard.getName());
-        moveIndexcardToPreviousBox(indexcard.getName());
+        moveIndexcardToPreviousBox(indexcard.getId());
         logger.log(Level.INFO, "indexcard is moved to the previously box");
     }
 
@@ -101,32 +139,34 @@ public class LeitnerLearnSystem {
     }
 
     /**
-     * This method is called to get the indexcard list from a box.
-     * @return
+     * This method is called to get the ids of the indexcards in a box.
+     * @return The ids of the indexcards, in the order they were added to the box.
      */
-    public List<String> getIndexcardFromBox(int boxNumber) {
-        return this.boxes.get(boxNumber).getIndexcardNames();
+    public long[] getIndexcardFromBox(int boxNumber) {
+        return getBoxes().get(boxNumber).getIndexcardIds();
     }
 
 
     /**
      * this method return the indexcard that should be learned next.
      * The order inside the indexcard list is the same as the order in the boxes.
-     * @return The indexcards that should be learned next.
+     * @return The ids of the indexcards that should be learned next.
      */
-    public List<String> getNextIndexcardNames() {
-        List<String> nextIndexcardNames = new ArrayList<>();
-        for (int i = 0; i < this.numberOfBoxes; i++) {
-            nextIndexcardNames.addAll(this.boxes.get(i).getIndexcardNames());
+    public long[] getNextIndexcardIds() {
+        final LongList nextIndexcardIds = new LongList();
+        for (Box box : getBoxes()) {
+            for (long indexcardId : box.getIndexcardIds()) {
+                nextIndexcardIds.add(indexcardId);
+            }
         }
-        return nextIndexcardNames;
+        return nextIndexcardIds.toArray();
     }
 
     /**
      * This method is called to increase the progress.
      */
     public void increaseProgress() {
-        if (indexcardList.size() > this.progress)
+        if (this.cards.size() > this.progress)
             this.progress++;
     }
 
@@ -157,41 +197,172 @@ public class LeitnerLearnSystem {
      * @return
      */
     public List<Box> getBoxes() {
+        fillBoxes();
         return boxes;
     }
 
     /**
      * This method is called to move an indexcard to the next box.
-     * @param indexcardName The name of the indexcard that should be moved.
-     */
-    public void moveIndexcardToNextBox(String indexcardName) {
-        for (int i = 0; i < this.numberOfBoxes; i++) {
-            if (this.boxes.get(i).getIndexcardNames().contains(indexcardName)) {
-                if (i < this.numberOfBoxes - 1) {
-                    this.boxes.get(i).removeIndexcard(indexcardName);
-                    this.boxes.get(i + 1).addIndexcard(indexcardName);
-                }
-                break;
-            }
+     * @param indexcardId The id of the indexcard that should be moved.
+     */
+    public void moveIndexcardToNextBox(long indexcardId) {
+        final LeitnerCard card = getCard(indexcardId);
+        if (card != null && card.getBoxNumber() < this.numberOfBoxes - 1) {
+            moveIndexcard(card, card.getBoxNumber() + 1);
         }
     }
 
     /**
      * This method is called to move an indexcard to the previous box.
-     * @param indexcardName The name of the indexcard that should be moved.
-     */
-    public void moveIndexcardToPreviousBox(String indexcardName) {
-        for (int i = 0; i < this.numberOfBoxes; i++) {
-            if (this.boxes.get(i).getIndexcardNames().contains(indexcardName)) {
-                if (i > 0) {
-                    this.boxes.get(i).removeIndexcard(indexcardName);
-                    this.boxes.get(i - 1).addIndexcard(indexcardName);
+     * @param indexcardId The id of the indexcard that should be moved.
+     */
+    public void moveIndexcardToPreviousBox(long indexcardId) {
+        final LeitnerCard card = getCard(indexcardId);
+        if (card != null && card.getBoxNumber() > 0) {
+            moveIndexcard(card, card.getBoxNumber() - 1);
+        }
+    }
+
+    /**
+     * Returns the number of the box, that contains the indexcard.
+     * @param indexcardId The id of the indexcard.
+     * @return The number of the box, starting with 0, or null if no box contains the indexcard.
+     */
+    public Integer getBoxNumber(long indexcardId) {
+        final LeitnerCard card = getCard(indexcardId);
+        return card == null ? null : card.getBoxNumber();
+    }
+
+    private void moveIndexcard(LeitnerCard card, int to) {
+        fillBoxes();
+        this.boxes.get(card.getBoxNumber()).removeIndexcard(card.getIndexcardId());
+        this.cardsByDueTime.get(boxIndex(card.getBoxNumber())).remove(card);
+        this.boxes.get(to).addIndexcard(card.getIndexcardId());
+        card.moveTo(to, this.nextPosition++);
+        this.cardsByDueTime.get(boxIndex(to)).add(card);
+    }
+
+    /**
+     * Returns the cards of a box ordered by their due time, cards with the same due time by their
+     * position in the box. The set is kept up to date, when a card is moved or gets another due time,
+     * so a learning session can go through the due cards, without looking at the other cards.
+     * @param boxNumber The number of the box, starting with 0.
+     * @return The cards of the box, that can not be changed.
+     */
+    public NavigableSet<LeitnerCard> getCardsByDueTime(int boxNumber) {
+        fillBoxes();
+        return Collections.unmodifiableNavigableSet(this.cardsByDueTime.get(boxNumber));
+    }
+
+    /**
+     * Returns the box of a card. Cards of boxes, that do not exist anymore, are in the last box.
+     */
+    private int boxIndex(int boxNumber) {
+        return Math.min(boxNumber, this.boxes.size() - 1);
+    }
+
+    /**
+     * Returns the LeitnerCard of an indexcard.
+     */
+    private LeitnerCard getCard(long indexcardId) {
+        if (this.cardsById == null) {
+            final Map<Long, LeitnerCard> cardsById = new HashMap<>(Math.max(16, this.cards.size() * 4 / 3 + 1));
+            for (LeitnerCard card : this.cards) {
+                cardsById.put(card.getIndexcardId(), card);
+            }
+            this.cardsById = cardsById;
+        }
+        return this.cardsById.get(indexcardId);
+    }
+
+    /**
+     * Adds a LeitnerCard for an indexcard to the end of a box, if the indexcard is not learned yet.
+     * The boxes are kept filled, so adding many indexcards does not sort the LeitnerCards again.
+     */
+    private void addCard(long indexcardId, int boxNumber) {
+        if (getCard(indexcardId) == null) {
+            fillBoxes();
+            final LeitnerCard card = new LeitnerCard(this, indexcardId, boxNumber, this.nextPosition++);
+            this.cards.add(card);
+            this.cardsById.put(indexcardId, card);
+            this.boxes.get(boxIndex(boxNumber)).addIndexcard(indexcardId);
+            this.cardsByDueTime.get(boxIndex(boxNumber)).add(card);
+        }
+    }
+
+    /**
+     * Fills the indexcard ids of the boxes from the LeitnerCards, ordered by their position.
+     */
+    private void fillBoxes() {
+        if (this.boxesFilled) {
+            return;
+        }
+        final List<LeitnerCard> sortedCards = new ArrayList<>(this.cards);
+        sortedCards.sort(Comparator.comparingLong(LeitnerCard::getPositionInBox));
+        final List<LongList> ids = new ArrayList<>();
+        this.cardsByDueTime = new ArrayList<>();
+        for (int i = 0; i < this.boxes.size(); i++) {
+            ids.add(new LongList());
+            this.cardsByDueTime.add(new TreeSet<>(LeitnerCard.DUE_ORDER));
+        }
+        for (LeitnerCard card : sortedCards) {
+            ids.get(boxIndex(card.getBoxNumber())).add(card.getIndexcardId());
+            this.cardsByDueTime.get(boxIndex(card.getBoxNumber())).add(card);
+            this.nextPosition = Math.max(this.nextPosition, card.getPositionInBox() + 1);
+        }
+        for (int i = 0; i < this.boxes.size(); i++) {
+            this.boxes.get(i).setIndexcardIds(ids.get(i));
+        }
+        this.boxesFilled = true;
+    }
+
+    /**
+     * Returns if the boxes were stored as lists of names by an old version and have to be migrated.
+     * @return True, if the LeitnerCards have to be created from the old boxes.
+     */
+    public boolean hasLegacyBoxes() {
+        if (!this.cards.isEmpty()) {
+            return false;
+        }
+        for (Box box : this.boxes) {
+            if (box.hasLegacyIndexcardNames()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the LeitnerCards from the lists of names, that an old version stored in the boxes.
+     * If an indexcard is in more than one box, the first box counts. Names of indexcards,
+     * that do not exist anymore, are dropped.
+     * @param indexcardIds The id of every indexcard by its name.
+     */
+    public void migrateLegacyBoxes(Map<String, Long> indexcardIds) {
+        for (int i = 0; i < this.boxes.size(); i++) {
+            for (String indexcardName : this.boxes.get(i).takeLegacyIndexcardNames()) {
+                final Long indexcardId = indexcardIds.get(indexcardName);
+                if (indexcardId != null) {
+                    addCard(indexcardId, i);
                 }
-                break;
             }
         }
     }
 
+    /**
+     * Adds an indexcard to the end of a box with its due time, like when the learnsystem is loaded
+     * from a store, that keeps the LeitnerCards itself. The indexcards of a box must be added in their order.
+     * @param indexcardId The id of the indexcard.
+     * @param boxNumber The number of the box, starting with 0.
+     * @param dueTime The due time in milliseconds, 0 if the indexcard was never answered.
+     */
+    public void restoreCard(long indexcardId, int boxNumber, long dueTime) {
+        addCard(indexcardId, boxNumber);
+        if (dueTime != 0) {
+            setDueTime(indexcardId, dueTime);
+        }
+    }
+
     /*public void setBoxes(List<Box> boxes) {
         this.boxes = boxes;
     }*/
@@ -210,7 +381,7 @@ public class LeitnerLearnSystem {
      * The name is set: Box 1, Box 2, ...
      */
     public Box getIndexcardBox(String boxName){
-        for (Box box : this.boxes) {
+        for (Box box : getBoxes()) {
             if (box.getName().equals(boxName)) {
                 return box;
             }
@@ -236,6 +407,53 @@ public class LeitnerLearnSystem {
         return this.started;
     }
 
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Returns the ids of all indexcards of the learnsystem.
+     * @return The ids in ascending order.
+     */
+    public long[] getIndexcardIds() {
+        final long[] indexcardIds = new long[this.cards.size()];
+        for (int i = 0; i < indexcardIds.length; i++) {
+            indexcardIds[i] = this.cards.get(i).getIndexcardId();
+        }
+        Arrays.sort(indexcardIds);
+        return indexcardIds;
+    }
+
+    /**
+     * Returns the time, when the indexcard is due again.
+     * @param indexcardId The id of the indexcard.
+     * @return The due time in milliseconds, 0 if the indexcard was never answered.
+     */
+    public long getDueTime(long indexcardId) {
+        final LeitnerCard card = getCard(indexcardId);
+        return card == null ? 0 : card.getDueTime();
+    }
+
+    /**
+     * Sets the time, when the indexcard is due again.
+     * @param indexcardId The id of the indexcard.
+     * @param dueTime The due time in milliseconds.
+     */
+    public void setDueTime(long indexcardId, long dueTime) {
+        final LeitnerCard card = getCard(indexcardId);
+        if (card != null) {
+            fillBoxes();
+            final NavigableSet<LeitnerCard> boxCards = this.cardsByDueTime.get(boxIndex(card.getBoxNumber()));
+            boxCards.remove(card);
+            card.setDueTime(dueTime);
+            boxCards.add(card);
+        }
+    }
+
     /*public void setBoxList (List<String> boxes){
         this.boxList = boxes;
     }
@@ -1,6 +1,8 @@
 package uni.myosotis.objects;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 
@@ -9,6 +11,8 @@ import java.io.Serializable;
  */
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Link implements Serializable {
 
     /**
@@ -73,4 +77,13 @@ public class Link implements Serializable {
     public Long getId() {
         return id;
     }
+
+    /**
+     * Sets the id of the Link. Only used by a storage backend, that generates the ids itself.
+     *
+     * @param id The id of the Link.
+     */
+    public void setId(final Long id) {
+        this.id = id;
+    }
 }
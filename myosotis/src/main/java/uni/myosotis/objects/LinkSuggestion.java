@@ -0,0 +1,13 @@
+package uni.myosotis.objects;
+
+/**
+ * A Link, that could be added to an Indexcard, because its question or answer contains the name of
+ * another Indexcard or the term of an existing Link. Only proposed, it is not saved.
+ *
+ * @param indexcardId The id of the Indexcard, that would contain the Link.
+ * @param term        The term, as it is written in the question or answer.
+ * @param targetId    The id of the Indexcard, the term would be linked with.
+ * @param occurrences How often the term occurs in the question and answer.
+ */
+public record LinkSuggestion(Long indexcardId, String term, Long targetId, int occurrences) {
+}
@@ -0,0 +1,123 @@
+package uni.myosotis.objects;
+
+import java.util.Arrays;
+
+/**
+ * A list of primitive long values, used for the ids of Indexcards.
+ * Needs 8 bytes per value instead of an object per value like a list of Longs.
+ */
+public final class LongList {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] values;
+    private int size;
+
+    /**
+     * Creates an empty list.
+     */
+    public LongList() {
+        this.values = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Creates a list with the given values.
+     *
+     * @param values The values, that are copied.
+     */
+    public LongList(long[] values) {
+        this.values = Arrays.copyOf(values, Math.max(INITIAL_CAPACITY, values.length));
+        this.size = values.length;
+    }
+
+    /**
+     * Adds a value at the end.
+     *
+     * @param value The value.
+     */
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Removes the first occurrence of a value. The values after it move one position to the front.
+     *
+     * @param value The value.
+     * @return True, if the value was in the list.
+     */
+    public boolean remove(long value) {
+        final int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the position of the first occurrence of a value.
+     *
+     * @param value The value.
+     * @return The position or -1, if the value is not in the list.
+     */
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns if the list contains a value.
+     *
+     * @param value The value.
+     * @return True, if the value is in the list.
+     */
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns the value at a position.
+     *
+     * @param index The position.
+     * @return The value.
+     */
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the values as a new array.
+     *
+     * @return The values in their order.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
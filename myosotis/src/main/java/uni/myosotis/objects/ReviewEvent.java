@@ -0,0 +1,103 @@
+package uni.myosotis.objects;
+
+import jakarta.persistence.*;
+
+/**
+ * One answer to an Indexcard in a learning session. Review events are only appended and never changed.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_review_event_learnsystem_indexcard", columnList = "learnSystemId, indexcardId"))
+public class ReviewEvent {
+
+    /**
+     * The id of the ReviewEvent. Taken from a sequence in blocks, so the inserts can be sent as batches.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_event_seq")
+    @SequenceGenerator(name = "review_event_seq", sequenceName = "review_event_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The id of the Learnsystem, the Indexcard was learned in.
+     */
+    private long learnSystemId;
+
+    /**
+     * The id of the answered Indexcard.
+     */
+    private long indexcardId;
+
+    /**
+     * The time of the answer in milliseconds.
+     */
+    private long reviewTime;
+
+    /**
+     * The grade of the answer, from 1 (again) to 4 (easy).
+     */
+    private byte grade;
+
+    /**
+     * The time in milliseconds from showing the question to the answer.
+     */
+    private int responseTime;
+
+    /**
+     * The number of the Box, the Indexcard was in before the answer, starting with 0.
+     */
+    private int sourceBox;
+
+    /**
+     * Creates a new ReviewEvent.
+     */
+    public ReviewEvent() {
+
+    }
+
+    /**
+     * Creates a new ReviewEvent.
+     *
+     * @param learnSystemId The id of the Learnsystem.
+     * @param indexcardId   The id of the answered Indexcard.
+     * @param reviewTime    The time of the answer in milliseconds.
+     * @param grade         The grade of the answer, from 1 (again) to 4 (easy).
+     * @param responseTime  The time in milliseconds from showing the question to the answer.
+     * @param sourceBox     The number of the Box, the Indexcard was in before the answer.
+     */
+    public ReviewEvent(long learnSystemId, long indexcardId, long reviewTime, int grade, int responseTime, int sourceBox) {
+        this.learnSystemId = learnSystemId;
+        this.indexcardId = indexcardId;
+        this.reviewTime = reviewTime;
+        this.grade = (byte) grade;
+        this.responseTime = responseTime;
+        this.sourceBox = sourceBox;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getLearnSystemId() {
+        return learnSystemId;
+    }
+
+    public long getIndexcardId() {
+        return indexcardId;
+    }
+
+    public long getReviewTime() {
+        return reviewTime;
+    }
+
+    public int getGrade() {
+        return grade;
+    }
+
+    public int getResponseTime() {
+        return responseTime;
+    }
+
+    public int getSourceBox() {
+        return sourceBox;
+    }
+}
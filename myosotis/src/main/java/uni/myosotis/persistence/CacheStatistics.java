@@ -0,0 +1,134 @@
+package uni.myosotis.persistence;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The hits and misses of the second-level cache and the query cache, counted since the start of
+ * the application. Every region of the second-level cache belongs to a cached entity or collection.
+ * The caches are also registered as JCache MBeans, so they can be watched with JMX.
+ */
+public final class CacheStatistics {
+
+    private final List<Region> regions;
+    private final long queryHits;
+    private final long queryMisses;
+    private final long queryPuts;
+
+    private CacheStatistics(List<Region> regions, long queryHits, long queryMisses, long queryPuts) {
+        this.regions = regions;
+        this.queryHits = queryHits;
+        this.queryMisses = queryMisses;
+        this.queryPuts = queryPuts;
+    }
+
+    /**
+     * Returns the current counts of the caches.
+     *
+     * @return The statistics at this moment.
+     */
+    public static CacheStatistics snapshot() {
+        final Statistics statistics = PersistenceManager.getStatistics();
+        final List<Region> regions = new ArrayList<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            if (name.equals(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+                    || name.equals(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+                continue;
+            }
+            final CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            if (region != null) {
+                regions.add(new Region(name, region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                        Math.max(-1, region.getElementCountInMemory())));
+            }
+        }
+        regions.sort(Comparator.comparing(Region::name));
+        return new CacheStatistics(List.copyOf(regions), statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+    }
+
+    /**
+     * Returns the statistics of every region of the second-level cache, without the query cache.
+     *
+     * @return The regions, could be empty if nothing was cached yet.
+     */
+    public List<Region> getRegions() {
+        return regions;
+    }
+
+    /**
+     * Returns the share of the lookups in the second-level cache, that were found in it.
+     *
+     * @return The hit ratio of all regions between 0 and 1, NaN if there were no lookups.
+     */
+    public double getHitRatio() {
+        long hits = 0;
+        long misses = 0;
+        for (Region region : regions) {
+            hits += region.hits();
+            misses += region.misses();
+        }
+        return ratio(hits, misses);
+    }
+
+    /**
+     * Returns the share of the cacheable queries, whose results were found in the query cache.
+     *
+     * @return The hit ratio of the query cache between 0 and 1, NaN if there were no lookups.
+     */
+    public double getQueryHitRatio() {
+        return ratio(queryHits, queryMisses);
+    }
+
+    public long getQueryHits() {
+        return queryHits;
+    }
+
+    public long getQueryMisses() {
+        return queryMisses;
+    }
+
+    public long getQueryPuts() {
+        return queryPuts;
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? Double.NaN : (double) hits / (hits + misses);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(String.format("second-level cache %.2f, query cache %.2f (%d hits, %d misses)",
+                getHitRatio(), getQueryHitRatio(), queryHits, queryMisses));
+        for (Region region : regions) {
+            builder.append(String.format("%n  %s: %.2f (%d hits, %d misses, %d entries)",
+                    region.name(), region.getHitRatio(), region.hits(), region.misses(), region.entries()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The counts of one region of the second-level cache.
+     *
+     * @param name    The name of the region, the name of the entity or collection.
+     * @param hits    The number of lookups, that were found.
+     * @param misses  The number of lookups, that were not found.
+     * @param puts    The number of entries put into the region.
+     * @param entries The number of entries in the region, -1 if not known.
+     */
+    public record Region(String name, long hits, long misses, long puts, long entries) {
+
+        /**
+         * Returns the share of the lookups in this region, that were found.
+         *
+         * @return The hit ratio between 0 and 1, NaN if there were no lookups.
+         */
+        public double getHitRatio() {
+            return ratio(hits, misses);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.Indexcard;
+
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An in-memory index from the ids of the Indexcards to the Category's that contain them.
+ * <p>
+ * The index is built once with a single projection query, or from the MVStore, when it is used the first time.
+ * Afterwards it is kept up to date by the CategoryRepository, whenever a Category is saved,
+ * updated or deleted. If a unit of work with such a change gets rolled back, the index is
+ * dropped and built again on the next use.
+ */
+final class CategoryIndex {
+
+    private static final Logger logger = Logger.getLogger(CategoryIndex.class.getName());
+
+    /** The names of all Category's by their id, null if the index is not built. */
+    private static Map<Long, String> categoryNames;
+
+    /** The ids of the Indexcards of every Category. */
+    private static Map<Long, Set<Long>> indexcardsByCategory;
+
+    /** The ids of the Category's, that contain an Indexcard, sorted by the id of the Category. */
+    private static Map<Long, SortedSet<Long>> categoriesByIndexcard;
+
+    private CategoryIndex() {
+    }
+
+    /**
+     * Returns the ids of the Category's, that contain the Indexcard with the given id.
+     *
+     * @param indexcardId The id of the Indexcard.
+     * @return The ids of the Category's, could be empty.
+     */
+    static synchronized List<Long> getCategoryIds(final Long indexcardId) {
+        ensureBuilt();
+        return new ArrayList<>(categoriesByIndexcard.getOrDefault(indexcardId, Collections.emptySortedSet()));
+    }
+
+    /**
+     * Returns the names of the Category's of every Indexcard, that is in at least one Category.
+     *
+     * @return A map from the id of the Indexcard to the names of its Category's.
+     */
+    static synchronized Map<Long, List<String>> getCategoryNamesByIndexcard() {
+        ensureBuilt();
+        final Map<Long, List<String>> result = new HashMap<>(categoriesByIndexcard.size() * 2);
+        for (Map.Entry<Long, SortedSet<Long>> entry : categoriesByIndexcard.entrySet()) {
+            final List<String> names = new ArrayList<>(entry.getValue().size());
+            for (Long categoryId : entry.getValue()) {
+                names.add(categoryNames.get(categoryId));
+            }
+            result.put(entry.getKey(), names);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the names of all Category's.
+     *
+     * @return A map from the id of the Category to its name.
+     */
+    static synchronized Map<Long, String> getCategoryNames() {
+        ensureBuilt();
+        return new HashMap<>(categoryNames);
+    }
+
+    /**
+     * Returns the ids of the Indexcards in the Category with the given id.
+     *
+     * @param categoryId The id of the Category.
+     * @return The ids of the Indexcards, could be empty.
+     */
+    static synchronized List<Long> getIndexcardIds(final Long categoryId) {
+        ensureBuilt();
+        return new ArrayList<>(indexcardsByCategory.getOrDefault(categoryId, Collections.emptySet()));
+    }
+
+    /**
+     * Updates the index with the current name and Indexcards of a saved or updated Category.
+     * Does nothing, if the index is not built yet.
+     *
+     * @param category The saved Category.
+     */
+    static synchronized void put(final Category category) {
+        if (categoryNames == null || category.getId() == null) {
+            return;
+        }
+        UnitOfWork.onRollback(CategoryIndex::invalidate);
+        removeIndexcards(category.getId());
+        final Set<Long> indexcardIds = new HashSet<>();
+        for (Indexcard indexcard : category.getIndexcards()) {
+            if (indexcard.getId() != null) {
+                indexcardIds.add(indexcard.getId());
+                categoriesByIndexcard.computeIfAbsent(indexcard.getId(), id -> new TreeSet<>()).add(category.getId());
+            }
+        }
+        categoryNames.put(category.getId(), category.getCategoryName());
+        indexcardsByCategory.put(category.getId(), indexcardIds);
+    }
+
+    /**
+     * Removes a deleted Category from the index.
+     * Does nothing, if the index is not built yet.
+     *
+     * @param categoryId The id of the deleted Category.
+     */
+    static synchronized void remove(final Long categoryId) {
+        if (categoryNames == null) {
+            return;
+        }
+        UnitOfWork.onRollback(CategoryIndex::invalidate);
+        removeIndexcards(categoryId);
+        categoryNames.remove(categoryId);
+        indexcardsByCategory.remove(categoryId);
+    }
+
+    /**
+     * Adds Indexcards to a Category of the index. Does nothing, if the index is not built yet.
+     *
+     * @param categoryId   The id of the Category.
+     * @param indexcardIds The ids of the added Indexcards.
+     */
+    static synchronized void addIndexcards(final Long categoryId, final Collection<Long> indexcardIds) {
+        if (categoryNames == null || !categoryNames.containsKey(categoryId)) {
+            return;
+        }
+        UnitOfWork.onRollback(CategoryIndex::invalidate);
+        indexcardsByCategory.computeIfAbsent(categoryId, id -> new HashSet<>()).addAll(indexcardIds);
+        for (Long indexcardId : indexcardIds) {
+            categoriesByIndexcard.computeIfAbsent(indexcardId, id -> new TreeSet<>()).add(categoryId);
+        }
+    }
+
+    /**
+     * Removes Indexcards from a Category of the index. Does nothing, if the index is not built yet.
+     *
+     * @param categoryId   The id of the Category.
+     * @param indexcardIds The ids of the removed Indexcards.
+     */
+    static synchronized void removeIndexcards(final Long categoryId, final Collection<Long> indexcardIds) {
+        if (categoryNames == null) {
+            return;
+        }
+        UnitOfWork.onRollback(CategoryIndex::invalidate);
+        final Set<Long> categoryIndexcards = indexcardsByCategory.get(categoryId);
+        for (Long indexcardId : indexcardIds) {
+            if (categoryIndexcards != null) {
+                categoryIndexcards.remove(indexcardId);
+            }
+            final SortedSet<Long> categoryIds = categoriesByIndexcard.get(indexcardId);
+            if (categoryIds != null) {
+                categoryIds.remove(categoryId);
+                if (categoryIds.isEmpty()) {
+                    categoriesByIndexcard.remove(indexcardId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes Indexcards from every Category of the index. Does nothing, if the index is not built yet.
+     *
+     * @param indexcardIds The ids of the removed Indexcards.
+     */
+    static synchronized void removeIndexcards(final Collection<Long> indexcardIds) {
+        if (categoryNames == null) {
+            return;
+        }
+        UnitOfWork.onRollback(CategoryIndex::invalidate);
+        for (Long indexcardId : indexcardIds) {
+            final SortedSet<Long> categoryIds = categoriesByIndexcard.remove(indexcardId);
+            if (categoryIds != null) {
+                for (Long categoryId : categoryIds) {
+                    indexcardsByCategory.getOrDefault(categoryId, Collections.emptySet()).remove(indexcardId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the index, so it gets built again on the next use.
+     */
+    static synchronized void invalidate() {
+        categoryNames = null;
+        indexcardsByCategory = null;
+        categoriesByIndexcard = null;
+    }
+
+    private static void removeIndexcards(final Long categoryId) {
+        for (Long indexcardId : indexcardsByCategory.getOrDefault(categoryId, Collections.emptySet())) {
+            final SortedSet<Long> categoryIds = categoriesByIndexcard.get(indexcardId);
+            if (categoryIds != null) {
+                categoryIds.remove(categoryId);
+                if (categoryIds.isEmpty()) {
+                    categoriesByIndexcard.remove(indexcardId);
+                }
+            }
+        }
+    }
+
+    private static void ensureBuilt() {
+        if (categoryNames != null) {
+            return;
+        }
+        final Map<Long, String> names = new HashMap<>();
+        final Map<Long, Set<Long>> indexcards = new HashMap<>();
+        final Map<Long, SortedSet<Long>> categories = new HashMap<>();
+        try {
+            for (Object[] row : loadRows()) {
+                final Long categoryId = (Long) row[0];
+                names.put(categoryId, (String) row[1]);
+                final Set<Long> indexcardIds = indexcards.computeIfAbsent(categoryId, id -> new HashSet<>());
+                if (row[2] != null) {
+                    indexcardIds.add((Long) row[2]);
+                    categories.computeIfAbsent((Long) row[2], id -> new TreeSet<>()).add(categoryId);
+                }
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while building the category index", e);
+            throw e;
+        }
+        // The index could contain uncommitted changes of the active unit of work.
+        UnitOfWork.onRollback(CategoryIndex::invalidate);
+        categoryNames = names;
+        indexcardsByCategory = indexcards;
+        categoriesByIndexcard = categories;
+        logger.log(Level.FINE, "Built category index for {0} categories", names.size());
+    }
+
+    /**
+     * Loads the id and name of every Category together with the id of each of its Indexcards,
+     * or null as id, if the Category has no Indexcards. Reads from the backend of the repositories.
+     */
+    private static List<Object[]> loadRows() {
+        if (Repositories.backend() == DatabaseConfig.Backend.MVSTORE) {
+            final List<Object[]> rows = new ArrayList<>();
+            for (MVStoreDatabase.CategoryDocument category : MVStoreDatabase.get().categories.values()) {
+                if (category.indexcards().isEmpty()) {
+                    rows.add(new Object[]{category.id(), category.name(), null});
+                }
+                for (Long indexcardId : category.indexcards()) {
+                    rows.add(new Object[]{category.id(), category.name(), indexcardId});
+                }
+            }
+            return rows;
+        }
+        try (final EntityManager em = new PersistenceManager().getEntityManager()) {
+            return em.createQuery("SELECT c.id, c.name, i.id FROM Category c LEFT JOIN c.indexcards i", Object[].class)
+                    .getResultList();
+        }
+    }
+}
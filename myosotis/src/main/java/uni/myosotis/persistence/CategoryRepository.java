@@ -1,21 +1,21 @@
 package uni.myosotis.persistence;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.NoResultException;
 import uni.myosotis.objects.Category;
+import uni.myosotis.objects.CategorySummary;
 
-import java.util.*;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
- * This class is used to access the persistence storage for the object type "Category".
+ * This interface is used to access the persistence storage for the object type "Category".
+ * The implementation is chosen by {@link Repositories}.
+ * <p>
+ * Every returned Category comes with its children, all their descendants and the Indexcards
+ * of all these Category's, because the persistence storage is closed when the method returns.
  */
-public class CategoryRepository {
-
-    private final Logger logger = Logger.getLogger(CategoryRepository.class.getName());
-
-    private final PersistenceManager pm = new PersistenceManager();
+public interface CategoryRepository {
 
     /**
      * This method is used to save an object of type "category" to the
@@ -23,34 +23,15 @@ public class CategoryRepository {
      *
      * @param category The category that should be saved to the persistence.
      */
-
-    public void saveCategory(final Category category) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.persist(category);
-            em.getTransaction().commit();
-        } catch (Exception e) {
-            logger.log(Level.WARNING,"Error while saving a Category to the database: " + e.getMessage());
-        }
-    }
+    void saveCategory(Category category);
 
     /**
-     * This method is used to update an object of type "Category" to the persistent
-     * persistence storage. If the Category does not exist at this point it will be created
-     * and added to the database. Otherwise, the content of the given Category will be updated
-     * instead.
+     * This method is used to update an object of type "Category" in the persistence storage.
+     * If the Category does not exist at this point it will be created.
      *
      * @param category The category that should be updated.
      */
-    public void updateCategory(final Category category) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.merge(category);
-            em.getTransaction().commit();
-        } catch (Exception e) {
-            logger.log(Level.WARNING,"Error while updating Category in the database: " + e.getMessage());
-        }
-    }
+    void updateCategory(Category category);
 
     /**
      * This method is used to delete an object of type "Category" in the
@@ -58,101 +39,161 @@ public class CategoryRepository {
      *
      * @param category The Category that should be deleted.
      */
-    public void deleteCategory(final Category category) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.remove(em.find(Category.class, category.getId()));
-            em.getTransaction().commit();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE,"Error occurred while deleting category with name {0}", category.getCategoryName());
-            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
-        }
-    }
+    void deleteCategory(Category category);
 
     /**
-     * This method is used to find an object of type "Category" in the persistent
-     * persistence storage.
+     * This method is used to delete objects of type "Category" with a fixed number of statements.
+     * The Category's are removed from their parents and from the IndexcardBoxes before, their
+     * children stay.
+     *
+     * @param ids The ids of the Category's.
+     * @return Status, -1 means an error has been occurred on delete.
+     */
+    int deleteCategories(Collection<Long> ids);
+
+    /**
+     * This method is used to add objects of type "Indexcard" to a Category with a fixed number of statements.
+     * Indexcards, that are in the Category already, are not added again.
+     *
+     * @param categoryId   The id of the Category.
+     * @param indexcardIds The ids of the Indexcards.
+     * @return Status, -1 means an error has been occurred on update.
+     */
+    int addIndexcards(Long categoryId, Collection<Long> indexcardIds);
+
+    /**
+     * This method is used to remove objects of type "Indexcard" from a Category with a fixed number of statements.
+     *
+     * @param categoryId   The id of the Category.
+     * @param indexcardIds The ids of the Indexcards.
+     * @return Status, -1 means an error has been occurred on update.
+     */
+    int removeIndexcards(Long categoryId, Collection<Long> indexcardIds);
+
+    /**
+     * This method is used to remove objects of type "Indexcard" from every Category, that contains them,
+     * with a fixed number of statements.
+     *
+     * @param indexcardIds The ids of the Indexcards.
+     * @return Status, -1 means an error has been occurred on update.
+     */
+    int removeIndexcardsFromAllCategories(Collection<Long> indexcardIds);
+
+    /**
+     * This method is used to find an object of type "Category" by its name.
      *
      * @param name      The name of the Category.
-     * @return          The object of type "Category" or null if it does not exist.
+     * @return          The object of type "Category", if it exists.
      */
-    public Optional<Category> getCategoryByName(final String name) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return Optional.ofNullable(em.createQuery("SELECT c FROM Category c WHERE c.name = :name", Category.class).setParameter("name", name).getSingleResult());
-        } catch (NoResultException e) {
-            logger.log(Level.WARNING,"No category found with name {0}", name);
-            return Optional.empty();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE,"Error occurred while searching for category by name {0}", name);
-            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
-            throw e;
-        }
-    }
+    Optional<Category> getCategoryByName(String name);
 
     /**
-     * This method is used to find an object of type "Category" in the
-     * persistence storage by id.
+     * This method is used to find an object of type "Category" by its id.
      *
      * @param id      The id of the Category.
-     * @return        The object of type "Category" or null if it does not exist.
-     */
-    public Optional<Category> getCategoryById(final Long id) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return Optional.ofNullable(em.createQuery("SELECT c FROM Category c WHERE c.id = :id", Category.class).setParameter("id", id).getSingleResult());
-        } catch (NoResultException e) {
-            logger.log(Level.WARNING,"No category found with id {0}", id);
-            return Optional.empty();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE,"Error occurred while searching for category by id {0}", id);
-            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
-            throw e;
-        }
-    }
-
-    /**
-     * This method is used to get all objects of type "Category" in the persistent
-     * persistence storage.
+     * @return        The object of type "Category", if it exists.
+     */
+    Optional<Category> getCategoryById(Long id);
+
+    /**
+     * This method is used to get all objects of type "Category" in the
+     * persistence storage. The children and Indexcards of every Category are loaded, so it should only be
+     * used if they are read, the names are read with {@link #getCategorySummaries()}.
      *
      * @return List of all objects of type "Category", could be empty.
      */
-    public List<Category> getAllCategories(){
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT k FROM Category k", Category.class).getResultList();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE,"Error occurred while retrieving all categories", e);
-            throw e;
-        }
-    }
+    List<Category> getAllCategories();
 
     /**
-     * This method is used to search for an object of type "Category" in the persistent
-     * persistence storage.
+     * This method is used to get the id and name of all objects of type "Category",
+     * without loading the Category's themselves.
+     *
+     * @return List of the id and name of every Category in the order of the ids, could be empty.
+     */
+    List<CategorySummary> getCategorySummaries();
+
+    /**
+     * This method is used to count the objects of type "Category", that contain the text.
+     *
+     * @param text      The text, empty for all Category's.
+     * @return          The number of Category's, that contain the text.
+     */
+    long countCategories(String text);
+
+    /**
+     * This method is used to get one page of the id and name of the objects of type "Category",
+     * that contain the text, in the order of their ids. If the id of the last Category of the page
+     * before is known, the page starts after it, otherwise at the offset.
+     *
+     * @param text      The text, empty for all Category's.
+     * @param afterId   The id of the last Category of the page before, or null.
+     * @param offset    The position of the first Category of the page, used if afterId is null.
+     * @param limit     The maximal number of Category's.
+     * @return          The id and name of the Category's of the page, could be empty.
+     */
+    List<CategorySummary> getCategorySummaryPage(String text, Long afterId, int offset, int limit);
+
+    /**
+     * This method is used to search for objects of type "Category", whose name contains the text,
+     * ignoring the case.
      *
      * @param text      The text that should be searched for.
      * @return          List of all objects of type "Category" that contain the text, could be empty.
      */
+    List<Category> searchCategory(String text);
+
+    /**
+     * This method is used to get all objects of type "Category", that contain the Indexcard with the given id.
+     *
+     * @param indexcardId The id of the Indexcard.
+     * @return          List of all Categories that contain the Indexcard in the order of their ids, could be empty.
+     */
+    List<Category> getCategoriesByIndexcardId(Long indexcardId);
+
+    /**
+     * This method is used to get the names of the Category's of all Indexcards at once.
+     *
+     * @return          A map from the id of an Indexcard to the names of its Category's,
+     *                  Indexcards without a Category are missing.
+     */
+    Map<Long, List<String>> getCategoryNamesByIndexcard();
 
-    public List<Category> searchCategory(String text) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT i FROM Category i WHERE LOWER(i.name) LIKE :text", Category.class)
-                    .setParameter("text", "%" + text.toLowerCase() + "%")
-                    .getResultList();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE,"Error occurred while searching category with text {0}", text);
-            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
-            throw e;
-        }
-    }
-
-    public List<Category> getChildren(Category category){
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT k FROM Category k WHERE parent = :category", Category.class)
-                    .setParameter("category", category)
-                    .getResultList();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE,"Error occurred while retrieving all categories", e);
-            throw e;
-        }
-    }
+    /**
+     * This method is used to get the names of all objects of type "Category", without loading the Category's.
+     *
+     * @return          A map from the id of a Category to its name.
+     */
+    Map<Long, String> getCategoryNames();
 
+    /**
+     * This method is used to get the ids of the Indexcards in the Category with the given id,
+     * without loading the Category.
+     *
+     * @param categoryId The id of the Category.
+     * @return          List of the ids of the Indexcards, could be empty.
+     */
+    List<Long> getIndexcardIds(Long categoryId);
+
+    /**
+     * This method is used to get the parents of the objects of type "Category" with the given ids.
+     *
+     * @param ids       The ids of the children.
+     * @return          List of all Categories that have one of these Categories as a child, could be empty.
+     */
+    List<Category> getParentCategories(Collection<Long> ids);
+
+    /**
+     * This method is used to get all objects of type "Category", that are not a child of another Category.
+     *
+     * @return          List of all Categories without a parent, could be empty.
+     */
+    List<Category> getRootCategories();
+
+    /**
+     * This method is used to get the children of a Category.
+     *
+     * @param category  The Category.
+     * @return          List of the children of the Category, could be empty.
+     */
+    List<Category> getChildren(Category category);
 }
@@ -0,0 +1,243 @@
+package uni.myosotis.persistence;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The settings of the database connection: which backend stores the data, where the H2 database is,
+ * how it is tuned and how many connections the HikariCP pool keeps.
+ * <p>
+ * Every setting has a default and can be overridden with a system property, e.g.
+ * {@code -Dmyosotis.db.profile=throughput} or {@code -Dmyosotis.db.mode=memory}:
+ * <ul>
+ *     <li>{@code myosotis.db.backend}: the {@link Backend} of the repositories, {@code hibernate} by default.</li>
+ *     <li>{@code myosotis.db.mode}: {@code file} (default) or {@code memory}, an in-memory database for tests.</li>
+ *     <li>{@code myosotis.db.path}: the path of the database file, {@code ./db/myosotis} by default.</li>
+ *     <li>{@code myosotis.db.url}: a complete JDBC-URL, e.g. for an H2 server, replaces mode, path and tuning.</li>
+ *     <li>{@code myosotis.db.user}, {@code myosotis.db.password}: the credentials.</li>
+ *     <li>{@code myosotis.db.profile}: the {@link Profile} for the tuning, {@code desktop} by default.</li>
+ *     <li>{@code myosotis.db.cacheSize}, {@code myosotis.db.writeDelay}, {@code myosotis.db.lockMode}:
+ *     override single values of the profile.</li>
+ *     <li>{@code myosotis.db.pool.maximumSize}, {@code myosotis.db.pool.minimumIdle},
+ *     {@code myosotis.db.pool.connectionTimeout}: the size of the pool and the time in milliseconds
+ *     to wait for a connection.</li>
+ * </ul>
+ */
+public final class DatabaseConfig {
+
+    static final String PREFIX = "myosotis.db.";
+
+    /**
+     * Where the Indexcards, Keywords, Links, Category's, IndexcardBoxes, LeitnerLearnSystems
+     * and review events are stored.
+     */
+    public enum Backend {
+        /**
+         * The H2 database, accessed with Hibernate.
+         */
+        HIBERNATE,
+        /**
+         * An MVStore, the embedded key-value store of H2, in its own file next to the H2 database.
+         */
+        MVSTORE
+    }
+
+    /**
+     * Where the database is.
+     */
+    public enum Mode {
+        /**
+         * A database file, that other processes can open at the same time (AUTO_SERVER).
+         */
+        FILE,
+        /**
+         * A database in memory, that is lost when the application ends. Used for tests.
+         */
+        MEMORY
+    }
+
+    /**
+     * The tuning of H2.
+     */
+    public enum Profile {
+        /**
+         * For the application on a desktop: a medium cache and the default write delay of H2.
+         */
+        DESKTOP(65536, 500, 3),
+        /**
+         * For imports and many changes: a large cache and changes are written to the file less often.
+         */
+        THROUGHPUT(262144, 2000, 3),
+        /**
+         * Every commit is written to the file at once, with a small cache.
+         */
+        DURABLE(16384, 0, 3);
+
+        /**
+         * The size of the page cache in KB.
+         */
+        private final int cacheSize;
+
+        /**
+         * The time in milliseconds, after which committed changes are written to the file.
+         */
+        private final int writeDelay;
+
+        /**
+         * The lock mode of H2: 0 no locking, 1 table locks, 3 read committed.
+         */
+        private final int lockMode;
+
+        Profile(int cacheSize, int writeDelay, int lockMode) {
+            this.cacheSize = cacheSize;
+            this.writeDelay = writeDelay;
+            this.lockMode = lockMode;
+        }
+    }
+
+    private final Backend backend;
+    private final Mode mode;
+    private final String path;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Profile profile;
+    private final int cacheSize;
+    private final int writeDelay;
+    private final int lockMode;
+    private final int maximumPoolSize;
+    private final int minimumIdle;
+    private final long connectionTimeout;
+
+    private DatabaseConfig(Properties properties) {
+        this.backend = parseEnum(properties, "backend", Backend.class, Backend.HIBERNATE);
+        this.mode = parseEnum(properties, "mode", Mode.class, Mode.FILE);
+        this.path = properties.getProperty(PREFIX + "path", "./db/myosotis");
+        this.url = properties.getProperty(PREFIX + "url");
+        this.user = properties.getProperty(PREFIX + "user", "myosotis");
+        this.password = properties.getProperty(PREFIX + "password", "secret");
+        this.profile = parseEnum(properties, "profile", Profile.class, Profile.DESKTOP);
+        this.cacheSize = parseInt(properties, "cacheSize", profile.cacheSize);
+        this.writeDelay = parseInt(properties, "writeDelay", profile.writeDelay);
+        this.lockMode = parseInt(properties, "lockMode", profile.lockMode);
+        this.maximumPoolSize = parseInt(properties, "pool.maximumSize", 8);
+        this.minimumIdle = parseInt(properties, "pool.minimumIdle", 1);
+        this.connectionTimeout = parseInt(properties, "pool.connectionTimeout", 30000);
+        if (lockMode != 0 && lockMode != 1 && lockMode != 3) {
+            throw new IllegalStateException(PREFIX + "lockMode must be 0, 1 or 3, but is " + lockMode);
+        }
+        if (maximumPoolSize < 1 || minimumIdle < 0 || minimumIdle > maximumPoolSize) {
+            throw new IllegalStateException("Invalid pool size " + minimumIdle + ".." + maximumPoolSize);
+        }
+    }
+
+    /**
+     * Reads the settings from the system properties.
+     *
+     * @return The settings.
+     * @throws IllegalStateException If a setting has an invalid value.
+     */
+    public static DatabaseConfig fromSystemProperties() {
+        return from(System.getProperties());
+    }
+
+    /**
+     * Reads the settings from the given properties.
+     *
+     * @param properties The properties, with the prefix "myosotis.db.".
+     * @return The settings.
+     * @throws IllegalStateException If a setting has an invalid value.
+     */
+    static DatabaseConfig from(Properties properties) {
+        return new DatabaseConfig(properties);
+    }
+
+    /**
+     * Returns the backend of the repositories.
+     *
+     * @return The backend.
+     */
+    public Backend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Returns the file of the MVStore backend.
+     *
+     * @return The name of the file or null, if the MVStore is kept in memory.
+     */
+    String getKeyValueFileName() {
+        return mode == Mode.MEMORY ? null : path + ".kv";
+    }
+
+    /**
+     * Returns the JDBC-URL with the tuning of the profile.
+     *
+     * @return The JDBC-URL.
+     */
+    public String getJdbcUrl() {
+        if (url != null) {
+            return url;
+        }
+        return switch (mode) {
+            case FILE -> "jdbc:h2:" + path + ";AUTO_SERVER=TRUE;CACHE_SIZE=" + cacheSize
+                    + ";WRITE_DELAY=" + writeDelay + ";LOCK_MODE=" + lockMode;
+            // The database is kept until the application ends, not only while a connection is open.
+            case MEMORY -> "jdbc:h2:mem:myosotis;DB_CLOSE_DELAY=-1;LOCK_MODE=" + lockMode;
+        };
+    }
+
+    /**
+     * Returns the properties for the persistence unit. They replace the connection settings
+     * in persistence.xml and let Hibernate take the connections from a HikariCP pool.
+     *
+     * @return The properties.
+     */
+    Map<String, Object> toPersistenceProperties() {
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("jakarta.persistence.jdbc.url", getJdbcUrl());
+        properties.put("jakarta.persistence.jdbc.user", user);
+        properties.put("jakarta.persistence.jdbc.password", password);
+        properties.put("hibernate.connection.url", getJdbcUrl());
+        properties.put("hibernate.connection.username", user);
+        properties.put("hibernate.connection.password", password);
+        properties.put("hibernate.connection.provider_class", "org.hibernate.hikaricp.internal.HikariCPConnectionProvider");
+        properties.put("hibernate.hikari.poolName", "myosotis");
+        properties.put("hibernate.hikari.maximumPoolSize", String.valueOf(maximumPoolSize));
+        properties.put("hibernate.hikari.minimumIdle", String.valueOf(minimumIdle));
+        properties.put("hibernate.hikari.connectionTimeout", String.valueOf(connectionTimeout));
+        return properties;
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseConfig[backend=" + backend + ", url=" + getJdbcUrl() + ", user=" + user + ", profile=" + profile
+                + ", pool=" + minimumIdle + ".." + maximumPoolSize + "]";
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Properties properties, String name, Class<E> type, E defaultValue) {
+        final String value = properties.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(PREFIX + name + " has the unknown value " + value);
+        }
+    }
+
+    private static int parseInt(Properties properties, String name, int defaultValue) {
+        final String value = properties.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(PREFIX + name + " is not a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package uni.myosotis.persistence;
+
+import org.hibernate.Hibernate;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardBox;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Loads the lazy associations, that are used after an entity was returned by a repository.
+ * The repositories close their EntityManager before they return, so every association that
+ * is used later has to be loaded before. The collections have a batch size, so the collections
+ * of many entities are loaded with a few queries.
+ */
+final class FetchPlan {
+
+    private FetchPlan() {
+
+    }
+
+    /**
+     * Loads the Keywords and Links of the Indexcards.
+     *
+     * @param indexcards The Indexcards.
+     * @return The same Indexcards.
+     */
+    static <T extends Collection<Indexcard>> T indexcards(final T indexcards) {
+        for (Indexcard indexcard : indexcards) {
+            indexcard(indexcard);
+        }
+        return indexcards;
+    }
+
+    /**
+     * Loads the Keywords and Links of the Indexcard, if it exists.
+     *
+     * @param indexcard The Indexcard.
+     * @return The same Indexcard.
+     */
+    static Optional<Indexcard> indexcard(final Optional<Indexcard> indexcard) {
+        indexcard.ifPresent(FetchPlan::indexcard);
+        return indexcard;
+    }
+
+    private static void indexcard(final Indexcard indexcard) {
+        Hibernate.initialize(indexcard.getKeywords());
+        Hibernate.initialize(indexcard.getLinks());
+    }
+
+    /**
+     * Loads the children of the Category's with all their descendants and the Indexcards
+     * of all these Category's. The Indexcards are loaded without their Keywords and Links.
+     *
+     * @param categories The Category's.
+     * @return The same Category's.
+     */
+    static <T extends Collection<Category>> T categories(final T categories) {
+        final Set<Category> loaded = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Category> pending = new ArrayDeque<>(categories);
+        while (!pending.isEmpty()) {
+            final Category category = pending.pop();
+            if (category == null || !loaded.add(category)) {
+                continue;
+            }
+            Hibernate.initialize(category.getIndexcards());
+            Hibernate.initialize(category.getChildren());
+            if (category.getChildren() != null) {
+                pending.addAll(category.getChildren());
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Loads the Category, like {@link #categories(Collection)}, if it exists.
+     *
+     * @param category The Category.
+     * @return The same Category.
+     */
+    static Optional<Category> category(final Optional<Category> category) {
+        category.ifPresent(c -> categories(Collections.singletonList(c)));
+        return category;
+    }
+
+    /**
+     * Loads the Category's of the IndexcardBoxes, like {@link #categories(Collection)}.
+     *
+     * @param indexcardBoxes The IndexcardBoxes.
+     * @return The same IndexcardBoxes.
+     */
+    static <T extends Collection<IndexcardBox>> T indexcardBoxes(final T indexcardBoxes) {
+        for (IndexcardBox indexcardBox : indexcardBoxes) {
+            Hibernate.initialize(indexcardBox.getCategoryList());
+            if (indexcardBox.getCategoryList() != null) {
+                categories(indexcardBox.getCategoryList());
+            }
+        }
+        return indexcardBoxes;
+    }
+
+    /**
+     * Loads the Category's of the IndexcardBox, if it exists.
+     *
+     * @param indexcardBox The IndexcardBox.
+     * @return The same IndexcardBox.
+     */
+    static Optional<IndexcardBox> indexcardBox(final Optional<IndexcardBox> indexcardBox) {
+        indexcardBox.ifPresent(box -> indexcardBoxes(Collections.singletonList(box)));
+        return indexcardBox;
+    }
+}
@@ -0,0 +1,438 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
+import org.hibernate.jpa.HibernateHints;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.CategorySummary;
+
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the H2 database with Hibernate for the object type "Category".
+ */
+class HibernateCategoryRepository implements CategoryRepository {
+
+    private final Logger logger = Logger.getLogger(HibernateCategoryRepository.class.getName());
+
+    private final PersistenceManager pm = new PersistenceManager();
+
+    /**
+     * This method is used to save an object of type "category" to the
+     * persistence storage.
+     *
+     * @param category The category that should be saved to the persistence.
+     */
+
+    @Override
+    public void saveCategory(final Category category) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(category);
+            em.getTransaction().commit();
+            CategoryIndex.put(category);
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Error while saving a Category to the database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method is used to update an object of type "Category" to the persistent
+     * persistence storage. If the Category does not exist at this point it will be created
+     * and added to the database. Otherwise, the content of the given Category will be updated
+     * instead.
+     *
+     * @param category The category that should be updated.
+     */
+    @Override
+    public void updateCategory(final Category category) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.merge(category);
+            em.getTransaction().commit();
+            CategoryIndex.put(category);
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Error while updating Category in the database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method is used to delete an object of type "Category" in the
+     * persistence storage.
+     *
+     * @param category The Category that should be deleted.
+     */
+    @Override
+    public void deleteCategory(final Category category) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.remove(em.find(Category.class, category.getId()));
+            em.getTransaction().commit();
+            CategoryIndex.remove(category.getId());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while deleting category with name {0}", category.getCategoryName());
+            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * This method is used to delete objects of type "Category" in the persistent persistence storage.
+     * The rows of the Category's in the join tables of their parents and of the IndexcardBoxes are deleted
+     * before, then the Category's with one statement, together with their rows of the children and Indexcards.
+     *
+     * @param ids The ids of the Category's.
+     * @return Status, -1 means an error has been occurred on delete.
+     */
+    @Override
+    public int deleteCategories(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            PersistenceManager.deleteNative(em, "IndexcardBox_Category", "IndexcardBox_name", "categoryList_id IN (:ids)",
+                    Map.of("ids", ids));
+            PersistenceManager.deleteNative(em, "Category_Category", "Category_id", "children_id IN (:ids)", Map.of("ids", ids));
+            em.createQuery("DELETE FROM Category c WHERE c.id IN :ids").setParameter("ids", ids).executeUpdate();
+            em.getTransaction().commit();
+            for (Long id : ids) {
+                CategoryIndex.remove(id);
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while deleting categories with ids {0}", ids);
+            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * This method is used to add objects of type "Indexcard" to a Category with one statement,
+     * that inserts the missing rows into the join table of the Indexcards.
+     *
+     * @param categoryId   The id of the Category.
+     * @param indexcardIds The ids of the Indexcards.
+     * @return Status, -1 means an error has been occurred on update.
+     */
+    @Override
+    public int addIndexcards(final Long categoryId, final Collection<Long> indexcardIds) {
+        if (indexcardIds.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            PersistenceManager.insertNative(em, "Category_Indexcard", "INSERT INTO Category_Indexcard (Category_id, indexcards_id) "
+                    + "SELECT :category, i.id FROM Indexcard i WHERE i.id IN (:ids) AND NOT EXISTS "
+                    + "(SELECT 1 FROM Category_Indexcard ci WHERE ci.Category_id = :category AND ci.indexcards_id = i.id)",
+                    Map.of("category", categoryId, "ids", indexcardIds), List.of(categoryId));
+            final List<Long> added = em.createQuery("SELECT i.id FROM Category c JOIN c.indexcards i WHERE c.id = :category AND i.id IN :ids", Long.class)
+                    .setParameter("category", categoryId)
+                    .setParameter("ids", indexcardIds)
+                    .getResultList();
+            em.getTransaction().commit();
+            CategoryIndex.addIndexcards(categoryId, added);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while adding index cards to the category with id {0}", categoryId);
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * This method is used to remove objects of type "Indexcard" from a Category with one statement,
+     * that deletes the rows from the join table of the Indexcards.
+     *
+     * @param categoryId   The id of the Category.
+     * @param indexcardIds The ids of the Indexcards.
+     * @return Status, -1 means an error has been occurred on update.
+     */
+    @Override
+    public int removeIndexcards(final Long categoryId, final Collection<Long> indexcardIds) {
+        if (indexcardIds.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            PersistenceManager.deleteNative(em, "Category_Indexcard", "Category_id",
+                    "Category_id = :category AND indexcards_id IN (:ids)", Map.of("category", categoryId, "ids", indexcardIds));
+            em.getTransaction().commit();
+            CategoryIndex.removeIndexcards(categoryId, indexcardIds);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while removing index cards from the category with id {0}", categoryId);
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * This method is used to remove objects of type "Indexcard" from every Category with one statement,
+     * that deletes their rows from the join table of the Indexcards.
+     *
+     * @param indexcardIds The ids of the Indexcards.
+     * @return Status, -1 means an error has been occurred on update.
+     */
+    @Override
+    public int removeIndexcardsFromAllCategories(final Collection<Long> indexcardIds) {
+        if (indexcardIds.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            PersistenceManager.deleteNative(em, "Category_Indexcard", "Category_id", "indexcards_id IN (:ids)",
+                    Map.of("ids", indexcardIds));
+            em.getTransaction().commit();
+            CategoryIndex.removeIndexcards(indexcardIds);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while removing index cards from the categories");
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * This method is used to find an object of type "Category" in the persistent
+     * persistence storage.
+     *
+     * @param name      The name of the Category.
+     * @return          The object of type "Category" or null if it does not exist.
+     */
+    @Override
+    public Optional<Category> getCategoryByName(final String name) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.category(Optional.ofNullable(em.createQuery("SELECT c FROM Category c WHERE c.name = :name", Category.class).setParameter("name", name).getSingleResult()));
+        } catch (NoResultException e) {
+            logger.log(Level.WARNING,"No category found with name {0}", name);
+            return Optional.empty();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while searching for category by name {0}", name);
+            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to find an object of type "Category" in the
+     * persistence storage by id.
+     *
+     * @param id      The id of the Category.
+     * @return        The object of type "Category" or null if it does not exist.
+     */
+    @Override
+    public Optional<Category> getCategoryById(final Long id) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.category(Optional.ofNullable(em.createQuery("SELECT c FROM Category c WHERE c.id = :id", Category.class).setParameter("id", id).getSingleResult()));
+        } catch (NoResultException e) {
+            logger.log(Level.WARNING,"No category found with id {0}", id);
+            return Optional.empty();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while searching for category by id {0}", id);
+            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get all objects of type "Category" in the persistent
+     * persistence storage.
+     *
+     * @return List of all objects of type "Category", could be empty.
+     */
+    @Override
+    public List<Category> getAllCategories(){
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.categories(em.createQuery("SELECT k FROM Category k", Category.class).setHint(HibernateHints.HINT_CACHEABLE, true).getResultList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while retrieving all categories", e);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the id and name of all objects of type "Category",
+     * without loading the Category's themselves.
+     *
+     * @return List of the id and name of every Category, could be empty.
+     */
+    @Override
+    public List<CategorySummary> getCategorySummaries() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT new uni.myosotis.objects.CategorySummary(c.id, c.name) FROM Category c ORDER BY c.id", CategorySummary.class)
+                    .getResultList();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while retrieving the names of all categories", e);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to count the objects of type "Category", that contain the text.
+     *
+     * @param text      The text, empty for all Category's.
+     * @return          The number of Category's, that contain the text.
+     */
+    @Override
+    public long countCategories(final String text) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT COUNT(c) FROM Category c WHERE LOWER(c.name) LIKE :text", Long.class)
+                    .setParameter("text", "%" + text.toLowerCase() + "%")
+                    .getSingleResult();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while counting categories with text {0}", text);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get one page of the id and name of the objects of type "Category",
+     * that contain the text, in the order of their ids. If the id of the last Category of the page
+     * before is known, the page starts after it, otherwise at the offset.
+     *
+     * @param text      The text, empty for all Category's.
+     * @param afterId   The id of the last Category of the page before, or null.
+     * @param offset    The position of the first Category of the page, used if afterId is null.
+     * @param limit     The maximal number of Category's.
+     * @return          The id and name of the Category's of the page, could be empty.
+     */
+    @Override
+    public List<CategorySummary> getCategorySummaryPage(final String text, final Long afterId, final int offset, final int limit) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT new uni.myosotis.objects.CategorySummary(c.id, c.name) FROM Category c "
+                            + "WHERE LOWER(c.name) LIKE :text AND c.id > :afterId ORDER BY c.id", CategorySummary.class)
+                    .setParameter("text", "%" + text.toLowerCase() + "%")
+                    .setParameter("afterId", afterId == null ? Long.MIN_VALUE : afterId)
+                    .setFirstResult(afterId == null ? offset : 0)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while retrieving a page of categories with text {0}", text);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to search for an object of type "Category" in the persistent
+     * persistence storage.
+     *
+     * @param text      The text that should be searched for.
+     * @return          List of all objects of type "Category" that contain the text, could be empty.
+     */
+
+    @Override
+    public List<Category> searchCategory(String text) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.categories(em.createQuery("SELECT i FROM Category i WHERE LOWER(i.name) LIKE :text", Category.class)
+                    .setParameter("text", "%" + text.toLowerCase() + "%")
+                    .getResultList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while searching category with text {0}", text);
+            logger.log(Level.SEVERE,"Error: {0}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get all objects of type "Category", that contain the Indexcard with the given id.
+     * The Category's are looked up in the CategoryIndex, so only these Category's get loaded.
+     *
+     * @param indexcardId The id of the Indexcard.
+     * @return          List of all Categories that contain the Indexcard, could be empty.
+     */
+    @Override
+    public List<Category> getCategoriesByIndexcardId(final Long indexcardId) {
+        final List<Long> ids = CategoryIndex.getCategoryIds(indexcardId);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.categories(em.createQuery("SELECT c FROM Category c WHERE c.id IN :ids ORDER BY c.id", Category.class)
+                    .setParameter("ids", ids)
+                    .getResultList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while retrieving the categories of indexcard {0}", indexcardId);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the names of the Category's of all Indexcards at once.
+     *
+     * @return          A map from the id of an Indexcard to the names of its Category's,
+     *                  Indexcards without a Category are missing.
+     */
+    @Override
+    public Map<Long, List<String>> getCategoryNamesByIndexcard() {
+        return CategoryIndex.getCategoryNamesByIndexcard();
+    }
+
+    /**
+     * This method is used to get the names of all objects of type "Category" from the CategoryIndex.
+     *
+     * @return          A map from the id of a Category to its name.
+     */
+    @Override
+    public Map<Long, String> getCategoryNames() {
+        return CategoryIndex.getCategoryNames();
+    }
+
+    /**
+     * This method is used to get the ids of the Indexcards in the Category with the given id from the CategoryIndex.
+     *
+     * @param categoryId The id of the Category.
+     * @return          List of the ids of the Indexcards, could be empty.
+     */
+    @Override
+    public List<Long> getIndexcardIds(final Long categoryId) {
+        return CategoryIndex.getIndexcardIds(categoryId);
+    }
+
+    /**
+     * This method is used to get the parents of the objects of type "Category" with the given ids.
+     * The parents are read from the join table of the children, so no other Category gets loaded.
+     *
+     * @param ids       The ids of the children.
+     * @return          List of all Categories that have one of these Categories as a child, could be empty.
+     */
+    @Override
+    public List<Category> getParentCategories(final Collection<Long> ids) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.categories(em.createQuery("SELECT DISTINCT p FROM Category p JOIN p.children c WHERE c.id IN :ids", Category.class)
+                    .setParameter("ids", ids)
+                    .getResultList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while retrieving the parents of categories {0}", ids);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get all objects of type "Category", that are not a child of another Category.
+     *
+     * @return          List of all Categories without a parent, could be empty.
+     */
+    @Override
+    public List<Category> getRootCategories() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.categories(em.createQuery("SELECT k FROM Category k WHERE NOT EXISTS "
+                            + "(SELECT p FROM Category p JOIN p.children c WHERE c.id = k.id)", Category.class)
+                    .getResultList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while retrieving the root categories", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Category> getChildren(Category category){
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.categories(em.createQuery("SELECT k FROM Category k WHERE parent = :category", Category.class)
+                    .setParameter("category", category)
+                    .getResultList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while retrieving all categories", e);
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,242 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.jpa.HibernateHints;
+import uni.myosotis.objects.IndexcardBox;
+import java.util.ArrayList;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+
+/**
+ * This class is used to access the H2 database with Hibernate for the object type "IndexcardBox".
+ */
+class HibernateIndexcardBoxRepository implements IndexcardBoxRepository {
+
+    private static final java.util.logging.Logger logger = java.util.logging.Logger.getLogger(HibernateIndexcardBoxRepository.class.getName());
+
+    private final PersistenceManager pm = new PersistenceManager();
+
+    /**
+     * @author Len Thiemann
+     * <p>
+     * This method is used to save an object of type "indexcardBox" to the persistent
+     * persistence storage.
+     *
+     * @param indexcardBox     The index card that should be saved to the persistence.
+     * @return              Status, -1 means an error has been occurred on save.
+     */
+    @Override
+    public int saveIndexcardBox(final IndexcardBox indexcardBox) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(indexcardBox);
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving index card: {0}", indexcardBox.getName());
+            return -1;
+        }
+        //logger.log(Level.INFO, "Successfully saved index card: {0}", indexcardBox.getName());
+        return 0;
+    }
+
+    /**
+     * @author Johannes Neugebauer
+     * <p>
+     * This method is used to update an object of type "indexcardBox" to the persistent
+     * persistence storage. If the Card does not exist at this point it will be created
+     * and added to the database. Otherwise, the content of the given card will be updated
+     * instead.
+     *
+     * @param indexcardBox     The index card that should be updated.
+     * @return              Status, -1 means an error has been occurred on update.
+     */
+    @Override
+    public int updateIndexcardBox(final IndexcardBox indexcardBox) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.merge(indexcardBox);
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error updating index card: {0}", indexcardBox.getName());
+            return -1;
+        }
+        //logger.log(Level.INFO, "Successfully updated index card: {0}", indexcardBox.getName());
+        return 0;
+    }
+
+    /**
+     * This method is used to delete an object of type "IndexcardBox" in the persistent
+     * persistence storage.
+     *
+     * @param name      The unique id of the index card.
+     * @return          Status, -1 means an error has been occurred on delete.
+     */
+    @Override
+    public int deleteIndexcardBox(final String name) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.remove(em.find(IndexcardBox.class, name));
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting index card: {0}", name);
+            return -1;
+        }
+        //logger.log(Level.INFO, "Successfully deleted index card: {0}", name);
+        return 0;
+    }
+
+    /**
+     * This method is used to delete objects of type "IndexcardBox" in the persistent persistence storage
+     * with one statement. Hibernate deletes their rows of the Category's together with them.
+     *
+     * @param names     The names of the IndexcardBoxes.
+     * @return          Status, -1 means an error has been occurred on delete.
+     */
+    @Override
+    public int deleteIndexcardBoxes(final Collection<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.flush();
+            em.createQuery("DELETE FROM IndexcardBox b WHERE b.name IN :names").setParameter("names", names).executeUpdate();
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting index card boxes: {0}", names);
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * This method is used to find an object of type "IndexcardBox" in the persistent
+     * persistence storage.
+     *
+     * @param name      The unique id of the index card.
+     * @return          The object of type "IndexcardBox" or null if it does not exist.
+     */
+    @Override
+    public Optional<IndexcardBox> getIndexcardBoxByName(final String name) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcardBox(Optional.ofNullable(em.find(IndexcardBox.class, name)));
+        } catch (PersistenceException e) {
+            logger.log(Level.SEVERE,"Error retrieving indexcard box by name: {}",name);
+            logger.log(Level.SEVERE,e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+
+
+
+    /**
+     * This method is used to get all objects of type "Indexcard" in the persistent
+     * persistence storage.
+     *
+     * @return List of all objects of type "Indexcard", could be empty.
+     */
+    @Override
+    public List<IndexcardBox> getAllIndexcardBoxes(){
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcardBoxes(em.createQuery("SELECT i FROM IndexcardBox i", IndexcardBox.class)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .getResultList());
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error retrieving all index cards");
+            return null;
+        }
+    }
+
+    /**
+     * This method is used to get the names of all objects of type "IndexcardBox",
+     * without loading their Category's.
+     *
+     * @return List of the names of all IndexcardBoxes, could be empty.
+     */
+    @Override
+    public List<String> getIndexcardBoxNames() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT i.name FROM IndexcardBox i ORDER BY i.name", String.class).getResultList();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error retrieving the names of all index card boxes");
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * This method counts the IndexcardBoxes that contain a part of the given text in their name.
+     *
+     * @param text The text, empty for all IndexcardBoxes.
+     * @return The number of these IndexcardBoxes.
+     */
+    @Override
+    public long countIndexcardBoxes(final String text) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT COUNT(i) FROM IndexcardBox i WHERE UPPER(i.name) LIKE UPPER(:text)", Long.class)
+                    .setParameter("text", "%" + text + "%")
+                    .getSingleResult();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error counting the index card boxes");
+            return 0;
+        }
+    }
+
+    /**
+     * This method gets one page of the names of the IndexcardBoxes that contain a part of the given
+     * text in their name, in the order of the names. If the name of the last IndexcardBox of the page
+     * before is known, the page starts after it, otherwise at the offset.
+     *
+     * @param text      The text, empty for all IndexcardBoxes.
+     * @param afterName The name of the last IndexcardBox of the page before, or null.
+     * @param offset    The position of the first IndexcardBox of the page, used if afterName is null.
+     * @param limit     The maximal number of IndexcardBoxes.
+     * @return The names of the IndexcardBoxes of the page.
+     */
+    @Override
+    public List<String> getIndexcardBoxNamePage(final String text, final String afterName, final int offset, final int limit) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT i.name FROM IndexcardBox i WHERE UPPER(i.name) LIKE UPPER(:text) "
+                            + "AND i.name > :afterName ORDER BY i.name", String.class)
+                    .setParameter("text", "%" + text + "%")
+                    .setParameter("afterName", afterName == null ? "" : afterName)
+                    .setFirstResult(afterName == null ? offset : 0)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error retrieving a page of index card boxes");
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * This method gets all IndexcardBoxes that contains a part of
+     * the given text in their name, by using a LIKE query and
+     * UPPER function to make it case insensitiv.
+     *
+     * @param text The text.
+     * @return A list of the IndexcardBoxes that contains a part of the given text in their name.
+     */
+    @Override
+    public List<IndexcardBox> searchIndexcardBox(String text) {
+       try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcardBoxes(em.createQuery("SELECT i FROM IndexcardBox i WHERE UPPER(i.name) LIKE UPPER(:text)", IndexcardBox.class).setParameter("text", "%" + text + "%").getResultList());
+       }
+       catch (Exception e) {
+           logger.log(Level.SEVERE, "Error retrieving all index cards");
+           return null;
+       }
+    }
+}
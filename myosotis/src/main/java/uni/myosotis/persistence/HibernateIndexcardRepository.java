@@ -0,0 +1,543 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardBox;
+import uni.myosotis.objects.IndexcardSummary;
+import uni.myosotis.objects.IndexcardText;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+
+
+/**
+ * This class is used to access the H2 database with Hibernate for the object type "Indexcard".
+ */
+class HibernateIndexcardRepository implements IndexcardRepository {
+
+    private static final java.util.logging.Logger logger = java.util.logging.Logger.getLogger(HibernateIndexcardRepository.class.getName());
+
+    private final PersistenceManager pm = new PersistenceManager();
+
+
+
+    /**
+     * @author Len Thiemann
+     * <p>
+     * This method is used to save an object of type "Indexcard" to the persistent
+     * persistence storage.
+     *
+     * @param indexcard     The index card that should be saved to the persistence.
+     * @return              Status, -1 means an error has been occurred on save.
+     */
+    @Override
+    public int saveIndexcard(final Indexcard indexcard) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(indexcard);
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving index card: {0}", indexcard.getName());
+            return -1;
+        }
+        //logger.log(Level.INFO, "Successfully saved index card: {0}", indexcard.getName());
+        return 0;
+    }
+
+    /**
+     * This method is used to update an object of type "Indexcard" to the persistent
+     * persistence storage. If the Card does not exist at this point it will be created
+     * and added to the database. Otherwise, the content of the given card will be updated
+     * instead.
+     *
+     * @param indexcard     The index card that should be updated.
+     * @return              Status, -1 means an error has been occurred on update.
+     */
+    @Override
+    public int updateIndexcard(final Indexcard indexcard) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.merge(indexcard);
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error updating index card: {0}", indexcard.getName());
+            return -1;
+        }
+        //logger.log(Level.INFO, "Successfully updated index card: {0}", indexcard.getName());
+        return 0;
+    }
+
+    /**
+     * This method is used to delete an object of type "Indexcard" in the persistent
+     * persistence storage.
+     *
+     * @param id      The unique id of the index card.
+     * @return          Status, -1 means an error has been occurred on delete.
+     */
+    @Override
+    public int deleteIndexcard(final Long id) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.remove(em.find(Indexcard.class, id));
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting index card with id: {0}", id);
+            return -1;
+        }
+        //logger.log(Level.INFO, "Successfully deleted index card with id: {0}", id);
+        return 0;
+    }
+
+    /**
+     * This method is used to delete objects of type "Indexcard" in the persistent persistence storage
+     * with one statement. Hibernate deletes the rows of their Keywords and Links in the join tables
+     * together with the Indexcards. The Indexcards must not be in a Category and must not contain Links anymore.
+     *
+     * @param ids       The ids of the index cards.
+     * @return          Status, -1 means an error has been occurred on delete.
+     */
+    @Override
+    public int deleteIndexcards(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.flush();
+            em.createQuery("DELETE FROM Indexcard i WHERE i.id IN :ids").setParameter("ids", ids).executeUpdate();
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting index cards with ids: {0}", ids);
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * This method is used to add a Keyword to objects of type "Indexcard" with one statement,
+     * that inserts the missing rows into the join table of the Keywords.
+     *
+     * @param ids       The ids of the index cards.
+     * @param keyword   The name of the Keyword.
+     * @return          Status, -1 means an error has been occurred on update.
+     */
+    @Override
+    public int addKeyword(final Collection<Long> ids, final String keyword) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            PersistenceManager.insertNative(em, "Indexcard_Keyword", "INSERT INTO Indexcard_Keyword (Indexcard_id, keywords_name) "
+                    + "SELECT i.id, :keyword FROM Indexcard i WHERE i.id IN (:ids) AND NOT EXISTS "
+                    + "(SELECT 1 FROM Indexcard_Keyword ik WHERE ik.Indexcard_id = i.id AND ik.keywords_name = :keyword)",
+                    Map.of("ids", ids, "keyword", keyword), ids);
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error adding keyword {0} to index cards", keyword);
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * This method is used to remove a Keyword from objects of type "Indexcard" with one statement,
+     * that deletes the rows from the join table of the Keywords.
+     *
+     * @param ids       The ids of the index cards.
+     * @param keyword   The name of the Keyword.
+     * @return          Status, -1 means an error has been occurred on update.
+     */
+    @Override
+    public int removeKeyword(final Collection<Long> ids, final String keyword) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            PersistenceManager.deleteNative(em, "Indexcard_Keyword", "Indexcard_id",
+                    "Indexcard_id IN (:ids) AND keywords_name = :keyword", Map.of("ids", ids, "keyword", keyword));
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error removing keyword {0} from index cards", keyword);
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * This method is used to get all objects of type "Indexcard" in the persistent
+     * persistence storage.
+     *
+     * @return List of all objects of type "Indexcard", could be empty.
+     */
+    @Override
+    public List<Indexcard> getAllIndexcards(){
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcards(em.createQuery("SELECT i FROM Indexcard i", Indexcard.class)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .getResultList());
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching all index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get all objects of type "Indexcard" in the persistent
+     * persistence storage.
+     *
+     * @return List of all objects of type "Indexcard", could be empty.
+     */
+    @Override
+    public List<Indexcard> getAllIndexcards(List<String> names){
+        try (EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcards(em.createQuery("SELECT i FROM Indexcard i WHERE i.name IN :names", Indexcard.class)
+                    .setParameter("names", names)
+                    .getResultList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching all index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to find an object of type "Indexcard" in the persistent
+     * persistence storage. The Keywords are fetched with the same query, the Links with a second one.
+     *
+     * @param name      The unique id of the index card.
+     * @return          The object of type "Indexcard" or null if it does not exist.
+     */
+    @Override
+    public Optional<Indexcard> getIndexcardByName(final String name) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            final List<Indexcard> indexcards = em.createQuery("SELECT i FROM Indexcard i LEFT JOIN FETCH i.keywords WHERE i.name = :name", Indexcard.class)
+                    .setParameter("name", name)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .getResultList();
+            if (indexcards.size() == 1) {
+                return FetchPlan.indexcard(Optional.of(indexcards.get(0)));
+            } else {
+                return Optional.empty();
+            }
+        } catch (Exception e) {
+           logger.log(Level.SEVERE,"Error occurred while fetching indexcard by name: " + name);
+            throw e;
+        }
+    }
+
+
+    /**
+     * This method is used to find an object of type "Indexcard" in the persistent
+     * persistence storage.
+     *
+     * @param name      The unique id of the index card.
+     * @return          The object of type "Indexcard" or null if it does not exist.
+     */
+    @Override
+    public Optional<IndexcardBox> getIndexcardBoxByName(final String name) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            final List<IndexcardBox> indexcardBoxList = em.createQuery("SELECT i FROM IndexcardBox i WHERE i.name = :name", IndexcardBox.class).setParameter("name", name).getResultList();
+            if (indexcardBoxList.size() == 1) {
+                return FetchPlan.indexcardBox(Optional.of(indexcardBoxList.get(0)));
+            } else {
+                logger.log(Level.SEVERE,"No indexcard box found with name {0}", name);
+                return Optional.empty();
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,"Error occurred while searching indexcard box with name {0}", name);
+            logger.log(Level.SEVERE, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to find an object of type "Indexcard" by its id, together with its
+     * Keywords and Links.
+     *
+     * @param id        The id of the index card.
+     * @return          The object of type "Indexcard", if it exists.
+     */
+    @Override
+    public Optional<Indexcard> getIndexcardById(Long id) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcard(em.createQuery("SELECT i FROM Indexcard i LEFT JOIN FETCH i.keywords WHERE i.id = :id", Indexcard.class)
+                    .setParameter("id", id)
+                    .getResultStream()
+                    .findFirst());
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching index card with id: {0}", id);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get all objects of type "Category" in the persistent
+     * persistence storage.
+     *
+     * @return List of all objects of type "Category", could be empty.
+     */
+    @Override
+    public List<Indexcard> getAllIndexcardByCategories(String categoryName){
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcards(em.createQuery("SELECT i FROM Indexcard i JOIN Category c WHERE name = :name", Indexcard.class).setParameter("name", categoryName).getResultList());
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching all index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the objects of type "Indexcard" with a Keyword. The query joins
+     * the join table of the Keywords, which has an index on the name of the Keyword.
+     *
+     * @param keyword The name of the Keyword.
+     * @return List of the Indexcards with the Keyword in the order of their ids, could be empty.
+     */
+    @Override
+    public List<Indexcard> getIndexcardsByKeyword(final String keyword) {
+        try (EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcards(em.createQuery("SELECT DISTINCT i FROM Indexcard i JOIN i.keywords k WHERE k.name = :name ORDER BY i.id", Indexcard.class)
+                    .setParameter("name", keyword)
+                    .getResultList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching the index cards with keyword {0}", keyword);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to check, if at least one object of type "Indexcard" has a Keyword.
+     * Only the first matching row of the join table is read.
+     *
+     * @param keyword The name of the Keyword.
+     * @return True, if an Indexcard has the Keyword.
+     */
+    @Override
+    public boolean isKeywordUsed(final String keyword) {
+        try (EntityManager em = pm.getEntityManager()) {
+            return !em.createQuery("SELECT i.id FROM Indexcard i JOIN i.keywords k WHERE k.name = :name", Long.class)
+                    .setParameter("name", keyword)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while checking the usage of keyword {0}", keyword);
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the id and name of all objects of type "Indexcard",
+     * without loading the Indexcards themselves.
+     *
+     * @return List of the id and name of every Indexcard, could be empty.
+     */
+    @Override
+    public List<IndexcardSummary> getIndexcardSummaries() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT new uni.myosotis.objects.IndexcardSummary(i.id, i.name) FROM Indexcard i ORDER BY i.id", IndexcardSummary.class)
+                    .getResultList();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching the names of all index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the id, name, question and answer of all objects of type "Indexcard",
+     * without loading the Indexcards themselves.
+     *
+     * @return List of the texts of every Indexcard in the order of the ids, could be empty.
+     */
+    @Override
+    public List<IndexcardText> getIndexcardTexts() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT new uni.myosotis.objects.IndexcardText(i.id, i.name, i.question, i.answer) "
+                    + "FROM Indexcard i ORDER BY i.id", IndexcardText.class).getResultList();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching the texts of all index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the names of the Keywords of all objects of type "Indexcard" with one query
+     * over the join table, without loading the Indexcards themselves.
+     *
+     * @return A map from the id of an Indexcard to the names of its Keywords, Indexcards without Keywords are missing.
+     */
+    @Override
+    public Map<Long, List<String>> getKeywordNamesByIndexcard() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            final Map<Long, List<String>> keywordNames = new HashMap<>();
+            for (Object[] row : em.createQuery("SELECT i.id, k.name FROM Indexcard i JOIN i.keywords k", Object[].class)
+                    .getResultList()) {
+                keywordNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+            return keywordNames;
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching the keywords of all index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to count the objects of type "Indexcard".
+     *
+     * @return The number of Indexcards.
+     */
+    @Override
+    public long countIndexcards() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT COUNT(i) FROM Indexcard i", Long.class).getSingleResult();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while counting the index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get one page of the id and name of the objects of type "Indexcard",
+     * in the order of their ids. If the id of the last Indexcard of the page before is known, the page
+     * starts after it, so the database does not have to skip the rows before. Otherwise, the page starts
+     * at the offset.
+     *
+     * @param afterId   The id of the last Indexcard of the page before, or null.
+     * @param offset    The position of the first Indexcard of the page, used if afterId is null.
+     * @param limit     The maximal number of Indexcards.
+     * @return          The id and name of the Indexcards of the page, could be empty.
+     */
+    @Override
+    public List<IndexcardSummary> getIndexcardSummaryPage(final Long afterId, final int offset, final int limit) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            if (afterId != null) {
+                return em.createQuery("SELECT new uni.myosotis.objects.IndexcardSummary(i.id, i.name) FROM Indexcard i "
+                                + "WHERE i.id > :afterId ORDER BY i.id", IndexcardSummary.class)
+                        .setParameter("afterId", afterId)
+                        .setMaxResults(limit)
+                        .getResultList();
+            }
+            return em.createQuery("SELECT new uni.myosotis.objects.IndexcardSummary(i.id, i.name) FROM Indexcard i ORDER BY i.id", IndexcardSummary.class)
+                    .setFirstResult(offset)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching a page of index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the id and name of the objects of type "Indexcard" with the given ids.
+     *
+     * @param ids The ids of the Indexcards.
+     * @return The id and name of the Indexcards with these ids, in no specific order, could be empty.
+     */
+    @Override
+    public List<IndexcardSummary> getIndexcardSummariesByIds(final Collection<Long> ids) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT new uni.myosotis.objects.IndexcardSummary(i.id, i.name) FROM Indexcard i WHERE i.id IN :ids", IndexcardSummary.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching the names of index cards by ids");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the ids of all objects of type "Indexcard" by their names,
+     * without loading the Indexcards themselves.
+     *
+     * @return A map from the name to the id of every Indexcard, could be empty.
+     */
+    @Override
+    public Map<String, Long> getIndexcardIdsByName() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            final Map<String, Long> ids = new HashMap<>();
+            for (Object[] row : em.createQuery("SELECT i.name, i.id FROM Indexcard i", Object[].class).getResultList()) {
+                ids.put((String) row[0], (Long) row[1]);
+            }
+            return ids;
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching the ids of all index cards");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get the objects of type "Indexcard" with the given ids with one query.
+     *
+     * @param ids The ids of the Indexcards.
+     * @return The Indexcards with these ids, in no specific order, could be empty.
+     */
+    @Override
+    public List<Indexcard> getIndexcardsByIds(final Collection<Long> ids) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcards(em.createQuery("SELECT i FROM Indexcard i WHERE i.id IN :ids", Indexcard.class)
+                    .setParameter("ids", ids)
+                    .getResultList());
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching index cards by ids");
+            throw e;
+        }
+    }
+
+    /**
+     * This method is used to get a reference to an object of type "Indexcard", without loading it.
+     * The reference can be used to link other objects with the Indexcard and should only be used
+     * inside a UnitOfWork.
+     *
+     * @param id The id of the Indexcard.
+     * @return A reference to the Indexcard.
+     */
+    @Override
+    public Indexcard getIndexcardReference(final Long id) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.getReference(Indexcard.class, id);
+        }
+    }
+
+    /**
+     * Get all indexcards from an indexcard name list.
+     *
+     * @param indexcardNameList The names of the Indexcards.
+     * @return A list the Indexcards with these names.
+     */
+    @Override
+    public List<Indexcard> getIndexcardsFromNameList(List<String> indexcardNameList) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return FetchPlan.indexcards(em.createQuery("SELECT i FROM Indexcard i WHERE i.name IN :indexcardNameList", Indexcard.class)
+                    .setParameter("indexcardNameList", indexcardNameList)
+                    .getResultList());
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while fetching all index cards");
+            throw e;
+        }
+    }
+}
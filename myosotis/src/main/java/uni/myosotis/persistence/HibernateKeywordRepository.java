@@ -0,0 +1,128 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import uni.myosotis.objects.Keyword;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * This class is used to access the H2 database with Hibernate for the object type "Keyword".
+ */
+class HibernateKeywordRepository implements KeywordRepository {
+
+    private final Logger logger = Logger.getLogger(HibernateKeywordRepository.class.getName());
+    private final PersistenceManager pm = new PersistenceManager();
+
+    /**
+     * This method is used to save an object of type "Keyword" to the
+     * persistence storage.
+     *
+     * @param keyword     The keyword that should be saved to the persistence.
+     * @return            Status, -1 means an error has been occurred on save.
+     */
+
+    @Override
+    public int saveKeyword(final Keyword keyword) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(keyword);
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving keyword: {0}", keyword.getName());
+            return -1;
+        }
+        //logger.log(java.util.logging.Level.INFO, "Successfully saved keyword: {0}", keyword.getName());
+        return 0;
+    }
+
+    /**
+     * This method is used to delete an object of type "Keyword" in the
+     * persistence storage.
+     *
+     * @param name      The name of the keywords.
+     * @return          Status, -1 means an error has been occurred on delete.
+     */
+    @Override
+    public int deleteKeyword(final String name) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.remove(em.find(Keyword.class, name));
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error deleting keyword: {0}", name);
+            return -1;
+        }
+        //logger.log(java.util.logging.Level.INFO, "Successfully deleted keyword: {0}", name);
+        return 0;
+    }
+
+    /**
+     * This method is used to delete the objects of type "Keyword" with the given names, that are not
+     * used by an Indexcard anymore, with one statement.
+     *
+     * @param names     The names of the keywords.
+     * @return          The number of deleted Keywords, -1 means an error has been occurred on delete.
+     */
+    @Override
+    public int deleteUnusedKeywords(final Collection<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.flush();
+            final int deleted = em.createQuery("DELETE FROM Keyword k WHERE k.name IN :names AND NOT EXISTS "
+                    + "(SELECT i.id FROM Indexcard i JOIN i.keywords used WHERE used.name = k.name)")
+                    .setParameter("names", names)
+                    .executeUpdate();
+            em.getTransaction().commit();
+            return deleted;
+        } catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error deleting unused keywords: {0}", names);
+            return -1;
+        }
+    }
+
+    /**
+     * This method is used to find an object of type "Keyword" in the
+     * persistence storage.
+     *
+     * @param word      The word of the keyword.
+     * @return          The object of type "Keyword" or null if it does not exist.
+     */
+    @Override
+    public Optional<Keyword> getKeywordByName(final String word) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return Optional.ofNullable(em.find(Keyword.class, word));
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error getting keyword: {0}", word);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * This method is used to get all objects of type "Keyword" in the
+     * persistence storage.
+     *
+     * @return List of all objects of type "Keyword", could be empty.
+     */
+    @Override
+    public List<Keyword> getAllKeywords(){
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT k FROM Keyword k", Keyword.class).setHint(HibernateHints.HINT_CACHEABLE, true).getResultList();
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error getting all keywords");
+            return List.of();
+        }
+    }
+}
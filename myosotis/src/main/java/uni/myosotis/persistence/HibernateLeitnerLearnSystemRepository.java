@@ -0,0 +1,186 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import uni.myosotis.objects.Box;
+import uni.myosotis.objects.IndexcardBox;
+import uni.myosotis.objects.LeitnerLearnSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the H2 database with Hibernate for the object type "LeitnerLearnSystem".
+ */
+class HibernateLeitnerLearnSystemRepository implements LeitnerLearnSystemRepository {
+
+    private final Logger logger = Logger.getLogger(HibernateLeitnerLearnSystemRepository.class.getName());
+    private final PersistenceManager pm = new PersistenceManager();
+
+    /**
+     * This method is used to save a new leitnerLearnSystem and save the Boxes inside the LearnSystem.
+     *
+     * @param name        The name of the leitnerLearnSystem.
+     * @param algorithm   The name of the algorithm, that sets the due times, null for the Leitner-System.
+     * @param indexcardIds The ids of the indexcards that should be learned.
+     */
+    @Override
+    public void saveLeitnerLearnSystem(String name, String algorithm, long[] indexcardIds, int numberOfBoxes, String sortType) {
+        LeitnerLearnSystem leitnerLearnSystem = new LeitnerLearnSystem(name, indexcardIds, numberOfBoxes, sortType);
+        leitnerLearnSystem.setAlgorithm(algorithm);
+        final EntityManager em = pm.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.persist(leitnerLearnSystem);
+            for (Box box : leitnerLearnSystem.getBoxes()) {
+                em.persist(box);
+            }
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error saving leitnerLearnSystem: {0}", leitnerLearnSystem.getId());
+        }
+    }
+
+    /**
+     * This method is used to update a leitnerLearnSystem in the
+     * persistence storage. If the leitnerLearnSystem does not exist, it will be created
+     * and added to the database. Otherwise, the content of the given leitnerLearnSystem will be updated.
+     *
+     * @param leitnerLearnSystem The leitnerLearnSystem that should be updated.
+     */
+    @Override
+    public void updateLearnSystem(final LeitnerLearnSystem leitnerLearnSystem) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            // save the boxes first because otherwise the leitnerLearnSystem cannot be saved
+            for (Box box : leitnerLearnSystem.getBoxes()) {
+                em.merge(box);
+            }
+            em.merge(leitnerLearnSystem);
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error updating leitnerLearnSystem: {0}", leitnerLearnSystem.getId());
+            logger.log(java.util.logging.Level.SEVERE, "Error: {0}", e.getMessage());
+        }
+    }
+
+
+
+
+    /**
+     * This method is used to change a stored leitnerLearnSystem. The leitnerLearnSystem and its
+     * Boxes are loaded, changed by the given action and only the changed values are saved.
+     *
+     * @param id     The id of the leitnerLearnSystem.
+     * @param change The action, that changes the leitnerLearnSystem.
+     * @return 0 if the leitnerLearnSystem was changed, -1 if not.
+     */
+    @Override
+    public int updateLearnSystem(final Long id, final Consumer<LeitnerLearnSystem> change) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            final LeitnerLearnSystem leitnerLearnSystem = em.find(LeitnerLearnSystem.class, id);
+            if (leitnerLearnSystem == null) {
+                logger.log(java.util.logging.Level.WARNING, "LeitnerLearnSystem does not exist anymore: {0}", id);
+                em.getTransaction().commit();
+                return -1;
+            }
+            change.accept(leitnerLearnSystem);
+            em.getTransaction().commit();
+            return 0;
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error updating leitnerLearnSystem: {0}", id);
+            logger.log(java.util.logging.Level.SEVERE, "Error: {0}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * This method is used to delete a LeitnerLearnSystem from the persistence storage.
+     *
+     * @param LeitnerLearnSystem The LeitnerLearnSystem
+     */
+    @Override
+    public void deleteLeitnerLearnSystem(LeitnerLearnSystem LeitnerLearnSystem) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.remove(LeitnerLearnSystem);
+            em.getTransaction().commit();
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error deleting LeitnerLearnSystem: {0}", LeitnerLearnSystem.getId());
+        }
+    }
+
+    /**
+     * This method is used to find an existing LeitnerLearnSystem by id.
+     *
+     * @param id The id of the LeitnerLearnSystem.
+     * @return The LeitnerLearnSystem, if it exists.
+     */
+    @Override
+    public Optional<LeitnerLearnSystem> getLeitnerLearnSystemById(long id) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return Optional.of(em.find(LeitnerLearnSystem.class, id));
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error getting LeitnerLearnSystem: {0}", id);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * This method is used to find an existing LeitnerLearnSystem by a IndexcardBox.
+     *
+     * @param indexcardBox The IndexcardBox connected to the LeitnerLearnSystem.
+     * @return The LeitnerLearnSystem, if it exists.
+     */
+    @Override
+    public <T extends LeitnerLearnSystem> Optional<T> getLeitnerLearnSystemByIndexcardBox(IndexcardBox indexcardBox) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            final List<T> LeitnerLearnSystemList = em.createQuery("SELECT l FROM LeitnerLearnSystem l WHERE l.indexcardBox = :indexcardBox").setParameter("indexcardBox", indexcardBox).getResultList();
+            if (LeitnerLearnSystemList.isEmpty()) {
+                return Optional.empty();
+            } else {
+                return Optional.of(LeitnerLearnSystemList.get(0));
+            }
+        }
+    }
+
+    /**
+     * This method is used to find the Box of an indexcard in a LeitnerLearnSystem, without loading the
+     * LeitnerLearnSystem. Only the number of the Box is selected, with the unique key of the LeitnerCards
+     * on the LeitnerLearnSystem and the indexcard.
+     *
+     * @param learnSystemId The id of the LeitnerLearnSystem.
+     * @param indexcardId   The id of the indexcard.
+     * @return The number of the Box, starting with 0, if the indexcard is learned in the LeitnerLearnSystem.
+     */
+    @Override
+    public Optional<Integer> getBoxNumber(long learnSystemId, long indexcardId) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            final List<Integer> boxNumbers = em.createQuery("SELECT c.boxNumber FROM LeitnerCard c WHERE c.learnSystem.id = :learnSystemId AND c.indexcardId = :indexcardId", Integer.class)
+                    .setParameter("learnSystemId", learnSystemId).setParameter("indexcardId", indexcardId).getResultList();
+            return boxNumbers.stream().findFirst();
+        }
+        catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error getting the box of indexcard {0} in LeitnerLearnSystem {1}", new Object[]{indexcardId, learnSystemId});
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public LeitnerLearnSystem getLeitnerLearnSystemByName(String name) {
+        final EntityManager em = pm.getEntityManager();
+        try {
+            return (LeitnerLearnSystem) em.createQuery("SELECT l FROM LeitnerLearnSystem l WHERE l.name = :name").setParameter("name", name).getSingleResult();
+        } catch (Exception e) {
+            logger.log(java.util.logging.Level.SEVERE, "Error getting LeitnerLearnSystem: {0}", name);
+            return null;
+        }
+    }
+}
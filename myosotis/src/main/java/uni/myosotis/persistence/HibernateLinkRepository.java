@@ -0,0 +1,214 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.Link;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The repository for the links, that accesses the H2 database with Hibernate.
+ */
+class HibernateLinkRepository implements LinkRepository {
+
+    private final Logger logger = Logger.getLogger(LeitnerLearnSystemRepository.class.getName());
+
+    /**
+     * The PersistenceManager.
+     */
+    private final PersistenceManager pm = new PersistenceManager();
+
+    /**
+     * Saves a Link to the persistence storage.
+     *
+     * @param link The Link that should be saved.
+     */
+    @Override
+    public void save(final Link link) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(link);
+            em.getTransaction().commit();
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Failed to save the link to the persistence storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes an existing Link from the persistence storage.
+     *
+     * @param link The Link that should be deleted.
+     */
+    @Override
+    public void delete(final Link link) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            em.remove(em.find(Link.class, link.getId()));
+            em.getTransaction().commit();
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            logger.log(Level.WARNING,"Failed deleting the Link from the persistence storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes existing Links from the persistence storage with one statement.
+     * The Links must not be contained by an Indexcard anymore.
+     *
+     * @param links The Links that should be deleted.
+     */
+    @Override
+    public void deleteLinks(final Collection<Link> links) {
+        final List<Long> ids = links.stream().map(Link::getId).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            // The rows of the join table, that were removed in the same unit of work, must be deleted before.
+            em.flush();
+            em.createQuery("DELETE FROM Link link WHERE link.id IN :ids").setParameter("ids", ids).executeUpdate();
+            em.getTransaction().commit();
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Failed deleting the Links from the persistence storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the Links, that are linked with a specific Indexcard, from the Indexcards that contain them,
+     * and deletes them from the persistence storage. The Indexcards are found with the foreign key of the
+     * Links to the linked Indexcard, so the other Indexcards are not loaded. The Links are deleted with
+     * one statement, after their rows in the join table were removed.
+     *
+     * @param indexcard The specific Indexcard.
+     */
+    @Override
+    public List<Long> deleteLinksToIndexcard(final Indexcard indexcard) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            final List<Indexcard> sources = em.createQuery("SELECT DISTINCT i FROM Indexcard i JOIN i.links link WHERE link.indexcard.id = :id", Indexcard.class)
+                    .setParameter("id", indexcard.getId())
+                    .getResultList();
+            for (Indexcard source : sources) {
+                source.getLinks().removeIf(link -> indexcard.getId().equals(link.getIndexcard().getId()));
+            }
+            em.flush();
+            em.createQuery("DELETE FROM Link link WHERE link.indexcard.id = :id").setParameter("id", indexcard.getId()).executeUpdate();
+            em.getTransaction().commit();
+            return sources.stream().map(Indexcard::getId).toList();
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Failed deleting the Links to an Indexcard from the persistence storage: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Deletes the Links, that are linked with or contained by the given Indexcards. The ids of the contained
+     * Links are read first, then the rows of all these Links are deleted from the join table of the Indexcards,
+     * and the Links with one statement.
+     *
+     * @param indexcardIds The ids of the Indexcards.
+     */
+    @Override
+    public List<Long> deleteLinksOfIndexcards(final Collection<Long> indexcardIds) {
+        if (indexcardIds.isEmpty()) {
+            return List.of();
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            final List<Long> sourceIds = em.createQuery("SELECT DISTINCT i.id FROM Indexcard i JOIN i.links link "
+                            + "WHERE link.indexcard.id IN :ids AND i.id NOT IN :ids", Long.class)
+                    .setParameter("ids", indexcardIds)
+                    .getResultList();
+            final List<Long> containedIds = em.createQuery("SELECT link.id FROM Indexcard i JOIN i.links link WHERE i.id IN :ids", Long.class)
+                    .setParameter("ids", indexcardIds)
+                    .getResultList();
+            PersistenceManager.deleteNative(em, "Indexcard_Link", "Indexcard_id", "Indexcard_id IN (:ids) "
+                    + "OR links_id IN (SELECT id FROM Link WHERE indexcard_id IN (:ids))", Map.of("ids", indexcardIds));
+            em.createQuery("DELETE FROM Link link WHERE link.indexcard.id IN :ids").setParameter("ids", indexcardIds).executeUpdate();
+            if (!containedIds.isEmpty()) {
+                em.createQuery("DELETE FROM Link link WHERE link.id IN :ids").setParameter("ids", containedIds).executeUpdate();
+            }
+            em.getTransaction().commit();
+            return sourceIds;
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Failed deleting the Links of Indexcards from the persistence storage: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Returns all Links saved in the persistence storage.
+     *
+     * @return A list of all Links saved in the persistence storage, could be empty.
+     */
+    @Override
+    public List<Link> getAllLinks() {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT link FROM Link link").getResultList();
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Failed getting all Links saved in the persistence storage: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Returns a list of all Links saved in the persistence storage that are linked to a specific term.
+     *
+     * @param term The specific term.
+     * @return A list of all Links saved in the persistence storage that are linked to a specific term,
+     *         could be empty.
+     */
+    @Override
+    public List<Link> getLinksByTerm(final String term) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT link FROM Link link WHERE link.term = :term").setParameter("term", term).getResultList();
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Failed getting all saved in the persistence storage that are linked to a specific term: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Returns a list of all Links saved in the persistence storage that are linked with a specific Indexcard.
+     *
+     * @param indexcard The specific Indexcard.
+     * @return A list of all Links saved in the persistence storage that are linked with a specific Indexcard,
+     *         could be empty.
+     */
+    @Override
+    public List<Link> getLinksByIndexcard(final Indexcard indexcard) {
+        try (final EntityManager em = pm.getEntityManager()) {
+            return em.createQuery("SELECT link FROM Link link WHERE link.indexcard = :indexcard").setParameter("indexcard", indexcard).getResultList();
+        } catch (Exception e) {
+            logger.log(Level.WARNING,"Failed getting all saved in the persistence storage that are linked with a specific Indexcard: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the ids of the Indexcards, that are linked with every term, with one projection query.
+     *
+     * @return A map from the term to the ids of the Indexcards, that are linked with it, could be empty.
+     */
+    @Override
+    public Map<String, Set<Long>> getIndexcardIdsByLinkTerm() {
+        final Map<String, Set<Long>> ids = new HashMap<>();
+        try (final EntityManager em = pm.getEntityManager()) {
+            for (Object[] row : em.createQuery("SELECT DISTINCT link.term, link.indexcard.id FROM Link link", Object[].class)
+                    .getResultList()) {
+                ids.computeIfAbsent((String) row[0], term -> new HashSet<>()).add((Long) row[1]);
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed getting the terms of the Links saved in the persistence storage: " + e.getMessage());
+        }
+        return ids;
+    }
+}
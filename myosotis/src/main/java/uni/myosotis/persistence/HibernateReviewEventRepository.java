@@ -0,0 +1,89 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import uni.myosotis.objects.ReviewEvent;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the H2 database for the object type "ReviewEvent".
+ */
+class HibernateReviewEventRepository implements ReviewEventRepository {
+
+    private static final Logger logger = Logger.getLogger(HibernateReviewEventRepository.class.getName());
+
+    /**
+     * The number of events, that are sent to the database as one JDBC batch.
+     * Should be the same as "hibernate.jdbc.batch_size" in the persistence.xml.
+     */
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * The number of rows, that the JDBC driver fetches at once, when the columns are read.
+     */
+    private static final int FETCH_SIZE = 10_000;
+
+    private final PersistenceManager pm = new PersistenceManager();
+
+    /**
+     * {@inheritDoc} The inserts are sent to the database in batches.
+     */
+    @Override
+    public int saveReviewEvents(final List<ReviewEvent> reviewEvents) {
+        if (reviewEvents.isEmpty()) {
+            return 0;
+        }
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.getTransaction().begin();
+            for (int i = 0; i < reviewEvents.size(); i++) {
+                em.persist(reviewEvents.get(i));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    em.flush();
+                }
+            }
+            em.getTransaction().commit();
+            return 0;
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving {0} review events: {1}", new Object[]{reviewEvents.size(), e.getMessage()});
+            return -1;
+        }
+    }
+
+    /**
+     * {@inheritDoc} The rows are read with plain JDBC, so no entity is created for an event.
+     * The table is scanned and the rows are sorted in memory, which is several times faster
+     * in H2 than an ORDER BY with a lookup of every row.
+     */
+    @Override
+    public ReviewColumns getReviewColumns(final long learnSystemId) {
+        final ReviewColumns columns = new ReviewColumns();
+        try (final EntityManager em = pm.getEntityManager()) {
+            em.unwrap(Session.class).doWork(connection -> {
+                try (final PreparedStatement statement = connection.prepareStatement(
+                        "SELECT indexcardId, reviewTime, grade, responseTime, sourceBox FROM ReviewEvent "
+                                + "WHERE learnSystemId = ?")) {
+                    statement.setFetchSize(FETCH_SIZE);
+                    statement.setLong(1, learnSystemId);
+                    try (final ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            columns.add(resultSet.getLong(1), resultSet.getLong(2), resultSet.getByte(3),
+                                    resultSet.getInt(4), resultSet.getInt(5));
+                        }
+                    }
+                }
+            });
+            columns.sortByIndexcardAndTime();
+            return columns;
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error reading the review events of the learnsystem: {0}", learnSystemId);
+            throw e;
+        }
+    }
+}
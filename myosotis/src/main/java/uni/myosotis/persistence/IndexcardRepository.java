@@ -1,207 +1,223 @@
 package uni.myosotis.persistence;
 
-import jakarta.persistence.EntityManager;
 import uni.myosotis.objects.Indexcard;
 import uni.myosotis.objects.IndexcardBox;
+import uni.myosotis.objects.IndexcardSummary;
+import uni.myosotis.objects.IndexcardText;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.logging.Level;
-
 
 /**
- * This class is used to access the persistence storage for the object type "Indexcard".
+ * This interface is used to access the persistence storage for the object type "Indexcard".
+ * The implementation is chosen by {@link Repositories}.
+ * <p>
+ * Every returned Indexcard comes with its Keywords and Links, because the persistence storage
+ * is closed when the method returns.
  */
-public class IndexcardRepository {
-
-    private static final java.util.logging.Logger logger = java.util.logging.Logger.getLogger(IndexcardRepository.class.getName());
-
-    private final PersistenceManager pm = new PersistenceManager();
-
-
+public interface IndexcardRepository {
 
     /**
-     * @author Len Thiemann
-     * <p>
-     * This method is used to save an object of type "Indexcard" to the persistent
-     * persistence storage.
+     * This method is used to save an object of type "Indexcard" to the persistence storage.
+     * The Indexcard gets its id.
      *
      * @param indexcard     The index card that should be saved to the persistence.
      * @return              Status, -1 means an error has been occurred on save.
      */
-    public int saveIndexcard(final Indexcard indexcard) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.persist(indexcard);
-            em.getTransaction().commit();
-        }
-        catch (Exception e) {
-            logger.log(Level.SEVERE, "Error saving index card: {0}", indexcard.getName());
-            return -1;
-        }
-        //logger.log(Level.INFO, "Successfully saved index card: {0}", indexcard.getName());
-        return 0;
-    }
-
-    /**
-     * This method is used to update an object of type "Indexcard" to the persistent
-     * persistence storage. If the Card does not exist at this point it will be created
-     * and added to the database. Otherwise, the content of the given card will be updated
-     * instead.
+    int saveIndexcard(Indexcard indexcard);
+
+    /**
+     * This method is used to update an object of type "Indexcard" in the persistence storage.
+     * If the Card does not exist at this point it will be created.
      *
      * @param indexcard     The index card that should be updated.
      * @return              Status, -1 means an error has been occurred on update.
      */
-    public int updateIndexcard(final Indexcard indexcard) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.merge(indexcard);
-            em.getTransaction().commit();
-        }
-        catch (Exception e) {
-            logger.log(Level.SEVERE, "Error updating index card: {0}", indexcard.getName());
-            return -1;
-        }
-        //logger.log(Level.INFO, "Successfully updated index card: {0}", indexcard.getName());
-        return 0;
-    }
-
-    /**
-     * This method is used to delete an object of type "Indexcard" in the persistent
-     * persistence storage.
-     *
-     * @param id      The unique id of the index card.
+    int updateIndexcard(Indexcard indexcard);
+
+    /**
+     * This method is used to delete an object of type "Indexcard" in the persistence storage.
+     *
+     * @param id        The unique id of the index card.
      * @return          Status, -1 means an error has been occurred on delete.
      */
-    public int deleteIndexcard(final Long id) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.remove(em.find(Indexcard.class, id));
-            em.getTransaction().commit();
-        }
-        catch (Exception e) {
-            logger.log(Level.SEVERE, "Error deleting index card with id: {0}", id);
-            return -1;
-        }
-        //logger.log(Level.INFO, "Successfully deleted index card with id: {0}", id);
-        return 0;
-    }
+    int deleteIndexcard(Long id);
 
     /**
-     * This method is used to get all objects of type "Indexcard" in the persistent
-     * persistence storage.
+     * This method is used to delete objects of type "Indexcard" and their Keywords with a fixed number
+     * of statements. The Indexcards must not be in a Category and must not contain Links anymore.
      *
-     * @return List of all objects of type "Indexcard", could be empty.
+     * @param ids       The ids of the index cards.
+     * @return          Status, -1 means an error has been occurred on delete.
+     */
+    int deleteIndexcards(Collection<Long> ids);
+
+    /**
+     * This method is used to add a Keyword to objects of type "Indexcard" with a fixed number of statements.
+     * The Keyword must be saved before. Indexcards, that have the Keyword already, are not changed.
+     *
+     * @param ids       The ids of the index cards.
+     * @param keyword   The name of the Keyword.
+     * @return          Status, -1 means an error has been occurred on update.
      */
-    public List<Indexcard> getAllIndexcards(){
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT i FROM Indexcard i").getResultList();
-        }
-        catch (Exception e) {
-            logger.log(Level.SEVERE, "Error occurred while fetching all index cards");
-            throw e;
-        }
-    }
+    int addKeyword(Collection<Long> ids, String keyword);
 
     /**
-     * This method is used to get all objects of type "Indexcard" in the persistent
-     * persistence storage.
+     * This method is used to remove a Keyword from objects of type "Indexcard" with a fixed number of statements.
+     * The Keyword itself is not deleted.
+     *
+     * @param ids       The ids of the index cards.
+     * @param keyword   The name of the Keyword.
+     * @return          Status, -1 means an error has been occurred on update.
+     */
+    int removeKeyword(Collection<Long> ids, String keyword);
+
+    /**
+     * This method is used to get all objects of type "Indexcard" in the persistence storage.
+     * The Keywords and Links of every Indexcard are loaded, so it should only be used if they are read,
+     * the texts and names are read with {@link #getIndexcardTexts()} and {@link #getIndexcardSummaries()}.
      *
      * @return List of all objects of type "Indexcard", could be empty.
      */
-    public List<Indexcard> getAllIndexcards(List<String> names){
-        try (EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT i FROM Indexcard i WHERE i.name IN :names").setParameter("names", names).getResultList();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error occurred while fetching all index cards");
-            throw e;
-        }
-    }
-
-    /**
-     * This method is used to find an object of type "Indexcard" in the persistent
-     * persistence storage.
-     *
-     * @param name      The unique id of the index card.
-     * @return          The object of type "Indexcard" or null if it does not exist.
-     */
-    public Optional<Indexcard> getIndexcardByName(final String name) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            final List<Indexcard> indexcards = em.createQuery("SELECT i FROM Indexcard i WHERE i.name = :name").setParameter("name", name).getResultList();
-            if (indexcards.size() == 1) {
-                return Optional.of(indexcards.get(0));
-            } else {
-                return Optional.empty();
-            }
-        } catch (Exception e) {
-           logger.log(Level.SEVERE,"Error occurred while fetching indexcard by name: " + name);
-            throw e;
-        }
-    }
-
-
-    /**
-     * This method is used to find an object of type "Indexcard" in the persistent
-     * persistence storage.
-     *
-     * @param name      The unique id of the index card.
-     * @return          The object of type "Indexcard" or null if it does not exist.
-     */
-    public Optional<IndexcardBox> getIndexcardBoxByName(final String name) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            final List<IndexcardBox> indexcardBoxList = em.createQuery("SELECT i FROM IndexcardBox i WHERE i.name = :name").setParameter("name", name).getResultList();
-            if (indexcardBoxList.size() == 1) {
-                return Optional.of(indexcardBoxList.get(0));
-            } else {
-                logger.log(Level.SEVERE,"No indexcard box found with name {0}", name);
-                return Optional.empty();
-            }
-        } catch (Exception e) {
-            logger.log(Level.SEVERE,"Error occurred while searching indexcard box with name {0}", name);
-            logger.log(Level.SEVERE, e.getMessage());
-            throw e;
-        }
-    }
-
-    public Optional<Indexcard> getIndexcardById(Long id) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return Optional.ofNullable(em.find(Indexcard.class, id));
-        }
-        catch (Exception e) {
-            logger.log(Level.SEVERE, "Error occurred while fetching index card with id: {0}", id);
-            throw e;
-        }
-    }
-
-    /**
-     * This method is used to get all objects of type "Category" in the persistent
-     * persistence storage.
-     *
-     * @return List of all objects of type "Category", could be empty.
-     */
-    public List<Indexcard> getAllIndexcardByCategories(String categoryName){
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT i FROM Indexcard i JOIN Category c WHERE name = :name", Indexcard.class).setParameter("name", categoryName).getResultList();
-        }
-        catch (Exception e) {
-            logger.log(Level.SEVERE, "Error occurred while fetching all index cards");
-            throw e;
-        }
-    }
-
-    /**
-     * This method is used to search the index card by name.
-     *
-     * @param text The text.
-     * @return A list of the Indexcards that contains the text in their name.
-     */
-    public List<Indexcard> searchIndexcard(String text) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT i FROM Indexcard i WHERE LOWER(i.name) LIKE :text", Indexcard.class)
-                    .setParameter("text", "%" + text.toLowerCase() + "%")
-                    .getResultList();
-        }
-    }
+    List<Indexcard> getAllIndexcards();
+
+    /**
+     * This method is used to get the objects of type "Indexcard" with the given names.
+     *
+     * @param names The names of the Indexcards.
+     * @return List of the Indexcards with these names, could be empty.
+     */
+    List<Indexcard> getAllIndexcards(List<String> names);
+
+    /**
+     * This method is used to find an object of type "Indexcard" by its unique name.
+     *
+     * @param name      The name of the index card.
+     * @return          The object of type "Indexcard", if it exists.
+     */
+    Optional<Indexcard> getIndexcardByName(String name);
+
+    /**
+     * This method is used to find an object of type "IndexcardBox" by its name.
+     *
+     * @param name      The name of the IndexcardBox.
+     * @return          The object of type "IndexcardBox", if it exists.
+     */
+    Optional<IndexcardBox> getIndexcardBoxByName(String name);
+
+    /**
+     * This method is used to find an object of type "Indexcard" by its id.
+     *
+     * @param id        The id of the index card.
+     * @return          The object of type "Indexcard", if it exists.
+     */
+    Optional<Indexcard> getIndexcardById(Long id);
+
+    /**
+     * This method is used to get the objects of type "Indexcard" in a Category.
+     *
+     * @param categoryName The name of the Category.
+     * @return List of the Indexcards, could be empty.
+     */
+    List<Indexcard> getAllIndexcardByCategories(String categoryName);
+
+    /**
+     * This method is used to get the objects of type "Indexcard" with a Keyword, which are looked up
+     * by the Keyword without reading the other Indexcards.
+     *
+     * @param keyword The name of the Keyword.
+     * @return List of the Indexcards with the Keyword in the order of their ids, could be empty.
+     */
+    List<Indexcard> getIndexcardsByKeyword(String keyword);
+
+    /**
+     * This method is used to check, if at least one object of type "Indexcard" has a Keyword.
+     * No Indexcard is loaded, so it can be used to find Keywords, that are not used anymore.
+     *
+     * @param keyword The name of the Keyword.
+     * @return True, if an Indexcard has the Keyword.
+     */
+    boolean isKeywordUsed(String keyword);
+
+    /**
+     * This method is used to get the id and name of all objects of type "Indexcard",
+     * without loading the Indexcards themselves.
+     *
+     * @return List of the id and name of every Indexcard in the order of the ids, could be empty.
+     */
+    List<IndexcardSummary> getIndexcardSummaries();
+
+    /**
+     * This method is used to get the id, name, question and answer of all objects of type "Indexcard",
+     * without loading the Indexcards themselves.
+     *
+     * @return List of the texts of every Indexcard in the order of the ids, could be empty.
+     */
+    List<IndexcardText> getIndexcardTexts();
+
+    /**
+     * This method is used to get the names of the Keywords of all objects of type "Indexcard" at once,
+     * without loading the Indexcards themselves.
+     *
+     * @return A map from the id of an Indexcard to the names of its Keywords, Indexcards without Keywords are missing.
+     */
+    Map<Long, List<String>> getKeywordNamesByIndexcard();
+
+    /**
+     * This method is used to count the objects of type "Indexcard".
+     *
+     * @return The number of Indexcards.
+     */
+    long countIndexcards();
+
+    /**
+     * This method is used to get one page of the id and name of the objects of type "Indexcard",
+     * in the order of their ids. If the id of the last Indexcard of the page before is known, the page
+     * starts after it, otherwise at the offset.
+     *
+     * @param afterId   The id of the last Indexcard of the page before, or null.
+     * @param offset    The position of the first Indexcard of the page, used if afterId is null.
+     * @param limit     The maximal number of Indexcards.
+     * @return          The id and name of the Indexcards of the page, could be empty.
+     */
+    List<IndexcardSummary> getIndexcardSummaryPage(Long afterId, int offset, int limit);
+
+    /**
+     * This method is used to get the id and name of the objects of type "Indexcard" with the given ids.
+     *
+     * @param ids The ids of the Indexcards.
+     * @return The id and name of the Indexcards with these ids, in no specific order, could be empty.
+     */
+    List<IndexcardSummary> getIndexcardSummariesByIds(Collection<Long> ids);
+
+    /**
+     * This method is used to get the ids of all objects of type "Indexcard" by their names,
+     * without loading the Indexcards themselves.
+     *
+     * @return A map from the name to the id of every Indexcard, could be empty.
+     */
+    Map<String, Long> getIndexcardIdsByName();
+
+    /**
+     * This method is used to get the objects of type "Indexcard" with the given ids.
+     *
+     * @param ids The ids of the Indexcards.
+     * @return The Indexcards with these ids, in no specific order, could be empty.
+     */
+    List<Indexcard> getIndexcardsByIds(Collection<Long> ids);
+
+    /**
+     * This method is used to get a reference to an object of type "Indexcard", that can be used
+     * to link other objects with the Indexcard. Should only be used inside a UnitOfWork.
+     *
+     * @param id The id of the Indexcard.
+     * @return A reference to the Indexcard.
+     */
+    Indexcard getIndexcardReference(Long id);
+
+
 
     /**
      * Get all indexcards from an indexcard name list.
@@ -209,15 +225,5 @@ public class IndexcardRepository {
      * @param indexcardNameList The names of the Indexcards.
      * @return A list the Indexcards with these names.
      */
-    public List<Indexcard> getIndexcardsFromNameList(List<String> indexcardNameList) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT i FROM Indexcard i WHERE i.name IN :indexcardNameList", Indexcard.class)
-                    .setParameter("indexcardNameList", indexcardNameList)
-                    .getResultList();
-        }
-        catch (Exception e) {
-            logger.log(Level.SEVERE, "Error occurred while fetching all index cards");
-            throw e;
-        }
-    }
+    List<Indexcard> getIndexcardsFromNameList(List<String> indexcardNameList);
 }
@@ -1,21 +1,16 @@
 package uni.myosotis.persistence;
 
-import jakarta.persistence.EntityManager;
 import uni.myosotis.objects.Keyword;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
 
 /**
- * This class is used to access the persistence storage for the object type "Keyword".
+ * This interface is used to access the persistence storage for the object type "Keyword".
+ * The implementation is chosen by {@link Repositories}.
  */
-public class KeywordRepository {
-
-    private final Logger logger = Logger.getLogger(KeywordRepository.class.getName());
-    private final PersistenceManager pm = new PersistenceManager();
+public interface KeywordRepository {
 
     /**
      * This method is used to save an object of type "Keyword" to the
@@ -24,20 +19,7 @@ public class KeywordRepository {
      * @param keyword     The keyword that should be saved to the persistence.
      * @return            Status, -1 means an error has been occurred on save.
      */
-
-    public int saveKeyword(final Keyword keyword) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.persist(keyword);
-            em.getTransaction().commit();
-        }
-        catch (Exception e) {
-            logger.log(Level.SEVERE, "Error saving keyword: {0}", keyword.getName());
-            return -1;
-        }
-        //logger.log(java.util.logging.Level.INFO, "Successfully saved keyword: {0}", keyword.getName());
-        return 0;
-    }
+    int saveKeyword(Keyword keyword);
 
     /**
      * This method is used to delete an object of type "Keyword" in the
@@ -46,36 +28,25 @@ public class KeywordRepository {
      * @param name      The name of the keywords.
      * @return          Status, -1 means an error has been occurred on delete.
      */
-    public int deleteKeyword(final String name) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.remove(em.find(Keyword.class, name));
-            em.getTransaction().commit();
-        }
-        catch (Exception e) {
-            logger.log(java.util.logging.Level.SEVERE, "Error deleting keyword: {0}", name);
-            return -1;
-        }
-        //logger.log(java.util.logging.Level.INFO, "Successfully deleted keyword: {0}", name);
-        return 0;
-    }
+    int deleteKeyword(String name);
+
+    /**
+     * This method is used to delete the objects of type "Keyword" with the given names, that are not
+     * used by an Indexcard anymore, with one statement.
+     *
+     * @param names     The names of the keywords.
+     * @return          The number of deleted Keywords, -1 means an error has been occurred on delete.
+     */
+    int deleteUnusedKeywords(Collection<String> names);
 
     /**
      * This method is used to find an object of type "Keyword" in the
      * persistence storage.
      *
      * @param word      The word of the keyword.
-     * @return          The object of type "Keyword" or null if it does not exist.
+     * @return          The object of type "Keyword", if it exists.
      */
-    public Optional<Keyword> getKeywordByName(final String word) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return Optional.ofNullable(em.find(Keyword.class, word));
-        }
-        catch (Exception e) {
-            logger.log(java.util.logging.Level.SEVERE, "Error getting keyword: {0}", word);
-            return Optional.empty();
-        }
-    }
+    Optional<Keyword> getKeywordByName(String word);
 
     /**
      * This method is used to get all objects of type "Keyword" in the
@@ -83,13 +54,5 @@ public class KeywordRepository {
      *
      * @return List of all objects of type "Keyword", could be empty.
      */
-    public List<Keyword> getAllKeywords(){
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT k FROM Keyword k", Keyword.class).getResultList();
-        }
-        catch (Exception e) {
-            logger.log(java.util.logging.Level.SEVERE, "Error getting all keywords");
-            return List.of();
-        }
-    }
+    List<Keyword> getAllKeywords();
 }
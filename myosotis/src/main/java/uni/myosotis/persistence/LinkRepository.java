@@ -1,69 +1,65 @@
 package uni.myosotis.persistence;
 
-import jakarta.persistence.EntityManager;
 import uni.myosotis.objects.Indexcard;
 import uni.myosotis.objects.Link;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * The repository for the links.
+ * The repository for the links. The implementation is chosen by {@link Repositories}.
  */
-public class LinkRepository {
-
-    private final Logger logger = Logger.getLogger(LeitnerLearnSystemRepository.class.getName());
-
-    /**
-     * The PersistenceManager.
-     */
-    private final PersistenceManager pm = new PersistenceManager();
+public interface LinkRepository {
 
     /**
      * Saves a Link to the persistence storage.
      *
      * @param link The Link that should be saved.
      */
-    public void save(final Link link) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.persist(link);
-            em.getTransaction().commit();
-        } catch (Exception e) {
-            logger.log(Level.WARNING,"Failed to save the link to the persistence storage: " + e.getMessage());
-        }
-    }
+    void save(Link link);
 
     /**
      * Deletes an existing Link from the persistence storage.
      *
      * @param link The Link that should be deleted.
      */
-    public void delete(final Link link) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            em.getTransaction().begin();
-            em.remove(em.find(Link.class, link.getId()));
-            em.getTransaction().commit();
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
-            logger.log(Level.WARNING,"Failed deleting the Link from the persistence storage: " + e.getMessage());
-        }
-    }
+    void delete(Link link);
+
+    /**
+     * Deletes existing Links from the persistence storage with one statement.
+     * The Links must not be contained by an Indexcard anymore.
+     *
+     * @param links The Links that should be deleted.
+     */
+    void deleteLinks(Collection<Link> links);
+
+    /**
+     * Removes the Links, that are linked with a specific Indexcard, from the Indexcards that contain them,
+     * and deletes them from the persistence storage. Only the Indexcards with such a Link are changed.
+     *
+     * @param indexcard The specific Indexcard.
+     * @return The ids of the Indexcards, that contained such a Link, empty if the Links could not be deleted.
+     */
+    List<Long> deleteLinksToIndexcard(Indexcard indexcard);
+
+    /**
+     * Deletes the Links, that are linked with or contained by the given Indexcards, with a fixed number of
+     * statements. The Links are removed from the Indexcards that contain them before.
+     *
+     * @param indexcardIds The ids of the Indexcards.
+     * @return The ids of the other Indexcards, that contained a Link to one of the Indexcards,
+     *         empty if the Links could not be deleted.
+     */
+    List<Long> deleteLinksOfIndexcards(Collection<Long> indexcardIds);
 
     /**
      * Returns all Links saved in the persistence storage.
      *
      * @return A list of all Links saved in the persistence storage, could be empty.
      */
-    public List<Link> getAllLinks() {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT link FROM Link link").getResultList();
-        } catch (Exception e) {
-            logger.log(Level.WARNING,"Failed getting all Links saved in the persistence storage: " + e.getMessage());
-        }
-        return null;
-    }
+    List<Link> getAllLinks();
 
     /**
      * Returns a list of all Links saved in the persistence storage that are linked to a specific term.
@@ -72,14 +68,7 @@ public class LinkRepository {
      * @return A list of all Links saved in the persistence storage that are linked to a specific term,
      *         could be empty.
      */
-    public List<Link> getLinksByTerm(final String term) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT link FROM Link link WHERE link.term = :term").setParameter("term", term).getResultList();
-        } catch (Exception e) {
-            logger.log(Level.WARNING,"Failed getting all saved in the persistence storage that are linked to a specific term: " + e.getMessage());
-        }
-        return null;
-    }
+    List<Link> getLinksByTerm(String term);
 
     /**
      * Returns a list of all Links saved in the persistence storage that are linked with a specific Indexcard.
@@ -88,12 +77,13 @@ public class LinkRepository {
      * @return A list of all Links saved in the persistence storage that are linked with a specific Indexcard,
      *         could be empty.
      */
-    public List<Link> getLinksByIndexcard(final Indexcard indexcard) {
-        try (final EntityManager em = pm.getEntityManager()) {
-            return em.createQuery("SELECT link FROM Link link WHERE link.indexcard = :indexcard").setParameter("indexcard", indexcard).getResultList();
-        } catch (Exception e) {
-            logger.log(Level.WARNING,"Failed getting all saved in the persistence storage that are linked with a specific Indexcard: " + e.getMessage());
-        }
-        return null;
-    }
+    List<Link> getLinksByIndexcard(Indexcard indexcard);
+
+    /**
+     * Returns the ids of the Indexcards, that are linked with every term. Only the terms and the ids are read,
+     * the Links and the linked Indexcards are not loaded.
+     *
+     * @return A map from the term to the ids of the Indexcards, that are linked with it, could be empty.
+     */
+    Map<String, Set<Long>> getIndexcardIdsByLinkTerm();
 }
@@ -0,0 +1,306 @@
+package uni.myosotis.persistence;
+
+import org.h2.mvstore.Cursor;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.CategorySummary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the MVStore for the object type "Category".
+ * The Category's of an Indexcard are looked up in the same CategoryIndex as in the H2 database.
+ */
+class MVStoreCategoryRepository implements CategoryRepository {
+
+    private static final Logger logger = Logger.getLogger(MVStoreCategoryRepository.class.getName());
+
+    private final MVStoreDatabase db = MVStoreDatabase.get();
+
+    @Override
+    public void saveCategory(final Category category) {
+        try {
+            db.write(() -> {
+                final long id = db.nextId("category");
+                db.categories.put(id, MVStoreDatabase.toDocument(id, category));
+                category.setId(id);
+                return null;
+            });
+            CategoryIndex.put(category);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error while saving a Category to the database: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void updateCategory(final Category category) {
+        if (category.getId() == null) {
+            saveCategory(category);
+            return;
+        }
+        try {
+            db.write(() -> db.categories.put(category.getId(), MVStoreDatabase.toDocument(category.getId(), category)));
+            CategoryIndex.put(category);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error while updating Category in the database: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void deleteCategory(final Category category) {
+        try {
+            db.write(() -> {
+                if (db.categories.remove(category.getId()) == null) {
+                    throw new IllegalStateException("The category does not exist");
+                }
+                return null;
+            });
+            CategoryIndex.remove(category.getId());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while deleting category with name {0}", category.getCategoryName());
+            logger.log(Level.SEVERE, "Error: {0}", e.getMessage());
+        }
+    }
+
+    @Override
+    public int deleteCategories(final Collection<Long> ids) {
+        final Set<Long> deleted = new HashSet<>(ids);
+        try {
+            db.write(() -> {
+                final List<MVStoreDatabase.IndexcardBoxDocument> boxes = new ArrayList<>();
+                for (MVStoreDatabase.IndexcardBoxDocument box : db.indexcardBoxes.values()) {
+                    if (box.categories().stream().anyMatch(deleted::contains)) {
+                        boxes.add(box.withCategories(without(box.categories(), deleted)));
+                    }
+                }
+                final List<MVStoreDatabase.CategoryDocument> parents = new ArrayList<>();
+                for (MVStoreDatabase.CategoryDocument parent : db.categories.values()) {
+                    if (!deleted.contains(parent.id()) && parent.children().stream().anyMatch(deleted::contains)) {
+                        parents.add(parent.withChildren(without(parent.children(), deleted)));
+                    }
+                }
+                boxes.forEach(box -> db.indexcardBoxes.put(box.name(), box));
+                parents.forEach(parent -> db.categories.put(parent.id(), parent));
+                deleted.forEach(db.categories::remove);
+                return null;
+            });
+            for (Long id : deleted) {
+                CategoryIndex.remove(id);
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while deleting categories with ids {0}", ids);
+            logger.log(Level.SEVERE, "Error: {0}", e.getMessage());
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public int addIndexcards(final Long categoryId, final Collection<Long> indexcardIds) {
+        try {
+            final List<Long> added = db.write(() -> {
+                final MVStoreDatabase.CategoryDocument category = db.categories.get(categoryId);
+                if (category == null) {
+                    throw new IllegalStateException("The category does not exist");
+                }
+                final Set<Long> contained = new HashSet<>(category.indexcards());
+                final List<Long> newIndexcards = indexcardIds.stream()
+                        .filter(id -> db.indexcards.containsKey(id) && contained.add(id))
+                        .toList();
+                final List<Long> indexcards = new ArrayList<>(category.indexcards());
+                indexcards.addAll(newIndexcards);
+                db.categories.put(categoryId, category.withIndexcards(indexcards));
+                return newIndexcards;
+            });
+            CategoryIndex.addIndexcards(categoryId, added);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while adding index cards to the category with id {0}", categoryId);
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public int removeIndexcards(final Long categoryId, final Collection<Long> indexcardIds) {
+        try {
+            db.write(() -> {
+                final MVStoreDatabase.CategoryDocument category = db.categories.get(categoryId);
+                if (category == null) {
+                    throw new IllegalStateException("The category does not exist");
+                }
+                return db.categories.put(categoryId, category.withIndexcards(without(category.indexcards(), new HashSet<>(indexcardIds))));
+            });
+            CategoryIndex.removeIndexcards(categoryId, indexcardIds);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while removing index cards from the category with id {0}", categoryId);
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public int removeIndexcardsFromAllCategories(final Collection<Long> indexcardIds) {
+        final Set<Long> removed = new HashSet<>(indexcardIds);
+        try {
+            db.write(() -> {
+                final List<MVStoreDatabase.CategoryDocument> changed = new ArrayList<>();
+                for (MVStoreDatabase.CategoryDocument category : db.categories.values()) {
+                    if (category.indexcards().stream().anyMatch(removed::contains)) {
+                        changed.add(category.withIndexcards(without(category.indexcards(), removed)));
+                    }
+                }
+                changed.forEach(category -> db.categories.put(category.id(), category));
+                return null;
+            });
+            CategoryIndex.removeIndexcards(indexcardIds);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error occurred while removing index cards from the categories");
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public Optional<Category> getCategoryByName(final String name) {
+        final List<Category> categories = getCategories(category -> category.name().equals(name));
+        if (categories.isEmpty()) {
+            logger.log(Level.WARNING, "No category found with name {0}", name);
+            return Optional.empty();
+        }
+        return Optional.of(categories.get(0));
+    }
+
+    @Override
+    public Optional<Category> getCategoryById(final Long id) {
+        final Optional<Category> category = db.loader().category(id);
+        if (category.isEmpty()) {
+            logger.log(Level.WARNING, "No category found with id {0}", id);
+        }
+        return category;
+    }
+
+    @Override
+    public List<Category> getAllCategories() {
+        return getCategories(category -> true);
+    }
+
+    @Override
+    public List<CategorySummary> getCategorySummaries() {
+        return getCategorySummaryPage("", null, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long countCategories(final String text) {
+        final Predicate<MVStoreDatabase.CategoryDocument> filter = nameContains(text);
+        long count = 0;
+        for (MVStoreDatabase.CategoryDocument category : db.categories.values()) {
+            if (filter.test(category)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<CategorySummary> getCategorySummaryPage(final String text, final Long afterId, final int offset, final int limit) {
+        final Predicate<MVStoreDatabase.CategoryDocument> filter = nameContains(text);
+        final Long from = afterId == null ? db.categories.firstKey() : db.categories.higherKey(afterId);
+        final List<CategorySummary> page = new ArrayList<>();
+        if (from == null) {
+            return page;
+        }
+        int skip = afterId == null ? offset : 0;
+        final Cursor<Long, MVStoreDatabase.CategoryDocument> cursor = db.categories.cursor(from);
+        while (page.size() < limit && cursor.hasNext()) {
+            cursor.next();
+            final MVStoreDatabase.CategoryDocument category = cursor.getValue();
+            if (filter.test(category) && skip-- <= 0) {
+                page.add(new CategorySummary(category.id(), category.name()));
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<Category> searchCategory(final String text) {
+        return getCategories(nameContains(text));
+    }
+
+    @Override
+    public List<Category> getCategoriesByIndexcardId(final Long indexcardId) {
+        final MVStoreDatabase.Loader loader = db.loader();
+        final List<Category> categories = new ArrayList<>();
+        for (Long id : CategoryIndex.getCategoryIds(indexcardId)) {
+            loader.category(id).ifPresent(categories::add);
+        }
+        return categories;
+    }
+
+    @Override
+    public Map<Long, List<String>> getCategoryNamesByIndexcard() {
+        return CategoryIndex.getCategoryNamesByIndexcard();
+    }
+
+    @Override
+    public Map<Long, String> getCategoryNames() {
+        return CategoryIndex.getCategoryNames();
+    }
+
+    @Override
+    public List<Long> getIndexcardIds(final Long categoryId) {
+        return CategoryIndex.getIndexcardIds(categoryId);
+    }
+
+    @Override
+    public List<Category> getParentCategories(final Collection<Long> ids) {
+        final Set<Long> children = new HashSet<>(ids);
+        return getCategories(category -> category.children().stream().anyMatch(children::contains));
+    }
+
+    @Override
+    public List<Category> getRootCategories() {
+        final Set<Long> children = new HashSet<>();
+        for (MVStoreDatabase.CategoryDocument category : db.categories.values()) {
+            children.addAll(category.children());
+        }
+        return getCategories(category -> !children.contains(category.id()));
+    }
+
+    @Override
+    public List<Category> getChildren(final Category category) {
+        return db.loader().category(category.getId()).map(Category::getChildren).orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Loads the Category's that match the filter, in the order of their ids. The Category's are scanned,
+     * because there are only a few of them.
+     */
+    private List<Category> getCategories(final Predicate<MVStoreDatabase.CategoryDocument> filter) {
+        final MVStoreDatabase.Loader loader = db.loader();
+        final List<Category> categories = new ArrayList<>();
+        for (MVStoreDatabase.CategoryDocument category : db.categories.values()) {
+            if (filter.test(category)) {
+                categories.add(loader.category(category));
+            }
+        }
+        return categories;
+    }
+
+    private static List<Long> without(final List<Long> ids, final Set<Long> removed) {
+        return ids.stream().filter(id -> !removed.contains(id)).toList();
+    }
+
+    private static Predicate<MVStoreDatabase.CategoryDocument> nameContains(final String text) {
+        final String lowerText = text.toLowerCase(Locale.ROOT);
+        return category -> category.name().toLowerCase(Locale.ROOT).contains(lowerText);
+    }
+}
@@ -0,0 +1,770 @@
+package uni.myosotis.persistence;
+
+import org.h2.mvstore.Cursor;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardBox;
+import uni.myosotis.objects.Keyword;
+import uni.myosotis.objects.LeitnerLearnSystem;
+import uni.myosotis.objects.Link;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The MVStore of the MVStore backend: the embedded, memory-mapped key-value store of H2, without
+ * SQL and without Hibernate. Every object is stored as a document in a map by its id, and refers to
+ * other objects only by their ids. The repositories turn the documents into new objects on every read,
+ * together with everything the repositories of the H2 database would load as well.
+ * <p>
+ * The changes are written by one thread at a time. Outside a UnitOfWork every change is committed at
+ * once. Inside a UnitOfWork the changes are committed or rolled back together with the unit of work,
+ * and other threads wait for it. Readers do not wait, they can see the changes of a running unit of work.
+ */
+final class MVStoreDatabase {
+
+    private static final Logger logger = Logger.getLogger(MVStoreDatabase.class.getName());
+
+    /**
+     * The stored fields of an Indexcard, with the names of its Keywords and the ids of its Links.
+     */
+    record IndexcardDocument(long id, String name, String question, String answer,
+                             List<String> keywords, List<Long> links) implements Serializable {
+
+        IndexcardDocument withKeywords(final List<String> newKeywords) {
+            return new IndexcardDocument(id, name, question, answer, newKeywords, links);
+        }
+
+        IndexcardDocument withLinks(final List<Long> newLinks) {
+            return new IndexcardDocument(id, name, question, answer, keywords, newLinks);
+        }
+    }
+
+    /**
+     * The stored fields of a Link, with the id of the linked Indexcard.
+     */
+    record LinkDocument(long id, String term, long indexcardId) implements Serializable {
+    }
+
+    /**
+     * The stored fields of a Category, with the ids of its children and Indexcards.
+     */
+    record CategoryDocument(long id, String name, List<Long> children, List<Long> indexcards) implements Serializable {
+
+        CategoryDocument withChildren(final List<Long> newChildren) {
+            return new CategoryDocument(id, name, newChildren, indexcards);
+        }
+
+        CategoryDocument withIndexcards(final List<Long> newIndexcards) {
+            return new CategoryDocument(id, name, children, newIndexcards);
+        }
+    }
+
+    /**
+     * The stored fields of an IndexcardBox, with the ids of its Category's.
+     */
+    record IndexcardBoxDocument(String name, List<Long> categories) implements Serializable {
+
+        IndexcardBoxDocument withCategories(final List<Long> newCategories) {
+            return new IndexcardBoxDocument(name, newCategories);
+        }
+    }
+
+    /**
+     * The stored fields of a LeitnerLearnSystem, with its LeitnerCards in columns, ordered by their Box
+     * and by their position in the Box.
+     */
+    record LearnSystemDocument(long id, String name, int numberOfBoxes, String sortType, String algorithm,
+                               int progress, boolean started, long[] indexcardIds, int[] boxNumbers,
+                               long[] dueTimes) implements Serializable {
+    }
+
+    /**
+     * The stored fields of a ReviewEvent. The Learnsystem is part of its key, see {@link #reviewEventPrefix(long)}.
+     */
+    record ReviewEventDocument(long indexcardId, long reviewTime, byte grade, int responseTime,
+                               int sourceBox) implements Serializable {
+    }
+
+    private final MVStore store;
+
+    /** The Indexcards by their id. */
+    final MVMap<Long, IndexcardDocument> indexcards;
+
+    /** The ids of the Indexcards by their unique name. */
+    final MVMap<String, Long> indexcardIdsByName;
+
+    /** The names of the Keywords. */
+    final MVMap<String, Boolean> keywords;
+
+    /**
+     * The ids of the Indexcards by their Keywords. Every key is the name of the Keyword and the id of the
+     * Indexcard, so the Indexcards with a Keyword are the keys, that start with {@link #keywordPrefix(String)}.
+     * Only changed by {@link #putIndexcard(IndexcardDocument)} and {@link #removeIndexcard(long)}.
+     */
+    private final MVMap<String, Long> indexcardIdsByKeyword;
+
+    /** The Links by their id. Only changed by {@link #putLink(LinkDocument)} and {@link #removeLink(long)}. */
+    final MVMap<Long, LinkDocument> links;
+
+    /**
+     * The ids of the Indexcards, that contain a Link, by the id of the Link.
+     * Only changed by {@link #putIndexcard(IndexcardDocument)} and {@link #removeIndexcard(long)}.
+     */
+    private final MVMap<Long, Long> indexcardIdsByLink;
+
+    /**
+     * The ids of the Links by the linked Indexcard. Every key is the id of the linked Indexcard and the id
+     * of the Link, so the Links to an Indexcard are the keys, that start with {@link #linkPrefix(long)}.
+     */
+    private final MVMap<String, Long> linkIdsByIndexcard;
+
+    /** The Category's by their id. */
+    final MVMap<Long, CategoryDocument> categories;
+
+    /** The IndexcardBoxes by their name. */
+    final MVMap<String, IndexcardBoxDocument> indexcardBoxes;
+
+    /** The LeitnerLearnSystems by their id. */
+    final MVMap<Long, LearnSystemDocument> learnSystems;
+
+    /** The ids of the LeitnerLearnSystems by their unique name. */
+    final MVMap<String, Long> learnSystemIdsByName;
+
+    /**
+     * The review events. Every key is the id of the Learnsystem and the id of the event, so the events
+     * of a Learnsystem are the keys, that start with {@link #reviewEventPrefix(long)}.
+     */
+    final MVMap<String, ReviewEventDocument> reviewEvents;
+
+    /** The last id, that was handed out, for the Indexcards, Links, Category's, Learnsystems and review events. */
+    private final MVMap<String, Long> sequences;
+
+    /** Held by the thread, that changes the maps. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Opens the maps of the MVStore and fills the indexes, if the store was written before they existed.
+     *
+     * @param store The opened MVStore, with auto commit disabled.
+     */
+    MVStoreDatabase(final MVStore store) {
+        this.store = store;
+        this.indexcards = store.openMap("indexcards");
+        this.indexcardIdsByName = store.openMap("indexcardIdsByName");
+        this.keywords = store.openMap("keywords");
+        this.indexcardIdsByKeyword = store.openMap("indexcardIdsByKeyword");
+        this.links = store.openMap("links");
+        this.indexcardIdsByLink = store.openMap("indexcardIdsByLink");
+        this.linkIdsByIndexcard = store.openMap("linkIdsByIndexcard");
+        this.categories = store.openMap("categories");
+        this.indexcardBoxes = store.openMap("indexcardBoxes");
+        this.learnSystems = store.openMap("learnSystems");
+        this.learnSystemIdsByName = store.openMap("learnSystemIdsByName");
+        this.reviewEvents = store.openMap("reviewEvents");
+        this.sequences = store.openMap("sequences");
+        if (!indexcards.isEmpty() && (indexcardIdsByKeyword.isEmpty() || indexcardIdsByLink.isEmpty())
+                || !links.isEmpty() && linkIdsByIndexcard.isEmpty()
+                || !learnSystems.isEmpty() && learnSystemIdsByName.isEmpty()) {
+            // The store was written before the indexes existed.
+            rebuildIndexes();
+            store.commit();
+        }
+    }
+
+    /**
+     * Fills the indexes of the Keywords, Links and Learnsystems from the documents.
+     */
+    private void rebuildIndexes() {
+        indexcardIdsByKeyword.clear();
+        indexcardIdsByLink.clear();
+        linkIdsByIndexcard.clear();
+        learnSystemIdsByName.clear();
+        for (LearnSystemDocument learnSystem : learnSystems.values()) {
+            learnSystemIdsByName.put(learnSystem.name(), learnSystem.id());
+        }
+        for (IndexcardDocument indexcard : indexcards.values()) {
+            putReferences(indexcard);
+        }
+        for (LinkDocument link : links.values()) {
+            linkIdsByIndexcard.put(linkPrefix(link.indexcardId()) + link.id(), link.id());
+        }
+    }
+
+    /**
+     * Returns the MVStore, which is opened when it is used the first time.
+     *
+     * @return The MVStore.
+     */
+    static MVStoreDatabase get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Opens the MVStore at the place of the DatabaseConfig.
+     */
+    private static MVStoreDatabase open() {
+        final String fileName = DatabaseConfig.fromSystemProperties().getKeyValueFileName();
+        final MVStore.Builder builder = new MVStore.Builder().autoCommitDisabled();
+        if (fileName != null) {
+            try {
+                Files.createDirectories(Path.of(fileName).toAbsolutePath().getParent());
+            } catch (IOException e) {
+                throw new IllegalStateException("The directory of " + fileName + " could not be created", e);
+            }
+            builder.fileName(fileName);
+        }
+        logger.log(Level.INFO, "Opening key-value store: {0}", fileName == null ? "in memory" : fileName);
+        final MVStore store = builder.open();
+        Runtime.getRuntime().addShutdownHook(new Thread(store::close, "myosotis-mvstore-close"));
+        return new MVStoreDatabase(store);
+    }
+
+    /**
+     * Runs a change of the maps. Outside a UnitOfWork the change is committed at once or rolled back,
+     * if it throws an exception. Inside a UnitOfWork it is committed or rolled back by the unit of work.
+     *
+     * @param work The change.
+     * @param <T>  The type of the result.
+     * @return The result of the change.
+     */
+    <T> T write(final Supplier<T> work) {
+        if (lock.isHeldByCurrentThread()) {
+            return writeInUnitOfWork(work);
+        }
+        lock.lock();
+        if (UnitOfWork.enlist(new UnitOfWork.Resource() {
+            @Override
+            public void commit() {
+                commitAndUnlock();
+            }
+
+            @Override
+            public void rollback() {
+                rollbackAndUnlock();
+            }
+        })) {
+            return writeInUnitOfWork(work);
+        }
+        final T result;
+        try {
+            result = work.get();
+        } catch (RuntimeException e) {
+            rollbackAndUnlock();
+            throw e;
+        }
+        commitAndUnlock();
+        return result;
+    }
+
+    /**
+     * Runs a change, that is committed later by the unit of work.
+     */
+    private static <T> T writeInUnitOfWork(final Supplier<T> work) {
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            // The repositories only log some errors, the unit of work must not commit the changes partly.
+            UnitOfWork.setRollbackOnly();
+            throw e;
+        }
+    }
+
+    private void commitAndUnlock() {
+        try {
+            store.commit();
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Error while committing the key-value store: {0}", e.getMessage());
+            store.rollback();
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rollbackAndUnlock() {
+        try {
+            store.rollback();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands out the next id of a sequence. Must only be used inside {@link #write(Supplier)}.
+     *
+     * @param sequence The name of the sequence.
+     * @return The new id.
+     */
+    long nextId(final String sequence) {
+        final long id = sequences.getOrDefault(sequence, 0L) + 1;
+        sequences.put(sequence, id);
+        return id;
+    }
+
+    /**
+     * Stores the document of an Indexcard and updates the indexes of its Keywords and Links.
+     * Must only be used inside {@link #write(Supplier)}.
+     *
+     * @param indexcard The document.
+     * @return The document, that was replaced, or null.
+     */
+    IndexcardDocument putIndexcard(final IndexcardDocument indexcard) {
+        final IndexcardDocument old = indexcards.put(indexcard.id(), indexcard);
+        if (old != null) {
+            removeReferences(old);
+        }
+        putReferences(indexcard);
+        return old;
+    }
+
+    /**
+     * Removes the document of an Indexcard and its Keywords and Links from the indexes.
+     * Must only be used inside {@link #write(Supplier)}.
+     *
+     * @param id The id of the Indexcard.
+     * @return The removed document, or null.
+     */
+    IndexcardDocument removeIndexcard(final long id) {
+        final IndexcardDocument old = indexcards.remove(id);
+        if (old != null) {
+            removeReferences(old);
+        }
+        return old;
+    }
+
+    /**
+     * Returns the ids of the Indexcards with a Keyword, read from the index of the Keywords.
+     *
+     * @param keyword The name of the Keyword.
+     * @return The ids in ascending order.
+     */
+    List<Long> getIndexcardIdsByKeyword(final String keyword) {
+        final List<Long> ids = new ArrayList<>();
+        if (keyword == null) {
+            return ids;
+        }
+        final String prefix = keywordPrefix(keyword);
+        final Cursor<String, Long> cursor = indexcardIdsByKeyword.cursor(prefix);
+        while (cursor.hasNext() && cursor.next().startsWith(prefix)) {
+            ids.add(cursor.getValue());
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    /**
+     * Checks with one lookup in the index of the Keywords, if an Indexcard has a Keyword.
+     *
+     * @param keyword The name of the Keyword.
+     * @return True, if an Indexcard has the Keyword.
+     */
+    boolean isKeywordUsed(final String keyword) {
+        if (keyword == null) {
+            return false;
+        }
+        final String prefix = keywordPrefix(keyword);
+        final String key = indexcardIdsByKeyword.ceilingKey(prefix);
+        return key != null && key.startsWith(prefix);
+    }
+
+    /**
+     * Stores the document of a Link and adds it to the Links of the linked Indexcard.
+     * Must only be used inside {@link #write(Supplier)}.
+     *
+     * @param link The document.
+     */
+    void putLink(final LinkDocument link) {
+        final LinkDocument old = links.put(link.id(), link);
+        if (old != null) {
+            linkIdsByIndexcard.remove(linkPrefix(old.indexcardId()) + old.id());
+        }
+        linkIdsByIndexcard.put(linkPrefix(link.indexcardId()) + link.id(), link.id());
+    }
+
+    /**
+     * Removes the document of a Link and removes it from the Links of the linked Indexcard.
+     * Must only be used inside {@link #write(Supplier)}.
+     *
+     * @param id The id of the Link.
+     * @return The removed document, or null.
+     */
+    LinkDocument removeLink(final long id) {
+        final LinkDocument old = links.remove(id);
+        if (old != null) {
+            linkIdsByIndexcard.remove(linkPrefix(old.indexcardId()) + id);
+        }
+        return old;
+    }
+
+    /**
+     * Returns the ids of the Links, that link an Indexcard, read from the index of the Links.
+     *
+     * @param indexcardId The id of the linked Indexcard.
+     * @return The ids in ascending order.
+     */
+    List<Long> getLinkIdsByIndexcard(final long indexcardId) {
+        final String prefix = linkPrefix(indexcardId);
+        final List<Long> ids = new ArrayList<>();
+        final Cursor<String, Long> cursor = linkIdsByIndexcard.cursor(prefix);
+        while (cursor.hasNext() && cursor.next().startsWith(prefix)) {
+            ids.add(cursor.getValue());
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    /**
+     * Removes the Links to an Indexcard from the Indexcards, that contain them, and deletes them.
+     * Only these Indexcards are changed. Must only be used inside {@link #write(Supplier)}.
+     *
+     * @param indexcardId The id of the linked Indexcard.
+     * @return The ids of the Indexcards, that contained a deleted Link.
+     */
+    Set<Long> removeLinksToIndexcard(final long indexcardId) {
+        final Set<Long> sourceIds = new LinkedHashSet<>();
+        for (Long linkId : getLinkIdsByIndexcard(indexcardId)) {
+            final Long sourceId = indexcardIdsByLink.get(linkId);
+            final IndexcardDocument source = sourceId == null ? null : indexcards.get(sourceId);
+            if (source != null) {
+                final List<Long> sourceLinks = new ArrayList<>(source.links());
+                sourceLinks.remove(linkId);
+                putIndexcard(source.withLinks(sourceLinks));
+                sourceIds.add(sourceId);
+            }
+            removeLink(linkId);
+        }
+        return sourceIds;
+    }
+
+    private void putReferences(final IndexcardDocument indexcard) {
+        for (String keyword : indexcard.keywords()) {
+            indexcardIdsByKeyword.put(keywordPrefix(keyword) + indexcard.id(), indexcard.id());
+        }
+        for (Long link : indexcard.links()) {
+            indexcardIdsByLink.put(link, indexcard.id());
+        }
+    }
+
+    private void removeReferences(final IndexcardDocument indexcard) {
+        for (String keyword : indexcard.keywords()) {
+            indexcardIdsByKeyword.remove(keywordPrefix(keyword) + indexcard.id());
+        }
+        for (Long link : indexcard.links()) {
+            indexcardIdsByLink.remove(link, indexcard.id());
+        }
+    }
+
+    /**
+     * The start of the keys of a Keyword in the index of the Keywords. The separator can not be
+     * part of a Keyword, so no Keyword is the beginning of the keys of another one.
+     */
+    private static String keywordPrefix(final String keyword) {
+        return keyword + '\u0000';
+    }
+
+    /**
+     * The start of the keys of an Indexcard in the index of the Links.
+     */
+    private static String linkPrefix(final long indexcardId) {
+        return indexcardId + "/";
+    }
+
+    /**
+     * The start of the keys of the review events of a Learnsystem.
+     *
+     * @param learnSystemId The id of the Learnsystem.
+     * @return The start of the keys.
+     */
+    static String reviewEventPrefix(final long learnSystemId) {
+        return learnSystemId + "/";
+    }
+
+    /**
+     * Creates a new Loader, that should be used for one read.
+     *
+     * @return The Loader.
+     */
+    Loader loader() {
+        return new Loader();
+    }
+
+    /**
+     * Creates the document of an Indexcard. The Links of the Indexcard must be saved before.
+     *
+     * @param id        The id of the Indexcard.
+     * @param indexcard The Indexcard.
+     * @return The document.
+     */
+    static IndexcardDocument toDocument(final long id, final Indexcard indexcard) {
+        final List<String> keywordNames = new ArrayList<>();
+        if (indexcard.getKeywords() != null) {
+            for (Keyword keyword : indexcard.getKeywords()) {
+                keywordNames.add(keyword.getName());
+            }
+        }
+        final List<Long> linkIds = new ArrayList<>();
+        if (indexcard.getLinks() != null) {
+            for (Link link : indexcard.getLinks()) {
+                if (link.getId() == null) {
+                    throw new IllegalStateException("The link " + link.getTerm() + " was not saved");
+                }
+                linkIds.add(link.getId());
+            }
+        }
+        return new IndexcardDocument(id, indexcard.getName(), indexcard.getQuestion(), indexcard.getAnswer(),
+                keywordNames, linkIds);
+    }
+
+    /**
+     * Creates the document of a Category. The children and Indexcards must be saved before.
+     *
+     * @param id       The id of the Category.
+     * @param category The Category.
+     * @return The document.
+     */
+    static CategoryDocument toDocument(final long id, final Category category) {
+        final List<Long> childIds = new ArrayList<>();
+        if (category.getChildren() != null) {
+            for (Category child : category.getChildren()) {
+                childIds.add(savedId(child.getId(), child.getCategoryName()));
+            }
+        }
+        final List<Long> indexcardIds = new ArrayList<>();
+        if (category.getIndexcards() != null) {
+            for (Indexcard indexcard : category.getIndexcards()) {
+                indexcardIds.add(savedId(indexcard.getId(), indexcard.getName()));
+            }
+        }
+        return new CategoryDocument(id, category.getCategoryName(), childIds, indexcardIds);
+    }
+
+    /**
+     * Creates the document of an IndexcardBox. The Category's must be saved before.
+     *
+     * @param indexcardBox The IndexcardBox.
+     * @return The document.
+     */
+    static IndexcardBoxDocument toDocument(final IndexcardBox indexcardBox) {
+        final List<Long> categoryIds = new ArrayList<>();
+        if (indexcardBox.getCategoryList() != null) {
+            for (Category category : indexcardBox.getCategoryList()) {
+                categoryIds.add(savedId(category.getId(), category.getCategoryName()));
+            }
+        }
+        return new IndexcardBoxDocument(indexcardBox.getName(), categoryIds);
+    }
+
+    /**
+     * Creates the document of a LeitnerLearnSystem.
+     *
+     * @param id          The id of the LeitnerLearnSystem.
+     * @param learnSystem The LeitnerLearnSystem.
+     * @return The document.
+     */
+    static LearnSystemDocument toDocument(final long id, final LeitnerLearnSystem learnSystem) {
+        final int numberOfBoxes = learnSystem.getBoxes().size();
+        final long[][] boxes = new long[numberOfBoxes][];
+        int size = 0;
+        for (int box = 0; box < numberOfBoxes; box++) {
+            boxes[box] = learnSystem.getIndexcardFromBox(box);
+            size += boxes[box].length;
+        }
+        final long[] indexcardIds = new long[size];
+        final int[] boxNumbers = new int[size];
+        final long[] dueTimes = new long[size];
+        int card = 0;
+        for (int box = 0; box < numberOfBoxes; box++) {
+            for (long indexcardId : boxes[box]) {
+                indexcardIds[card] = indexcardId;
+                boxNumbers[card] = box;
+                dueTimes[card] = learnSystem.getDueTime(indexcardId);
+                card++;
+            }
+        }
+        return new LearnSystemDocument(id, learnSystem.getName(), numberOfBoxes, learnSystem.getSortType(),
+                learnSystem.getAlgorithm(), learnSystem.getProgress(), learnSystem.getStarted(),
+                indexcardIds, boxNumbers, dueTimes);
+    }
+
+    /**
+     * Creates a LeitnerLearnSystem from its document.
+     *
+     * @param document The document of the LeitnerLearnSystem.
+     * @return The LeitnerLearnSystem.
+     */
+    static LeitnerLearnSystem toLearnSystem(final LearnSystemDocument document) {
+        final LeitnerLearnSystem learnSystem = new LeitnerLearnSystem(document.name(), new long[0],
+                document.numberOfBoxes(), document.sortType());
+        learnSystem.setId(document.id());
+        learnSystem.setAlgorithm(document.algorithm());
+        learnSystem.setProgress(document.progress());
+        learnSystem.setStarted(document.started());
+        for (int card = 0; card < document.indexcardIds().length; card++) {
+            learnSystem.restoreCard(document.indexcardIds()[card], document.boxNumbers()[card], document.dueTimes()[card]);
+        }
+        return learnSystem;
+    }
+
+    private static long savedId(final Long id, final String name) {
+        if (id == null) {
+            throw new IllegalStateException(name + " was not saved");
+        }
+        return id;
+    }
+
+    /**
+     * Creates new objects from the documents. Every object is only created once by the same Loader,
+     * so an Indexcard in two Category's is the same object, like in one Entity-Manager.
+     */
+    final class Loader {
+
+        private final Map<Long, Indexcard> loadedIndexcards = new HashMap<>();
+        private final Map<Long, Indexcard> references = new HashMap<>();
+        private final Map<Long, Category> loadedCategories = new HashMap<>();
+
+        /**
+         * Loads an Indexcard with its Keywords and Links.
+         *
+         * @param id The id of the Indexcard.
+         * @return The Indexcard, if it exists.
+         */
+        Optional<Indexcard> indexcard(final Long id) {
+            final IndexcardDocument document = id == null ? null : indexcards.get(id);
+            return document == null ? Optional.empty() : Optional.of(indexcard(document));
+        }
+
+        /**
+         * Creates an Indexcard with its Keywords and Links from its document.
+         * The linked Indexcards are created without their Keywords and Links.
+         *
+         * @param document The document of the Indexcard.
+         * @return The Indexcard.
+         */
+        Indexcard indexcard(final IndexcardDocument document) {
+            final Indexcard loaded = loadedIndexcards.get(document.id());
+            if (loaded != null) {
+                return loaded;
+            }
+            final List<Keyword> indexcardKeywords = new ArrayList<>(document.keywords().size());
+            for (String keyword : document.keywords()) {
+                indexcardKeywords.add(new Keyword(keyword));
+            }
+            final List<Link> indexcardLinks = new ArrayList<>(document.links().size());
+            for (Long linkId : document.links()) {
+                final LinkDocument link = links.get(linkId);
+                if (link != null) {
+                    link(link).ifPresent(indexcardLinks::add);
+                }
+            }
+            final Indexcard indexcard = new Indexcard(document.name(), document.question(), document.answer(),
+                    indexcardKeywords, indexcardLinks);
+            indexcard.setId(document.id());
+            loadedIndexcards.put(document.id(), indexcard);
+            return indexcard;
+        }
+
+        /**
+         * Creates a Link from its document.
+         *
+         * @param document The document of the Link.
+         * @return The Link, if the linked Indexcard still exists.
+         */
+        Optional<Link> link(final LinkDocument document) {
+            return reference(document.indexcardId()).map(indexcard -> {
+                final Link link = new Link(document.term(), indexcard);
+                link.setId(document.id());
+                return link;
+            });
+        }
+
+        /**
+         * Loads an Indexcard without its Keywords and Links, which is used as the target of a Link.
+         */
+        private Optional<Indexcard> reference(final long id) {
+            Indexcard indexcard = loadedIndexcards.get(id);
+            if (indexcard == null) {
+                indexcard = references.get(id);
+            }
+            if (indexcard == null) {
+                final IndexcardDocument document = indexcards.get(id);
+                if (document == null) {
+                    return Optional.empty();
+                }
+                indexcard = new Indexcard(document.name(), document.question(), document.answer(),
+                        new ArrayList<>(), new ArrayList<>());
+                indexcard.setId(id);
+                references.put(id, indexcard);
+            }
+            return Optional.of(indexcard);
+        }
+
+        /**
+         * Loads a Category with its children, all their descendants and the Indexcards of all these Category's.
+         *
+         * @param id The id of the Category.
+         * @return The Category, if it exists.
+         */
+        Optional<Category> category(final Long id) {
+            final CategoryDocument document = id == null ? null : categories.get(id);
+            return document == null ? Optional.empty() : Optional.of(category(document));
+        }
+
+        /**
+         * Creates a Category with its children, all their descendants and the Indexcards of all these
+         * Category's from its document.
+         *
+         * @param document The document of the Category.
+         * @return The Category.
+         */
+        Category category(final CategoryDocument document) {
+            final Category loaded = loadedCategories.get(document.id());
+            if (loaded != null) {
+                return loaded;
+            }
+            final Category category = new Category(document.name(), new ArrayList<>(), new ArrayList<>());
+            category.setId(document.id());
+            loadedCategories.put(document.id(), category);
+            for (Long childId : document.children()) {
+                category(childId).ifPresent(category.getChildren()::add);
+            }
+            for (Long indexcardId : document.indexcards()) {
+                indexcard(indexcardId).ifPresent(category.getIndexcards()::add);
+            }
+            return category;
+        }
+
+        /**
+         * Creates an IndexcardBox with its Category's from its document.
+         *
+         * @param document The document of the IndexcardBox.
+         * @return The IndexcardBox.
+         */
+        IndexcardBox indexcardBox(final IndexcardBoxDocument document) {
+            final List<Category> categoryList = new ArrayList<>(document.categories().size());
+            for (Long categoryId : document.categories()) {
+                category(categoryId).ifPresent(categoryList::add);
+            }
+            return new IndexcardBox(document.name(), categoryList);
+        }
+    }
+
+    private static final class Holder {
+        private static final MVStoreDatabase INSTANCE = open();
+    }
+}
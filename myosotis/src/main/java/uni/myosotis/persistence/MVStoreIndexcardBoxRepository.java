@@ -0,0 +1,144 @@
+package uni.myosotis.persistence;
+
+import org.h2.mvstore.Cursor;
+import uni.myosotis.objects.IndexcardBox;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the MVStore for the object type "IndexcardBox".
+ * The IndexcardBoxes are stored by their name, so they are always sorted by it.
+ */
+class MVStoreIndexcardBoxRepository implements IndexcardBoxRepository {
+
+    private static final Logger logger = Logger.getLogger(MVStoreIndexcardBoxRepository.class.getName());
+
+    private final MVStoreDatabase db = MVStoreDatabase.get();
+
+    @Override
+    public int saveIndexcardBox(final IndexcardBox indexcardBox) {
+        try {
+            return db.write(() -> {
+                if (db.indexcardBoxes.putIfAbsent(indexcardBox.getName(), MVStoreDatabase.toDocument(indexcardBox)) != null) {
+                    throw new IllegalStateException("The name is already used");
+                }
+                return 0;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving index card box: {0}", indexcardBox.getName());
+            return -1;
+        }
+    }
+
+    @Override
+    public int updateIndexcardBox(final IndexcardBox indexcardBox) {
+        try {
+            db.write(() -> db.indexcardBoxes.put(indexcardBox.getName(), MVStoreDatabase.toDocument(indexcardBox)));
+            return 0;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error updating index card box: {0}", indexcardBox.getName());
+            return -1;
+        }
+    }
+
+    @Override
+    public int deleteIndexcardBox(final String name) {
+        try {
+            return db.write(() -> {
+                if (db.indexcardBoxes.remove(name) == null) {
+                    throw new IllegalStateException("The index card box does not exist");
+                }
+                return 0;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting index card box: {0}", name);
+            return -1;
+        }
+    }
+
+    @Override
+    public int deleteIndexcardBoxes(final Collection<String> names) {
+        try {
+            db.write(() -> {
+                names.forEach(db.indexcardBoxes::remove);
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting index card boxes: {0}", names);
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public Optional<IndexcardBox> getIndexcardBoxByName(final String name) {
+        final MVStoreDatabase.IndexcardBoxDocument document = name == null ? null : db.indexcardBoxes.get(name);
+        return document == null ? Optional.empty() : Optional.of(db.loader().indexcardBox(document));
+    }
+
+    @Override
+    public List<IndexcardBox> getAllIndexcardBoxes() {
+        return searchIndexcardBox("");
+    }
+
+    @Override
+    public List<String> getIndexcardBoxNames() {
+        return new ArrayList<>(db.indexcardBoxes.keySet());
+    }
+
+    @Override
+    public long countIndexcardBoxes(final String text) {
+        final Predicate<String> filter = nameContains(text);
+        long count = 0;
+        for (String name : db.indexcardBoxes.keySet()) {
+            if (filter.test(name)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<String> getIndexcardBoxNamePage(final String text, final String afterName, final int offset, final int limit) {
+        final Predicate<String> filter = nameContains(text);
+        final String from = afterName == null ? db.indexcardBoxes.firstKey() : db.indexcardBoxes.higherKey(afterName);
+        final List<String> page = new ArrayList<>();
+        if (from == null) {
+            return page;
+        }
+        int skip = afterName == null ? offset : 0;
+        final Cursor<String, MVStoreDatabase.IndexcardBoxDocument> cursor = db.indexcardBoxes.cursor(from);
+        while (page.size() < limit && cursor.hasNext()) {
+            final String name = cursor.next();
+            if (filter.test(name) && skip-- <= 0) {
+                page.add(name);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<IndexcardBox> searchIndexcardBox(final String text) {
+        final Predicate<String> filter = nameContains(text);
+        final MVStoreDatabase.Loader loader = db.loader();
+        final List<IndexcardBox> indexcardBoxes = new ArrayList<>();
+        for (MVStoreDatabase.IndexcardBoxDocument document : db.indexcardBoxes.values()) {
+            if (filter.test(document.name())) {
+                indexcardBoxes.add(loader.indexcardBox(document));
+            }
+        }
+        return indexcardBoxes;
+    }
+
+    private static Predicate<String> nameContains(final String text) {
+        final String upperText = text.toUpperCase(Locale.ROOT);
+        return name -> name.toUpperCase(Locale.ROOT).contains(upperText);
+    }
+}
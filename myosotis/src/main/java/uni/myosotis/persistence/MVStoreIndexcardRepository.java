@@ -0,0 +1,306 @@
+package uni.myosotis.persistence;
+
+import org.h2.mvstore.Cursor;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardBox;
+import uni.myosotis.objects.IndexcardSummary;
+import uni.myosotis.objects.IndexcardText;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the MVStore for the object type "Indexcard".
+ */
+class MVStoreIndexcardRepository implements IndexcardRepository {
+
+    private static final Logger logger = Logger.getLogger(MVStoreIndexcardRepository.class.getName());
+
+    private final MVStoreDatabase db = MVStoreDatabase.get();
+
+    @Override
+    public int saveIndexcard(final Indexcard indexcard) {
+        try {
+            db.write(() -> {
+                if (db.indexcardIdsByName.containsKey(indexcard.getName())) {
+                    throw new IllegalStateException("The name is already used");
+                }
+                final long id = db.nextId("indexcard");
+                db.putIndexcard(MVStoreDatabase.toDocument(id, indexcard));
+                db.indexcardIdsByName.put(indexcard.getName(), id);
+                indexcard.setId(id);
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving index card: {0}", indexcard.getName());
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public int updateIndexcard(final Indexcard indexcard) {
+        if (indexcard.getId() == null) {
+            return saveIndexcard(indexcard);
+        }
+        try {
+            db.write(() -> {
+                final Long otherId = db.indexcardIdsByName.get(indexcard.getName());
+                if (otherId != null && !otherId.equals(indexcard.getId())) {
+                    throw new IllegalStateException("The name is already used");
+                }
+                final MVStoreDatabase.IndexcardDocument old = db.putIndexcard(
+                        MVStoreDatabase.toDocument(indexcard.getId(), indexcard));
+                if (old != null && !old.name().equals(indexcard.getName())) {
+                    db.indexcardIdsByName.remove(old.name());
+                }
+                db.indexcardIdsByName.put(indexcard.getName(), indexcard.getId());
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error updating index card: {0}", indexcard.getName());
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public int deleteIndexcard(final Long id) {
+        try {
+            db.write(() -> {
+                final MVStoreDatabase.IndexcardDocument old = db.removeIndexcard(id);
+                if (old == null) {
+                    throw new IllegalStateException("The index card does not exist");
+                }
+                db.indexcardIdsByName.remove(old.name());
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting index card with id: {0}", id);
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public int deleteIndexcards(final Collection<Long> ids) {
+        try {
+            db.write(() -> {
+                for (Long id : ids) {
+                    final MVStoreDatabase.IndexcardDocument old = db.removeIndexcard(id);
+                    if (old != null) {
+                        db.indexcardIdsByName.remove(old.name());
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting index cards with ids: {0}", ids);
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public int addKeyword(final Collection<Long> ids, final String keyword) {
+        return changeKeywords(ids, keyword, true);
+    }
+
+    @Override
+    public int removeKeyword(final Collection<Long> ids, final String keyword) {
+        return changeKeywords(ids, keyword, false);
+    }
+
+    /**
+     * Adds a Keyword to the documents of the Indexcards or removes it, in one change of the MVStore.
+     */
+    private int changeKeywords(final Collection<Long> ids, final String keyword, final boolean add) {
+        try {
+            db.write(() -> {
+                if (add && !db.keywords.containsKey(keyword)) {
+                    throw new IllegalStateException("The keyword does not exist");
+                }
+                for (Long id : ids) {
+                    final MVStoreDatabase.IndexcardDocument document = db.indexcards.get(id);
+                    if (document != null && document.keywords().contains(keyword) != add) {
+                        final List<String> keywords = new ArrayList<>(document.keywords());
+                        if (add) {
+                            keywords.add(keyword);
+                        } else {
+                            keywords.remove(keyword);
+                        }
+                        db.putIndexcard(document.withKeywords(keywords));
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error changing keyword {0} of index cards", keyword);
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public List<Indexcard> getAllIndexcards() {
+        final MVStoreDatabase.Loader loader = db.loader();
+        final List<Indexcard> indexcards = new ArrayList<>(db.indexcards.size());
+        for (MVStoreDatabase.IndexcardDocument document : db.indexcards.values()) {
+            indexcards.add(loader.indexcard(document));
+        }
+        return indexcards;
+    }
+
+    @Override
+    public List<Indexcard> getAllIndexcards(final List<String> names) {
+        return getIndexcardsFromNameList(names);
+    }
+
+    @Override
+    public Optional<Indexcard> getIndexcardByName(final String name) {
+        return db.loader().indexcard(db.indexcardIdsByName.get(name));
+    }
+
+    @Override
+    public Optional<IndexcardBox> getIndexcardBoxByName(final String name) {
+        return new MVStoreIndexcardBoxRepository().getIndexcardBoxByName(name);
+    }
+
+    @Override
+    public Optional<Indexcard> getIndexcardById(final Long id) {
+        return db.loader().indexcard(id);
+    }
+
+    @Override
+    public List<Indexcard> getAllIndexcardByCategories(final String categoryName) {
+        for (MVStoreDatabase.CategoryDocument category : db.categories.values()) {
+            if (category.name().equals(categoryName)) {
+                return getIndexcardsByIds(category.indexcards());
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Indexcard> getIndexcardsByKeyword(final String keyword) {
+        return getIndexcardsByIds(db.getIndexcardIdsByKeyword(keyword));
+    }
+
+    @Override
+    public boolean isKeywordUsed(final String keyword) {
+        return db.isKeywordUsed(keyword);
+    }
+
+    @Override
+    public List<IndexcardSummary> getIndexcardSummaries() {
+        return getIndexcardSummaryPage(null, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<IndexcardText> getIndexcardTexts() {
+        final List<IndexcardText> texts = new ArrayList<>();
+        for (MVStoreDatabase.IndexcardDocument document : db.indexcards.values()) {
+            texts.add(new IndexcardText(document.id(), document.name(), document.question(), document.answer()));
+        }
+        return texts;
+    }
+
+    @Override
+    public Map<Long, List<String>> getKeywordNamesByIndexcard() {
+        final Map<Long, List<String>> keywordNames = new HashMap<>();
+        for (MVStoreDatabase.IndexcardDocument document : db.indexcards.values()) {
+            if (!document.keywords().isEmpty()) {
+                keywordNames.put(document.id(), document.keywords());
+            }
+        }
+        return keywordNames;
+    }
+
+    @Override
+    public long countIndexcards() {
+        return db.indexcards.sizeAsLong();
+    }
+
+    /**
+     * This method is used to get one page of the id and name of the objects of type "Indexcard",
+     * in the order of their ids. The map is sorted by the id, so the page starts at the key after
+     * afterId or at the key at the offset, without reading the Indexcards before.
+     *
+     * @param afterId   The id of the last Indexcard of the page before, or null.
+     * @param offset    The position of the first Indexcard of the page, used if afterId is null.
+     * @param limit     The maximal number of Indexcards.
+     * @return          The id and name of the Indexcards of the page, could be empty.
+     */
+    @Override
+    public List<IndexcardSummary> getIndexcardSummaryPage(final Long afterId, final int offset, final int limit) {
+        final List<IndexcardSummary> page = new ArrayList<>();
+        final Long from = afterId != null ? db.indexcards.higherKey(afterId)
+                : offset < db.indexcards.sizeAsLong() ? db.indexcards.getKey(offset) : null;
+        if (from == null) {
+            return page;
+        }
+        final Cursor<Long, MVStoreDatabase.IndexcardDocument> cursor = db.indexcards.cursor(from);
+        while (page.size() < limit && cursor.hasNext()) {
+            cursor.next();
+            page.add(new IndexcardSummary(cursor.getKey(), cursor.getValue().name()));
+        }
+        return page;
+    }
+
+    @Override
+    public List<IndexcardSummary> getIndexcardSummariesByIds(final Collection<Long> ids) {
+        final List<IndexcardSummary> summaries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            final MVStoreDatabase.IndexcardDocument document = db.indexcards.get(id);
+            if (document != null) {
+                summaries.add(new IndexcardSummary(id, document.name()));
+            }
+        }
+        return summaries;
+    }
+
+    @Override
+    public Map<String, Long> getIndexcardIdsByName() {
+        return new HashMap<>(db.indexcardIdsByName);
+    }
+
+    @Override
+    public List<Indexcard> getIndexcardsByIds(final Collection<Long> ids) {
+        final MVStoreDatabase.Loader loader = db.loader();
+        final List<Indexcard> indexcards = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            loader.indexcard(id).ifPresent(indexcards::add);
+        }
+        return indexcards;
+    }
+
+    /**
+     * This method is used to load an object of type "Indexcard", that is used to link other objects
+     * with the Indexcard. The MVStore only stores its id, so the loaded Indexcard can be used as reference.
+     *
+     * @param id The id of the Indexcard.
+     * @return The Indexcard.
+     * @throws IllegalStateException If the Indexcard does not exist.
+     */
+    @Override
+    public Indexcard getIndexcardReference(final Long id) {
+        return db.loader().indexcard(id).orElseThrow(() -> new IllegalStateException("No index card with id " + id));
+    }
+
+    @Override
+    public List<Indexcard> getIndexcardsFromNameList(final List<String> indexcardNameList) {
+        final MVStoreDatabase.Loader loader = db.loader();
+        final List<Indexcard> indexcards = new ArrayList<>(indexcardNameList.size());
+        for (String name : indexcardNameList) {
+            loader.indexcard(db.indexcardIdsByName.get(name)).ifPresent(indexcards::add);
+        }
+        return indexcards;
+    }
+
+}
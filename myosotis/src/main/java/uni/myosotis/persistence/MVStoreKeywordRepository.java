@@ -0,0 +1,82 @@
+package uni.myosotis.persistence;
+
+import uni.myosotis.objects.Keyword;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the MVStore for the object type "Keyword".
+ */
+class MVStoreKeywordRepository implements KeywordRepository {
+
+    private static final Logger logger = Logger.getLogger(MVStoreKeywordRepository.class.getName());
+
+    private final MVStoreDatabase db = MVStoreDatabase.get();
+
+    @Override
+    public int saveKeyword(final Keyword keyword) {
+        try {
+            return db.write(() -> {
+                if (db.keywords.putIfAbsent(keyword.getName(), Boolean.TRUE) != null) {
+                    throw new IllegalStateException("The keyword already exists");
+                }
+                return 0;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving keyword: {0}", keyword.getName());
+            return -1;
+        }
+    }
+
+    @Override
+    public int deleteKeyword(final String name) {
+        try {
+            return db.write(() -> {
+                if (db.keywords.remove(name) == null) {
+                    throw new IllegalStateException("The keyword does not exist");
+                }
+                return 0;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting keyword: {0}", name);
+            return -1;
+        }
+    }
+
+    @Override
+    public int deleteUnusedKeywords(final Collection<String> names) {
+        try {
+            return db.write(() -> {
+                int deleted = 0;
+                for (String name : names) {
+                    if (!db.isKeywordUsed(name) && db.keywords.remove(name) != null) {
+                        deleted++;
+                    }
+                }
+                return deleted;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting unused keywords: {0}", names);
+            return -1;
+        }
+    }
+
+    @Override
+    public Optional<Keyword> getKeywordByName(final String word) {
+        return db.keywords.containsKey(word) ? Optional.of(new Keyword(word)) : Optional.empty();
+    }
+
+    @Override
+    public List<Keyword> getAllKeywords() {
+        final List<Keyword> keywords = new ArrayList<>(db.keywords.size());
+        for (String name : db.keywords.keySet()) {
+            keywords.add(new Keyword(name));
+        }
+        return keywords;
+    }
+}
@@ -0,0 +1,155 @@
+package uni.myosotis.persistence;
+
+import uni.myosotis.objects.IndexcardBox;
+import uni.myosotis.objects.LeitnerLearnSystem;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the MVStore for the object type "LeitnerLearnSystem".
+ * A LeitnerLearnSystem is stored as one document with its LeitnerCards, and found by its name
+ * with the index of the names.
+ */
+class MVStoreLeitnerLearnSystemRepository implements LeitnerLearnSystemRepository {
+
+    private static final Logger logger = Logger.getLogger(MVStoreLeitnerLearnSystemRepository.class.getName());
+
+    private static final String SEQUENCE = "learnSystems";
+
+    private final MVStoreDatabase db;
+
+    MVStoreLeitnerLearnSystemRepository() {
+        this(MVStoreDatabase.get());
+    }
+
+    MVStoreLeitnerLearnSystemRepository(final MVStoreDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public void saveLeitnerLearnSystem(final String name, final String algorithm, final long[] indexcardIds,
+                                       final int numberOfBoxes, final String sortType) {
+        final LeitnerLearnSystem leitnerLearnSystem = new LeitnerLearnSystem(name, indexcardIds, numberOfBoxes, sortType);
+        leitnerLearnSystem.setAlgorithm(algorithm);
+        try {
+            db.write(() -> {
+                if (db.learnSystemIdsByName.containsKey(name)) {
+                    throw new IllegalStateException("The name is already used");
+                }
+                final long id = db.nextId(SEQUENCE);
+                leitnerLearnSystem.setId(id);
+                db.learnSystems.put(id, MVStoreDatabase.toDocument(id, leitnerLearnSystem));
+                db.learnSystemIdsByName.put(name, id);
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving leitnerLearnSystem: {0}", name);
+        }
+    }
+
+    @Override
+    public void updateLearnSystem(final LeitnerLearnSystem leitnerLearnSystem) {
+        try {
+            db.write(() -> {
+                if (leitnerLearnSystem.getId() == null || leitnerLearnSystem.getId() == 0) {
+                    leitnerLearnSystem.setId(db.nextId(SEQUENCE));
+                }
+                put(leitnerLearnSystem);
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error updating leitnerLearnSystem: {0}", leitnerLearnSystem.getId());
+        }
+    }
+
+    @Override
+    public int updateLearnSystem(final Long id, final Consumer<LeitnerLearnSystem> change) {
+        try {
+            return db.write(() -> {
+                final MVStoreDatabase.LearnSystemDocument document = id == null ? null : db.learnSystems.get(id);
+                if (document == null) {
+                    logger.log(Level.WARNING, "LeitnerLearnSystem does not exist anymore: {0}", id);
+                    return -1;
+                }
+                final LeitnerLearnSystem leitnerLearnSystem = MVStoreDatabase.toLearnSystem(document);
+                change.accept(leitnerLearnSystem);
+                put(leitnerLearnSystem);
+                return 0;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error updating leitnerLearnSystem: {0}", id);
+            return -1;
+        }
+    }
+
+    @Override
+    public void deleteLeitnerLearnSystem(final LeitnerLearnSystem leitnerLearnSystem) {
+        try {
+            db.write(() -> {
+                final MVStoreDatabase.LearnSystemDocument old = db.learnSystems.remove(leitnerLearnSystem.getId());
+                if (old != null) {
+                    db.learnSystemIdsByName.remove(old.name(), old.id());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error deleting LeitnerLearnSystem: {0}", leitnerLearnSystem.getId());
+        }
+    }
+
+    @Override
+    public Optional<LeitnerLearnSystem> getLeitnerLearnSystemById(final long id) {
+        final MVStoreDatabase.LearnSystemDocument document = db.learnSystems.get(id);
+        return document == null ? Optional.empty() : Optional.of(MVStoreDatabase.toLearnSystem(document));
+    }
+
+    /**
+     * A LeitnerLearnSystem does not refer to its IndexcardBox, only its name starts with the name of the
+     * IndexcardBox, so no LeitnerLearnSystem is found by the IndexcardBox.
+     */
+    @Override
+    public <T extends LeitnerLearnSystem> Optional<T> getLeitnerLearnSystemByIndexcardBox(final IndexcardBox indexcardBox) {
+        return Optional.empty();
+    }
+
+    /**
+     * Reads the number of the Box from the columns of the document, without creating the LeitnerLearnSystem.
+     */
+    @Override
+    public Optional<Integer> getBoxNumber(final long learnSystemId, final long indexcardId) {
+        final MVStoreDatabase.LearnSystemDocument document = db.learnSystems.get(learnSystemId);
+        if (document == null) {
+            return Optional.empty();
+        }
+        final long[] indexcardIds = document.indexcardIds();
+        for (int card = 0; card < indexcardIds.length; card++) {
+            if (indexcardIds[card] == indexcardId) {
+                return Optional.of(document.boxNumbers()[card]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public LeitnerLearnSystem getLeitnerLearnSystemByName(final String name) {
+        final Long id = name == null ? null : db.learnSystemIdsByName.get(name);
+        final MVStoreDatabase.LearnSystemDocument document = id == null ? null : db.learnSystems.get(id);
+        return document == null ? null : MVStoreDatabase.toLearnSystem(document);
+    }
+
+    /**
+     * Stores the document of a LeitnerLearnSystem and updates the index of the names.
+     * Must only be used inside {@link MVStoreDatabase#write(java.util.function.Supplier)}.
+     */
+    private void put(final LeitnerLearnSystem leitnerLearnSystem) {
+        final MVStoreDatabase.LearnSystemDocument old = db.learnSystems.put(leitnerLearnSystem.getId(),
+                MVStoreDatabase.toDocument(leitnerLearnSystem.getId(), leitnerLearnSystem));
+        if (old != null && !old.name().equals(leitnerLearnSystem.getName())) {
+            db.learnSystemIdsByName.remove(old.name(), old.id());
+        }
+        db.learnSystemIdsByName.put(leitnerLearnSystem.getName(), leitnerLearnSystem.getId());
+    }
+}
@@ -0,0 +1,163 @@
+package uni.myosotis.persistence;
+
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.Link;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The repository for the links, that accesses the MVStore.
+ */
+class MVStoreLinkRepository implements LinkRepository {
+
+    private static final Logger logger = Logger.getLogger(MVStoreLinkRepository.class.getName());
+
+    private final MVStoreDatabase db = MVStoreDatabase.get();
+
+    /**
+     * Saves a Link to the MVStore. The Link gets its id.
+     *
+     * @param link The Link that should be saved.
+     */
+    @Override
+    public void save(final Link link) {
+        try {
+            db.write(() -> {
+                if (link.getIndexcard() == null || link.getIndexcard().getId() == null) {
+                    throw new IllegalStateException("The linked indexcard was not saved");
+                }
+                final long id = db.nextId("link");
+                db.putLink(new MVStoreDatabase.LinkDocument(id, link.getTerm(), link.getIndexcard().getId()));
+                link.setId(id);
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed to save the link to the persistence storage: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(final Link link) {
+        try {
+            db.write(() -> {
+                if (db.removeLink(link.getId()) == null) {
+                    throw new IllegalStateException("The link does not exist");
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed deleting the Link from the persistence storage: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void deleteLinks(final Collection<Link> links) {
+        try {
+            db.write(() -> {
+                for (Link link : links) {
+                    db.removeLink(link.getId());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed deleting the Links from the persistence storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the Links to an Indexcard from the Indexcards, that contain them, and deletes them.
+     * The Links and the Indexcards, that contain them, are found with the indexes of the MVStore.
+     *
+     * @param indexcard The specific Indexcard.
+     */
+    @Override
+    public List<Long> deleteLinksToIndexcard(final Indexcard indexcard) {
+        try {
+            return db.write(() -> new ArrayList<>(db.removeLinksToIndexcard(indexcard.getId())));
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed deleting the Links to an Indexcard from the persistence storage: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<Long> deleteLinksOfIndexcards(final Collection<Long> indexcardIds) {
+        try {
+            return db.write(() -> {
+                final Set<Long> sourceIds = new LinkedHashSet<>();
+                for (Long indexcardId : indexcardIds) {
+                    sourceIds.addAll(db.removeLinksToIndexcard(indexcardId));
+                    final MVStoreDatabase.IndexcardDocument indexcard = db.indexcards.get(indexcardId);
+                    if (indexcard != null && !indexcard.links().isEmpty()) {
+                        indexcard.links().forEach(db::removeLink);
+                        db.putIndexcard(indexcard.withLinks(List.of()));
+                    }
+                }
+                sourceIds.removeAll(indexcardIds);
+                return new ArrayList<>(sourceIds);
+            });
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed deleting the Links of Indexcards from the persistence storage: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<Link> getAllLinks() {
+        return getLinks(link -> true);
+    }
+
+    @Override
+    public List<Link> getLinksByTerm(final String term) {
+        return getLinks(link -> link.term().equals(term));
+    }
+
+    @Override
+    public List<Link> getLinksByIndexcard(final Indexcard indexcard) {
+        final List<Link> links = new ArrayList<>();
+        if (indexcard.getId() == null) {
+            return links;
+        }
+        final MVStoreDatabase.Loader loader = db.loader();
+        for (Long id : db.getLinkIdsByIndexcard(indexcard.getId())) {
+            final MVStoreDatabase.LinkDocument document = db.links.get(id);
+            if (document != null) {
+                loader.link(document).ifPresent(links::add);
+            }
+        }
+        return links;
+    }
+
+    @Override
+    public Map<String, Set<Long>> getIndexcardIdsByLinkTerm() {
+        final Map<String, Set<Long>> ids = new HashMap<>();
+        for (MVStoreDatabase.LinkDocument document : db.links.values()) {
+            ids.computeIfAbsent(document.term(), term -> new HashSet<>()).add(document.indexcardId());
+        }
+        return ids;
+    }
+
+    /**
+     * Scans the Links, there is no index on the term.
+     */
+    private List<Link> getLinks(final Predicate<MVStoreDatabase.LinkDocument> filter) {
+        final MVStoreDatabase.Loader loader = db.loader();
+        final List<Link> links = new ArrayList<>();
+        for (MVStoreDatabase.LinkDocument document : db.links.values()) {
+            if (filter.test(document)) {
+                loader.link(document).ifPresent(links::add);
+            }
+        }
+        return links;
+    }
+}
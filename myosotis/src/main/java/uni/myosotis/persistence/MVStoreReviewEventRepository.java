@@ -0,0 +1,63 @@
+package uni.myosotis.persistence;
+
+import org.h2.mvstore.Cursor;
+import uni.myosotis.objects.ReviewEvent;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to access the MVStore for the object type "ReviewEvent".
+ * The key of an event starts with the id of its Learnsystem, so the events of a Learnsystem
+ * are read with one cursor over a range of keys.
+ */
+class MVStoreReviewEventRepository implements ReviewEventRepository {
+
+    private static final Logger logger = Logger.getLogger(MVStoreReviewEventRepository.class.getName());
+
+    private static final String SEQUENCE = "reviewEvents";
+
+    private final MVStoreDatabase db;
+
+    MVStoreReviewEventRepository() {
+        this(MVStoreDatabase.get());
+    }
+
+    MVStoreReviewEventRepository(final MVStoreDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public int saveReviewEvents(final List<ReviewEvent> reviewEvents) {
+        if (reviewEvents.isEmpty()) {
+            return 0;
+        }
+        try {
+            return db.write(() -> {
+                for (ReviewEvent reviewEvent : reviewEvents) {
+                    db.reviewEvents.put(MVStoreDatabase.reviewEventPrefix(reviewEvent.getLearnSystemId()) + db.nextId(SEQUENCE),
+                            new MVStoreDatabase.ReviewEventDocument(reviewEvent.getIndexcardId(), reviewEvent.getReviewTime(),
+                                    (byte) reviewEvent.getGrade(), reviewEvent.getResponseTime(), reviewEvent.getSourceBox()));
+                }
+                return 0;
+            });
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error saving {0} review events: {1}", new Object[]{reviewEvents.size(), e.getMessage()});
+            return -1;
+        }
+    }
+
+    @Override
+    public ReviewColumns getReviewColumns(final long learnSystemId) {
+        final String prefix = MVStoreDatabase.reviewEventPrefix(learnSystemId);
+        final ReviewColumns columns = new ReviewColumns();
+        final Cursor<String, MVStoreDatabase.ReviewEventDocument> cursor = db.reviewEvents.cursor(prefix);
+        while (cursor.hasNext() && cursor.next().startsWith(prefix)) {
+            final MVStoreDatabase.ReviewEventDocument event = cursor.getValue();
+            columns.add(event.indexcardId(), event.reviewTime(), event.grade(), event.responseTime(), event.sourceBox());
+        }
+        columns.sortByIndexcardAndTime();
+        return columns;
+    }
+}
@@ -3,30 +3,151 @@ package uni.myosotis.persistence;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import jakarta.persistence.Query;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.stat.Statistics;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * This class is used to get the Entity-Manager for the persistence.
  */
 public class PersistenceManager {
 
+    private static final Logger logger = Logger.getLogger(PersistenceManager.class.getName());
+
     /** References the "persistence-unit" name from META-INF/persistence.xml */
     private static final String PU_NAME = "myosotisDB";
 
     /** emFactory contains the Factory of the Entity-Manager */
     private static final EntityManagerFactory emFactory;
 
-    /* Creates the Entity-Manager of the given factory */
+    /* Creates the Entity-Manager of the given factory, with the connection settings of the DatabaseConfig */
     static {
-        emFactory = Persistence.createEntityManagerFactory(PU_NAME);
+        final DatabaseConfig config = DatabaseConfig.fromSystemProperties();
+        logger.log(Level.INFO, "Opening database: {0}", config);
+        emFactory = Persistence.createEntityManagerFactory(PU_NAME, config.toPersistenceProperties());
     }
 
     /**
      * Method to get the Entity-Manager for the persistent persistence.
+     * If a UnitOfWork is active on the current thread, its shared Entity-Manager is returned.
      *
      * @return      The Entity-Manager.
      */
     public EntityManager getEntityManager() {
+        final EntityManager unitOfWorkEntityManager = UnitOfWork.currentEntityManager();
+        if (unitOfWorkEntityManager != null) {
+            return unitOfWorkEntityManager;
+        }
+        return createEntityManager();
+    }
+
+    /**
+     * Method to create a new Entity-Manager of the factory.
+     *
+     * @return      The new Entity-Manager.
+     */
+    static EntityManager createEntityManager() {
         return emFactory.createEntityManager();
     }
 
+    /**
+     * Method to delete rows of a table, which can not be changed with JPQL, like the join tables of the collections.
+     * The pending changes of the Entity-Manager are written before. Hibernate does not drop the cached collections
+     * of a changed join table, so the collections of the owners of the deleted rows, that are stored in the table,
+     * are evicted from the second-level cache here, and again if the unit of work gets rolled back, because they
+     * could have been cached with the changes in between. The collections of other owners stay cached.
+     *
+     * @param em            The Entity-Manager.
+     * @param table         The table.
+     * @param ownerColumn   The column of the table with the ids of the owners of the collections.
+     * @param condition     The SQL condition of the deleted rows.
+     * @param parameters    The values of the named parameters of the condition.
+     * @return              The number of deleted rows.
+     */
+    static int deleteNative(final EntityManager em, final String table, final String ownerColumn, final String condition,
+                            final Map<String, Object> parameters) {
+        em.flush();
+        final Query ownerQuery = em.createNativeQuery("SELECT DISTINCT " + ownerColumn + " FROM " + table + " WHERE " + condition);
+        parameters.forEach(ownerQuery::setParameter);
+        final List<?> ownerIds = ownerQuery.getResultList();
+        if (ownerIds.isEmpty()) {
+            return 0;
+        }
+        return executeNative(em, table, "DELETE FROM " + table + " WHERE " + condition, parameters, ownerIds);
+    }
+
+    /**
+     * Method to insert rows into a table, which can not be changed with JPQL, like the join tables of the collections.
+     * Like {@link #deleteNative}, only the cached collections of the given owners, that are stored in the table,
+     * are evicted from the second-level cache, now and again if the unit of work gets rolled back.
+     *
+     * @param em            The Entity-Manager.
+     * @param table         The table.
+     * @param sql           The SQL statement, that inserts the rows.
+     * @param parameters    The values of the named parameters of the statement.
+     * @param ownerIds      The ids of the owners of the collections, that could get a new row.
+     * @return              The number of inserted rows.
+     */
+    static int insertNative(final EntityManager em, final String table, final String sql,
+                            final Map<String, Object> parameters, final Collection<?> ownerIds) {
+        em.flush();
+        if (ownerIds.isEmpty()) {
+            return 0;
+        }
+        return executeNative(em, table, sql, parameters, List.copyOf(ownerIds));
+    }
+
+    /**
+     * Executes a statement, that changes the table, and evicts the collections of the owners.
+     */
+    private static int executeNative(final EntityManager em, final String table, final String sql,
+                                     final Map<String, Object> parameters, final List<?> ownerIds) {
+        final Query query = em.createNativeQuery(sql);
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(table);
+        parameters.forEach(query::setParameter);
+        final int changed = query.executeUpdate();
+        final Runnable evict = () -> evictCollections(table, ownerIds);
+        evict.run();
+        UnitOfWork.onRollback(evict);
+        return changed;
+    }
+
+    /**
+     * Evicts the collections of the given owners, that are stored in the table, from the second-level cache.
+     *
+     * @param table    The table of the collections.
+     * @param ownerIds The ids of the owners.
+     */
+    private static void evictCollections(final String table, final List<?> ownerIds) {
+        final SessionFactoryImplementor sessionFactory = emFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            for (Serializable space : collection.getCollectionSpaces()) {
+                if (table.equalsIgnoreCase(space.toString())) {
+                    for (Object ownerId : ownerIds) {
+                        sessionFactory.getCache().evictCollectionData(collection.getRole(), ownerId);
+                    }
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Method to get the statistics of Hibernate, e.g. the hits and misses of the caches.
+     *
+     * @return      The statistics of the factory.
+     */
+    static Statistics getStatistics() {
+        return emFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
 }
@@ -0,0 +1,119 @@
+package uni.myosotis.persistence;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the repositories of the backend, that is chosen with the system property
+ * {@code myosotis.db.backend}, see {@link DatabaseConfig}. The logic only knows the interfaces
+ * of the repositories, so it works the same way with every backend. The MVStore backend does not
+ * use the H2 database at all.
+ */
+public final class Repositories {
+
+    private static final Logger logger = Logger.getLogger(Repositories.class.getName());
+
+    /** The backend, read once, when the first repository is created. */
+    private static final DatabaseConfig.Backend BACKEND = DatabaseConfig.fromSystemProperties().getBackend();
+
+    static {
+        logger.log(Level.INFO, "Using the repositories of the backend {0}", BACKEND);
+    }
+
+    private Repositories() {
+
+    }
+
+    /**
+     * Returns the backend of the repositories.
+     *
+     * @return The backend.
+     */
+    public static DatabaseConfig.Backend backend() {
+        return BACKEND;
+    }
+
+    /**
+     * Creates the repository for the Indexcards.
+     *
+     * @return The IndexcardRepository.
+     */
+    public static IndexcardRepository indexcardRepository() {
+        return switch (BACKEND) {
+            case HIBERNATE -> new HibernateIndexcardRepository();
+            case MVSTORE -> new MVStoreIndexcardRepository();
+        };
+    }
+
+    /**
+     * Creates the repository for the Category's.
+     *
+     * @return The CategoryRepository.
+     */
+    public static CategoryRepository categoryRepository() {
+        return switch (BACKEND) {
+            case HIBERNATE -> new HibernateCategoryRepository();
+            case MVSTORE -> new MVStoreCategoryRepository();
+        };
+    }
+
+    /**
+     * Creates the repository for the IndexcardBoxes.
+     *
+     * @return The IndexcardBoxRepository.
+     */
+    public static IndexcardBoxRepository indexcardBoxRepository() {
+        return switch (BACKEND) {
+            case HIBERNATE -> new HibernateIndexcardBoxRepository();
+            case MVSTORE -> new MVStoreIndexcardBoxRepository();
+        };
+    }
+
+    /**
+     * Creates the repository for the Keywords.
+     *
+     * @return The KeywordRepository.
+     */
+    public static KeywordRepository keywordRepository() {
+        return switch (BACKEND) {
+            case HIBERNATE -> new HibernateKeywordRepository();
+            case MVSTORE -> new MVStoreKeywordRepository();
+        };
+    }
+
+    /**
+     * Creates the repository for the Links.
+     *
+     * @return The LinkRepository.
+     */
+    public static LinkRepository linkRepository() {
+        return switch (BACKEND) {
+            case HIBERNATE -> new HibernateLinkRepository();
+            case MVSTORE -> new MVStoreLinkRepository();
+        };
+    }
+
+    /**
+     * Creates the repository for the LeitnerLearnSystems.
+     *
+     * @return The LeitnerLearnSystemRepository.
+     */
+    public static LeitnerLearnSystemRepository leitnerLearnSystemRepository() {
+        return switch (BACKEND) {
+            case HIBERNATE -> new HibernateLeitnerLearnSystemRepository();
+            case MVSTORE -> new MVStoreLeitnerLearnSystemRepository();
+        };
+    }
+
+    /**
+     * Creates the repository for the ReviewEvents.
+     *
+     * @return The ReviewEventRepository.
+     */
+    public static ReviewEventRepository reviewEventRepository() {
+        return switch (BACKEND) {
+            case HIBERNATE -> new HibernateReviewEventRepository();
+            case MVSTORE -> new MVStoreReviewEventRepository();
+        };
+    }
+}
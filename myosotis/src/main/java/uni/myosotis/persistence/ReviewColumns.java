@@ -0,0 +1,165 @@
+package uni.myosotis.persistence;
+
+import uni.myosotis.objects.ReviewEvent;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Review events, read column by column into primitive arrays, ordered by the id of the
+ * Indexcard and the time of the review. Millions of events fit into a few arrays, without
+ * creating an object per event.
+ */
+public final class ReviewColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private long[] indexcardIds;
+    private long[] reviewTimes;
+    private byte[] grades;
+    private int[] responseTimes;
+    private int[] sourceBoxes;
+
+    /**
+     * Creates empty columns.
+     */
+    public ReviewColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    ReviewColumns(int capacity) {
+        indexcardIds = new long[capacity];
+        reviewTimes = new long[capacity];
+        grades = new byte[capacity];
+        responseTimes = new int[capacity];
+        sourceBoxes = new int[capacity];
+    }
+
+    /**
+     * Adds a review event at the end. The events are in the order of the id of the Indexcard
+     * and the time of the review only after {@link #sortByIndexcardAndTime()}.
+     */
+    void add(long indexcardId, long reviewTime, int grade, int responseTime, int sourceBox) {
+        if (size == indexcardIds.length) {
+            final int capacity = Math.max(INITIAL_CAPACITY, size + (size >> 1));
+            indexcardIds = Arrays.copyOf(indexcardIds, capacity);
+            reviewTimes = Arrays.copyOf(reviewTimes, capacity);
+            grades = Arrays.copyOf(grades, capacity);
+            responseTimes = Arrays.copyOf(responseTimes, capacity);
+            sourceBoxes = Arrays.copyOf(sourceBoxes, capacity);
+        }
+        indexcardIds[size] = indexcardId;
+        reviewTimes[size] = reviewTime;
+        grades[size] = (byte) grade;
+        responseTimes[size] = responseTime;
+        sourceBoxes[size] = sourceBox;
+        size++;
+    }
+
+    /**
+     * Adds review events, that are not saved yet, like the queued answers of a learning session.
+     * The events stay in the order of the id of the Indexcard and the time of the review.
+     *
+     * @param reviewEvents The review events.
+     */
+    public void addAll(List<ReviewEvent> reviewEvents) {
+        if (reviewEvents.isEmpty()) {
+            return;
+        }
+        for (ReviewEvent reviewEvent : reviewEvents) {
+            add(reviewEvent.getIndexcardId(), reviewEvent.getReviewTime(), reviewEvent.getGrade(),
+                    reviewEvent.getResponseTime(), reviewEvent.getSourceBox());
+        }
+        sortByIndexcardAndTime();
+    }
+
+    /**
+     * Sorts the review events by the id of the Indexcard and the time of the review.
+     * Sorts an array of positions first by the time and then stable by the id, both with
+     * a merge sort on primitive arrays, and rearranges the columns once at the end.
+     */
+    void sortByIndexcardAndTime() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        order = stableSort(order, reviewTimes);
+        order = stableSort(order, indexcardIds);
+        final int capacity = indexcardIds.length;
+        final long[] sortedIndexcardIds = new long[capacity];
+        final long[] sortedReviewTimes = new long[capacity];
+        final byte[] sortedGrades = new byte[capacity];
+        final int[] sortedResponseTimes = new int[capacity];
+        final int[] sortedSourceBoxes = new int[capacity];
+        for (int k = 0; k < size; k++) {
+            final int row = order[k];
+            sortedIndexcardIds[k] = indexcardIds[row];
+            sortedReviewTimes[k] = reviewTimes[row];
+            sortedGrades[k] = grades[row];
+            sortedResponseTimes[k] = responseTimes[row];
+            sortedSourceBoxes[k] = sourceBoxes[row];
+        }
+        indexcardIds = sortedIndexcardIds;
+        reviewTimes = sortedReviewTimes;
+        grades = sortedGrades;
+        responseTimes = sortedResponseTimes;
+        sourceBoxes = sortedSourceBoxes;
+    }
+
+    /**
+     * Sorts the positions stable by the given keys with a bottom-up merge sort.
+     * Already sorted runs, like reviews in the order of their time, are only copied.
+     */
+    private int[] stableSort(int[] order, long[] keys) {
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int left = 0; left < size; left += 2 * width) {
+                final int middle = Math.min(left + width, size);
+                final int right = Math.min(left + 2 * width, size);
+                if (middle >= right || keys[order[middle - 1]] <= keys[order[middle]]) {
+                    System.arraycopy(order, left, buffer, left, right - left);
+                    continue;
+                }
+                int i = left;
+                int j = middle;
+                for (int k = left; k < right; k++) {
+                    buffer[k] = i < middle && (j >= right || keys[order[i]] <= keys[order[j]]) ? order[i++] : order[j++];
+                }
+            }
+            final int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Returns the number of review events.
+     *
+     * @return The number of review events.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getIndexcardId(int row) {
+        return indexcardIds[row];
+    }
+
+    public long getReviewTime(int row) {
+        return reviewTimes[row];
+    }
+
+    public int getGrade(int row) {
+        return grades[row];
+    }
+
+    public int getResponseTime(int row) {
+        return responseTimes[row];
+    }
+
+    public int getSourceBox(int row) {
+        return sourceBoxes[row];
+    }
+}
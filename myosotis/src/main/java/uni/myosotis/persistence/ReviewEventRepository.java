@@ -0,0 +1,30 @@
+package uni.myosotis.persistence;
+
+import uni.myosotis.objects.ReviewEvent;
+
+import java.util.List;
+
+/**
+ * This interface is used to access the persistence storage for the object type "ReviewEvent".
+ * Review events are only appended, so there are no methods to update or delete single events.
+ * The implementation is chosen by {@link Repositories}.
+ */
+public interface ReviewEventRepository {
+
+    /**
+     * Appends the given review events.
+     *
+     * @param reviewEvents The new review events.
+     * @return 0 if the events were saved, -1 if not.
+     */
+    int saveReviewEvents(List<ReviewEvent> reviewEvents);
+
+    /**
+     * Reads the review events of a Learnsystem into columns, ordered by the id of the
+     * Indexcard and the time of the review.
+     *
+     * @param learnSystemId The id of the Learnsystem.
+     * @return The columns of the review events.
+     */
+    ReviewColumns getReviewColumns(long learnSystemId);
+}
@@ -0,0 +1,315 @@
+package uni.myosotis.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A unit of work runs a whole logical operation, like creating an Indexcard together
+ * with its Keywords and Links, inside one Entity-Manager and one transaction.
+ * <p>
+ * While a unit of work is active on the current thread, the PersistenceManager hands out
+ * the shared Entity-Manager of the unit of work to every repository. The repositories keep
+ * their usual begin/commit/close calls, but these only join the surrounding transaction,
+ * which gets committed once at the end of the unit of work.
+ * <p>
+ * Another store, like the MVStore backend, can take part in the unit of work as a {@link Resource}.
+ * It is committed before the transaction of the Entity-Manager, so a store that fails to commit
+ * still rolls back the whole unit of work, and it is rolled back together with the transaction.
+ * The Entity-Manager is only created, when a repository asks for it, so a unit of work with the
+ * repositories of the MVStore backend never opens the H2 database.
+ */
+public final class UnitOfWork {
+
+    private static final Logger logger = Logger.getLogger(UnitOfWork.class.getName());
+
+    /** The unit of work that is active on the current thread, if there is one. */
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    /** The Entity-Manager that is shared by all repositories during the unit of work, null until it is used. */
+    private EntityManager entityManager;
+
+    /** The view of the Entity-Manager that is handed out to the repositories. */
+    private EntityManager sharedEntityManager;
+
+    /** True, if the unit of work must be rolled back, also when no Entity-Manager was created. */
+    private boolean rollbackOnly;
+
+    /** The actions that are run, if the unit of work gets rolled back. */
+    private final List<Runnable> rollbackActions = new ArrayList<>();
+
+    /** The other stores, that take part in the unit of work. */
+    private final List<Resource> resources = new ArrayList<>();
+
+    /** True, once a store or the transaction was committed, so a later failure can not undo the unit of work. */
+    private boolean committed;
+
+    /**
+     * A store besides the database of the Entity-Manager, whose changes are committed or rolled back
+     * at the end of the unit of work. Exactly one of the methods is called.
+     */
+    interface Resource {
+
+        /**
+         * Commits the changes of the unit of work.
+         */
+        void commit();
+
+        /**
+         * Discards the changes of the unit of work.
+         */
+        void rollback();
+    }
+
+    private UnitOfWork() {
+
+    }
+
+    /**
+     * Creates the Entity-Manager and begins its transaction, when it is used the first time.
+     */
+    private EntityManager sharedEntityManager() {
+        if (sharedEntityManager == null) {
+            entityManager = PersistenceManager.createEntityManager();
+            entityManager.getTransaction().begin();
+            sharedEntityManager = createSharedEntityManager(entityManager);
+        }
+        return sharedEntityManager;
+    }
+
+    /**
+     * Runs the given work inside one Entity-Manager and one transaction.
+     * If a unit of work is already active on the current thread, the work joins it.
+     *
+     * @param work The work that should be done.
+     */
+    public static void run(final Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the given work inside one Entity-Manager and one transaction and returns its result.
+     * If a unit of work is already active on the current thread, the work joins it.
+     * If the work throws an exception, the transaction is rolled back and the exception is rethrown.
+     * If the transaction was marked for rollback or could not be committed, a IllegalStateException will be thrown.
+     *
+     * @param work The work that should be done.
+     * @param <T>  The type of the result.
+     * @return The result of the work.
+     */
+    public static <T> T execute(final Supplier<T> work) {
+        if (current.get() != null) {
+            return work.get();
+        }
+        final UnitOfWork unitOfWork = new UnitOfWork();
+        current.set(unitOfWork);
+        try {
+            final T result = work.get();
+            final EntityTransaction transaction = unitOfWork.entityManager == null ? null : unitOfWork.entityManager.getTransaction();
+            if (unitOfWork.rollbackOnly || transaction != null && transaction.getRollbackOnly()) {
+                // A repository failed and only logged the error, the changes must not be committed partly.
+                logger.log(Level.WARNING, "Unit of work was marked for rollback");
+                throw new IllegalStateException("The unit of work was rolled back.");
+            }
+            unitOfWork.completeResources(true);
+            if (transaction != null) {
+                commit(transaction);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (unitOfWork.entityManager != null && unitOfWork.entityManager.getTransaction().isActive()) {
+                unitOfWork.entityManager.getTransaction().rollback();
+            }
+            unitOfWork.completeResources(false);
+            if (unitOfWork.committed) {
+                // The committed changes stay, so the in-memory state must not be reset to the state before.
+                logger.log(Level.SEVERE, "Unit of work was committed partly: {0}", e.getMessage());
+            } else {
+                unitOfWork.runRollbackActions();
+            }
+            throw e;
+        } finally {
+            current.remove();
+            if (unitOfWork.entityManager != null) {
+                unitOfWork.entityManager.close();
+            }
+        }
+    }
+
+    /**
+     * Returns if a unit of work is active on the current thread.
+     *
+     * @return True, if a unit of work is active.
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Sends all pending changes of the active unit of work to the database, so they
+     * get executed as JDBC batches, and detaches all loaded objects afterwards.
+     * Should be used by long-running batch operations to keep the memory usage bounded.
+     * Does nothing, if no unit of work is active or it has not used the Entity-Manager.
+     */
+    public static void flushAndClear() {
+        final UnitOfWork unitOfWork = current.get();
+        if (unitOfWork != null && unitOfWork.entityManager != null) {
+            unitOfWork.entityManager.flush();
+            unitOfWork.entityManager.clear();
+        }
+    }
+
+    /**
+     * Registers an action, that is run if the active unit of work gets rolled back.
+     * Can be used to reset in-memory state, that was changed together with the database.
+     * Does nothing, if no unit of work is active, because then the changes are already committed.
+     *
+     * @param action The action that should be run after a rollback.
+     */
+    public static void onRollback(final Runnable action) {
+        final UnitOfWork unitOfWork = current.get();
+        if (unitOfWork != null) {
+            unitOfWork.rollbackActions.add(action);
+        }
+    }
+
+    /**
+     * Marks the active unit of work for rollback, so none of its changes get committed.
+     * Does nothing, if no unit of work is active.
+     */
+    static void setRollbackOnly() {
+        final UnitOfWork unitOfWork = current.get();
+        if (unitOfWork != null) {
+            unitOfWork.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * Lets a store take part in the active unit of work.
+     *
+     * @param resource The store.
+     * @return True, if the store takes part in the unit of work, false if no unit of work is active.
+     */
+    static boolean enlist(final Resource resource) {
+        final UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null) {
+            return false;
+        }
+        unitOfWork.resources.add(resource);
+        return true;
+    }
+
+    /**
+     * Returns the Entity-Manager of the unit of work that is active on the current thread.
+     *
+     * @return The shared Entity-Manager or null if no unit of work is active.
+     */
+    static EntityManager currentEntityManager() {
+        final UnitOfWork unitOfWork = current.get();
+        return unitOfWork == null ? null : unitOfWork.sharedEntityManager();
+    }
+
+    /**
+     * Commits or rolls back every store, that was not completed yet.
+     */
+    private void completeResources(final boolean commit) {
+        while (!resources.isEmpty()) {
+            final Resource resource = resources.remove(resources.size() - 1);
+            if (commit) {
+                resource.commit();
+                committed = true;
+            } else {
+                resource.rollback();
+            }
+        }
+    }
+
+    private void runRollbackActions() {
+        for (Runnable action : rollbackActions) {
+            action.run();
+        }
+    }
+
+    private static void commit(final EntityTransaction transaction) {
+        try {
+            transaction.commit();
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Error while committing unit of work: {0}", e.getMessage());
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a view of the Entity-Manager, that can not be closed by the repositories and
+     * whose transaction only joins the transaction of the unit of work.
+     */
+    private static EntityManager createSharedEntityManager(final EntityManager entityManager) {
+        final EntityTransaction joinedTransaction = new JoinedTransaction(entityManager.getTransaction());
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> null;
+                    case "getTransaction" -> joinedTransaction;
+                    default -> {
+                        try {
+                            yield method.invoke(entityManager, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * A transaction that joins the transaction of the unit of work.
+     * Begin and commit are left to the unit of work, a rollback marks the whole unit of work for rollback.
+     */
+    private static final class JoinedTransaction implements EntityTransaction {
+
+        private final EntityTransaction transaction;
+
+        private JoinedTransaction(final EntityTransaction transaction) {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public void begin() {
+            // The transaction was already started by the unit of work.
+        }
+
+        @Override
+        public void commit() {
+            // The transaction gets committed by the unit of work.
+        }
+
+        @Override
+        public void rollback() {
+            transaction.setRollbackOnly();
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            transaction.setRollbackOnly();
+        }
+
+        @Override
+        public boolean getRollbackOnly() {
+            return transaction.getRollbackOnly();
+        }
+
+        @Override
+        public boolean isActive() {
+            return transaction.isActive();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.IndexcardBox;
+import uni.myosotis.objects.Keyword;
+import uni.myosotis.objects.Link;
+import uni.myosotis.persistence.UnitOfWork;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.joor.Reflect.on;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deletes Indexcards, Category's and Keywords with the real repositories of a backend.
+ * Every test class runs in its own JVM, so the subclasses choose the backend before the
+ * first repository is created.
+ */
+abstract class BulkDeleteTest {
+
+    private IndexcardLogic indexcardLogic;
+    private CategoryLogic categoryLogic;
+    private KeywordLogic keywordLogic;
+    private LinkLogic linkLogic;
+    private IndexcardBoxLogic indexcardBoxLogic;
+
+    /**
+     * Every test uses its own names, because the database is shared by the tests of a class.
+     */
+    private String prefix;
+
+    @BeforeEach
+    public void beforeEach() {
+        indexcardLogic = new IndexcardLogic();
+        categoryLogic = new CategoryLogic();
+        keywordLogic = new KeywordLogic();
+        linkLogic = new LinkLogic();
+        indexcardBoxLogic = new IndexcardBoxLogic();
+        prefix = "t" + System.nanoTime() + "-";
+    }
+
+    @Test
+    public void testDeleteIndexcardsWithTheirLinksAndUnusedKeywords() {
+        final Keyword shared = keywordLogic.createKeyword(prefix + "shared");
+        final Keyword only = keywordLogic.createKeyword(prefix + "only");
+        final Indexcard a = createIndexcard("A", List.of(shared, only));
+        final Indexcard b = createIndexcard("B", List.of(shared));
+        final Indexcard c = createIndexcard("C", List.of(shared));
+        final Link link = linkLogic.createLink("Begriff", a);
+        indexcardLogic.updateIndexcard(c.getName(), c.getQuestion(), c.getAnswer(), List.of(shared), List.of(link), c.getId());
+        categoryLogic.createCategory(prefix + "X", List.of(a, b, c), List.of());
+        // Loads the Indexcards of the Category into the caches.
+        assertEquals(3, indexcardNames(category("X")).size());
+
+        deleteIndexcards(List.of(a, b), List.of(shared.getName(), only.getName()));
+
+        assertTrue(indexcardLogic.getIndexcardByName(a.getName()).isEmpty());
+        assertTrue(indexcardLogic.getIndexcardByName(b.getName()).isEmpty());
+        assertEquals(List.of(c.getName()), indexcardNames(category("X")));
+        assertEquals(List.of(), indexcardLogic.getIndexcardByName(c.getName()).orElseThrow().getLinks());
+        // The proposed Links of the Indexcard, that lost its Link, are computed again.
+        assertEquals(Set.of(c.getId()), on(linkLogic).get("changedIndexcards"));
+        assertTrue(keywordLogic.getKeywordByName(shared.getName()).isPresent());
+        assertTrue(keywordLogic.getKeywordByName(only.getName()).isEmpty());
+    }
+
+    @Test
+    public void testDeleteIndexcardsIsRolledBackTogether() {
+        final Keyword only = keywordLogic.createKeyword(prefix + "only");
+        final Indexcard a = createIndexcard("A", List.of(only));
+        final Indexcard b = createIndexcard("B", List.of());
+        categoryLogic.createCategory(prefix + "X", List.of(a, b), List.of());
+        assertEquals(2, indexcardNames(category("X")).size());
+
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            linkLogic.deleteLinksOfIndexcards(List.of(a.getId()));
+            indexcardLogic.deleteIndexcards(List.of(a.getId()));
+            keywordLogic.deleteUnusedKeywords(List.of(only.getName()));
+            // Loads the changed Category into the caches, before the unit of work fails.
+            assertEquals(List.of(b.getName()), indexcardNames(category("X")));
+            throw new IllegalStateException("Abbruch");
+        }));
+
+        assertTrue(indexcardLogic.getIndexcardByName(a.getName()).isPresent());
+        assertEquals(List.of(a.getName(), b.getName()), indexcardNames(category("X")));
+        assertTrue(keywordLogic.getKeywordByName(only.getName()).isPresent());
+    }
+
+    @Test
+    public void testDeleteCategoriesRemovesThemFromParentsAndIndexcardBoxes() {
+        final Indexcard a = createIndexcard("A", List.of());
+        categoryLogic.createCategory(prefix + "P", List.of(), List.of());
+        categoryLogic.createCategory(prefix + "Q", List.of(a), List.of(category("P")));
+        categoryLogic.createCategory(prefix + "R", List.of(), List.of(category("P")));
+        indexcardBoxLogic.createIndexcardBox(prefix + "Box", List.of(category("P"), category("Q")));
+        // Loads the children and the Category's of the IndexcardBox into the caches.
+        assertEquals(List.of(prefix + "Q", prefix + "R"), categoryNames(category("P").getChildren()));
+        assertEquals(2, indexcardBoxLogic.getIndexcardBoxByName(prefix + "Box").getCategoryList().size());
+
+        UnitOfWork.run(() -> categoryLogic.deleteCategories(List.of(category("Q").getId())));
+
+        assertTrue(categoryLogic.getCategoryByName(prefix + "Q").isEmpty());
+        assertEquals(List.of(prefix + "R"), categoryNames(category("P").getChildren()));
+        final IndexcardBox box = indexcardBoxLogic.getIndexcardBoxByName(prefix + "Box");
+        assertEquals(List.of(prefix + "P"), categoryNames(box.getCategoryList()));
+        assertTrue(indexcardLogic.getIndexcardByName(a.getName()).isPresent());
+    }
+
+    @Test
+    public void testDeleteUnusedKeywordsKeepsUsedKeywords() {
+        final Keyword used = keywordLogic.createKeyword(prefix + "used");
+        final Keyword unused = keywordLogic.createKeyword(prefix + "unused");
+        createIndexcard("A", List.of(used));
+
+        keywordLogic.deleteUnusedKeywords(List.of(used.getName(), unused.getName(), prefix + "missing"));
+
+        assertTrue(keywordLogic.getKeywordByName(used.getName()).isPresent());
+        assertTrue(keywordLogic.getKeywordByName(unused.getName()).isEmpty());
+        assertEquals(List.of(used.getName()),
+                indexcardLogic.getIndexcardByName(prefix + "A").orElseThrow().getKeywords().stream().map(Keyword::getName).toList());
+    }
+
+    @Test
+    public void testAddAndRemoveKeywordOfIndexcards() {
+        final Keyword keyword = keywordLogic.createKeyword(prefix + "zebra");
+        final Indexcard a = createIndexcard("A", List.of());
+        final Indexcard b = createIndexcard("B", List.of());
+        final Indexcard c = createIndexcard("C", List.of());
+        // Builds the search index and loads the Keywords of the Indexcard into the caches.
+        assertEquals(List.of(), indexcardLogic.searchIndexcardIds(keyword.getName()));
+        assertEquals(List.of(), keywordNames(a));
+
+        UnitOfWork.run(() -> indexcardLogic.addKeywordToIndexcards(List.of(a.getId(), b.getId()), keyword));
+        UnitOfWork.run(() -> indexcardLogic.addKeywordToIndexcards(List.of(a.getId(), c.getId()), keyword));
+
+        assertEquals(List.of(keyword.getName()), keywordNames(a));
+        assertEquals(List.of(keyword.getName()), keywordNames(c));
+        assertEquals(List.of(a.getId(), b.getId(), c.getId()), sorted(indexcardLogic.searchIndexcardIds(keyword.getName())));
+
+        UnitOfWork.run(() -> {
+            indexcardLogic.removeKeywordFromIndexcards(List.of(a.getId(), b.getId()), keyword.getName());
+            keywordLogic.deleteUnusedKeywords(List.of(keyword.getName()));
+        });
+
+        assertEquals(List.of(), keywordNames(a));
+        assertEquals(List.of(), keywordNames(b));
+        assertEquals(List.of(keyword.getName()), keywordNames(c));
+        assertTrue(keywordLogic.getKeywordByName(keyword.getName()).isPresent());
+        assertEquals(List.of(c.getId()), indexcardLogic.searchIndexcardIds(keyword.getName()));
+    }
+
+    @Test
+    public void testAddKeywordToIndexcardsIsRolledBack() {
+        final Keyword keyword = keywordLogic.createKeyword(prefix + "zebra");
+        final Indexcard a = createIndexcard("A", List.of());
+        assertEquals(List.of(), indexcardLogic.searchIndexcardIds(keyword.getName()));
+
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            indexcardLogic.addKeywordToIndexcards(List.of(a.getId()), keyword);
+            // Loads the changed Indexcard into the caches, before the unit of work fails.
+            assertEquals(List.of(keyword.getName()), keywordNames(a));
+            throw new IllegalStateException("Abbruch");
+        }));
+
+        assertEquals(List.of(), keywordNames(a));
+        assertEquals(List.of(), indexcardLogic.searchIndexcardIds(keyword.getName()));
+    }
+
+    @Test
+    public void testAddAndRemoveIndexcardsOfCategory() {
+        final Indexcard a = createIndexcard("A", List.of());
+        final Indexcard b = createIndexcard("B", List.of());
+        final Indexcard c = createIndexcard("C", List.of());
+        categoryLogic.createCategory(prefix + "X", List.of(a), List.of());
+        // Loads the Indexcards of the Category and the names of the Category's into the caches.
+        assertEquals(List.of(a.getName()), indexcardNames(category("X")));
+        assertEquals(List.of(prefix + "X"), categoryLogic.getCategoryNamesByIndexcard().get(a.getId()));
+
+        UnitOfWork.run(() -> categoryLogic.addIndexcardsToCategory(category("X").getId(), List.of(a.getId(), b.getId(), c.getId())));
+
+        assertEquals(List.of(a.getName(), b.getName(), c.getName()), indexcardNames(category("X")));
+        assertEquals(List.of(prefix + "X"), categoryLogic.getCategoryNamesByIndexcard().get(b.getId()));
+
+        UnitOfWork.run(() -> categoryLogic.removeIndexcardsFromCategory(category("X").getId(), List.of(a.getId(), c.getId())));
+
+        assertEquals(List.of(b.getName()), indexcardNames(category("X")));
+        assertNull(categoryLogic.getCategoryNamesByIndexcard().get(a.getId()));
+        assertEquals(List.of(prefix + "X"), categoryLogic.getCategoryNamesByIndexcard().get(b.getId()));
+    }
+
+    /**
+     * Deletes the Indexcards like the Controller, in one unit of work.
+     */
+    private void deleteIndexcards(final List<Indexcard> indexcards, final List<String> keywords) {
+        final List<Long> ids = indexcards.stream().map(Indexcard::getId).toList();
+        UnitOfWork.run(() -> {
+            linkLogic.deleteLinksOfIndexcards(ids);
+            indexcardLogic.deleteIndexcards(ids);
+            keywordLogic.deleteUnusedKeywords(keywords);
+        });
+    }
+
+    private Indexcard createIndexcard(final String name, final List<Keyword> keywords) {
+        indexcardLogic.createIndexcard(prefix + name, "Frage", "Antwort", new ArrayList<>(keywords), new ArrayList<>());
+        return indexcardLogic.getIndexcardByName(prefix + name).orElseThrow();
+    }
+
+    private Category category(final String name) {
+        return categoryLogic.getCategoryByName(prefix + name).orElseThrow();
+    }
+
+    private List<String> indexcardNames(final Category category) {
+        return categoryLogic.getIndexcardsByCategory(category).stream().map(Indexcard::getName).sorted().toList();
+    }
+
+    private List<String> keywordNames(final Indexcard indexcard) {
+        return indexcardLogic.getIndexcardByName(indexcard.getName()).orElseThrow().getKeywordNames();
+    }
+
+    private static List<Long> sorted(final List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+
+    private static List<String> categoryNames(final List<Category> categories) {
+        return categories.stream().map(Category::getCategoryName).sorted().toList();
+    }
+}
@@ -44,14 +44,14 @@ public class DeleteIndexcardTest {
         when(mockIndexcard.getId()).thenReturn(1L);
         when(indexcardRepMock.getIndexcardById(mockIndexcard.getId())).thenReturn(Optional.of(mockIndexcard));
         when(indexcardRepMock.deleteIndexcard(mockIndexcard.getId())).thenReturn(-1);
-        when(categoryRepMock.getAllCategories()).thenReturn(new ArrayList<>());
+        when(categoryRepMock.getCategoriesByIndexcardId(1L)).thenReturn(new ArrayList<>());
         final String expected = "Die Karteikarte konnte nicht gelöscht werden.";
         final IllegalStateException exception = assertThrows(IllegalStateException.class, () -> indexcardLogic.deleteIndexcard(mockIndexcard.getId()));
         assertEquals(expected, exception.getMessage());
         verify(mockIndexcard, times(3)).getId();
         verify(indexcardRepMock, times(2)).getIndexcardById(mockIndexcard.getId());
         verify(indexcardRepMock).deleteIndexcard(mockIndexcard.getId());
-        verify(categoryRepMock).getAllCategories();
+        verify(categoryRepMock).getCategoriesByIndexcardId(1L);
     }
 
     @Test
@@ -60,12 +60,12 @@ public class DeleteIndexcardTest {
         when(mockIndexcard.getId()).thenReturn(1L);
         when(indexcardRepMock.getIndexcardById(mockIndexcard.getId())).thenReturn(Optional.of(mockIndexcard));
         when(indexcardRepMock.deleteIndexcard(mockIndexcard.getId())).thenReturn(0);
-        when(categoryRepMock.getAllCategories()).thenReturn(new ArrayList<>());
+        when(categoryRepMock.getCategoriesByIndexcardId(1L)).thenReturn(new ArrayList<>());
         assertDoesNotThrow(() -> indexcardLogic.deleteIndexcard(mockIndexcard.getId()));
         verify(mockIndexcard, times(3)).getId();
         verify(indexcardRepMock, times(2)).getIndexcardById(mockIndexcard.getId());
         verify(indexcardRepMock).deleteIndexcard(mockIndexcard.getId());
-        verify(categoryRepMock).getAllCategories();
+        verify(categoryRepMock).getCategoriesByIndexcardId(1L);
     }
 
     @Test
@@ -77,14 +77,14 @@ public class DeleteIndexcardTest {
         when(mockCategory.getIndexcards()).thenReturn(new ArrayList<>());
         when(indexcardRepMock.getIndexcardById(mockIndexcard.getId())).thenReturn(Optional.of(mockIndexcard));
         when(indexcardRepMock.deleteIndexcard(mockIndexcard.getId())).thenReturn(0);
-        when(categoryRepMock.getAllCategories()).thenReturn(List.of(mockCategory));
+        when(categoryRepMock.getCategoriesByIndexcardId(1L)).thenReturn(List.of(mockCategory));
         assertDoesNotThrow(() -> indexcardLogic.deleteIndexcard(mockIndexcard.getId()));
         verify(mockIndexcard, times(3)).getId();
         verify(mockIndexcard, times(1)).getName();
         verify(mockCategory).getIndexcards();
         verify(indexcardRepMock, times(2)).getIndexcardById(mockIndexcard.getId());
         verify(indexcardRepMock).deleteIndexcard(mockIndexcard.getId());
-        verify(categoryRepMock).getAllCategories();
+        verify(categoryRepMock).getCategoriesByIndexcardId(1L);
     }
 
     @Test
@@ -102,15 +102,16 @@ public class DeleteIndexcardTest {
         when(mockCategory.getIndexcards()).thenReturn(List.of(mockIndexcard, mockIndexcard2, mockIndexcard3));
         when(indexcardRepMock.getIndexcardById(mockIndexcard.getId())).thenReturn(Optional.of(mockIndexcard));
         when(indexcardRepMock.deleteIndexcard(mockIndexcard.getId())).thenReturn(0);
-        when(indexcardRepMock.getIndexcardByName("secondName")).thenReturn(Optional.of(mockIndexcard2));
-        when(indexcardRepMock.getIndexcardByName("thirdName")).thenReturn(Optional.empty());
-        when(categoryRepMock.getAllCategories()).thenReturn(List.of(mockCategory));
+        when(indexcardRepMock.getIndexcardsFromNameList(List.of("secondName", "thirdName"))).thenReturn(List.of(mockIndexcard2));
+        when(categoryRepMock.getCategoriesByIndexcardId(1L)).thenReturn(List.of(mockCategory));
         assertDoesNotThrow(() -> indexcardLogic.deleteIndexcard(mockIndexcard.getId()));
         verify(mockIndexcard, times(3)).getId();
         verify(mockIndexcard, times(5)).getName();
         verify(mockCategory).getIndexcards();
         verify(indexcardRepMock, times(2)).getIndexcardById(mockIndexcard.getId());
         verify(indexcardRepMock).deleteIndexcard(mockIndexcard.getId());
-        verify(categoryRepMock).getAllCategories();
+        verify(indexcardRepMock).getIndexcardsFromNameList(List.of("secondName", "thirdName"));
+        verify(mockCategory).setIndexcards(List.of(mockIndexcard2));
+        verify(categoryRepMock).getCategoriesByIndexcardId(1L);
     }
 }
@@ -3,7 +3,6 @@ package uni.myosotis.logic;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uni.myosotis.objects.Indexcard;
-import uni.myosotis.objects.Keyword;
 import uni.myosotis.persistence.IndexcardRepository;
 
 import java.util.ArrayList;
@@ -11,6 +10,8 @@ import java.util.List;
 
 import static org.joor.Reflect.on;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class GetIndexcardsByKeywordTest {
@@ -26,58 +27,33 @@ public class GetIndexcardsByKeywordTest {
 
     @Test
     public void testNoIndexcardsIfKeywordNull() {
-        final Indexcard mockIndexcard1 = mock(Indexcard.class);
-        final Indexcard mockIndexcard2 = mock(Indexcard.class);
-        final Keyword mockKeyword = mock(Keyword.class);
-        when(indexcardRepMock.getAllIndexcards()).thenReturn(new ArrayList<>(List.of(mockIndexcard1, mockIndexcard2)));
-        when(mockIndexcard1.getKeywords()).thenReturn(List.of(mockKeyword));
-        when(mockIndexcard2.getKeywords()).thenReturn(List.of());
-        when(mockKeyword.getName()).thenReturn("keywordName");
+        when(indexcardRepMock.getIndexcardsByKeyword(null)).thenReturn(new ArrayList<>());
         assertEquals(new ArrayList<>(), indexcardLogic.getIndexcardsByKeyword(null));
-        verify(indexcardRepMock).getAllIndexcards();
-        verify(mockIndexcard1).getKeywords();
-        verify(mockIndexcard2).getKeywords();
-        verify(mockKeyword).getName();
+        verify(indexcardRepMock).getIndexcardsByKeyword(null);
     }
 
     @Test
     public void testReturnOnlyIndexcardsWithTheKeyword() {
         final Indexcard mockIndexcard1 = mock(Indexcard.class);
-        final Indexcard mockIndexcard2 = mock(Indexcard.class);
-        final Keyword mockKeyword = mock(Keyword.class);
-        when(indexcardRepMock.getAllIndexcards()).thenReturn(new ArrayList<>(List.of(mockIndexcard1, mockIndexcard2)));
-        when(mockIndexcard1.getKeywords()).thenReturn(List.of(mockKeyword));
-        when(mockIndexcard2.getKeywords()).thenReturn(List.of());
-        when(mockKeyword.getName()).thenReturn("keywordName");
+        when(indexcardRepMock.getIndexcardsByKeyword("keywordName")).thenReturn(new ArrayList<>(List.of(mockIndexcard1)));
         assertEquals(new ArrayList<>(List.of(mockIndexcard1)), indexcardLogic.getIndexcardsByKeyword("keywordName"));
-        verify(indexcardRepMock).getAllIndexcards();
-        verify(mockIndexcard1).getKeywords();
-        verify(mockIndexcard2).getKeywords();
-        verify(mockKeyword).getName();
+        verify(indexcardRepMock).getIndexcardsByKeyword("keywordName");
+        verify(indexcardRepMock, never()).getAllIndexcards();
     }
 
     @Test
-    public void testReturnAllIndexcardIfAllContainKeyword() {
-        final Indexcard mockIndexcard1 = mock(Indexcard.class);
-        final Indexcard mockIndexcard2 = mock(Indexcard.class);
-        final Keyword mockKeyword = mock(Keyword.class);
-        when(indexcardRepMock.getAllIndexcards()).thenReturn(new ArrayList<>(List.of(mockIndexcard1, mockIndexcard2)));
-        when(mockIndexcard1.getKeywords()).thenReturn(List.of(mockKeyword));
-        when(mockIndexcard2.getKeywords()).thenReturn(List.of(mockKeyword));
-        when(mockKeyword.getName()).thenReturn("keywordName");
-        assertEquals(new ArrayList<>(List.of(mockIndexcard1, mockIndexcard2)), indexcardLogic.getIndexcardsByKeyword("keywordName"));
-        verify(indexcardRepMock).getAllIndexcards();
-        verify(mockIndexcard1).getKeywords();
-        verify(mockIndexcard2).getKeywords();
-        verify(mockKeyword, times(2)).getName();
+    public void testKeywordUsedWithoutLoadingIndexcards() {
+        when(indexcardRepMock.isKeywordUsed("keywordName")).thenReturn(true);
+        assertTrue(indexcardLogic.isKeywordUsed("keywordName"));
+        assertFalse(indexcardLogic.isKeywordUsed("otherKeyword"));
+        verify(indexcardRepMock, never()).getAllIndexcards();
+        verify(indexcardRepMock, never()).getIndexcardsByKeyword(anyString());
     }
 
     @Test
     public void testEmptyIfNoIndexcardsExists() {
-        final Keyword mockKeyword = mock(Keyword.class);
-        when(indexcardRepMock.getAllIndexcards()).thenReturn(new ArrayList<>());
-        when(mockKeyword.getName()).thenReturn("keywordName");
+        when(indexcardRepMock.getIndexcardsByKeyword("keywordName")).thenReturn(new ArrayList<>());
         assertEquals(new ArrayList<>(), indexcardLogic.getIndexcardsByKeyword("keywordName"));
-        verify(indexcardRepMock).getAllIndexcards();
+        verify(indexcardRepMock).getIndexcardsByKeyword("keywordName");
     }
 }
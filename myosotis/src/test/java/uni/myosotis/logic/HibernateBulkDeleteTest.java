@@ -0,0 +1,8 @@
+package uni.myosotis.logic;
+
+public class HibernateBulkDeleteTest extends BulkDeleteTest {
+
+    static {
+        System.setProperty("myosotis.db.backend", "hibernate");
+    }
+}
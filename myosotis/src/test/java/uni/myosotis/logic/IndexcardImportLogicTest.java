@@ -0,0 +1,154 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.Link;
+import uni.myosotis.persistence.IndexcardRepository;
+import uni.myosotis.persistence.KeywordRepository;
+import uni.myosotis.persistence.LinkRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.joor.Reflect.on;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class IndexcardImportLogicTest {
+
+    private IndexcardRepository indexcardRepMock;
+    private LinkRepository linkRepMock;
+    private IndexcardImportLogic indexcardImportLogic;
+
+    /**
+     * The Indexcards, that were saved, by their ids.
+     */
+    private Map<Long, Indexcard> savedIndexcards;
+
+    @BeforeEach
+    public void beforeEach() {
+        indexcardRepMock = mock(IndexcardRepository.class);
+        final KeywordRepository keywordRepMock = mock(KeywordRepository.class);
+        linkRepMock = mock(LinkRepository.class);
+        indexcardImportLogic = new IndexcardImportLogic();
+        on(indexcardImportLogic).set("indexcardRepository", indexcardRepMock);
+        on(indexcardImportLogic).set("keywordRepository", keywordRepMock);
+        on(indexcardImportLogic).set("linkRepository", linkRepMock);
+
+        savedIndexcards = new HashMap<>();
+        when(indexcardRepMock.getIndexcardIdsByName()).thenReturn(new HashMap<>(Map.of("Existing", 1000L)));
+        when(keywordRepMock.getAllKeywords()).thenReturn(List.of());
+        when(indexcardRepMock.saveIndexcard(any())).thenAnswer(invocation -> {
+            final Indexcard indexcard = invocation.getArgument(0);
+            indexcard.setId((long) savedIndexcards.size() + 1);
+            savedIndexcards.put(indexcard.getId(), indexcard);
+            return 0;
+        });
+        when(indexcardRepMock.getIndexcardReference(anyLong())).thenAnswer(invocation -> {
+            final Indexcard reference = new Indexcard("reference", "", "", new ArrayList<>());
+            reference.setId(invocation.getArgument(0));
+            return reference;
+        });
+        when(indexcardRepMock.getIndexcardsByIds(anyList())).thenAnswer(invocation ->
+                ((List<Long>) invocation.getArgument(0)).stream().map(savedIndexcards::get).filter(Objects::nonNull).toList());
+    }
+
+    @Test
+    public void testLinksAreCreatedWithTheirIndexcards() {
+        when(indexcardRepMock.updateIndexcard(any())).thenReturn(0);
+        final IndexcardImportResult result = indexcardImportLogic.importIndexcards(reader(List.of(
+                row("A", "Begriff => Existing"),
+                row("B", "Wort => A", "Fehlt => Missing"),
+                row("Existing"),
+                row(" "))), null);
+
+        assertEquals(2, result.getImportedIndexcards());
+        assertEquals(2, result.getSkippedRows());
+        assertEquals(2, result.getImportedLinks());
+        assertEquals(1, result.getUnresolvedLinks());
+        assertEquals(0, result.getFailedLinks());
+        assertEquals(List.of(1L, 2L), result.getLinkedIndexcardIds());
+        assertEquals(List.of("Begriff"), savedIndexcards.get(1L).getLinks().stream().map(Link::getTerm).toList());
+        assertEquals(List.of("Wort"), savedIndexcards.get(2L).getLinks().stream().map(Link::getTerm).toList());
+        verify(linkRepMock, times(2)).save(any());
+        verify(indexcardRepMock, times(2)).updateIndexcard(any());
+        // The missing target could be further down in the file, so it is looked up again after the last batch.
+        verify(indexcardRepMock).getIndexcardsByIds(List.of(2L));
+    }
+
+    @Test
+    public void testLinkToALaterBatchIsCreatedAfterTheLastBatch() {
+        when(indexcardRepMock.updateIndexcard(any())).thenReturn(0);
+        final List<Long> progress = new ArrayList<>();
+        final IndexcardImportResult result = indexcardImportLogic.importIndexcards(
+                reader(rowsWithLinkToTheLastRow(IndexcardImportLogic.BATCH_SIZE + 1)),
+                (processedRows, rowsPerSecond) -> progress.add(processedRows));
+
+        assertEquals(IndexcardImportLogic.BATCH_SIZE + 1, result.getImportedIndexcards());
+        assertEquals(1, result.getImportedLinks());
+        assertEquals(0, result.getFailedLinks());
+        assertEquals(List.of(1L), result.getLinkedIndexcardIds());
+        assertEquals(List.of((long) IndexcardImportLogic.BATCH_SIZE, IndexcardImportLogic.BATCH_SIZE + 1L), progress);
+        assertEquals(IndexcardImportLogic.BATCH_SIZE + 1L, savedIndexcards.get(1L).getLinks().get(0).getIndexcard().getId());
+        verify(indexcardRepMock).getIndexcardsByIds(List.of(1L));
+    }
+
+    @Test
+    public void testFailedLinksAreCounted() {
+        when(indexcardRepMock.updateIndexcard(any())).thenReturn(-1);
+        final IndexcardImportResult result = indexcardImportLogic.importIndexcards(
+                reader(rowsWithLinkToTheLastRow(IndexcardImportLogic.BATCH_SIZE + 1)), null);
+
+        assertEquals(IndexcardImportLogic.BATCH_SIZE + 1, result.getImportedIndexcards());
+        assertEquals(0, result.getImportedLinks());
+        assertEquals(1, result.getFailedLinks());
+    }
+
+    @Test
+    public void testBatchIsRolledBackIfALinkFails() {
+        when(indexcardRepMock.updateIndexcard(any())).thenReturn(-1);
+        assertThrows(IllegalStateException.class, () -> indexcardImportLogic.importIndexcards(reader(List.of(
+                row("A"),
+                row("B", "Wort => A"))), null));
+    }
+
+    /**
+     * The first row links to the last row, all other rows have no Links.
+     */
+    private static List<IndexcardImportRow> rowsWithLinkToTheLastRow(final int size) {
+        final List<IndexcardImportRow> rows = new ArrayList<>();
+        rows.add(row("ITK1", "Letzte => ITK" + size));
+        for (int i = 2; i <= size; i++) {
+            rows.add(row("ITK" + i));
+        }
+        return rows;
+    }
+
+    private static IndexcardImportRow row(final String name, final String... links) {
+        return new IndexcardImportRow(name, "Frage", "Antwort", List.of(), List.of(links));
+    }
+
+    private static IndexcardImportReader reader(final List<IndexcardImportRow> rows) {
+        final Iterator<IndexcardImportRow> iterator = rows.iterator();
+        return new IndexcardImportReader() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public IndexcardImportRow next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
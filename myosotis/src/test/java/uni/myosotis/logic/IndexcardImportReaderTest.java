@@ -0,0 +1,93 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexcardImportReaderTest {
+
+    @Test
+    public void testCsvReadsAllColumns() {
+        final CsvIndexcardImportReader reader = new CsvIndexcardImportReader(new StringReader(
+                "\uFEFFname;question;answer;keywords;links\n" +
+                "ITK1;Was ist ein Computer?;Ein Gerät.;#IT, #Technik;Programm => ITK2\n"));
+        assertTrue(reader.hasNext());
+        final IndexcardImportRow row = reader.next();
+        assertEquals("ITK1", row.getName());
+        assertEquals("Was ist ein Computer?", row.getQuestion());
+        assertEquals("Ein Gerät.", row.getAnswer());
+        assertEquals(List.of("#IT", "#Technik"), row.getKeywords());
+        assertEquals(List.of("Programm => ITK2"), row.getLinks());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testCsvQuotedFieldsAndOptionalColumns() {
+        final CsvIndexcardImportReader reader = new CsvIndexcardImportReader(new StringReader(
+                "answer;name;question\r\n" +
+                "\"Zeile 1\nZeile \"\"2\"\"; mit Trenner\";ITK1;Frage\r\n" +
+                "\r\n" +
+                "Antwort;ITK2;Frage 2"));
+        final IndexcardImportRow first = reader.next();
+        assertEquals("ITK1", first.getName());
+        assertEquals("Zeile 1\nZeile \"2\"; mit Trenner", first.getAnswer());
+        assertEquals(List.of(), first.getKeywords());
+        assertEquals(List.of(), first.getLinks());
+        final IndexcardImportRow second = reader.next();
+        assertEquals("ITK2", second.getName());
+        assertEquals("Frage 2", second.getQuestion());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testCsvExceptionIfRequiredColumnMissing() {
+        assertThrows(IllegalStateException.class, () -> new CsvIndexcardImportReader(new StringReader("name;question\n")));
+    }
+
+    @Test
+    public void testJsonArrayAndLinkObjects() {
+        final JsonIndexcardImportReader reader = new JsonIndexcardImportReader(new StringReader(
+                "[{\"name\": \"ITK1\", \"question\": \"Q\", \"answer\": \"A\", \"keywords\": [\"#IT\"], " +
+                "\"links\": [{\"term\": \"Programm\", \"indexcard\": \"ITK2\"}, \"Computer => ITK3\"], \"extra\": {\"x\": [1]}}," +
+                "{\"name\": \"ITK2\", \"question\": \"Q2\", \"answer\": \"A2\", \"keywords\": \"#IT, #Bio\"}]"));
+        final IndexcardImportRow first = reader.next();
+        assertEquals("ITK1", first.getName());
+        assertEquals(List.of("#IT"), first.getKeywords());
+        assertEquals(List.of("Programm => ITK2", "Computer => ITK3"), first.getLinks());
+        final IndexcardImportRow second = reader.next();
+        assertEquals("ITK2", second.getName());
+        assertEquals(List.of("#IT", "#Bio"), second.getKeywords());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testJsonObjectPerLine() {
+        final JsonIndexcardImportReader reader = new JsonIndexcardImportReader(new StringReader(
+                "{\"name\": \"ITK1\", \"question\": \"Q\", \"answer\": \"A\"}\n" +
+                "{\"name\": \"ITK2\", \"question\": \"Q\", \"answer\": \"A\"}\n"));
+        assertEquals("ITK1", reader.next().getName());
+        assertEquals("ITK2", reader.next().getName());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testJsonNonScalarValuesAreSkipped() {
+        final JsonIndexcardImportReader reader = new JsonIndexcardImportReader(new StringReader(
+                "[{\"name\": {\"name\": \"Inner\"}, \"question\": [\"Q\"], \"answer\": \"A\"}," +
+                "{\"name\": \"ITK2\", \"question\": {\"answer\": \"X\"}, \"answer\": \"A2\", " +
+                "\"keywords\": [{\"name\": \"#IT\"}, \"#Bio\"]}]"));
+        final IndexcardImportRow first = reader.next();
+        assertEquals("", first.getName());
+        assertEquals("", first.getQuestion());
+        assertEquals("A", first.getAnswer());
+        final IndexcardImportRow second = reader.next();
+        assertEquals("ITK2", second.getName());
+        assertEquals("", second.getQuestion());
+        assertEquals("A2", second.getAnswer());
+        assertEquals(List.of("#Bio"), second.getKeywords());
+        assertFalse(reader.hasNext());
+    }
+}
@@ -0,0 +1,128 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.Category;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.persistence.CategoryRepository;
+import uni.myosotis.persistence.Repositories;
+import uni.myosotis.persistence.UnitOfWork;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Searches with the full-text index of an IndexcardLogic over the real repositories of the chosen backend.
+ * Every test gets a new index, that is built from the stored Indexcards on its first search.
+ */
+public class IndexcardSearchIndexTest {
+
+    private IndexcardLogic indexcardLogic;
+    private IndexcardSearchIndex searchIndex;
+    private CategoryRepository categoryRepository;
+
+    /**
+     * Every test uses its own words, because the database is shared by the tests of the class.
+     */
+    private String prefix;
+
+    @BeforeEach
+    public void beforeEach() {
+        searchIndex = new IndexcardSearchIndex();
+        indexcardLogic = new IndexcardLogic(searchIndex);
+        categoryRepository = Repositories.categoryRepository();
+        prefix = "t" + System.nanoTime();
+    }
+
+    @Test
+    public void testWordsArePrefixesNotSubstrings() {
+        final Indexcard card = createIndexcard(prefix + "Lernkarte", "Was ist eine Karteikarte?", "Eine Notiz");
+
+        assertEquals(List.of(card.getId()), searchIndex.search(prefix + "lern", 10));
+        assertEquals(List.of(card.getId()), searchIndex.search("KARTEIKARTE notiz " + prefix, 10));
+        assertEquals(List.of(), searchIndex.search(prefix.substring(1) + "lernkarte", 10));
+        assertEquals(List.of(), searchIndex.search(prefix + " fehlt", 10));
+    }
+
+    @Test
+    public void testNameIsRankedBeforeAnswer() {
+        final Indexcard inAnswer = createIndexcard(prefix + "A", "Frage", prefix + "wort");
+        final Indexcard inName = createIndexcard(prefix + "wort", "Frage", "Antwort");
+
+        assertEquals(List.of(inName.getId(), inAnswer.getId()), searchIndex.search(prefix + "wort", 10));
+        assertEquals(List.of(inName.getName(), inAnswer.getName()),
+                indexcardLogic.searchIndexcard(prefix + "wort").stream().map(Indexcard::getName).toList());
+    }
+
+    @Test
+    public void testIndexIsBuiltFromTheStoredIndexcards() {
+        final Indexcard card = createIndexcard(prefix + "gespeichert", "Frage", "Antwort");
+
+        final IndexcardSearchIndex newIndex = new IndexcardSearchIndex();
+        assertEquals(List.of(card.getId()), newIndex.search(prefix + "gespeichert", 10));
+    }
+
+    @Test
+    public void testRenamedIndexcardIsFoundByItsNewName() {
+        final Indexcard card = createIndexcard(prefix + "alt", "Frage", "Antwort");
+        assertEquals(List.of(card.getId()), searchIndex.search(prefix + "alt", 10));
+
+        rename(card, prefix + "neu");
+
+        assertEquals(List.of(), searchIndex.search(prefix + "alt", 10));
+        assertEquals(List.of(card.getId()), searchIndex.search(prefix + "neu", 10));
+    }
+
+    @Test
+    public void testRenamedCategoryIsFoundByItsNewName() {
+        final Indexcard card = createIndexcard(prefix + "A", "Frage", "Antwort");
+        categoryRepository.saveCategory(new Category(prefix + "alt", new ArrayList<>(), new ArrayList<>(List.of(card))));
+        assertEquals(List.of(card.getId()), searchIndex.search(prefix + "alt", 10));
+
+        final Category category = categoryRepository.getCategoryByName(prefix + "alt").orElseThrow();
+        category.setCategoryName(prefix + "neu");
+        categoryRepository.updateCategory(category);
+
+        assertEquals(List.of(), searchIndex.search(prefix + "alt", 10));
+        assertEquals(List.of(card.getId()), searchIndex.search(prefix + "neu", 10));
+    }
+
+    @Test
+    public void testDeletedIndexcardIsNotFound() {
+        final Indexcard deleted = createIndexcard(prefix + "A", "Frage", "Antwort");
+        final Indexcard kept = createIndexcard(prefix + "B", "Frage", "Antwort");
+        assertEquals(2, searchIndex.search(prefix, 10).size());
+
+        indexcardLogic.deleteIndexcard(deleted.getId());
+
+        assertEquals(List.of(kept.getId()), searchIndex.search(prefix, 10));
+    }
+
+    @Test
+    public void testChangesOfARolledBackUnitOfWorkAreNotFound() {
+        final Indexcard card = createIndexcard(prefix + "alt", "Frage", "Antwort");
+        assertEquals(List.of(card.getId()), searchIndex.search(prefix + "alt", 10));
+
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            rename(card, prefix + "neu");
+            indexcardLogic.createIndexcard(prefix + "neuer", "Frage", "Antwort", new ArrayList<>(), new ArrayList<>());
+            assertEquals(2, searchIndex.search(prefix + "neu", 10).size());
+            throw new IllegalStateException("Abbruch");
+        }));
+
+        assertEquals(List.of(card.getId()), searchIndex.search(prefix + "alt", 10));
+        assertEquals(List.of(), searchIndex.search(prefix + "neu", 10));
+    }
+
+    private Indexcard createIndexcard(final String name, final String question, final String answer) {
+        indexcardLogic.createIndexcard(name, question, answer, new ArrayList<>(), new ArrayList<>());
+        return indexcardLogic.getIndexcardByName(name).orElseThrow();
+    }
+
+    private void rename(final Indexcard indexcard, final String name) {
+        indexcardLogic.updateIndexcard(name, indexcard.getQuestion(), indexcard.getAnswer(), new ArrayList<>(),
+                new ArrayList<>(), indexcard.getId());
+    }
+}
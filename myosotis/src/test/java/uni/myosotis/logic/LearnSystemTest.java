@@ -0,0 +1,68 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LearnSystemTest {
+    private static final long START = 1_672_531_200_000L;
+
+    @Test
+    public void testSm2IntervalsGrowWithEaseFactor() {
+        final LearnSystem sm2 = LearnSystem.forName("SM-2");
+        final LearnStates states = new LearnStates(1);
+        sm2.review(states, 0, LearnSystem.GOOD, START);
+        assertEquals(START + LearnSystem.DAY, states.getDueTime(0));
+        sm2.review(states, 0, LearnSystem.GOOD, states.getDueTime(0));
+        assertEquals(6, states.getStability(0));
+        sm2.review(states, 0, LearnSystem.GOOD, states.getDueTime(0));
+        assertEquals(15, states.getStability(0));
+        sm2.review(states, 0, LearnSystem.AGAIN, states.getDueTime(0));
+        assertEquals(1, states.getStability(0));
+        assertEquals(0, states.getRepetitions(0));
+        assertEquals(1, states.getLapses(0));
+    }
+
+    @Test
+    public void testFsrsStabilityGrowsWithCorrectAnswersAndFallsWithWrongAnswers() {
+        final LearnSystem fsrs = LearnSystem.forName("FSRS");
+        final LearnStates states = new LearnStates(1);
+        fsrs.review(states, 0, LearnSystem.GOOD, START);
+        final float first = states.getStability(0);
+        fsrs.review(states, 0, LearnSystem.GOOD, states.getDueTime(0));
+        final float second = states.getStability(0);
+        assertTrue(second > first);
+        fsrs.review(states, 0, LearnSystem.AGAIN, states.getDueTime(0));
+        assertTrue(states.getStability(0) < second);
+        assertTrue(states.getDifficulty(0) >= 1 && states.getDifficulty(0) <= 10);
+    }
+
+    @Test
+    public void testRecomputeEqualsSingleReviewsInOrderOfTime() {
+        final LearnSystem fsrs = LearnSystem.forName("FSRS");
+        final LearnStates expected = new LearnStates(3);
+        final ReviewLog reviews = new ReviewLog();
+        final int[] cards = {0, 1, 0, 2, 1, 0};
+        final int[] grades = {LearnSystem.GOOD, LearnSystem.AGAIN, LearnSystem.EASY, LearnSystem.HARD, LearnSystem.GOOD, LearnSystem.AGAIN};
+        for (int i = 0; i < cards.length; i++) {
+            fsrs.review(expected, cards[i], grades[i], START + i * LearnSystem.DAY);
+        }
+        // Added in reverse order, the recomputation has to sort them by time.
+        for (int i = cards.length - 1; i >= 0; i--) {
+            reviews.add(cards[i], grades[i], START + i * LearnSystem.DAY);
+        }
+        final LearnStates actual = new LearnStates(0);
+        fsrs.recompute(actual, 3, reviews);
+        for (int card = 0; card < 3; card++) {
+            assertEquals(expected.getDueTime(card), actual.getDueTime(card));
+            assertEquals(expected.getStability(card), actual.getStability(card));
+            assertEquals(expected.getDifficulty(card), actual.getDifficulty(card));
+        }
+    }
+
+    @Test
+    public void testUnknownLearnSystemAndInvalidGrade() {
+        assertThrows(IllegalArgumentException.class, () -> LearnSystem.forName("unknown"));
+        assertThrows(IllegalArgumentException.class, () -> new ReviewLog().add(0, 5, START));
+    }
+}
@@ -0,0 +1,139 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.LeitnerLearnSystem;
+import uni.myosotis.objects.ReviewEvent;
+import uni.myosotis.persistence.ReviewColumns;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+import static org.joor.Reflect.on;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeitnerSchedulerTest {
+    private static final Instant NOW = Instant.parse("2023-01-10T12:00:00Z");
+
+    private LeitnerLearnSystem learnSystem;
+    private Clock clock;
+
+    @BeforeEach
+    public void beforeEach() {
+        learnSystem = new LeitnerLearnSystem("test", new long[]{3, 1, 2}, 5, "");
+        clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    public void testNewIndexcardsAreDueInBoxOrder() {
+        final LeitnerScheduler scheduler = new LeitnerScheduler(learnSystem, learnSystem.getBoxes(), null, clock);
+        assertEquals(3, scheduler.getDueCount());
+        assertEquals(3, scheduler.next());
+        assertEquals(1, scheduler.next());
+        assertEquals(2, scheduler.next());
+        assertFalse(scheduler.hasNext());
+        assertThrows(NoSuchElementException.class, scheduler::next);
+    }
+
+    @Test
+    public void testIndexcardsAreOrderedByDueTimeThenByOrder() {
+        learnSystem.setDueTime(1, NOW.minusSeconds(60).toEpochMilli());
+        learnSystem.setDueTime(2, NOW.plusSeconds(60).toEpochMilli());
+        final LeitnerScheduler scheduler = new LeitnerScheduler(learnSystem, learnSystem.getBoxes(), Comparator.reverseOrder(), clock);
+        assertEquals(2, scheduler.getDueCount());
+        assertEquals(3, scheduler.next());
+        assertEquals(1, scheduler.next());
+        assertFalse(scheduler.hasNext());
+    }
+
+    @Test
+    public void testAnswerMovesIndexcardAndSetsDueTimeByBoxInterval() {
+        final LeitnerScheduler scheduler = new LeitnerScheduler(learnSystem, learnSystem.getBoxes(), null, clock);
+        final Indexcard indexcard = new Indexcard("a", "question", "answer", new ArrayList<>());
+        on(indexcard).set("id", 1L);
+        final long dueTime = scheduler.answer(indexcard, true);
+        assertEquals(Integer.valueOf(1), learnSystem.getBoxNumber(1));
+        assertEquals(NOW.plus(LeitnerScheduler.getInterval(1)).toEpochMilli(), dueTime);
+        assertEquals(dueTime, learnSystem.getDueTime(1));
+        assertEquals(NOW.plus(LeitnerScheduler.getInterval(0)).toEpochMilli(), scheduler.answer(indexcard, false));
+        assertEquals(Integer.valueOf(0), learnSystem.getBoxNumber(1));
+    }
+
+    @Test
+    public void testBoxesAreMergedChunkByChunk() {
+        final int count = 3 * LeitnerScheduler.CHUNK_SIZE;
+        learnSystem = new LeitnerLearnSystem("test", LongStream.rangeClosed(1, count).toArray(), 3, "");
+        final Indexcard indexcard = new Indexcard("a", "question", "answer", new ArrayList<>());
+        // Every third Indexcard is in the second Box, with the same due time as the Indexcards of the first Box.
+        for (long id = 3; id <= count; id += 3) {
+            on(indexcard).set("id", id);
+            learnSystem.correctAnswer(indexcard);
+        }
+        final LeitnerScheduler scheduler = new LeitnerScheduler(learnSystem, learnSystem.getBoxes(), null, clock);
+        assertEquals(count, scheduler.getDueCount());
+        final List<Long> ids = new ArrayList<>();
+        while (scheduler.hasNext()) {
+            ids.add(scheduler.next());
+        }
+        final List<Long> expected = new ArrayList<>();
+        LongStream.rangeClosed(1, count).filter(id -> id % 3 != 0).forEach(expected::add);
+        LongStream.rangeClosed(1, count).filter(id -> id % 3 == 0).forEach(expected::add);
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    public void testOrderDecidesAcrossChunksOfTheSameDueTime() {
+        final int count = 2 * LeitnerScheduler.CHUNK_SIZE + 1;
+        learnSystem = new LeitnerLearnSystem("test", LongStream.rangeClosed(1, count).toArray(), 3, "");
+        final LeitnerScheduler scheduler = new LeitnerScheduler(learnSystem, learnSystem.getBoxes(), Comparator.reverseOrder(), clock);
+        for (long id = count; id >= 1; id--) {
+            assertEquals(id, scheduler.next());
+        }
+        assertFalse(scheduler.hasNext());
+    }
+
+    @Test
+    public void testAnsweredIndexcardsAreNotDueAgainInTheSession() {
+        final LeitnerScheduler scheduler = new LeitnerScheduler(learnSystem, List.of(learnSystem.getBoxes().get(0)), null, clock);
+        final Indexcard indexcard = new Indexcard("a", "question", "answer", new ArrayList<>());
+        on(indexcard).set("id", scheduler.next());
+        scheduler.answer(indexcard, false);
+        assertEquals(1, scheduler.next());
+        assertEquals(2, scheduler.next());
+        assertFalse(scheduler.hasNext());
+        assertEquals(List.of(1L, 2L, 3L), learnSystem.getCardsByDueTime(0).stream().map(card -> card.getIndexcardId()).toList());
+    }
+
+    @Test
+    public void testAlgorithmSetsDueTimesFromReviews() {
+        final long now = NOW.toEpochMilli();
+        final ReviewColumns reviews = new ReviewColumns();
+        reviews.addAll(List.of(
+                new ReviewEvent(0, 1, now - 7 * LearnSystem.DAY, LearnSystem.GOOD, 0, 0),
+                new ReviewEvent(0, 1, now - 6 * LearnSystem.DAY, LearnSystem.GOOD, 0, 1),
+                // The Indexcard is not in the Learnsystem anymore.
+                new ReviewEvent(0, 9, now - 6 * LearnSystem.DAY, LearnSystem.GOOD, 0, 0)));
+        final LearnSystemStates states = LearnSystemStates.recompute(learnSystem, LearnSystem.forName(Sm2Algorithm.NAME), reviews);
+        // SM-2 repeats after one day and then after six days.
+        assertEquals(now, learnSystem.getDueTime(1));
+        assertEquals(0, learnSystem.getDueTime(2));
+
+        final LeitnerScheduler scheduler = new LeitnerScheduler(learnSystem, states, learnSystem.getBoxes(), null, clock);
+        assertEquals(3, scheduler.getDueCount());
+        assertEquals(3, scheduler.next());
+        assertEquals(2, scheduler.next());
+        assertEquals(1, scheduler.next());
+        final Indexcard indexcard = new Indexcard("a", "question", "answer", new ArrayList<>());
+        on(indexcard).set("id", 1L);
+        assertEquals(now + 15 * LearnSystem.DAY, scheduler.answer(indexcard, true));
+        assertEquals(now + 15 * LearnSystem.DAY, learnSystem.getDueTime(1));
+        assertEquals(Integer.valueOf(1), learnSystem.getBoxNumber(1));
+    }
+}
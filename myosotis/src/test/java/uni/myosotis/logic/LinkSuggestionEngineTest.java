@@ -0,0 +1,100 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.Link;
+import uni.myosotis.objects.LinkSuggestion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.joor.Reflect.on;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkSuggestionEngineTest {
+
+    private Map<Long, Indexcard> indexcards;
+    private List<Long> loadedIds;
+    private LinkSuggestionEngine engine;
+
+    @BeforeEach
+    public void beforeEach() {
+        indexcards = new HashMap<>();
+        loadedIds = new ArrayList<>();
+        engine = new LinkSuggestionEngine();
+        put(1L, "Java", "Java runs on the JVM.", "The JVM runs Java bytecode.");
+        put(2L, "JVM", "What is the JVM?", "The virtual machine of Java.");
+        put(3L, "Kotlin", "What is Kotlin?", "A language for the JVM, like javascript is not.");
+    }
+
+    private Indexcard put(Long id, String name, String question, String answer) {
+        final Indexcard indexcard = new Indexcard(name, question, answer, new ArrayList<>(), new ArrayList<>());
+        on(indexcard).set("id", id);
+        indexcards.put(id, indexcard);
+        return indexcard;
+    }
+
+    private int refresh(Map<String, Set<Long>> indexcardIdsByLinkTerm, List<Long> changedIds) {
+        final Map<String, Long> indexcardIdsByName = new HashMap<>();
+        indexcards.values().forEach(indexcard -> indexcardIdsByName.put(indexcard.getName(), indexcard.getId()));
+        return engine.refresh(indexcardIdsByName, indexcardIdsByLinkTerm, changedIds, ids -> {
+            loadedIds.addAll(ids);
+            return ids.stream().map(indexcards::get).toList();
+        });
+    }
+
+    @Test
+    public void testProposesNamesOfOtherIndexcardsAsWholeWords() {
+        assertEquals(3, refresh(Map.of(), List.of()));
+        final List<LinkSuggestion> suggestions = engine.getSuggestions();
+        assertTrue(suggestions.contains(new LinkSuggestion(1L, "JVM", 2L, 2)));
+        assertTrue(suggestions.contains(new LinkSuggestion(2L, "Java", 1L, 1)));
+        assertTrue(suggestions.contains(new LinkSuggestion(3L, "JVM", 2L, 1)));
+        // "javascript" is not the word "Java" and an Indexcard is not linked with itself.
+        assertEquals(3, suggestions.size());
+        assertEquals(new LinkSuggestion(1L, "JVM", 2L, 2), suggestions.get(0));
+    }
+
+    @Test
+    public void testProposesTermsOfExistingLinksAndSkipsLinkedTerms() {
+        indexcards.get(3L).getLinks().add(new Link("JVM", indexcards.get(2L)));
+        refresh(Map.of("virtual machine", Set.of(2L), "JVM", Set.of(2L)), List.of());
+        final List<LinkSuggestion> suggestions = engine.getSuggestions();
+        assertTrue(suggestions.contains(new LinkSuggestion(2L, "Java", 1L, 1)));
+        assertTrue(suggestions.contains(new LinkSuggestion(1L, "JVM", 2L, 2)));
+        assertFalse(suggestions.stream().anyMatch(suggestion -> suggestion.indexcardId() == 3L));
+    }
+
+    @Test
+    public void testRefreshOnlyScansChangedAndCreatedIndexcards() {
+        refresh(Map.of(), List.of());
+        loadedIds.clear();
+        assertEquals(0, refresh(Map.of(), List.of()));
+
+        indexcards.get(3L).setAnswer("A language for the JVM and for Java.");
+        assertEquals(1, refresh(Map.of(), List.of(3L)));
+        assertEquals(List.of(3L), loadedIds);
+        assertTrue(engine.getSuggestions().contains(new LinkSuggestion(3L, "Java", 1L, 1)));
+
+        // A new name is searched in the other Indexcards, without scanning them for the old names again.
+        loadedIds.clear();
+        put(4L, "bytecode", "What runs on the JVM?", "Bytecode.");
+        assertEquals(4, refresh(Map.of(), List.of()));
+        assertEquals(4, loadedIds.size());
+        assertTrue(engine.getSuggestions().contains(new LinkSuggestion(1L, "bytecode", 4L, 1)));
+        assertTrue(engine.getSuggestions().contains(new LinkSuggestion(1L, "JVM", 2L, 2)));
+        assertTrue(engine.getSuggestions().contains(new LinkSuggestion(4L, "JVM", 2L, 1)));
+    }
+
+    @Test
+    public void testDeletedIndexcardsAndTheirNamesAreDropped() {
+        refresh(Map.of(), List.of());
+        indexcards.remove(2L);
+        assertEquals(0, refresh(Map.of(), List.of()));
+        assertEquals(List.of(), engine.getSuggestions());
+    }
+}
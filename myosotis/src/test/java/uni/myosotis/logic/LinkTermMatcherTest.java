@@ -0,0 +1,67 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.Indexcard;
+import uni.myosotis.objects.Link;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkTermMatcherTest {
+
+    private static Link link(String term, String indexcardName) {
+        return new Link(term, new Indexcard(indexcardName, "question", "answer", new ArrayList<>()));
+    }
+
+    @Test
+    public void testFindsEveryOccurrenceOfEveryTerm() {
+        final Link he = link("he", "a");
+        final Link she = link("she", "b");
+        final Link hers = link("hers", "c");
+        final LinkTermMatcher matcher = new LinkTermMatcher(List.of(he, she, hers));
+        final List<LinkTermMatcher.Span> spans = matcher.match("ushers and he");
+        assertEquals(List.of(new LinkTermMatcher.Span(1, 4, List.of(she)), new LinkTermMatcher.Span(11, 13, List.of(he))), spans);
+    }
+
+    @Test
+    public void testLongestTermAtTheSameStartWins() {
+        final Link java = link("Java", "a");
+        final Link javaVirtualMachine = link("Java Virtual Machine", "b");
+        final Link machine = link("Machine", "c");
+        final LinkTermMatcher matcher = new LinkTermMatcher(List.of(java, javaVirtualMachine, machine));
+        final List<LinkTermMatcher.Span> spans = matcher.match("The Java Virtual Machine runs Java.");
+        assertEquals(2, spans.size());
+        assertEquals(new LinkTermMatcher.Span(4, 24, List.of(javaVirtualMachine)), spans.get(0));
+        assertEquals(new LinkTermMatcher.Span(30, 34, List.of(java)), spans.get(1));
+    }
+
+    @Test
+    public void testLinksWithTheSameTermShareTheSpan() {
+        final Link first = link("term", "a");
+        final Link second = link("term", "b");
+        final LinkTermMatcher matcher = new LinkTermMatcher(List.of(first, second, link("", "c")));
+        assertEquals(List.of(new LinkTermMatcher.Span(0, 4, List.of(first, second))), matcher.match("term"));
+    }
+
+    @Test
+    public void testSpanAtFindsTheSpanOfAnOffset() {
+        final Link he = link("he", "a");
+        final List<LinkTermMatcher.Span> spans = new LinkTermMatcher(List.of(he)).match("he, the hen");
+        assertEquals(3, spans.size());
+        assertEquals(0, LinkTermMatcher.spanAt(spans, 1).orElseThrow().start());
+        assertEquals(5, LinkTermMatcher.spanAt(spans, 5).orElseThrow().start());
+        assertEquals(8, LinkTermMatcher.spanAt(spans, 9).orElseThrow().start());
+        assertTrue(LinkTermMatcher.spanAt(spans, 2).isEmpty());
+        assertTrue(LinkTermMatcher.spanAt(spans, 10).isEmpty());
+    }
+
+    @Test
+    public void testNoLinksMatchNothing() {
+        final LinkTermMatcher matcher = new LinkTermMatcher(List.of());
+        assertTrue(matcher.isEmpty());
+        assertTrue(matcher.match("anything").isEmpty());
+        assertTrue(LinkTermMatcher.spanAt(List.of(), 0).isEmpty());
+    }
+}
@@ -0,0 +1,8 @@
+package uni.myosotis.logic;
+
+public class MVStoreBulkDeleteTest extends BulkDeleteTest {
+
+    static {
+        System.setProperty("myosotis.db.backend", "mvstore");
+    }
+}
@@ -0,0 +1,67 @@
+package uni.myosotis.logic;
+
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.ReviewEvent;
+import uni.myosotis.persistence.ReviewColumns;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewStatisticsTest {
+
+    private static ReviewStatistics statistics(ReviewEvent... events) {
+        final ReviewColumns columns = new ReviewColumns();
+        columns.addAll(List.of(events));
+        return new ReviewStatistics(columns);
+    }
+
+    @Test
+    public void testStatisticsPerIndexcard() {
+        final ReviewStatistics statistics = statistics(
+                new ReviewEvent(1, 10, 300, LearnSystem.GOOD, 1000, 1),
+                new ReviewEvent(1, 20, 100, LearnSystem.AGAIN, 3000, 0),
+                new ReviewEvent(1, 10, 100, LearnSystem.AGAIN, 2000, 0),
+                new ReviewEvent(1, 10, 200, LearnSystem.HARD, 4000, 0));
+        assertEquals(2, statistics.getIndexcardCount());
+        assertEquals(3, statistics.getReviews(10));
+        assertEquals(2.0 / 3, statistics.getRetention(10), 1e-9);
+        assertEquals(300, statistics.getLastReviewTime(10));
+        assertEquals(1, statistics.getReviews(20));
+        assertEquals(0, statistics.getRetention(20));
+        assertEquals(0, statistics.getReviews(30));
+        assertTrue(Double.isNaN(statistics.getRetention(30)));
+        assertEquals(0, statistics.getLastReviewTime(30));
+    }
+
+    @Test
+    public void testStatisticsPerBox() {
+        final ReviewStatistics statistics = statistics(
+                new ReviewEvent(1, 10, 100, LearnSystem.AGAIN, 2000, 0),
+                new ReviewEvent(1, 20, 100, LearnSystem.GOOD, 4000, 0),
+                new ReviewEvent(1, 10, 200, LearnSystem.EASY, 1000, 3));
+        assertEquals(2, statistics.getBoxReviews(0));
+        assertEquals(0.5, statistics.getBoxRetention(0), 1e-9);
+        assertEquals(3000, statistics.getBoxResponseTime(0), 1e-9);
+        assertEquals(1, statistics.getBoxReviews(3));
+        assertEquals(1, statistics.getBoxRetention(3), 1e-9);
+        assertEquals(0, statistics.getBoxReviews(1));
+        assertTrue(Double.isNaN(statistics.getBoxRetention(1)));
+        assertTrue(Double.isNaN(statistics.getBoxResponseTime(20)));
+    }
+
+    @Test
+    public void testManyIndexcardsGrowTheArrays() {
+        final ReviewEvent[] events = new ReviewEvent[100];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new ReviewEvent(1, events.length - i, i, LearnSystem.GOOD, 0, i % 12);
+        }
+        final ReviewStatistics statistics = statistics(events);
+        assertEquals(100, statistics.getIndexcardCount());
+        for (long id = 1; id <= 100; id++) {
+            assertEquals(1, statistics.getReviews(id));
+        }
+        assertEquals(9, statistics.getBoxReviews(0));
+        assertEquals(8, statistics.getBoxReviews(11));
+    }
+}
@@ -0,0 +1,29 @@
+package uni.myosotis.persistence;
+
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.LeitnerLearnSystem;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads the Box of an indexcard from the repository of the chosen backend.
+ */
+public class LeitnerLearnSystemRepositoryTest {
+
+    private final LeitnerLearnSystemRepository repository = Repositories.leitnerLearnSystemRepository();
+
+    @Test
+    public void testBoxNumberIsReadWithoutTheLearnSystem() {
+        final String name = "Box" + System.nanoTime() + " (Leitner)";
+        repository.saveLeitnerLearnSystem(name, null, new long[]{1, 2}, 5, "Random");
+        final long id = repository.getLeitnerLearnSystemByName(name).getId();
+        assertEquals(0, repository.updateLearnSystem(id, learnSystem -> learnSystem.moveIndexcardToNextBox(2)));
+
+        assertEquals(Optional.of(0), repository.getBoxNumber(id, 1));
+        assertEquals(Optional.of(1), repository.getBoxNumber(id, 2));
+        assertEquals(Optional.empty(), repository.getBoxNumber(id, 3));
+        assertEquals(Optional.empty(), repository.getBoxNumber(id + 1, 1));
+    }
+}
@@ -0,0 +1,42 @@
+package uni.myosotis.persistence;
+
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MVStoreDatabaseTest {
+
+    @Test
+    public void testIndexesAreRebuiltOnOpen() {
+        final MVStore store = new MVStore.Builder().autoCommitDisabled().open();
+        final MVStoreDatabase db = new MVStoreDatabase(store);
+        db.write(() -> {
+            db.putLink(new MVStoreDatabase.LinkDocument(10, "Term", 2));
+            db.putIndexcard(new MVStoreDatabase.IndexcardDocument(1, "A", "Q", "A", List.of("k1", "k2"), List.of(10L)));
+            db.putIndexcard(new MVStoreDatabase.IndexcardDocument(2, "B", "Q", "A", List.of("k1"), List.of()));
+            db.learnSystems.put(7L, new MVStoreDatabase.LearnSystemDocument(7, "A (Leitner)", 5, "Random", null, 0, false,
+                    new long[]{1}, new int[]{0}, new long[]{0}));
+            return null;
+        });
+
+        // A store, that was written before the indexes existed.
+        for (String index : List.of("indexcardIdsByKeyword", "indexcardIdsByLink", "linkIdsByIndexcard", "learnSystemIdsByName")) {
+            store.openMap(index).clear();
+        }
+        store.commit();
+
+        final MVStoreDatabase reopened = new MVStoreDatabase(store);
+        assertEquals(List.of(1L, 2L), reopened.getIndexcardIdsByKeyword("k1"));
+        assertEquals(List.of(1L), reopened.getIndexcardIdsByKeyword("k2"));
+        assertEquals(List.of(10L), reopened.getLinkIdsByIndexcard(2));
+        assertEquals(7L, reopened.learnSystemIdsByName.get("A (Leitner)"));
+        // The Link is removed from the Indexcard, that contains it, which is found by the rebuilt index.
+        assertEquals(Set.of(1L), reopened.write(() -> reopened.removeLinksToIndexcard(2)));
+        assertEquals(List.of(), reopened.indexcards.get(1L).links());
+        assertTrue(reopened.links.isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package uni.myosotis.persistence;
+
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.LeitnerLearnSystem;
+import uni.myosotis.objects.ReviewEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MVStoreLeitnerLearnSystemRepositoryTest {
+
+    private MVStoreLeitnerLearnSystemRepository repository;
+    private MVStoreReviewEventRepository reviewEventRepository;
+
+    @BeforeEach
+    public void setUp() {
+        final MVStoreDatabase db = new MVStoreDatabase(new MVStore.Builder().autoCommitDisabled().open());
+        repository = new MVStoreLeitnerLearnSystemRepository(db);
+        reviewEventRepository = new MVStoreReviewEventRepository(db);
+    }
+
+    @Test
+    public void testLearnSystemIsStoredWithItsCards() {
+        repository.saveLeitnerLearnSystem("Box (Leitner)", "sm2", new long[]{3, 1, 2}, 5, "Random");
+        final LeitnerLearnSystem saved = repository.getLeitnerLearnSystemByName("Box (Leitner)");
+        assertNotNull(saved);
+        assertEquals("sm2", saved.getAlgorithm());
+        assertEquals("Random", saved.getSortType());
+        assertEquals(5, saved.getBoxes().size());
+        assertArrayEquals(new long[]{1, 2, 3}, saved.getIndexcardIds());
+
+        saved.moveIndexcardToNextBox(2);
+        saved.setDueTime(2, 1000);
+        saved.setProgress(1);
+        saved.setStarted(true);
+        repository.updateLearnSystem(saved);
+
+        final LeitnerLearnSystem loaded = repository.getLeitnerLearnSystemById(saved.getId()).orElseThrow();
+        assertEquals(1, loaded.getBoxNumber(2));
+        assertEquals(0, loaded.getBoxNumber(1));
+        assertEquals(1000, loaded.getDueTime(2));
+        assertEquals(1, loaded.getProgress());
+        assertTrue(loaded.getStarted());
+    }
+
+    @Test
+    public void testBoxNumberIsReadWithoutTheLearnSystem() {
+        repository.saveLeitnerLearnSystem("Box (Leitner)", null, new long[]{1, 2}, 5, "Random");
+        final LeitnerLearnSystem saved = repository.getLeitnerLearnSystemByName("Box (Leitner)");
+        assertEquals(0, repository.updateLearnSystem(saved.getId(), learnSystem -> learnSystem.moveIndexcardToNextBox(2)));
+        assertEquals(Optional.of(0), repository.getBoxNumber(saved.getId(), 1));
+        assertEquals(Optional.of(1), repository.getBoxNumber(saved.getId(), 2));
+        assertEquals(Optional.empty(), repository.getBoxNumber(saved.getId(), 3));
+        assertEquals(Optional.empty(), repository.getBoxNumber(saved.getId() + 1, 1));
+    }
+
+    @Test
+    public void testNameMustBeUnique() {
+        repository.saveLeitnerLearnSystem("Box (Leitner)", null, new long[]{1}, 5, "Random");
+        repository.saveLeitnerLearnSystem("Box (Leitner)", null, new long[]{1, 2}, 5, "Random");
+        assertArrayEquals(new long[]{1}, repository.getLeitnerLearnSystemByName("Box (Leitner)").getIndexcardIds());
+    }
+
+    @Test
+    public void testUpdateWithChange() {
+        repository.saveLeitnerLearnSystem("Box (Leitner)", null, new long[]{1, 2}, 5, "Random");
+        final long id = repository.getLeitnerLearnSystemByName("Box (Leitner)").getId();
+        assertEquals(0, repository.updateLearnSystem(id, learnSystem -> learnSystem.moveIndexcardToNextBox(1)));
+        assertEquals(1, repository.getLeitnerLearnSystemById(id).orElseThrow().getBoxNumber(1));
+        assertEquals(-1, repository.updateLearnSystem(id + 1, learnSystem -> fail("There is no learnsystem")));
+    }
+
+    @Test
+    public void testDeleteRemovesTheName() {
+        repository.saveLeitnerLearnSystem("Box (Leitner)", null, new long[]{1}, 5, "Random");
+        final LeitnerLearnSystem saved = repository.getLeitnerLearnSystemByName("Box (Leitner)");
+        repository.deleteLeitnerLearnSystem(saved);
+        assertNull(repository.getLeitnerLearnSystemByName("Box (Leitner)"));
+        assertTrue(repository.getLeitnerLearnSystemById(saved.getId()).isEmpty());
+        repository.saveLeitnerLearnSystem("Box (Leitner)", null, new long[]{1}, 5, "Random");
+        assertNotNull(repository.getLeitnerLearnSystemByName("Box (Leitner)"));
+    }
+
+    @Test
+    public void testReviewEventsAreReadPerLearnSystem() {
+        // The keys of learnsystem 1 are a prefix of the keys of learnsystem 12 as strings.
+        assertEquals(0, reviewEventRepository.saveReviewEvents(List.of(
+                new ReviewEvent(1, 5, 200, 3, 10, 1),
+                new ReviewEvent(12, 5, 100, 1, 20, 0),
+                new ReviewEvent(1, 2, 300, 1, 30, 0),
+                new ReviewEvent(1, 5, 100, 4, 40, 0))));
+        final ReviewColumns columns = reviewEventRepository.getReviewColumns(1);
+        assertEquals(3, columns.size());
+        assertEquals(2, columns.getIndexcardId(0));
+        assertEquals(5, columns.getIndexcardId(1));
+        assertEquals(100, columns.getReviewTime(1));
+        assertEquals(4, columns.getGrade(1));
+        assertEquals(200, columns.getReviewTime(2));
+        assertEquals(1, columns.getSourceBox(2));
+        assertEquals(1, reviewEventRepository.getReviewColumns(12).size());
+        assertEquals(0, reviewEventRepository.getReviewColumns(2).size());
+    }
+}
@@ -0,0 +1,59 @@
+package uni.myosotis.persistence;
+
+import org.junit.jupiter.api.Test;
+import uni.myosotis.objects.ReviewEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewColumnsTest {
+
+    @Test
+    public void testEventsAreSortedByIndexcardAndTime() {
+        // A small capacity, so the columns have to grow.
+        final ReviewColumns columns = new ReviewColumns(2);
+        columns.add(7, 300, 3, 10, 1);
+        columns.add(2, 200, 1, 20, 0);
+        columns.add(7, 100, 1, 30, 0);
+        columns.add(2, 100, 3, 40, 0);
+        columns.add(5, 100, 4, 50, 2);
+        columns.sortByIndexcardAndTime();
+        assertEquals(5, columns.size());
+        final long[][] expected = {{2, 100, 3, 40, 0}, {2, 200, 1, 20, 0}, {5, 100, 4, 50, 2}, {7, 100, 1, 30, 0}, {7, 300, 3, 10, 1}};
+        for (int row = 0; row < expected.length; row++) {
+            assertEquals(expected[row][0], columns.getIndexcardId(row));
+            assertEquals(expected[row][1], columns.getReviewTime(row));
+            assertEquals(expected[row][2], columns.getGrade(row));
+            assertEquals(expected[row][3], columns.getResponseTime(row));
+            assertEquals(expected[row][4], columns.getSourceBox(row));
+        }
+    }
+
+    @Test
+    public void testEventsWithTheSameTimeKeepTheirOrder() {
+        final ReviewColumns columns = new ReviewColumns();
+        columns.add(1, 100, 1, 0, 0);
+        columns.add(1, 100, 3, 0, 0);
+        columns.add(1, 100, 4, 0, 0);
+        columns.sortByIndexcardAndTime();
+        assertEquals(1, columns.getGrade(0));
+        assertEquals(3, columns.getGrade(1));
+        assertEquals(4, columns.getGrade(2));
+    }
+
+    @Test
+    public void testAddedPendingEventsAreSortedIn() {
+        final ReviewColumns columns = new ReviewColumns();
+        columns.add(1, 100, 3, 0, 0);
+        columns.add(3, 100, 3, 0, 0);
+        columns.sortByIndexcardAndTime();
+        columns.addAll(List.of(new ReviewEvent(9, 2, 50, 1, 0, 0), new ReviewEvent(9, 1, 200, 1, 0, 1)));
+        assertEquals(4, columns.size());
+        assertEquals(1, columns.getIndexcardId(0));
+        assertEquals(1, columns.getIndexcardId(1));
+        assertEquals(200, columns.getReviewTime(1));
+        assertEquals(2, columns.getIndexcardId(2));
+        assertEquals(3, columns.getIndexcardId(3));
+    }
+}
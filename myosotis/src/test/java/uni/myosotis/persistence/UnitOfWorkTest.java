@@ -0,0 +1,66 @@
+package uni.myosotis.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Completes the stores, that take part in a unit of work, without opening the database.
+ */
+public class UnitOfWorkTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    public void testStoresAreCommittedAndRollbackActionsAreNotRun() {
+        UnitOfWork.run(() -> {
+            assertTrue(UnitOfWork.enlist(resource("A", false)));
+            UnitOfWork.onRollback(() -> calls.add("rollback action"));
+        });
+        assertEquals(List.of("commit A"), calls);
+        assertFalse(UnitOfWork.enlist(resource("B", false)));
+    }
+
+    @Test
+    public void testFailedCommitOfTheFirstStoreRollsBackTheUnitOfWork() {
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            UnitOfWork.enlist(resource("A", false));
+            UnitOfWork.enlist(resource("B", true));
+            UnitOfWork.onRollback(() -> calls.add("rollback action"));
+        }));
+        assertEquals(List.of("commit B", "rollback A", "rollback action"), calls);
+    }
+
+    @Test
+    public void testFailedCommitAfterACommittedStoreKeepsTheInMemoryState() {
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            UnitOfWork.enlist(resource("A", true));
+            UnitOfWork.enlist(resource("B", false));
+            UnitOfWork.onRollback(() -> calls.add("rollback action"));
+        }));
+        assertEquals(List.of("commit B", "commit A"), calls);
+    }
+
+    /**
+     * Creates a store, that records its calls and fails to commit, if it should.
+     */
+    private UnitOfWork.Resource resource(final String name, final boolean failing) {
+        return new UnitOfWork.Resource() {
+            @Override
+            public void commit() {
+                calls.add("commit " + name);
+                if (failing) {
+                    throw new IllegalStateException("The store " + name + " could not be committed");
+                }
+            }
+
+            @Override
+            public void rollback() {
+                calls.add("rollback " + name);
+            }
+        };
+    }
+}